@@ -0,0 +1,156 @@
+package com.mommoo.benchmark;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 두 벤치마크 결과(JMH JSON 형식)를 비교하는 클래스 입니다.
+ *
+ * 벤치마크와 파라미터가 같은 결과끼리 처리량(ops/s)과 연산 하나가 할당한 메모리(B/op)를 비교하여 출력합니다.
+ * 처리량의 차이가 두 결과의 오차 범위를 넘는다면 '*' 로 표시합니다.
+ *
+ * 처리량이 오차 범위를 넘어 threshold(%) 보다 많이 줄었거나, 할당한 메모리가 늘어난 벤치마크가 있다면 1 로 종료합니다.
+ * 할당한 메모리는 측정 오차가 거의 없으므로, 8 byte 보다 많이 늘어난 경우를 성능 저하로 봅니다.
+ *
+ * 사용법
+ *  java -cp target/benchmarks.jar com.mommoo.benchmark.BenchmarkComparator <base.json> <current.json> [threshold, 기본 10]
+ *
+ * @author mommoo
+ */
+public class BenchmarkComparator {
+    private static final String BENCHMARK_PACKAGE = BenchmarkComparator.class.getPackage().getName() + ".";
+    private static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+    private static final double DEFAULT_THRESHOLD = 10;
+    private static final double ALLOC_TOLERANCE = 8;
+
+    public static void main(String[] args) throws IOException, ParseException {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkComparator <base.json> <current.json> [threshold percent, default 10]");
+            System.exit(2);
+        }
+
+        Map<String, Score> baseScores = read(args[0]);
+        Map<String, Score> currentScores = read(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+
+        // 어느 한 쪽에만 있는 벤치마크도 출력하도록, 두 결과의 이름을 모두 모읍니다.
+        Set<String> names = new TreeSet<>(baseScores.keySet());
+        names.addAll(currentScores.keySet());
+
+        int nameWidth = names.stream().mapToInt(String::length).max().orElse(10);
+        String rowFormat = "%-" + nameWidth + "s %14s %14s %9s %11s %11s %9s%n";
+        System.out.printf(rowFormat, "Benchmark", "base ops/s", "current ops/s", "change", "base B/op", "current B/op", "change");
+
+        int regressionCount = 0;
+        for (String name : names) {
+            Score base = baseScores.get(name);
+            Score current = currentScores.get(name);
+
+            if (base == null || current == null) {
+                System.out.printf(rowFormat, name, formatScore(base == null ? null : base.throughput),
+                        formatScore(current == null ? null : current.throughput), "-",
+                        formatScore(base == null ? null : base.allocBytes), formatScore(current == null ? null : current.allocBytes), "-");
+                continue;
+            }
+
+            double throughputChange = (current.throughput - base.throughput) / base.throughput * 100;
+            boolean significant = Math.abs(current.throughput - base.throughput) > base.throughputError + current.throughputError;
+            String throughputChangeText = String.format("%+.1f%%%s", throughputChange, significant ? "*" : " ");
+
+            String allocChangeText = "-";
+            boolean allocRegressed = false;
+            if (base.allocBytes != null && current.allocBytes != null) {
+                double allocChange = current.allocBytes - base.allocBytes;
+                allocChangeText = String.format("%+.0f", allocChange);
+                allocRegressed = allocChange > ALLOC_TOLERANCE;
+            }
+
+            if ((significant && throughputChange < -threshold) || allocRegressed) {
+                regressionCount++;
+            }
+
+            System.out.printf(rowFormat, name, formatScore(base.throughput), formatScore(current.throughput), throughputChangeText,
+                    formatScore(base.allocBytes), formatScore(current.allocBytes), allocChangeText);
+        }
+
+        if (regressionCount > 0) {
+            System.out.println();
+            System.out.println(regressionCount + " benchmark(s) regressed (throughput threshold " + threshold + "%, allocation tolerance "
+                    + (long) ALLOC_TOLERANCE + " B/op)");
+            System.exit(1);
+        }
+    }
+
+    /** @return "클래스.메서드 {파라미터}" 이름 별 결과 */
+    private static Map<String, Score> read(String resultPath) throws IOException, ParseException {
+        JSONArray results;
+        try (Reader reader = Files.newBufferedReader(Paths.get(resultPath), StandardCharsets.UTF_8)) {
+            results = (JSONArray) new JSONParser().parse(reader);
+        }
+
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (Object result : results) {
+            JSONObject resultJSON = (JSONObject) result;
+            JSONObject primaryMetric = (JSONObject) resultJSON.get("primaryMetric");
+            JSONObject secondaryMetrics = (JSONObject) resultJSON.get("secondaryMetrics");
+            JSONObject allocMetric = secondaryMetrics == null ? null : (JSONObject) secondaryMetrics.get(ALLOC_RATE_NORM);
+
+            Score score = new Score(
+                    toDouble(primaryMetric.get("score")),
+                    toDouble(primaryMetric.get("scoreError")),
+                    allocMetric == null ? null : toDouble(allocMetric.get("score")));
+            scores.put(toName(resultJSON), score);
+        }
+        return scores;
+    }
+
+    private static String toName(JSONObject resultJSON) {
+        String benchmark = (String) resultJSON.get("benchmark");
+        if (benchmark.startsWith(BENCHMARK_PACKAGE)) {
+            benchmark = benchmark.substring(BENCHMARK_PACKAGE.length());
+        }
+
+        JSONObject params = (JSONObject) resultJSON.get("params");
+        if (params == null || params.isEmpty()) {
+            return benchmark;
+        }
+        return benchmark + " " + new TreeMap<Object, Object>(params);
+    }
+
+    /** 측정하지 못한 값은 JMH 가 "NaN" 문자열로 기록합니다. */
+    private static double toDouble(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+    }
+
+    private static String formatScore(Double score) {
+        if (score == null) {
+            return "-";
+        }
+        return String.format("%,.0f", score);
+    }
+
+    private static class Score {
+        private final double throughput;
+        private final double throughputError;
+        private final Double allocBytes;
+
+        private Score(double throughput, double throughputError, Double allocBytes) {
+            this.throughput = throughput;
+            this.throughputError = throughputError;
+            this.allocBytes = allocBytes;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.mommoo.benchmark;
+
+import com.mommoo.conf.ServerSpec;
+import com.mommoo.conf.ServerSpecBuilder;
+import com.mommoo.http.request.HttpRequest;
+import com.mommoo.http.request.HttpRequestParser;
+import com.mommoo.http.response.HttpResponseChannel;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * 벤치마크들이 같이 사용하는 요청 메시지, 문서 경로, 응답 통로를 구성하는 클래스 입니다.
+ *
+ * @author mommoo
+ */
+final class BenchmarkFixtures {
+    static final String LOG_PATH = "log";
+    static final int PORT_NUMBER = 8080;
+
+    /** curl 같은 도구가 보내는 최소한의 요청 입니다. */
+    static final String CURL_REQUEST = "GET /static/app.js HTTP/1.1\r\n"
+            + "Host: localhost:8080\r\n"
+            + "User-Agent: curl/8.4.0\r\n"
+            + "Accept: */*\r\n"
+            + "\r\n";
+
+    /** 브라우저가 보내는 요청 입니다. 쿼리 파라미터, 쿠키, 조건부 요청 헤더를 포함합니다. */
+    static final String BROWSER_REQUEST = "GET /static/app.js?v=20240101&lang=ko HTTP/1.1\r\n"
+            + "Host: localhost:8080\r\n"
+            + "Connection: keep-alive\r\n"
+            + "Cache-Control: max-age=0\r\n"
+            + "sec-ch-ua: \"Chromium\";v=\"120\", \"Not?A_Brand\";v=\"24\"\r\n"
+            + "sec-ch-ua-mobile: ?0\r\n"
+            + "sec-ch-ua-platform: \"macOS\"\r\n"
+            + "Upgrade-Insecure-Requests: 1\r\n"
+            + "User-Agent: Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36\r\n"
+            + "Accept: text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,*/*;q=0.8\r\n"
+            + "Sec-Fetch-Site: same-origin\r\n"
+            + "Sec-Fetch-Mode: navigate\r\n"
+            + "Sec-Fetch-Dest: document\r\n"
+            + "Referer: http://localhost:8080/index.html\r\n"
+            + "Accept-Encoding: gzip, deflate, br\r\n"
+            + "Accept-Language: ko-KR,ko;q=0.9,en-US;q=0.8,en;q=0.7\r\n"
+            + "Cookie: SESSION=8f14e45fceea167a5a36dedd4bea2543; theme=dark; _ga=GA1.1.1234567890.1700000000\r\n"
+            + "If-None-Match: \"1000-18c1f2a3b40\"\r\n"
+            + "If-Modified-Since: Mon, 01 Jan 2024 00:00:00 GMT\r\n"
+            + "\r\n";
+
+    private BenchmarkFixtures() {
+
+    }
+
+    static byte[] toBytes(String requestMessage) {
+        return requestMessage.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    static HttpRequest parse(String requestMessage) throws IOException {
+        HttpRequestParser requestParser = new HttpRequestParser(LOG_PATH);
+        if (!requestParser.parse(ByteBuffer.wrap(toBytes(requestMessage)))) {
+            throw new IllegalArgumentException("요청 메시지가 완성되지 않았습니다.");
+        }
+        return requestParser.toHttpRequest();
+    }
+
+    /**
+     * 작은 사이트 하나의 문서 경로를 임시 디렉토리에 구성합니다.
+     *
+     *  /index.html, /static/app.js(4KB), /static/css/style.css, /static/images/logo.png(fileSize), /docs/guide/intro.html
+     */
+    static Path createDocumentPath(int imageFileSize) throws IOException {
+        Path documentPath = Files.createTempDirectory("simple-was-benchmark-");
+
+        write(documentPath.resolve("index.html"), 512);
+        write(documentPath.resolve("static/app.js"), 4 * 1024);
+        write(documentPath.resolve("static/css/style.css"), 2 * 1024);
+        write(documentPath.resolve("static/images/logo.png"), imageFileSize);
+        write(documentPath.resolve("docs/guide/intro.html"), 1024);
+
+        return documentPath;
+    }
+
+    static ServerSpec createServerSpec(Path documentPath) {
+        return new ServerSpecBuilder().setDocumentPath(documentPath.toString())
+                .setLogPath(LOG_PATH)
+                .setIndexPage("index.html")
+                .setPortNumber(PORT_NUMBER)
+                .setServerName("localhost")
+                .build();
+    }
+
+    static void deleteDocumentPath(Path documentPath) throws IOException {
+        try (Stream<Path> paths = Files.walk(documentPath)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static void write(Path filePath, int size) throws IOException {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) 'a');
+        Files.createDirectories(filePath.getParent());
+        Files.write(filePath, bytes);
+    }
+
+    /**
+     * 응답을 /dev/null 로 출력하는 통로 입니다.
+     * 소켓 대신 파일 채널로 출력하여, 네트워크를 제외한 응답 구성과 출력 비용만 측정합니다.
+     */
+    static class NullResponseChannel implements HttpResponseChannel, AutoCloseable {
+        private final FileChannel nullChannel;
+
+        NullResponseChannel() throws IOException {
+            this.nullChannel = FileChannel.open(Paths.get("/dev/null"), StandardOpenOption.WRITE);
+        }
+
+        @Override
+        public void write(ByteBuffer... byteBuffers) throws IOException {
+            for (ByteBuffer byteBuffer : byteBuffers) {
+                while (byteBuffer.hasRemaining()) {
+                    nullChannel.write(byteBuffer);
+                }
+            }
+        }
+
+        @Override
+        public void write(ByteBuffer byteBuffer, Runnable releaseCallback) throws IOException {
+            try {
+                write(byteBuffer);
+            } finally {
+                releaseCallback.run();
+            }
+        }
+
+        @Override
+        public void transferFrom(FileChannel fileChannel, long position, long count) throws IOException {
+            try {
+                while (count > 0) {
+                    long transferCount = fileChannel.transferTo(position, count, nullChannel);
+                    position += transferCount;
+                    count -= transferCount;
+                }
+            } finally {
+                fileChannel.close();
+            }
+        }
+
+        @Override
+        public InetAddress getRemoteAddressOrNull() {
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            nullChannel.close();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.mommoo.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+import java.io.IOException;
+
+/**
+ * 요청 처리 경로의 벤치마크를 실행하는 클래스 입니다. (target/benchmarks.jar 의 메인 클래스)
+ *
+ * JMH 의 명령행 옵션을 그대로 사용하며, 다음 두 가지를 기본으로 설정합니다.
+ *  1. 처리량과 함께 연산 하나가 할당한 메모리(gc.alloc.rate.norm)를 측정하도록, GC 프로파일러를 사용합니다.
+ *  2. 결과 파일을 지정하지 않았다면, 결과를 JSON 형식으로 target/jmh-result.json 에 기록합니다.
+ *
+ * 사용법
+ *  mvn -B -P benchmark package -DskipTests
+ *  java -jar target/benchmarks.jar                       모든 벤치마크 실행
+ *  java -jar target/benchmarks.jar HttpRequestParser     이름이 일치하는 벤치마크만 실행
+ *
+ * 기준 결과(src/jmh/baseline/jmh-result.json) 또는 다른 브랜치의 결과와 비교하려면 {@link BenchmarkComparator}를 사용합니다.
+ *  git checkout main && mvn -B -P benchmark package -DskipTests && java -jar target/benchmarks.jar -rff main.json
+ *  git checkout feature && mvn -B -P benchmark package -DskipTests && java -jar target/benchmarks.jar -rff feature.json
+ *  java -cp target/benchmarks.jar com.mommoo.benchmark.BenchmarkComparator main.json feature.json
+ *
+ * @author mommoo
+ */
+public class BenchmarkRunner {
+    private static final String DEFAULT_RESULT_PATH = "target/jmh-result.json";
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        // 도움말이나 목록만 출력하는 옵션은 JMH 에게 맡깁니다.
+        if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList() || commandLineOptions.shouldListWithParams()
+                || commandLineOptions.shouldListProfilers() || commandLineOptions.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder optionsBuilder = new OptionsBuilder().parent(commandLineOptions);
+        if (!hasGCProfiler(commandLineOptions)) {
+            optionsBuilder.addProfiler(GCProfiler.class);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            optionsBuilder.result(DEFAULT_RESULT_PATH);
+        }
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            optionsBuilder.resultFormat(ResultFormatType.JSON);
+        }
+
+        new Runner(optionsBuilder.build()).run();
+    }
+
+    private static boolean hasGCProfiler(CommandLineOptions commandLineOptions) {
+        for (ProfilerConfig profilerConfig : commandLineOptions.getProfilers()) {
+            String profilerName = profilerConfig.getKlass();
+            if (profilerName.equals("gc") || profilerName.equals(GCProfiler.class.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,89 @@
+package com.mommoo.benchmark;
+
+import com.mommoo.contents.DocumentWatcher;
+import com.mommoo.contents.MappedFile;
+import com.mommoo.contents.MappedFileCache;
+import com.mommoo.http.HttpStatus;
+import com.mommoo.http.response.FileValidator;
+import com.mommoo.http.response.HttpResponseSender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 정적 파일 하나를 응답으로 출력하는 비용을 측정합니다. {@link HttpResponseSender}
+ *
+ * 파일 내용을 Writer 로 복사하던 방식(FileUtils.copyFileToWriter)은 파일 채널 전송으로 바뀌었으므로,
+ * 현재 서버가 파일을 출력하는 두 가지 방식을 측정합니다.
+ *  1. transfer : 요청마다 파일을 열어 {@link java.nio.channels.FileChannel#transferTo}로 출력합니다.
+ *  2. mapped : 메모리에 매핑해 둔 파일({@link MappedFileCache})을 출력합니다.
+ *
+ * @author mommoo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileSendBenchmark {
+    @Param({"4096", "262144"})
+    public int fileSize;
+
+    private Path documentPath;
+    private Path filePath;
+    private FileValidator fileValidator;
+    private DocumentWatcher documentWatcher;
+    private MappedFileCache mappedCache;
+    private BenchmarkFixtures.NullResponseChannel responseChannel;
+
+    @Setup
+    public void setUp() throws IOException {
+        documentPath = BenchmarkFixtures.createDocumentPath(fileSize);
+        filePath = documentPath.resolve("static/images/logo.png");
+        fileValidator = FileValidator.of(filePath);
+
+        documentWatcher = new DocumentWatcher(documentPath, BenchmarkFixtures.LOG_PATH);
+        mappedCache = new MappedFileCache(Long.MAX_VALUE, 0, BenchmarkFixtures.LOG_PATH);
+        mappedCache.startWatching(documentWatcher);
+
+        responseChannel = new BenchmarkFixtures.NullResponseChannel();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        mappedCache.close();
+        documentWatcher.close();
+        responseChannel.close();
+        BenchmarkFixtures.deleteDocumentPath(documentPath);
+    }
+
+    @Benchmark
+    public HttpResponseSender transfer() {
+        HttpResponseSender responseSender = new HttpResponseSender(responseChannel);
+        responseSender.sendFile(HttpStatus.CODE_200, filePath, "image/png", fileValidator, null, false, BenchmarkFixtures.LOG_PATH);
+        return responseSender;
+    }
+
+    @Benchmark
+    public HttpResponseSender mapped() {
+        HttpResponseSender responseSender = new HttpResponseSender(responseChannel);
+        MappedFile mappedFile = mappedCache.acquireOrNull(filePath);
+        responseSender.sendMappedFile(HttpStatus.CODE_200, mappedFile.duplicate(), mappedFile::release,
+                "image/png", fileValidator, false, BenchmarkFixtures.LOG_PATH);
+        return responseSender;
+    }
+}
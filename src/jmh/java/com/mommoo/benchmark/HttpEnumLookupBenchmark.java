@@ -0,0 +1,78 @@
+package com.mommoo.benchmark;
+
+import com.mommoo.http.HttpHeaderType;
+import com.mommoo.http.HttpMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 헤더 이름과 메서드를 enum 으로 찾는 비용을 측정합니다. {@link HttpHeaderType#of}, {@link HttpMethod#of}
+ *
+ * 문자열로 찾는 방식과, 분석기가 사용하는 바이트 배열의 구간으로 찾는 방식을 같이 측정합니다.
+ * 헤더 이름은 브라우저 요청의 헤더 순서대로, 찾지 못하는 이름을 포함하여 한번에 모두 찾습니다.
+ *
+ * @author mommoo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpEnumLookupBenchmark {
+    private static final String[] HEADER_NAMES = {
+            "Host", "Connection", "Cache-Control", "sec-ch-ua", "Upgrade-Insecure-Requests", "User-Agent",
+            "Accept", "Referer", "Accept-Encoding", "Accept-Language", "Cookie", "If-None-Match", "If-Modified-Since"
+    };
+    private static final String[] METHODS = {"GET", "HEAD", "POST", "OPTIONS"};
+
+    private final byte[][] headerNameBytes = toBytes(HEADER_NAMES);
+    private final byte[][] methodBytes = toBytes(METHODS);
+
+    @Benchmark
+    public void headerTypeOfString(Blackhole blackhole) {
+        for (String headerName : HEADER_NAMES) {
+            blackhole.consume(HttpHeaderType.of(headerName));
+        }
+    }
+
+    @Benchmark
+    public void headerTypeOfBytes(Blackhole blackhole) {
+        for (byte[] bytes : headerNameBytes) {
+            blackhole.consume(HttpHeaderType.of(bytes, 0, bytes.length));
+        }
+    }
+
+    @Benchmark
+    public void methodOfString(Blackhole blackhole) {
+        for (String method : METHODS) {
+            blackhole.consume(HttpMethod.of(method));
+        }
+    }
+
+    @Benchmark
+    public void methodOfBytes(Blackhole blackhole) {
+        for (byte[] bytes : methodBytes) {
+            blackhole.consume(HttpMethod.of(bytes, 0, bytes.length));
+        }
+    }
+
+    private static byte[][] toBytes(String[] texts) {
+        byte[][] bytes = new byte[texts.length][];
+        for (int index = 0; index < texts.length; index++) {
+            bytes[index] = texts[index].getBytes(StandardCharsets.ISO_8859_1);
+        }
+        return bytes;
+    }
+}
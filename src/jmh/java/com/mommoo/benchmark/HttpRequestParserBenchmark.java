@@ -0,0 +1,55 @@
+package com.mommoo.benchmark;
+
+import com.mommoo.http.request.HttpRequest;
+import com.mommoo.http.request.HttpRequestParseException;
+import com.mommoo.http.request.HttpRequestParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 메시지의 헤더를 분석하여 {@link HttpRequest}를 만드는 비용을 측정합니다. {@link HttpRequestParser}
+ *
+ * 커넥터와 같이 연결마다 하나의 분석기를 재사용하며, 헤더 전체가 한번에 도착한 경우를 측정합니다.
+ *
+ * @author mommoo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpRequestParserBenchmark {
+    @Param({"curl", "browser"})
+    public String headerSet;
+
+    private ByteBuffer requestBuffer;
+    private HttpRequestParser requestParser;
+
+    @Setup
+    public void setUp() {
+        String requestMessage = headerSet.equals("curl") ? BenchmarkFixtures.CURL_REQUEST : BenchmarkFixtures.BROWSER_REQUEST;
+        requestBuffer = ByteBuffer.wrap(BenchmarkFixtures.toBytes(requestMessage));
+        requestParser = new HttpRequestParser(BenchmarkFixtures.LOG_PATH);
+    }
+
+    @Benchmark
+    public HttpRequest parse() throws HttpRequestParseException {
+        requestBuffer.rewind();
+        requestParser.reset();
+        requestParser.parse(requestBuffer);
+        return requestParser.toHttpRequest();
+    }
+}
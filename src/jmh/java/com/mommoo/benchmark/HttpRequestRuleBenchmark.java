@@ -0,0 +1,64 @@
+package com.mommoo.benchmark;
+
+import com.mommoo.conf.ServerSpec;
+import com.mommoo.http.request.HttpRequest;
+import com.mommoo.http.request.rule.HttpRequestRuleInspector;
+import com.mommoo.http.request.rule.HttpRequestRuleResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 검증 비용을 측정합니다. {@link HttpRequestRuleInspector#isValidateRequest}
+ *
+ * 대부분의 요청인 검증을 통과하는 경우와, 문서 경로를 벗어나 검증에 실패하는 경우를 측정합니다.
+ *
+ * @author mommoo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpRequestRuleBenchmark {
+    private Path documentPath;
+    private ServerSpec serverSpec;
+    private HttpRequest validRequest;
+    private HttpRequest escapingRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        documentPath = BenchmarkFixtures.createDocumentPath(1024);
+        serverSpec = BenchmarkFixtures.createServerSpec(documentPath);
+        validRequest = BenchmarkFixtures.parse(BenchmarkFixtures.BROWSER_REQUEST);
+        escapingRequest = BenchmarkFixtures.parse("GET /static/../../etc/passwd HTTP/1.1\r\nHost: localhost:8080\r\n\r\n");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkFixtures.deleteDocumentPath(documentPath);
+    }
+
+    @Benchmark
+    public HttpRequestRuleResult validRequest() {
+        return HttpRequestRuleInspector.getInstance().isValidateRequest(serverSpec, validRequest);
+    }
+
+    @Benchmark
+    public HttpRequestRuleResult escapingRequest() {
+        return HttpRequestRuleInspector.getInstance().isValidateRequest(serverSpec, escapingRequest);
+    }
+}
@@ -0,0 +1,67 @@
+package com.mommoo.benchmark;
+
+import com.mommoo.http.HttpHeaderType;
+import com.mommoo.http.response.HttpResponseHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서블릿 응답을 구성하여 출력할 데이터로 만드는 비용을 측정합니다. {@link HttpResponseHandler}
+ *
+ * 문자열로 만드는 {@link HttpResponseHandler#toString()}과,
+ * 서버가 실제로 출력할 때 사용하는 {@link HttpResponseHandler#toByteBuffers()}를 같이 측정합니다.
+ *
+ * @author mommoo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpResponseHandlerBenchmark {
+    @Benchmark
+    public String responseToString() throws IOException {
+        HttpResponseHandler httpResponse = createResponse();
+        String response = httpResponse.toString();
+        httpResponse.release();
+        return response;
+    }
+
+    @Benchmark
+    public void responseToByteBuffers(Blackhole blackhole) throws IOException {
+        HttpResponseHandler httpResponse = createResponse();
+        for (ByteBuffer byteBuffer : httpResponse.toByteBuffers()) {
+            blackhole.consume(byteBuffer);
+        }
+        httpResponse.release();
+    }
+
+    /** 서블릿이 헤더 몇 개와 1KB 정도의 HTML 을 작성한 응답 입니다. */
+    private static HttpResponseHandler createResponse() throws IOException {
+        HttpResponseHandler httpResponse = new HttpResponseHandler();
+        httpResponse.setHeaderData(HttpHeaderType.CONNECTION, "keep-alive");
+        httpResponse.setHeaderData(HttpHeaderType.VARY, "Accept-Encoding");
+
+        Writer writer = httpResponse.getWriter();
+        writer.append("<html><head><title>TimeStampPage</title></head><body><ul>");
+        for (int index = 0; index < 32; index++) {
+            writer.append("<li>item-").append(Integer.toString(index)).append("</li>");
+        }
+        writer.append("</ul></body></html>");
+        return httpResponse;
+    }
+}
@@ -0,0 +1,90 @@
+package com.mommoo.benchmark;
+
+import com.mommoo.conf.ServerSpec;
+import com.mommoo.contents.DocumentIndexer;
+import com.mommoo.contents.FileMetadataCache;
+import com.mommoo.contents.ServerContentsFinder;
+import com.mommoo.http.HttpStatus;
+import com.mommoo.http.response.MimeTypeTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * URI 에 매칭되는 컨텐츠를 찾는 비용을 측정합니다. {@link ServerContentsFinder}
+ *
+ * 서버가 컨텐츠를 찾는 세 가지 방식을 측정합니다.
+ *  1. disk : 요청마다 디스크에서 파일을 확인합니다.
+ *  2. metadataCache : 경로 조회 결과 캐시({@link FileMetadataCache})를 사용합니다.
+ *  3. index : 문서 경로의 색인({@link DocumentIndexer})에서 찾습니다.
+ *
+ * @author mommoo
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerContentsFinderBenchmark {
+    @Param({"disk", "metadataCache", "index"})
+    public String lookup;
+
+    private Path documentPath;
+    private ServerSpec serverSpec;
+    private FileMetadataCache metadataCache;
+    private DocumentIndexer documentIndexer;
+
+    @Setup
+    public void setUp() throws IOException {
+        documentPath = BenchmarkFixtures.createDocumentPath(1024);
+        serverSpec = BenchmarkFixtures.createServerSpec(documentPath);
+
+        if (lookup.equals("metadataCache")) {
+            metadataCache = new FileMetadataCache(1024, TimeUnit.MINUTES.toMillis(10));
+        } else if (lookup.equals("index")) {
+            documentIndexer = new DocumentIndexer(documentPath, BenchmarkFixtures.LOG_PATH, MimeTypeTable.DEFAULT);
+            documentIndexer.reindex();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkFixtures.deleteDocumentPath(documentPath);
+    }
+
+    @Benchmark
+    public ServerContentsFinder findFile() {
+        return find("/static/css/style.css");
+    }
+
+    @Benchmark
+    public ServerContentsFinder findIndexPage() {
+        return find("/");
+    }
+
+    @Benchmark
+    public ServerContentsFinder findMissingFile() {
+        return find("/static/missing.js");
+    }
+
+    private ServerContentsFinder find(String URI) {
+        if (documentIndexer != null) {
+            return new ServerContentsFinder(serverSpec, URI, HttpStatus.CODE_200, documentIndexer.getIndex());
+        }
+        return new ServerContentsFinder(serverSpec, URI, HttpStatus.CODE_200, null, metadataCache);
+    }
+}
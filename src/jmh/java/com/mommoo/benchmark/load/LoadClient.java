@@ -0,0 +1,273 @@
+package com.mommoo.benchmark.load;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 연결 하나로 요청을 반복하는 클라이언트 입니다. 클라이언트 하나가 스레드 하나를 사용합니다.
+ *
+ * 응답을 받은 뒤에 다음 요청을 보내며(closed loop), 서버가 연결 유지를 허용하는 동안 같은 연결을 재사용합니다.
+ * 서버가 연결을 닫으면(Connection: close) 다시 연결하므로, 연결을 받는 비용도 함께 측정됩니다.
+ *
+ * 응답 시간은 요청을 쓰기 시작한 때 부터 바디의 마지막 바이트를 읽을 때 까지 입니다.
+ *
+ * @author mommoo
+ */
+class LoadClient implements Runnable {
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+    private static final int NOT_FOUND_URI_COUNT = 64;
+    private static final String BAD_HOST = "unknown.invalid";
+
+    private final InetSocketAddress address;
+    private final int readTimeoutMillis;
+    private final LoadStatistics statistics;
+    private final AtomicBoolean running;
+    private final Random random;
+
+    private final RequestKind[] kinds;
+    /** 요청 종류 별 비율을 누적한 값 입니다. kinds 와 같은 순서 입니다. */
+    private final int[] cumulativeWeights;
+
+    private final byte[][] staticRequests;
+    private final byte[] servletRequest;
+    private final byte[][] notFoundRequests;
+    private final byte[] badHostRequest;
+
+    private final byte[] skipBuffer = new byte[READ_BUFFER_SIZE];
+    private final StringBuilder lineBuilder = new StringBuilder();
+
+    private Socket socket;
+    private InputStream inputStream;
+    private OutputStream outputStream;
+
+    LoadClient(LoadTestServer loadTestServer, LoadTestOptions options, LoadStatistics statistics, AtomicBoolean running, long seed) {
+        this.address = loadTestServer.getAddress();
+        this.readTimeoutMillis = options.getReadTimeoutMillis();
+        this.statistics = statistics;
+        this.running = running;
+        this.random = new Random(seed);
+
+        Map<RequestKind, Integer> mix = options.getMix();
+        this.kinds = mix.keySet().toArray(new RequestKind[0]);
+        this.cumulativeWeights = new int[kinds.length];
+        int totalWeight = 0;
+        for (int index = 0; index < kinds.length; index++) {
+            totalWeight += mix.get(kinds[index]);
+            cumulativeWeights[index] = totalWeight;
+        }
+
+        // 요청마다 메시지를 만들지 않도록, 보낼 요청 메시지를 미리 구성합니다.
+        String host = loadTestServer.getHost();
+        List<String> staticURIs = LoadTestServer.getStaticURIs();
+        this.staticRequests = new byte[staticURIs.size()][];
+        for (int index = 0; index < staticURIs.size(); index++) {
+            staticRequests[index] = createRequest(staticURIs.get(index), host);
+        }
+        this.servletRequest = createRequest(LoadTestServer.SERVLET_URI, host);
+        this.notFoundRequests = new byte[NOT_FOUND_URI_COUNT][];
+        for (int index = 0; index < NOT_FOUND_URI_COUNT; index++) {
+            notFoundRequests[index] = createRequest("/static/missing-" + index + ".html", host);
+        }
+        this.badHostRequest = createRequest("/index.html", BAD_HOST);
+    }
+
+    @Override
+    public void run() {
+        while (running.get()) {
+            RequestKind requestKind = pickRequestKind();
+            byte[] request = pickRequest(requestKind);
+
+            try {
+                if (socket == null) {
+                    connect();
+                }
+
+                long startNanos = System.nanoTime();
+                outputStream.write(request);
+                outputStream.flush();
+                ResponseHead responseHead = readResponse();
+                statistics.recordResponse(requestKind, responseHead.statusCode, System.nanoTime() - startNanos);
+
+                if (!responseHead.keepAlive) {
+                    close();
+                }
+            } catch (IOException e) {
+                // 측정을 마치며 연결을 닫는 경우는 오류로 보지 않습니다.
+                if (running.get()) {
+                    statistics.recordFailure(requestKind);
+                }
+                close();
+            }
+        }
+        close();
+    }
+
+    private RequestKind pickRequestKind() {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int index = 0; index < cumulativeWeights.length; index++) {
+            if (value < cumulativeWeights[index]) {
+                return kinds[index];
+            }
+        }
+        return kinds[kinds.length - 1];
+    }
+
+    private byte[] pickRequest(RequestKind requestKind) {
+        switch (requestKind) {
+            case STATIC:
+                return staticRequests[random.nextInt(staticRequests.length)];
+            case SERVLET:
+                return servletRequest;
+            case NOT_FOUND:
+                return notFoundRequests[random.nextInt(notFoundRequests.length)];
+            default:
+                return badHostRequest;
+        }
+    }
+
+    private void connect() throws IOException {
+        socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.setSoTimeout(readTimeoutMillis);
+        socket.connect(address, readTimeoutMillis);
+        inputStream = new BufferedInputStream(socket.getInputStream(), READ_BUFFER_SIZE);
+        outputStream = socket.getOutputStream();
+        statistics.recordConnect();
+    }
+
+    private void close() {
+        if (socket == null) {
+            return;
+        }
+
+        try {
+            socket.close();
+        } catch (IOException ignore) {
+            // 다음 요청에서 다시 연결합니다.
+        }
+        socket = null;
+        inputStream = null;
+        outputStream = null;
+    }
+
+    /** 응답 헤더를 분석하고, 바디는 읽어서 버립니다. */
+    private ResponseHead readResponse() throws IOException {
+        String statusLine = readLine();
+        int indexOfStatus = statusLine.indexOf(' ');
+        if (indexOfStatus == -1 || statusLine.length() < indexOfStatus + 4) {
+            throw new IOException("응답 라인이 올바르지 않습니다. " + statusLine);
+        }
+        int statusCode = Integer.parseInt(statusLine.substring(indexOfStatus + 1, indexOfStatus + 4));
+
+        long contentLength = -1;
+        boolean chunked = false;
+        boolean keepAlive = !statusLine.startsWith("HTTP/1.0");
+
+        String headerLine;
+        while (!(headerLine = readLine()).isEmpty()) {
+            int indexOfColon = headerLine.indexOf(':');
+            if (indexOfColon == -1) {
+                continue;
+            }
+
+            String name = headerLine.substring(0, indexOfColon).trim();
+            String value = headerLine.substring(indexOfColon + 1).trim();
+            if (name.equalsIgnoreCase("Content-Length")) {
+                contentLength = Long.parseLong(value);
+            } else if (name.equalsIgnoreCase("Transfer-Encoding")) {
+                chunked = value.equalsIgnoreCase("chunked");
+            } else if (name.equalsIgnoreCase("Connection")) {
+                keepAlive = !value.equalsIgnoreCase("close");
+            }
+        }
+
+        if (chunked) {
+            skipChunkedBody();
+        } else if (contentLength >= 0) {
+            skip(contentLength);
+        } else {
+            // 길이를 알 수 없는 바디는 연결이 닫힐 때 까지 읽습니다.
+            while (inputStream.read(skipBuffer) != -1) {
+                // 바디는 사용하지 않습니다.
+            }
+            keepAlive = false;
+        }
+
+        return new ResponseHead(statusCode, keepAlive);
+    }
+
+    private void skipChunkedBody() throws IOException {
+        while (true) {
+            String sizeLine = readLine();
+            int indexOfExtension = sizeLine.indexOf(';');
+            long chunkSize = Long.parseLong((indexOfExtension == -1 ? sizeLine : sizeLine.substring(0, indexOfExtension)).trim(), 16);
+            if (chunkSize == 0) {
+                // 트레일러와 마지막 빈 라인을 읽습니다.
+                while (!readLine().isEmpty()) {
+                    // 트레일러는 사용하지 않습니다.
+                }
+                return;
+            }
+
+            skip(chunkSize);
+            readLine();
+        }
+    }
+
+    private void skip(long count) throws IOException {
+        while (count > 0) {
+            int readCount = inputStream.read(skipBuffer, 0, (int) Math.min(skipBuffer.length, count));
+            if (readCount == -1) {
+                throw new EOFException("응답 바디를 모두 받기 전에 연결이 끊겼습니다.");
+            }
+            count -= readCount;
+        }
+    }
+
+    /** CRLF 로 끝나는 한 줄을 읽습니다. 줄바꿈 문자는 포함하지 않습니다. */
+    private String readLine() throws IOException {
+        lineBuilder.setLength(0);
+        while (true) {
+            int value = inputStream.read();
+            if (value == -1) {
+                throw new EOFException("응답을 모두 받기 전에 연결이 끊겼습니다.");
+            }
+            if (value == '\n') {
+                break;
+            }
+            if (value != '\r') {
+                lineBuilder.append((char) value);
+            }
+        }
+        return lineBuilder.toString();
+    }
+
+    private static byte[] createRequest(String URI, String host) {
+        return ("GET " + URI + " HTTP/1.1\r\n"
+                + "Host: " + host + "\r\n"
+                + "User-Agent: simple-was-load-test\r\n"
+                + "Accept: */*\r\n"
+                + "Accept-Encoding: gzip\r\n"
+                + "\r\n").getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static class ResponseHead {
+        private final int statusCode;
+        private final boolean keepAlive;
+
+        private ResponseHead(int statusCode, boolean keepAlive) {
+            this.statusCode = statusCode;
+            this.keepAlive = keepAlive;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.mommoo.benchmark.load;
+
+import com.mommoo.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 클라이언트 스레드들이 받은 응답의 시간과 오류를 요청 종류 별로 모으는 클래스 입니다.
+ *
+ * 예열하는 동안의 응답은 기록하지 않으며, {@link #startMeasuring()} 이후의 응답만 기록합니다.
+ * 오류는 두 가지로 구분합니다.
+ *  1. 요청 종류가 기대하는 상태 코드와 다른 응답. (응답 시간은 기록합니다)
+ *  2. 연결 실패, 응답 시간 초과 등 응답을 받지 못한 경우.
+ *
+ * @author mommoo
+ */
+class LoadStatistics {
+    private static final RequestKind[] KINDS = RequestKind.values();
+
+    private final LatencyHistogram totalHistogram = new LatencyHistogram();
+    private final LatencyHistogram[] histograms = new LatencyHistogram[KINDS.length];
+    private final LongAdder[] unexpectedStatusCounts = new LongAdder[KINDS.length];
+    private final LongAdder[] failureCounts = new LongAdder[KINDS.length];
+    private final LongAdder connectCount = new LongAdder();
+
+    private volatile boolean measuring = false;
+
+    LoadStatistics() {
+        for (int index = 0; index < KINDS.length; index++) {
+            histograms[index] = new LatencyHistogram();
+            unexpectedStatusCounts[index] = new LongAdder();
+            failureCounts[index] = new LongAdder();
+        }
+    }
+
+    void startMeasuring() {
+        measuring = true;
+    }
+
+    void stopMeasuring() {
+        measuring = false;
+    }
+
+    void recordResponse(RequestKind requestKind, int statusCode, long elapsedNanos) {
+        if (!measuring) {
+            return;
+        }
+
+        totalHistogram.record(elapsedNanos);
+        histograms[requestKind.ordinal()].record(elapsedNanos);
+        if (statusCode != requestKind.getExpectedStatus().getCodeNum()) {
+            unexpectedStatusCounts[requestKind.ordinal()].increment();
+        }
+    }
+
+    void recordFailure(RequestKind requestKind) {
+        if (measuring) {
+            failureCounts[requestKind.ordinal()].increment();
+        }
+    }
+
+    void recordConnect() {
+        if (measuring) {
+            connectCount.increment();
+        }
+    }
+
+    LatencyHistogram.Snapshot getTotalSnapshot() {
+        return totalHistogram.snapshot();
+    }
+
+    LatencyHistogram.Snapshot getSnapshot(RequestKind requestKind) {
+        return histograms[requestKind.ordinal()].snapshot();
+    }
+
+    long getUnexpectedStatusCount(RequestKind requestKind) {
+        return unexpectedStatusCounts[requestKind.ordinal()].sum();
+    }
+
+    long getFailureCount(RequestKind requestKind) {
+        return failureCounts[requestKind.ordinal()].sum();
+    }
+
+    /** 측정하는 동안 새로 맺은 연결 수 입니다. */
+    long getConnectCount() {
+        return connectCount.sum();
+    }
+}
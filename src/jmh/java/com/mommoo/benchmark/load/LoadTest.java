@@ -0,0 +1,388 @@
+package com.mommoo.benchmark.load;
+
+import ch.qos.logback.classic.Logger;
+import com.mommoo.metrics.LatencyHistogram;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 같은 프로세스에서 구동한 서버에 루프백으로 부하를 주고, 처리량과 응답 시간을 측정하는 클래스 입니다.
+ *
+ * JMH 벤치마크가 요청 처리의 각 단계를 따로 측정한다면, 부하 테스트는 연결을 받고 워커에 맡기는 구조 전체를 측정합니다.
+ * 새 버전을 배포하기 전에 connector, executor 설정 별로 실행하여 이전 결과와 비교하는 용도 입니다.
+ *
+ * 측정 순서
+ *  1. 임시 디렉토리에 문서 경로와 server.json 을 만들어 서버를 구동합니다. {@link LoadTestServer}
+ *  2. connections 수 만큼의 클라이언트가 각자 연결 하나로 요청을 반복합니다. {@link LoadClient}
+ *  3. warmup 동안의 응답은 버리고, duration 동안의 응답만 기록합니다.
+ *  4. 처리량(req/s), 응답 시간 백분위(p50, p99, p99.9), 오류 수를 출력하고 result 파일에 기록합니다.
+ *     서버가 기록한 단계 별 처리 시간(metricsURI)도 함께 기록합니다.
+ *
+ * 잘못된 Host 요청마다 남는 경고 로그가 콘솔 출력에 밀려 측정을 방해하지 않도록, 서버 로그는 작업 디렉토리의 log 에만 기록합니다.
+ *
+ * thresholds 파일이 있다면, 현재 connector-executor 항목의 기준 값과 결과를 비교하여 벗어난 값이 있을 때 1 로 종료합니다.
+ * 기준 값은 실행하는 장비에 따라 다르므로, 장비를 바꾸었다면 --updateThresholds=true 로 다시 기록합니다.
+ *
+ * 사용법
+ *  mvn -P benchmark package -DskipTests
+ *  java -cp target/benchmarks.jar com.mommoo.benchmark.load.LoadTest --connector=nio --thresholds=src/jmh/baseline/load-thresholds.json
+ *
+ * 옵션은 {@link LoadTestOptions} 를 참고 합니다.
+ *
+ * @author mommoo
+ */
+public class LoadTest {
+    private static final double[] PERCENTILES = {50, 99, 99.9};
+    private static final String[] PERCENTILE_LABELS = {"p50", "p99", "p999"};
+
+    private static final String MIN_REQUESTS_PER_SECOND = "minRequestsPerSecond";
+    private static final String MAX_ERROR_RATE = "maxErrorRate";
+    private static final String MAX_LATENCY_PREFIX = "max";
+    private static final String LATENCY_SUFFIX = "Micros";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = new LoadTestOptions(args);
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).detachAppender("CONSOLE");
+        LoadTestServer loadTestServer = LoadTestServer.start(options);
+        System.out.println("server started on " + loadTestServer.getHost() + " (connector=" + options.getConnector()
+                + ", executor=" + options.getExecutor() + ", threadCount=" + options.getThreadCount() + ", work=" + loadTestServer.getWorkPath() + ")");
+
+        LoadStatistics statistics = new LoadStatistics();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> clientThreads = new ArrayList<>();
+        for (int index = 0; index < options.getConnections(); index++) {
+            Thread clientThread = new Thread(new LoadClient(loadTestServer, options, statistics, running, index), "load-client-" + index);
+            clientThread.setDaemon(true);
+            clientThreads.add(clientThread);
+            clientThread.start();
+        }
+
+        System.out.println("warming up " + options.getWarmupSeconds() + "s with " + options.getConnections() + " connections");
+        TimeUnit.SECONDS.sleep(options.getWarmupSeconds());
+
+        System.out.println("measuring " + options.getDurationSeconds() + "s");
+        statistics.startMeasuring();
+        long startNanos = System.nanoTime();
+        TimeUnit.SECONDS.sleep(options.getDurationSeconds());
+        statistics.stopMeasuring();
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        running.set(false);
+        for (Thread clientThread : clientThreads) {
+            clientThread.join(options.getReadTimeoutMillis());
+        }
+
+        JSONObject result = createResult(options, statistics, elapsedNanos);
+        result.put("serverMetrics", readServerMetricsOrNull(loadTestServer));
+        print(result);
+
+        Path resultPath = Paths.get(options.getResultPath());
+        writeJSON(resultPath, result);
+        System.out.println();
+        System.out.println("result written to " + resultPath);
+
+        int exitCode = 0;
+        if (options.getThresholdsPathOrNull() != null) {
+            Path thresholdsPath = Paths.get(options.getThresholdsPathOrNull());
+            if (options.isUpdateThresholds()) {
+                updateThresholds(thresholdsPath, options, result);
+            } else {
+                exitCode = checkThresholds(thresholdsPath, options, result);
+            }
+        }
+
+        // 서버와 클라이언트 스레드는 데몬 스레드이므로 함께 종료됩니다.
+        System.exit(exitCode);
+    }
+
+    /** 현재 설정의 기준 값을 찾을 때 사용하는 이름 입니다. ex) nio-fixed */
+    private static String toThresholdKey(LoadTestOptions options) {
+        return options.getConnector() + "-" + options.getExecutor();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONObject createResult(LoadTestOptions options, LoadStatistics statistics, long elapsedNanos) {
+        double elapsedSeconds = elapsedNanos / 1e9;
+
+        JSONObject optionsJSON = new JSONObject();
+        optionsJSON.put("connector", options.getConnector());
+        optionsJSON.put("executor", options.getExecutor());
+        optionsJSON.put("threadCount", (long) options.getThreadCount());
+        optionsJSON.put("maxQueueSize", (long) options.getMaxQueueSize());
+        optionsJSON.put("maxKeepAliveRequests", (long) options.getMaxKeepAliveRequests());
+        optionsJSON.put("connections", (long) options.getConnections());
+        optionsJSON.put("warmupSeconds", (long) options.getWarmupSeconds());
+        optionsJSON.put("durationSeconds", (long) options.getDurationSeconds());
+
+        JSONObject mixJSON = new JSONObject();
+        for (Map.Entry<RequestKind, Integer> entry : options.getMix().entrySet()) {
+            mixJSON.put(entry.getKey().getText(), (long) entry.getValue());
+        }
+        optionsJSON.put("mix", mixJSON);
+
+        long totalUnexpectedStatusCount = 0;
+        long totalFailureCount = 0;
+        JSONObject kindsJSON = new JSONObject();
+        for (RequestKind requestKind : options.getMix().keySet()) {
+            long unexpectedStatusCount = statistics.getUnexpectedStatusCount(requestKind);
+            long failureCount = statistics.getFailureCount(requestKind);
+            totalUnexpectedStatusCount += unexpectedStatusCount;
+            totalFailureCount += failureCount;
+            kindsJSON.put(requestKind.getText(), createSummary(statistics.getSnapshot(requestKind), unexpectedStatusCount, failureCount, elapsedSeconds));
+        }
+
+        JSONObject result = new JSONObject();
+        result.put("options", optionsJSON);
+        result.put("elapsedSeconds", elapsedSeconds);
+        result.put("connectCount", statistics.getConnectCount());
+        result.put("total", createSummary(statistics.getTotalSnapshot(), totalUnexpectedStatusCount, totalFailureCount, elapsedSeconds));
+        result.put("kinds", kindsJSON);
+        return result;
+    }
+
+    /**
+     * 오류율은 기대한 상태 코드와 다른 응답과, 응답을 받지 못한 요청을 더한 값을 보낸 요청 수로 나눈 값 입니다.
+     */
+    @SuppressWarnings("unchecked")
+    private static JSONObject createSummary(LatencyHistogram.Snapshot snapshot, long unexpectedStatusCount, long failureCount, double elapsedSeconds) {
+        long requestCount = snapshot.getCount() + failureCount;
+
+        JSONObject summary = new JSONObject();
+        summary.put("responses", snapshot.getCount());
+        summary.put("unexpectedStatus", unexpectedStatusCount);
+        summary.put("failures", failureCount);
+        summary.put("errorRate", requestCount == 0 ? 0.0 : (double) (unexpectedStatusCount + failureCount) / requestCount);
+        summary.put("requestsPerSecond", snapshot.getCount() / elapsedSeconds);
+        summary.put("meanMicros", toMicros(snapshot.getMeanNanos()));
+        for (int index = 0; index < PERCENTILES.length; index++) {
+            summary.put(PERCENTILE_LABELS[index] + LATENCY_SUFFIX, toMicros(snapshot.getValueAtPercentile(PERCENTILES[index])));
+        }
+        summary.put("maxMicros", toMicros(snapshot.getMaxNanos()));
+        return summary;
+    }
+
+    private static double toMicros(long nanos) {
+        return nanos / 1e3;
+    }
+
+    private static void print(JSONObject result) {
+        String rowFormat = "%-10s %10s %12s %8s %8s %11s %11s %11s %11s%n";
+        System.out.println();
+        System.out.printf(rowFormat, "kind", "responses", "req/s", "status", "failures", "p50 (us)", "p99 (us)", "p99.9 (us)", "max (us)");
+
+        JSONObject kindsJSON = (JSONObject) result.get("kinds");
+        for (RequestKind requestKind : RequestKind.values()) {
+            JSONObject summary = (JSONObject) kindsJSON.get(requestKind.getText());
+            if (summary != null) {
+                printRow(rowFormat, requestKind.getText(), summary);
+            }
+        }
+        printRow(rowFormat, "total", (JSONObject) result.get("total"));
+
+        JSONObject total = (JSONObject) result.get("total");
+        System.out.printf("%nerror rate %.4f%%, new connections %,d%n", toDouble(total.get("errorRate")) * 100, (Long) result.get("connectCount"));
+    }
+
+    private static void printRow(String rowFormat, String name, JSONObject summary) {
+        System.out.printf(rowFormat, name,
+                String.format("%,d", (Long) summary.get("responses")),
+                String.format("%,.0f", toDouble(summary.get("requestsPerSecond"))),
+                String.format("%,d", (Long) summary.get("unexpectedStatus")),
+                String.format("%,d", (Long) summary.get("failures")),
+                String.format("%,.0f", toDouble(summary.get("p50Micros"))),
+                String.format("%,.0f", toDouble(summary.get("p99Micros"))),
+                String.format("%,.0f", toDouble(summary.get("p999Micros"))),
+                String.format("%,.0f", toDouble(summary.get("maxMicros"))));
+    }
+
+    /**
+     * 서버가 기록한 단계 별 처리 시간을 읽습니다. 예열 동안의 요청도 포함된 값 입니다.
+     * 부하 테스트의 결과에 영향을 주지 않도록, 읽지 못하더라도 null 을 반환하고 진행합니다.
+     */
+    private static Object readServerMetricsOrNull(LoadTestServer loadTestServer) {
+        HttpURLConnection connection = null;
+        try {
+            URL url = new URL("http://" + loadTestServer.getHost() + LoadTestServer.METRICS_URI + "?format=json");
+            connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(1000);
+            connection.setReadTimeout(5000);
+            try (Reader reader = new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8)) {
+                return new JSONParser().parse(reader);
+            }
+        } catch (IOException | ParseException e) {
+            System.err.println("failed to read server metrics: " + e);
+            return null;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    /**
+     * @return 기준을 벗어났다면 1, 모두 만족하거나 현재 설정의 기준 값이 없다면 0
+     */
+    private static int checkThresholds(Path thresholdsPath, LoadTestOptions options, JSONObject result) throws IOException, ParseException {
+        String thresholdKey = toThresholdKey(options);
+        JSONObject thresholdJSON = (JSONObject) readThresholds(thresholdsPath).get(thresholdKey);
+        System.out.println();
+        if (thresholdJSON == null) {
+            System.out.println("no thresholds for '" + thresholdKey + "' in " + thresholdsPath + ", run with --updateThresholds=true to record them");
+            return 0;
+        }
+
+        warnIfDifferent(thresholdJSON, "connections", options.getConnections());
+        warnIfDifferent(thresholdJSON, "threadCount", options.getThreadCount());
+
+        JSONObject total = (JSONObject) result.get("total");
+        List<String> violations = new ArrayList<>();
+
+        double minRequestsPerSecond = toDouble(thresholdJSON.get(MIN_REQUESTS_PER_SECOND));
+        double requestsPerSecond = toDouble(total.get("requestsPerSecond"));
+        if (requestsPerSecond < minRequestsPerSecond) {
+            violations.add(String.format("throughput %,.0f req/s < %,.0f req/s", requestsPerSecond, minRequestsPerSecond));
+        }
+
+        for (String label : PERCENTILE_LABELS) {
+            double maxLatency = toDouble(thresholdJSON.get(toMaxLatencyKey(label)));
+            double latency = toDouble(total.get(label + LATENCY_SUFFIX));
+            if (latency > maxLatency) {
+                violations.add(String.format("%s %,.0f us > %,.0f us", label, latency, maxLatency));
+            }
+        }
+
+        double maxErrorRate = toDouble(thresholdJSON.get(MAX_ERROR_RATE));
+        double errorRate = toDouble(total.get("errorRate"));
+        if (errorRate > maxErrorRate) {
+            violations.add(String.format("error rate %.4f%% > %.4f%%", errorRate * 100, maxErrorRate * 100));
+        }
+
+        if (violations.isEmpty()) {
+            System.out.println("all thresholds for '" + thresholdKey + "' passed");
+            return 0;
+        }
+
+        System.out.println(violations.size() + " threshold(s) for '" + thresholdKey + "' violated");
+        for (String violation : violations) {
+            System.out.println("  " + violation);
+        }
+        return 1;
+    }
+
+    private static void warnIfDifferent(JSONObject thresholdJSON, String name, int value) {
+        Object recordedValue = thresholdJSON.get(name);
+        if (recordedValue instanceof Number && ((Number) recordedValue).intValue() != value) {
+            System.out.println("warning: thresholds were recorded with " + name + "=" + recordedValue + ", this run uses " + value);
+        }
+    }
+
+    /**
+     * 현재 설정의 기준 값을 이번 결과로 갱신합니다. 다른 설정의 기준 값은 그대로 둡니다.
+     * 측정할 때 마다 생기는 차이로 실패하지 않도록, 처리량은 margin 만큼 낮추고 응답 시간은 margin 만큼 높여 기록합니다.
+     */
+    @SuppressWarnings("unchecked")
+    private static void updateThresholds(Path thresholdsPath, LoadTestOptions options, JSONObject result) throws IOException, ParseException {
+        double margin = options.getThresholdMargin();
+        JSONObject total = (JSONObject) result.get("total");
+
+        JSONObject thresholdJSON = new JSONObject();
+        thresholdJSON.put("connections", (long) options.getConnections());
+        thresholdJSON.put("threadCount", (long) options.getThreadCount());
+        thresholdJSON.put(MIN_REQUESTS_PER_SECOND, Math.floor(toDouble(total.get("requestsPerSecond")) * (1 - margin)));
+        for (String label : PERCENTILE_LABELS) {
+            thresholdJSON.put(toMaxLatencyKey(label), Math.ceil(toDouble(total.get(label + LATENCY_SUFFIX)) * (1 + margin)));
+        }
+        // 오류는 기대하지 않으므로, 여유만 둡니다.
+        thresholdJSON.put(MAX_ERROR_RATE, Math.max(toDouble(total.get("errorRate")) * (1 + margin), 0.001));
+
+        JSONObject thresholds = Files.exists(thresholdsPath) ? readThresholds(thresholdsPath) : new JSONObject();
+        thresholds.put(toThresholdKey(options), thresholdJSON);
+        writeJSON(thresholdsPath, thresholds);
+
+        System.out.println();
+        System.out.println("thresholds for '" + toThresholdKey(options) + "' written to " + thresholdsPath);
+    }
+
+    /** ex) p99 -> maxP99Micros */
+    private static String toMaxLatencyKey(String label) {
+        return MAX_LATENCY_PREFIX + Character.toUpperCase(label.charAt(0)) + label.substring(1) + LATENCY_SUFFIX;
+    }
+
+    private static JSONObject readThresholds(Path thresholdsPath) throws IOException, ParseException {
+        try (Reader reader = Files.newBufferedReader(thresholdsPath, StandardCharsets.UTF_8)) {
+            return (JSONObject) new JSONParser().parse(reader);
+        }
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+    }
+
+    /** 저장소에 기록하는 파일이므로, 비교하기 쉽도록 키를 정렬하고 들여쓰기 하여 기록합니다. */
+    private static void writeJSON(Path path, JSONObject json) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        StringBuilder builder = new StringBuilder();
+        appendJSON(builder, json, "");
+        builder.append(System.lineSeparator());
+        Files.write(path, builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void appendJSON(StringBuilder builder, Object value, String indent) {
+        String childIndent = indent + "  ";
+        if (value instanceof Map) {
+            Map<?, ?> sortedMap = new TreeMap<>((Map<?, ?>) value);
+            if (sortedMap.isEmpty()) {
+                builder.append("{}");
+                return;
+            }
+
+            builder.append("{");
+            String separator = System.lineSeparator();
+            for (Map.Entry<?, ?> entry : sortedMap.entrySet()) {
+                builder.append(separator).append(childIndent).append(JSONValue.toJSONString(String.valueOf(entry.getKey()))).append(": ");
+                appendJSON(builder, entry.getValue(), childIndent);
+                separator = "," + System.lineSeparator();
+            }
+            builder.append(System.lineSeparator()).append(indent).append("}");
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            if (list.isEmpty()) {
+                builder.append("[]");
+                return;
+            }
+
+            builder.append("[");
+            String separator = System.lineSeparator();
+            for (Object element : list) {
+                builder.append(separator).append(childIndent);
+                appendJSON(builder, element, childIndent);
+                separator = "," + System.lineSeparator();
+            }
+            builder.append(System.lineSeparator()).append(indent).append("]");
+        } else {
+            builder.append(JSONValue.toJSONString(value));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.mommoo.benchmark.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트의 명령행 옵션 입니다. 옵션은 --이름=값 형태로 전달합니다.
+ *
+ *  --connector=nio                 서버의 연결 처리 방식 (nio, blocking)
+ *  --executor=fixed                서버의 워커 실행 방식 (fixed, virtual)
+ *  --threadCount=16                서버의 워커 스레드 수
+ *  --maxQueueSize=1024             서버의 최대 작업 큐 크기
+ *  --maxKeepAliveRequests=100      연결 하나가 처리할 최대 요청 수, 도달하면 클라이언트가 다시 연결합니다.
+ *  --connections=64                동시에 요청하는 연결 수 (연결마다 하나의 클라이언트 스레드)
+ *  --warmup=5                      측정 전 예열 시간(s)
+ *  --duration=20                   측정 시간(s)
+ *  --mix=static:70,servlet:10,notFound:15,badHost:5   요청 종류 별 비율
+ *  --readTimeout=5000              응답을 기다리는 최대 시간(ms), 넘으면 오류로 기록합니다.
+ *  --result=target/load-result.json    결과를 기록할 파일
+ *  --thresholds=path               기준 값 파일, 결과가 기준을 벗어나면 1 로 종료합니다.
+ *  --updateThresholds=true         기준 값 파일의 현재 connector 항목을, 이번 결과에 여유(thresholdMargin)를 두어 갱신합니다.
+ *  --thresholdMargin=0.5           기준 값을 갱신할 때 두는 여유 비율
+ *
+ * @author mommoo
+ */
+class LoadTestOptions {
+    private String connector = "nio";
+    private String executor = "fixed";
+    private int threadCount = 16;
+    private int maxQueueSize = 1024;
+    private int maxKeepAliveRequests = 100;
+    private int connections = 64;
+    private int warmupSeconds = 5;
+    private int durationSeconds = 20;
+    private final Map<RequestKind, Integer> mix = new EnumMap<>(RequestKind.class);
+    private int readTimeoutMillis = 5000;
+    private String resultPath = "target/load-result.json";
+    private String thresholdsPathOrNull;
+    private boolean updateThresholds = false;
+    private double thresholdMargin = 0.5;
+
+    LoadTestOptions(String[] args) {
+        parseMix("static:70,servlet:10,notFound:15,badHost:5");
+
+        for (String arg : args) {
+            int indexOfEquals = arg.indexOf('=');
+            if (!arg.startsWith("--") || indexOfEquals == -1) {
+                throw new IllegalArgumentException("옵션은 --이름=값 형태여야 합니다. " + arg);
+            }
+            set(arg.substring(2, indexOfEquals), arg.substring(indexOfEquals + 1));
+        }
+
+        if (connections < 1 || durationSeconds < 1 || warmupSeconds < 0) {
+            throw new IllegalArgumentException("connections, duration 은 1 이상, warmup 은 0 이상이어야 합니다.");
+        }
+        if (updateThresholds && thresholdsPathOrNull == null) {
+            throw new IllegalArgumentException("updateThresholds 는 thresholds 파일 경로가 필요합니다.");
+        }
+    }
+
+    private void set(String name, String value) {
+        switch (name) {
+            case "connector": connector = value; break;
+            case "executor": executor = value; break;
+            case "threadCount": threadCount = Integer.parseInt(value); break;
+            case "maxQueueSize": maxQueueSize = Integer.parseInt(value); break;
+            case "maxKeepAliveRequests": maxKeepAliveRequests = Integer.parseInt(value); break;
+            case "connections": connections = Integer.parseInt(value); break;
+            case "warmup": warmupSeconds = Integer.parseInt(value); break;
+            case "duration": durationSeconds = Integer.parseInt(value); break;
+            case "mix": parseMix(value); break;
+            case "readTimeout": readTimeoutMillis = Integer.parseInt(value); break;
+            case "result": resultPath = value; break;
+            case "thresholds": thresholdsPathOrNull = value; break;
+            case "updateThresholds": updateThresholds = Boolean.parseBoolean(value); break;
+            case "thresholdMargin": thresholdMargin = Double.parseDouble(value); break;
+            default: throw new IllegalArgumentException("알 수 없는 옵션 입니다. " + name);
+        }
+    }
+
+    /** ex) static:70,servlet:10 , 적지 않은 종류는 요청하지 않습니다. */
+    private void parseMix(String text) {
+        mix.clear();
+        for (String entry : text.split(",")) {
+            String[] nameAndWeight = entry.trim().split(":");
+            RequestKind requestKind = nameAndWeight.length == 2 ? RequestKind.of(nameAndWeight[0].trim()) : null;
+            if (requestKind == null) {
+                throw new IllegalArgumentException("요청 비율의 형식이 올바르지 않습니다. " + entry);
+            }
+
+            int weight = Integer.parseInt(nameAndWeight[1].trim());
+            if (weight > 0) {
+                mix.put(requestKind, weight);
+            }
+        }
+
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("요청할 종류가 없습니다. " + text);
+        }
+    }
+
+    String getConnector() {
+        return connector;
+    }
+
+    String getExecutor() {
+        return executor;
+    }
+
+    int getThreadCount() {
+        return threadCount;
+    }
+
+    int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    int getMaxKeepAliveRequests() {
+        return maxKeepAliveRequests;
+    }
+
+    int getConnections() {
+        return connections;
+    }
+
+    int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    Map<RequestKind, Integer> getMix() {
+        return mix;
+    }
+
+    int getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    String getResultPath() {
+        return resultPath;
+    }
+
+    String getThresholdsPathOrNull() {
+        return thresholdsPathOrNull;
+    }
+
+    boolean isUpdateThresholds() {
+        return updateThresholds;
+    }
+
+    double getThresholdMargin() {
+        return thresholdMargin;
+    }
+}
@@ -0,0 +1,170 @@
+package com.mommoo.benchmark.load;
+
+import com.mommoo.SimpleServer;
+import com.mommoo.conf.ServerConfiguration;
+import com.mommoo.servlet.ServletRegistry;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부하 테스트를 위해 같은 프로세스에서 {@link SimpleServer}를 구동하는 클래스 입니다.
+ *
+ * 임시 디렉토리에 문서 경로와 server.json 을 생성한 뒤, {@link com.mommoo.SimpleServerBoot}와 같은 순서로 서버를 구동합니다.
+ * 포트번호는 Host 헤더 검사에 사용되므로, 사용하지 않는 포트를 미리 찾아 server.json 에 기록합니다.
+ *
+ * 문서 경로는 크기가 다른 정적 파일들로 구성하여, 힙 캐시, 메모리 매핑, 파일 전송 경로를 모두 사용하도록 합니다.
+ *
+ * @author mommoo
+ */
+class LoadTestServer {
+    static final String HOST_NAME = "localhost";
+    static final String SERVLET_URI = "/time";
+    static final String METRICS_URI = "/server-metrics";
+
+    private static final long START_TIMEOUT_MILLIS = 10_000;
+
+    /** 문서 경로의 정적 파일과 크기(byte) 입니다. */
+    private static final Object[][] STATIC_FILES = {
+            {"index.html", 1024},
+            {"static/css/style.css", 4 * 1024},
+            {"static/js/app.js", 12 * 1024},
+            {"static/images/photo.jpg", 96 * 1024},
+            {"static/download/manual.pdf", 512 * 1024}
+    };
+
+    private final Path workPath;
+    private final int portNumber;
+
+    private LoadTestServer(Path workPath, int portNumber) {
+        this.workPath = workPath;
+        this.portNumber = portNumber;
+    }
+
+    static LoadTestServer start(LoadTestOptions options) throws Exception {
+        Path workPath = Files.createTempDirectory("simple-was-load-");
+        Path documentPath = workPath.resolve("www");
+        for (Object[] staticFile : STATIC_FILES) {
+            writeFile(documentPath.resolve((String) staticFile[0]), (Integer) staticFile[1]);
+        }
+
+        int portNumber = findFreePortNumber();
+        Path configPath = workPath.resolve("server.json");
+        Files.write(configPath, createConfiguration(options, workPath, documentPath, portNumber).toJSONString().getBytes(StandardCharsets.UTF_8));
+
+        ServerConfiguration serverConfiguration = new ServerConfiguration(configPath.toString());
+        for (Map.Entry<String, String> servletMapping : serverConfiguration.getServletMapping().entrySet()) {
+            ServletRegistry.getInstance().register(servletMapping.getKey(), servletMapping.getValue());
+        }
+
+        SimpleServer simpleServer = new SimpleServer(serverConfiguration);
+        simpleServer.addServerSpecs(serverConfiguration.getServerSpecs(portNumber));
+
+        // 서버는 종료하는 방법이 없으므로, 부하 테스트가 끝나면 프로세스와 함께 종료되도록 합니다.
+        Thread serverThread = new Thread(simpleServer::start, "load-test-server");
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        LoadTestServer loadTestServer = new LoadTestServer(workPath, portNumber);
+        loadTestServer.waitUntilListening();
+        return loadTestServer;
+    }
+
+    InetSocketAddress getAddress() {
+        return new InetSocketAddress("127.0.0.1", portNumber);
+    }
+
+    /** Host 헤더에 사용하는 값 입니다. */
+    String getHost() {
+        return HOST_NAME + ":" + portNumber;
+    }
+
+    Path getWorkPath() {
+        return workPath;
+    }
+
+    /** 요청할 정적 파일의 URI 입니다. */
+    static List<String> getStaticURIs() {
+        List<String> staticURIs = new ArrayList<>();
+        for (Object[] staticFile : STATIC_FILES) {
+            staticURIs.add("/" + staticFile[0]);
+        }
+        return Collections.unmodifiableList(staticURIs);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONObject createConfiguration(LoadTestOptions options, Path workPath, Path documentPath, int portNumber) {
+        String logPath = workPath.resolve("log").toString();
+
+        JSONObject servlet = new JSONObject();
+        servlet.put("servletURI", SERVLET_URI);
+        servlet.put("servletClass", "com.mommoo.servlet.TimeStampPage");
+
+        JSONObject serverSpec = new JSONObject();
+        serverSpec.put("serverName", HOST_NAME);
+        serverSpec.put("portNumber", (long) portNumber);
+        serverSpec.put("documentPath", documentPath.toString());
+        serverSpec.put("logPath", logPath);
+        serverSpec.put("indexPage", "index.html");
+        serverSpec.put("errorPage", new JSONArray());
+
+        JSONObject configuration = new JSONObject();
+        configuration.put("mainLogPath", logPath);
+        configuration.put("threadCount", (long) options.getThreadCount());
+        configuration.put("connector", options.getConnector());
+        configuration.put("executor", options.getExecutor());
+        configuration.put("maxQueueSize", (long) options.getMaxQueueSize());
+        configuration.put("maxKeepAliveRequests", (long) options.getMaxKeepAliveRequests());
+        configuration.put("metricsURI", METRICS_URI);
+        configuration.put("servletMapping", toJSONArray(servlet));
+        configuration.put("serverSpec", toJSONArray(serverSpec));
+        return configuration;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JSONArray toJSONArray(JSONObject element) {
+        JSONArray jsonArray = new JSONArray();
+        jsonArray.add(element);
+        return jsonArray;
+    }
+
+    private static int findFreePortNumber() throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            return serverSocket.getLocalPort();
+        }
+    }
+
+    private void waitUntilListening() throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + START_TIMEOUT_MILLIS;
+        while (true) {
+            try (Socket socket = new Socket()) {
+                socket.connect(getAddress(), 100);
+                return;
+            } catch (IOException e) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IOException("서버가 " + START_TIMEOUT_MILLIS + "ms 안에 구동되지 않았습니다.", e);
+                }
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    private static void writeFile(Path filePath, int size) throws IOException {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) 'a');
+        Files.createDirectories(filePath.getParent());
+        Files.write(filePath, bytes);
+    }
+}
@@ -0,0 +1,45 @@
+package com.mommoo.benchmark.load;
+
+import com.mommoo.http.HttpStatus;
+
+import java.util.Arrays;
+
+/**
+ * 부하 테스트가 보내는 요청의 종류 입니다.
+ *
+ * @author mommoo
+ */
+enum RequestKind {
+    /** 문서 경로의 정적 파일을 요청합니다. */
+    STATIC("static", HttpStatus.CODE_200),
+    /** 서블릿을 요청합니다. */
+    SERVLET("servlet", HttpStatus.CODE_200),
+    /** 문서 경로에 없는 파일을 요청합니다. */
+    NOT_FOUND("notFound", HttpStatus.CODE_404),
+    /** 등록되지 않은 Host 로 요청합니다. */
+    BAD_HOST("badHost", HttpStatus.CODE_412);
+
+    private final String text;
+    private final HttpStatus expectedStatus;
+
+    RequestKind(String text, HttpStatus expectedStatus) {
+        this.text = text;
+        this.expectedStatus = expectedStatus;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /** 서버가 올바르게 동작했다면 응답해야 하는 상태 코드 입니다. */
+    public HttpStatus getExpectedStatus() {
+        return expectedStatus;
+    }
+
+    public static RequestKind of(String text) {
+        return Arrays.stream(values())
+                .filter(requestKind -> requestKind.text.equalsIgnoreCase(text))
+                .findFirst()
+                .orElse(null);
+    }
+}
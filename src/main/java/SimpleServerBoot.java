@@ -2,11 +2,13 @@ import com.mommoo.SimpleServer;
 import com.mommoo.conf.JSONKeyNotFoundException;
 import com.mommoo.conf.ServerConfiguration;
 import com.mommoo.conf.ServerSpec;
+import com.mommoo.servlet.ServletRegistry;
 import org.json.simple.parser.ParseException;
 
 import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Boot 클래스 입니다.
@@ -26,17 +28,18 @@ public class SimpleServerBoot {
             // 파일 구성을 인스턴스화 합니다. 파일 구성에 실패하면 하단의 catch 코드를 타게 됩니다.
             ServerConfiguration serverConfiguration = new ServerConfiguration(serverConfigPath);
 
-            // 파일 구성에 적힌 mainLogPath 와 threadCount를 가져옵니다.
-            String mainLogPath = serverConfiguration.getMainLogPath();
-            int threadCount = serverConfiguration.getThreadCount();
+            // 설정 파일에 매핑된 서블릿을 요청을 받기 전에 미리 생성합니다.
+            for (Map.Entry<String, String> servletMapping : serverConfiguration.getServletMapping().entrySet()) {
+                ServletRegistry.getInstance().register(servletMapping.getKey(), servletMapping.getValue());
+            }
 
             // 포트별로 SimpleServer를 구동 시킵니다.
             for (int portNumber : serverConfiguration.getServerPortList()) {
                 // 포트별로 분류된 ServerSpec 리스트를 구합니다.
                 List<ServerSpec> serverSpecList = serverConfiguration.getServerSpecs(portNumber);
 
-                // SimpleServer 인스턴스를 생성합니다.
-                SimpleServer simpleServer = new SimpleServer(mainLogPath, threadCount);
+                // 파일 구성에 적힌 mainLogPath, threadCount 등의 설정으로 SimpleServer 인스턴스를 생성합니다.
+                SimpleServer simpleServer = new SimpleServer(serverConfiguration);
                 // 같은 포트로 구성된 ServerSpec 리스트를 SimpleServer에 추가 합니다.
                 simpleServer.addServerSpecs(serverSpecList);
 
@@ -61,6 +64,9 @@ public class SimpleServerBoot {
         } catch (ClassCastException cce) {
             System.err.println("server.json 설정 파일의 데이터 값 타입이 올바르지 않습니다.");
             cce.printStackTrace();
+        } catch (ReflectiveOperationException roe) {
+            System.err.println("server.json 설정 파일의 서블릿 클래스를 생성할 수 없습니다.");
+            roe.printStackTrace();
         } catch (InvalidParameterException ipe) {
             System.err.println("SimpleServer에 유효하지 않은 인자를 추가했습니다.");
             ipe.printStackTrace();
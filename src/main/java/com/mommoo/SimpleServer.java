@@ -1,17 +1,43 @@
 package com.mommoo;
 
+import com.mommoo.conf.ServerConfiguration;
 import com.mommoo.conf.ServerSpec;
+import com.mommoo.conf.VirtualHostTable;
+import com.mommoo.connector.BlockingConnector;
+import com.mommoo.connector.ConnectionHandler;
+import com.mommoo.connector.Connector;
+import com.mommoo.connector.ConnectorType;
+import com.mommoo.connector.ExecutorType;
+import com.mommoo.connector.NioConnector;
+import com.mommoo.contents.CachedContent;
+import com.mommoo.contents.DocumentIndexer;
+import com.mommoo.contents.DocumentWatcher;
+import com.mommoo.contents.ErrorPageTable;
+import com.mommoo.contents.FileMetadata;
+import com.mommoo.contents.FileMetadataCache;
+import com.mommoo.contents.IndexedFile;
+import com.mommoo.contents.MappedFile;
+import com.mommoo.contents.MappedFileCache;
 import com.mommoo.contents.ServerContents;
 import com.mommoo.contents.ServerContentsFinder;
+import com.mommoo.contents.StaticContentCache;
 import com.mommoo.http.HttpHeaderType;
+import com.mommoo.http.HttpMethod;
 import com.mommoo.http.HttpStatus;
 import com.mommoo.http.request.HttpRequest;
-import com.mommoo.http.request.HttpRequestBuilder;
+import com.mommoo.http.request.HttpRequestParseException;
 import com.mommoo.http.request.rule.HttpRequestRuleInspector;
 import com.mommoo.http.request.rule.HttpRequestRuleResult;
-import com.mommoo.http.response.HttpResponse;
+import com.mommoo.http.response.CompressionPolicy;
+import com.mommoo.http.response.ContentEncoding;
+import com.mommoo.http.response.FileValidator;
 import com.mommoo.http.response.HttpResponseHandler;
 import com.mommoo.http.response.HttpResponseSender;
+import com.mommoo.http.response.MimeTypeTable;
+import com.mommoo.http.response.PreparedResponse;
+import com.mommoo.log.AccessLog;
+import com.mommoo.metrics.RequestStage;
+import com.mommoo.metrics.ServerMetrics;
 import com.mommoo.servlet.SimpleServlet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,35 +45,60 @@ import org.slf4j.MDC;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.stream.Collectors;
 
 /**
  * 제가 정의한 WAS 프로세스를 수행하는 클래스 입니다.
  *
  * 해당 클래스는 같은 포트의 {@link ServerSpec}들로 구성되어 실행됩니다.
+ * 연결을 받는 역할은 설정된 {@link Connector}에게 맡기고, 전달 받은 요청을 처리합니다.
  *
  * @author mommoo
  */
-public class SimpleServer {
+public class SimpleServer implements ConnectionHandler {
     private static final Logger logger = LoggerFactory.getLogger(SimpleServer.class);
 
     private final List<ServerSpec> serverSpecList = new ArrayList<>();
+    private final Map<ServerSpec, StaticContentCache> contentCacheMap = new HashMap<>();
+    private final Map<ServerSpec, MappedFileCache> mappedCacheMap = new HashMap<>();
+    private final Map<ServerSpec, FileMetadataCache> metadataCacheMap = new HashMap<>();
+    private final Map<ServerSpec, DocumentIndexer> documentIndexerMap = new HashMap<>();
+    private final Map<ServerSpec, DocumentWatcher> documentWatcherMap = new HashMap<>();
+    private final Map<ServerSpec, ErrorPageTable> errorPageTableMap = new HashMap<>();
+    private final ServerConfiguration serverConfiguration;
     private final String mainLogPath;
     private final int threadCount;
+    private final ConnectorType connectorType;
+    private final CompressionPolicy compressionPolicy;
+    private final MimeTypeTable mimeTypeTable;
+    private final AccessLog accessLogOrNull;
+    private final String metricsURIOrNull;
     private int portNumber = -1;
-    private ServerSpec anyMatchServerSpec;
-
-    public SimpleServer(String mainLogPath, int threadCount) {
-        this.mainLogPath = mainLogPath;
-        this.threadCount = threadCount;
+    private VirtualHostTable virtualHostTable;
+    private ServerMetrics metricsOrNull;
+
+    public SimpleServer(ServerConfiguration serverConfiguration) {
+        this.serverConfiguration = serverConfiguration;
+        this.mainLogPath = serverConfiguration.getMainLogPath();
+        this.threadCount = serverConfiguration.getThreadCount();
+        this.connectorType = serverConfiguration.getConnectorType();
+        this.compressionPolicy = new CompressionPolicy(serverConfiguration.getCompressionMinSize(), serverConfiguration.getCompressionMimeTypes());
+        this.mimeTypeTable = new MimeTypeTable(serverConfiguration.getMimeTypes(), serverConfiguration.getCharset());
+        this.accessLogOrNull = serverConfiguration.getAccessLogBufferSize() > 0
+                ? new AccessLog(serverConfiguration.getAccessLogBufferSize(), mainLogPath)
+                : null;
+        this.metricsURIOrNull = serverConfiguration.getMetricsURIOrNull();
     }
 
     public void addServerSpecs(List<ServerSpec> serverSpecs) throws InvalidParameterException {
@@ -60,6 +111,12 @@ public class SimpleServer {
         // 처음으로 등록되는 ServerSpec의 포트번호를 SimpleServer가 구동할 포트번호로 구성합니다.
         if (portNumber == -1) {
             portNumber = serverSpec.getPortNumber();
+            virtualHostTable = new VirtualHostTable(portNumber);
+
+            // 처리 시간 지표를 조회할 URI 가 설정되었다면, 지표를 기록합니다.
+            if (metricsURIOrNull != null) {
+                metricsOrNull = new ServerMetrics(portNumber);
+            }
         }
 
         // 만약 포트번호가 다른 ServerSpec이라면, InvalidParameterException을 던집니다.
@@ -70,12 +127,44 @@ public class SimpleServer {
             throw new InvalidParameterException(errorMsg);
         }
 
-        // 모든 경우를 매칭하는 ServerSpec을 구분합니다.
-        if (serverSpec.getServerName().equals("*")) {
-            anyMatchServerSpec = serverSpec;
-        } else {
+        // Host 로 ServerSpec 을 찾도록 등록합니다. 모든 경우를 매칭하는 ServerSpec 은 로그에 기록하지 않습니다.
+        virtualHostTable.add(serverSpec);
+        if (!serverSpec.getServerName().equals("*")) {
             serverSpecList.add(serverSpec);
         }
+
+        // 기록할 때 객체를 만들지 않도록, ServerSpec 의 히스토그램을 미리 구성합니다.
+        if (metricsOrNull != null) {
+            metricsOrNull.addServerSpec(serverSpec);
+        }
+
+        // ServerSpec이 기술한 에러 페이지를 미리 응답 데이터로 구성합니다.
+        errorPageTableMap.put(serverSpec, new ErrorPageTable(serverSpec));
+
+        // 정적 파일 캐시를 사용한다면, ServerSpec 마다 캐시를 구성합니다.
+        if (serverConfiguration.getContentCacheSize() > 0) {
+            contentCacheMap.put(serverSpec, new StaticContentCache(serverSpec,
+                    serverConfiguration.getContentCacheSize(), serverConfiguration.getContentCacheMaxFileSize(), compressionPolicy, mimeTypeTable));
+        }
+
+        // 힙 캐시에 보관하기에 큰 파일을 메모리에 매핑한다면, ServerSpec 마다 매핑을 보관합니다.
+        if (serverConfiguration.getMappedCacheSize() > 0) {
+            mappedCacheMap.put(serverSpec, new MappedFileCache(serverConfiguration.getMappedCacheSize(),
+                    serverConfiguration.getContentCacheMaxFileSize(), serverSpec.getLogPath()));
+        }
+
+        // 색인을 사용한다면 색인에서 파일을 찾으며, 아니라면 경로 조회 결과 캐시로 없는 경로의 결과도 ServerSpec 마다 보관합니다.
+        if (serverConfiguration.isDocumentIndexEnabled()) {
+            documentIndexerMap.put(serverSpec, new DocumentIndexer(Paths.get(serverSpec.getDocumentPath()), serverSpec.getLogPath(), mimeTypeTable));
+        } else if (serverConfiguration.getMetadataCacheSize() > 0 && serverConfiguration.getMetadataCacheTTL() > 0) {
+            metadataCacheMap.put(serverSpec, new FileMetadataCache(serverConfiguration.getMetadataCacheSize(), serverConfiguration.getMetadataCacheTTL()));
+        }
+
+        // 캐시들이 같이 사용하도록, 문서 경로의 감시자는 ServerSpec 마다 하나만 구성합니다.
+        if (contentCacheMap.containsKey(serverSpec) || mappedCacheMap.containsKey(serverSpec)
+                || metadataCacheMap.containsKey(serverSpec) || documentIndexerMap.containsKey(serverSpec)) {
+            documentWatcherMap.put(serverSpec, new DocumentWatcher(Paths.get(serverSpec.getDocumentPath()), serverSpec.getLogPath()));
+        }
     }
 
     public void start() {
@@ -89,128 +178,226 @@ public class SimpleServer {
         // SimpleServer의 정보를 로깅합니다.
         printLogOfServerInfo();
 
-        ServerSocket serverSocket = null;
-        try {
-            serverSocket = new ServerSocket(portNumber);
-        } catch (IOException e) {
-            logger.error("서버 소켓을 열지 못했습니다.", e);
-            return;
+        // 파일 캐시들이 문서 경로의 변경을 감시하도록 합니다.
+        // 경로 조회 결과 캐시는 감시하지 못하더라도, ttl 이 지나면 디스크에서 다시 읽으므로 그대로 사용합니다.
+        for (Map.Entry<ServerSpec, DocumentWatcher> documentWatcherEntry : documentWatcherMap.entrySet()) {
+            ServerSpec serverSpec = documentWatcherEntry.getKey();
+            DocumentWatcher documentWatcher = documentWatcherEntry.getValue();
+
+            FileMetadataCache metadataCache = metadataCacheMap.get(serverSpec);
+            if (metadataCache != null) {
+                documentWatcher.addListener(metadataCache);
+            }
+
+            DocumentIndexer documentIndexer = documentIndexerMap.get(serverSpec);
+            if (documentIndexer != null) {
+                documentWatcher.addListener(documentIndexer);
+            }
+
+            MappedFileCache mappedCache = mappedCacheMap.get(serverSpec);
+            if (mappedCache != null) {
+                mappedCache.startWatching(documentWatcher);
+            }
+
+            StaticContentCache contentCache = contentCacheMap.get(serverSpec);
+            if (contentCache != null) {
+                contentCache.startWatching(documentWatcher);
+            } else {
+                documentWatcher.start();
+            }
+
+            // 감시를 시작한 뒤에 색인하여, 색인하는 도중 변경된 파일도 다음 색인에 반영되도록 합니다.
+            if (documentIndexer != null) {
+                documentIndexer.reindex();
+            }
+        }
+
+        // 접근 로그는 요청 스레드와 분리된 스레드에서 기록하며, 프로세스가 종료될 때 남은 로그를 기록합니다.
+        if (accessLogOrNull != null) {
+            accessLogOrNull.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(accessLogOrNull::close));
         }
 
         // 요청 처리를 병렬로 하기 위한 스레드 서비스 인스턴스를 생성합니다.
-        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        ExecutorType executorType = serverConfiguration.getExecutorType();
+        ExecutorService executorService = executorType.createExecutorService(threadCount, serverConfiguration.getMaxQueueSize());
 
-        while (true) {
-            logger.info(this + "의 Connection Listen 시작");
+        // 가상 스레드를 지원하지 않는 JDK 라면, 스레드 풀로 대신 동작합니다.
+        if (executorType == ExecutorType.VIRTUAL && executorService instanceof ThreadPoolExecutor) {
+            setLogPath(mainLogPath);
+            logger.warn("실행중인 JDK가 가상 스레드를 지원하지 않아, " + threadCount + "개의 스레드 풀로 동작합니다.");
+        }
 
-            Socket tempSocket = null;
-            try {
-                tempSocket = serverSocket.accept();
-            } catch (IOException e) {
-                logger.error("소켓을 받지 못했습니다.", e);
-                continue;
-            }
+        // 설정된 연결 처리 방식에 맞는 Connector를 생성합니다.
+        Connector connector = connectorType == ConnectorType.NIO
+                ? new NioConnector(portNumber, serverConfiguration, executorService, this)
+                : new BlockingConnector(portNumber, serverConfiguration, executorService, this);
 
-            // 클라이언트의 소켓 정보를 로깅합니다.
-            printLogOfClientInfo(tempSocket);
+        try {
+            connector.listen();
+        } catch (IOException e) {
+            setLogPath(mainLogPath);
+            logger.error("서버 소켓을 열지 못했습니다.", e);
+        }
+    }
 
-            // 자바 익명클래스는 final 변수로 받아야 하므로, 어쩔 수 없이 추가적인 코드를 넣었습니다.
-            final Socket socket = tempSocket;
+    @Override
+    public void onAccept(SocketAddress remoteAddress) {
+        // 클라이언트의 소켓 정보를 로깅합니다.
+        printLogOfClientInfo(remoteAddress);
+    }
 
-            executorService.submit(() -> {
-                // 사용자에게 HttpResponse 응답을 보낼 수 있는 인스턴스를 생성합니다.
-                HttpResponseSender responseSender = new HttpResponseSender(socket);
+    @Override
+    public void onBadRequest(HttpRequestParseException parseException, HttpResponseSender responseSender) {
+        // 요청 메시지를 분석하지 못했으므로 ServerSpec을 구성할 수 없고, 사용자가 정의한 HTML 파일을 찾을 수 없습니다.
+        // 따라서, 자체적으로 500 Error HTML를 구성하여 처리합니다.
+        setLogPath(mainLogPath);
+        logger.error("서버 에러가 발생했습니다.", parseException);
+        responseSender.sendBasicHTMLPage(HttpStatus.CODE_500, mainLogPath);
+    }
 
-                HttpRequest httpRequest = null;
-                ServerSpec serverSpec = null;
+    @Override
+    public void onStageCompleted(RequestStage stage, long elapsedNanos) {
+        // 큐 대기와 요청 분석은 ServerSpec 을 알기 전의 단계이므로, ServerSpec 없이 기록합니다.
+        if (metricsOrNull != null) {
+            metricsOrNull.recordStage(null, stage, elapsedNanos);
+        }
+    }
 
-                // ServerSpec 이 구성되기 전, 서버 에러를 검증하기 위한 try-catch 입니다.
-                // 여기서 발생하는 서버 에러는 ServerSpec을 구성하기 전에 발생하므로, 사용자가 정의한 HTML 파일을 찾을 수 없습니다.
-                // 따라서, 자체적으로 500 Error HTML를 구성하여 처리합니다.
-                try {
-                    //HttpRequest 인스턴스를 구성합니다.
-                    HttpRequestBuilder requestBuilder = new HttpRequestBuilder(mainLogPath, socket);
-                    httpRequest = requestBuilder.build();
-
-                    // Host 정보를 토대로 매칭되는 ServerSpec을 검사합니다.
-                    String host = httpRequest.getHeader(HttpHeaderType.HOST);
-                    serverSpec = findServerSpecByHostOrNull(host);
-
-                    // 매칭되는 ServerSpec이 존재하지 않습니다.
-                    // 구성된 ServerSpec이 없으므로, 사용자가 정의한 HTML 파일을 찾을 수 없습니다.
-                    // 따라서, 자체적으로 412 Error HTML를 구성하여 처리합니다.
-                    if (serverSpec == null) {
-                        // 비정상적인 HOST 접근이므로, HOST 매핑 에러 정보를 출력합니다.
-                        printLogOfInvalidateHostAccess(host);
-                        // ServerSpec이 정의되지 않았으므로, 자체적으로 412 HTML을 구성하여 처리합니다.
-                        responseSender.sendBasicHTMLPage(HttpStatus.CODE_412, mainLogPath);
-                        return;
-                    }
-                } catch (Exception e) {
-                    setLogPath(mainLogPath);
-                    logger.error("서버 에러가 발생했습니다.", e);
-                    responseSender.sendBasicHTMLPage(HttpStatus.CODE_500, mainLogPath);
-                    return;
-                }
+    @Override
+    public boolean onRequest(HttpRequest httpRequest, HttpResponseSender responseSender) {
+        long startNanos = System.nanoTime();
+        ServerSpec serverSpec = handleRequest(httpRequest, responseSender);
+        long elapsedNanos = System.nanoTime() - startNanos;
+        HttpStatus httpStatus = responseSender.getHttpStatusOrNull();
+
+        // 응답을 마친 뒤, 접근 로그를 링 버퍼에 넣습니다. 파일에는 접근 로그 스레드가 기록합니다.
+        if (accessLogOrNull != null) {
+            accessLogOrNull.publish(serverSpec == null ? mainLogPath : serverSpec.getLogPath(), responseSender.getRemoteAddressOrNull(),
+                    httpRequest.getMethod(), httpRequest.getURI(), httpRequest.getSchema(),
+                    httpStatus == null ? 0 : httpStatus.getCodeNum(), elapsedNanos);
+        }
 
-                // ServerSpec이 올바르게 구성 된 후 ServerSpec이 정의한 로깅이 동작합니다.
-                String serverSpecLog = serverSpec.getLogPath();
+        if (metricsOrNull != null) {
+            metricsOrNull.recordRequest(serverSpec, httpStatus, elapsedNanos);
+        }
 
-                // ServerSpec 이 구성된 후, 서버 에러를 검증하기 위한 try-catch 입니다.
-                // 여기서 발생하는 서버 에러는 ServerSpec이 기술한 500에러 파일 매핑을 처리합니다.
-                try {
-                    // HttpRequest 검증을 시도합니다.
-                    HttpRequestRuleResult ruleResult
-                            = HttpRequestRuleInspector
-                            .getInstance()
-                            .isValidateRequest(serverSpec, httpRequest);
+        return responseSender.isKeepAlive();
+    }
 
-                    // HttpRequest 인스턴스 정보와 검증 결과를 로깅합니다.
-                    printLogOfHttpRequest(serverSpecLog, httpRequest, ruleResult);
+    /**
+     * 요청 하나를 처리하고 응답합니다. 연결 유지 여부는 {@link HttpResponseSender#isKeepAlive()}에 반영됩니다.
+     *
+     * @return 요청을 처리한 ServerSpec, 찾지 못했다면 null
+     */
+    private ServerSpec handleRequest(HttpRequest httpRequest, HttpResponseSender responseSender) {
+        ServerSpec serverSpec = null;
+
+        // ServerSpec 이 구성되기 전, 서버 에러를 검증하기 위한 try-catch 입니다.
+        // 여기서 발생하는 서버 에러는 ServerSpec을 구성하기 전에 발생하므로, 사용자가 정의한 HTML 파일을 찾을 수 없습니다.
+        // 따라서, 자체적으로 500 Error HTML를 구성하여 처리합니다.
+        try {
+            // Connector가 허용하더라도, 클라이언트가 원하지 않는다면 연결을 유지하지 않습니다.
+            responseSender.setKeepAlive(responseSender.isKeepAlive() && isKeepAliveRequested(httpRequest));
 
-                    // 검증을 통과하지 못했다면 403 에러로 설정합니다.
-                    HttpStatus httpStatus = ruleResult.isValidate ? HttpStatus.CODE_200 : HttpStatus.CODE_403;
+            // 처리 시간 지표를 요청했다면, Host 와 관계없이 지표로 응답합니다.
+            if (metricsOrNull != null && metricsURIOrNull.equals(httpRequest.getURI())) {
+                sendMetrics(httpRequest, responseSender);
+                return null;
+            }
 
-                    // 환경에 알맞은 컨텐츠를 찾기 위해 해당 인스턴스를 구성합니다.
-                    ServerContentsFinder contentsFinder = new ServerContentsFinder(serverSpec, httpRequest.getURI(), httpStatus);
+            // Host 정보를 토대로 매칭되는 ServerSpec을 검사합니다.
+            String host = httpRequest.getHeader(HttpHeaderType.HOST);
+            serverSpec = findServerSpecByHostOrNull(host);
+
+            // 매칭되는 ServerSpec이 존재하지 않습니다.
+            // 구성된 ServerSpec이 없으므로, 사용자가 정의한 HTML 파일을 찾을 수 없습니다.
+            // 따라서, 자체적으로 412 Error HTML를 구성하여 처리합니다.
+            if (serverSpec == null) {
+                // 비정상적인 HOST 접근이므로, HOST 매핑 에러 정보를 출력합니다.
+                printLogOfInvalidateHostAccess(host);
+                // ServerSpec이 정의되지 않았으므로, 자체적으로 412 HTML을 구성하여 처리합니다.
+                responseSender.sendBasicHTMLPage(HttpStatus.CODE_412, mainLogPath);
+                return null;
+            }
+        } catch (Exception e) {
+            setLogPath(mainLogPath);
+            logger.error("서버 에러가 발생했습니다.", e);
+            // 요청 메시지를 신뢰할 수 없으므로, 연결을 유지하지 않습니다.
+            responseSender.setKeepAlive(false);
+            responseSender.sendBasicHTMLPage(HttpStatus.CODE_500, mainLogPath);
+            return null;
+        }
 
-                    // 클라이언트에게 알맞은 컨텐츠를 보냅니다.
-                    sendResponseWithContents(httpRequest, responseSender, contentsFinder, serverSpecLog);
+        // ServerSpec이 올바르게 구성 된 후 ServerSpec이 정의한 로깅이 동작합니다.
+        String serverSpecLog = serverSpec.getLogPath();
 
-                } catch(Exception e) {
-                    // ServerSpec이 구성됬으므로, 메인 로그 와 서버 로그 둘다 로깅합니다.
-                    eachPrintErrorLog(serverSpec, "서버 에러가 발생했습니다.", e);
+        // ServerSpec 이 구성된 후, 서버 에러를 검증하기 위한 try-catch 입니다.
+        // 여기서 발생하는 서버 에러는 ServerSpec이 기술한 500에러 파일 매핑을 처리합니다.
+        try {
+            // HttpRequest 검증을 시도합니다.
+            long stageStartNanos = System.nanoTime();
+            HttpRequestRuleResult ruleResult
+                    = HttpRequestRuleInspector
+                    .getInstance()
+                    .isValidateRequest(serverSpec, httpRequest);
+
+            // HttpRequest 인스턴스 정보와 검증 결과를 로깅합니다.
+            printLogOfHttpRequest(serverSpecLog, httpRequest, ruleResult);
+            stageStartNanos = recordStage(serverSpec, RequestStage.RULE, stageStartNanos);
+
+            // 검증을 통과하지 못했다면 403 에러 페이지로 응답합니다.
+            if (!ruleResult.isValidate) {
+                sendErrorPage(serverSpec, HttpStatus.CODE_403, responseSender);
+                recordStage(serverSpec, RequestStage.WRITE, stageStartNanos);
+                return serverSpec;
+            }
 
-                    // 500에러를 처리하기 위한 컨텐츠를 찾기 위해 해당 인스턴스를 구성합니다.
-                    ServerContentsFinder contentsFinder = new ServerContentsFinder(serverSpec, "", HttpStatus.CODE_500);
-                    sendResponseWithContents(httpRequest, responseSender, contentsFinder, serverSpecLog);
-                }
+            // 환경에 알맞은 컨텐츠를 찾기 위해 해당 인스턴스를 구성합니다.
+            StaticContentCache contentCache = contentCacheMap.get(serverSpec);
+            DocumentIndexer documentIndexer = documentIndexerMap.get(serverSpec);
+            ServerContentsFinder contentsFinder = documentIndexer == null
+                    ? new ServerContentsFinder(serverSpec, httpRequest.getURI(), HttpStatus.CODE_200, contentCache, metadataCacheMap.get(serverSpec))
+                    : new ServerContentsFinder(serverSpec, httpRequest.getURI(), HttpStatus.CODE_200, documentIndexer.getIndex());
+            recordStage(serverSpec, RequestStage.FIND, stageStartNanos);
 
-                try {
-                    socket.close();
-                } catch (IOException e) {
-                    // ServerSpec이 구성됬으므로, 메인 로그 와 서버 로그 둘다 로깅합니다.
-                    eachPrintErrorLog(serverSpec, "socket을 닫지 못했습니다.", e);
-                }
-            });
+            // 클라이언트에게 알맞은 컨텐츠를 보냅니다.
+            sendResponseWithContents(httpRequest, responseSender, contentsFinder, serverSpec);
+
+        } catch(Exception e) {
+            // ServerSpec이 구성됬으므로, 메인 로그 와 서버 로그 둘다 로깅합니다.
+            eachPrintErrorLog(serverSpec, "서버 에러가 발생했습니다.", e);
+
+            // ServerSpec이 기술한 500 에러 페이지로 응답합니다.
+            sendErrorPage(serverSpec, HttpStatus.CODE_500, responseSender);
         }
+
+        return serverSpec;
     }
 
-    private ServerSpec findServerSpecByHostOrNull(String host) {
-        // host가 포트번호 까지 포함되어 있는지 확인합니다.
-        boolean isPortNumberContain = host.contains(":");
-        for (ServerSpec serverSpec : serverSpecList) {
-            // host 포트번호 유무에 따라, ServerSpec의 정보도 똑같이 구성합니다.
-            String serverSpecHost = serverSpec.getServerName() + (isPortNumberContain ? ":" + serverSpec.getPortNumber() : "");
-            if (serverSpecHost.equals(host)) {
-                // 찾은 ServerSpec를 리턴합니다.
-                return serverSpec;
+    /**
+     * 클라이언트가 연결 유지를 원하는지 검사합니다.
+     * Connection 헤더가 있다면 그 값을 따르며, 없다면 HTTP/1.1 이상은 유지, HTTP/1.0 은 유지하지 않습니다.
+     */
+    private static boolean isKeepAliveRequested(HttpRequest httpRequest) {
+        String connection = httpRequest.getHeader(HttpHeaderType.CONNECTION);
+        if (connection != null) {
+            String lowerCaseConnection = connection.toLowerCase();
+            if (lowerCaseConnection.contains("close")) {
+                return false;
+            }
+            if (lowerCaseConnection.contains("keep-alive")) {
+                return true;
             }
         }
 
-        // 만약 모든 경우를 매칭하는 ServerSpec이 존재한다면 리턴합니다.
+        return !"1.0".equals(httpRequest.getVersion());
+    }
+
+    private ServerSpec findServerSpecByHostOrNull(String host) {
+        // 매칭되는 ServerSpec이 없다면, 모든 경우를 매칭하는 ServerSpec을 리턴합니다.
         // 모든 경우를 매칭하는 ServerSpec이 없는 경우도 있습니다. (null 리턴)
-        return anyMatchServerSpec;
+        return virtualHostTable.findOrNull(host);
     }
 
     private void eachPrintErrorLog(ServerSpec serverSpec, String errorMsg, Throwable t) {
@@ -229,24 +416,49 @@ public class SimpleServer {
     private void printLogOfServerInfo() {
         setLogPath(mainLogPath);
         logger.info(this.toString().concat("를 구동했습니다.").concat("\n")
+                .concat("## 워커 실행 방식 : ").concat(serverConfiguration.getExecutorType().getText()).concat("\n")
                 .concat("## 총 스레드 개수 : ").concat(Integer.toString(threadCount)).concat("\n")
+                .concat("## 최대 작업 큐 크기 : ").concat(Integer.toString(serverConfiguration.getMaxQueueSize())).concat("\n")
+                .concat("## 정적 파일 캐시 크기(byte) : ").concat(Long.toString(serverConfiguration.getContentCacheSize())).concat("\n")
+                .concat("## 연결 처리 방식 : ").concat(connectorType.getText()).concat("\n")
+                .concat("## 연결 유휴 시간(ms) : ").concat(Long.toString(serverConfiguration.getKeepAliveTimeout())).concat("\n")
+                .concat("## 요청 대기 시간(ms) : ").concat(Long.toString(serverConfiguration.getReadTimeout())).concat("\n")
                 .concat("## 개방 포트 : ").concat(Integer.toString(portNumber)).concat("\n")
                 .concat("## Server Spec 개수 : ").concat(Integer.toString(serverSpecList.size())).concat("\n"));
     }
 
-    private void printLogOfClientInfo(Socket socket) {
+    /** 연결마다 호출되므로, 접근 로그와 별개로 DEBUG 레벨에서만 기록합니다. */
+    private void printLogOfClientInfo(SocketAddress remoteAddress) {
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
+
         setLogPath(mainLogPath);
-        String clientIP = ((InetSocketAddress) socket.getRemoteSocketAddress()).getAddress().toString();
-        logger.info(this.toString().concat("의 Connection Binding").concat("\n")
+        String clientIP = ((InetSocketAddress) remoteAddress).getAddress().toString();
+        logger.debug(this.toString().concat("의 Connection Binding").concat("\n")
                 .concat("## Client IP : ").concat(clientIP).concat("\n"));
     }
 
+    /**
+     * 요청마다 호출되므로, 검증을 통과한 요청은 DEBUG 레벨에서만 요청 정보 전체를 기록합니다. (요청 한 줄은 접근 로그가 기록합니다)
+     * 검증을 통과하지 못한 요청은 INFO 레벨로 기록합니다.
+     */
     private static void printLogOfHttpRequest(String serverSpecLogPath, HttpRequest httpRequest, HttpRequestRuleResult ruleResult) {
+        // 요청 정보 문자열은 로그를 기록할 때만 만듭니다.
+        if (ruleResult.isValidate ? !logger.isDebugEnabled() : !logger.isInfoEnabled()) {
+            return;
+        }
+
         MDC.put("logPath", serverSpecLogPath);
-        logger.info("Accept HttpRequest\n"
+        String message = "Accept HttpRequest\n"
                 .concat(httpRequest.toString()).concat("\n")
-                .concat(ruleResult.toString()).concat("\n")
-        );
+                .concat(ruleResult.toString()).concat("\n");
+
+        if (ruleResult.isValidate) {
+            logger.debug(message);
+        } else {
+            logger.info(message);
+        }
     }
 
     private void printLogOfInvalidateHostAccess(String host) {
@@ -256,7 +468,7 @@ public class SimpleServer {
                 .collect(Collectors.toList())
                 .toString();
 
-        String onlyHostName = host.contains(":") ? host.substring(0, host.indexOf(":")) : host;
+        String onlyHostName = host == null ? "(없음)" : host.contains(":") ? host.substring(0, host.indexOf(":")) : host;
 
         logger.warn(
                 "비정상적인 HOST 접근 입니다.\n"
@@ -265,30 +477,232 @@ public class SimpleServer {
         );
     }
 
-    private void sendResponseWithContents(HttpRequest httpRequest, HttpResponseSender responseSender, ServerContentsFinder contentsFinder, String serverSpecLogPath) {
+    /**
+     * ServerSpec이 기술한 에러 페이지로 응답합니다.
+     * 에러 페이지가 없다면, 자체적으로 구성한 HTML 페이지로 응답합니다.
+     */
+    private void sendErrorPage(ServerSpec serverSpec, HttpStatus httpStatus, HttpResponseSender responseSender) {
+        PreparedResponse errorPage = errorPageTableMap.get(serverSpec).getErrorPageOrNull(httpStatus);
+        if (errorPage == null) {
+            responseSender.sendBasicHTMLPage(httpStatus, serverSpec.getLogPath());
+        } else {
+            responseSender.send(errorPage, serverSpec.getLogPath());
+        }
+    }
+
+    private void sendResponseWithContents(HttpRequest httpRequest, HttpResponseSender responseSender, ServerContentsFinder contentsFinder,
+                                          ServerSpec serverSpec) {
+        String serverSpecLogPath = serverSpec.getLogPath();
         ServerContents serverContents = contentsFinder.getContents();
+        long writeStartNanos = System.nanoTime();
         switch (serverContents.getType()) {
             case NONE:
-                // 매핑되는 컨텐츠가 없다면, 자체적으로 HTML를 구성하여 처리합니다.
-                responseSender.sendBasicHTMLPage(serverContents.getHttpStatus(), serverSpecLogPath);
+                // 매핑되는 컨텐츠가 없다면, 에러 페이지로 처리합니다.
+                sendErrorPage(serverSpec, serverContents.getHttpStatus(), responseSender);
                 break;
             case SERVLET:
                 // 서블릿이 매칭된다면, 서블릿에게 컨텐츠의 구성 기회를 넘깁니다.
-                HttpResponse httpResponse = new HttpResponseHandler();
+                HttpResponseHandler httpResponse = new HttpResponseHandler(serverConfiguration.getCharset());
                 httpResponse.setStatus(serverContents.getHttpStatus());
 
-                SimpleServlet simpleServlet = (SimpleServlet)serverContents.get();
-                simpleServlet.service(httpRequest, httpResponse);
+                // chunked 방식을 지원하는 요청이라면, 서블릿이 끝나기 전에 응답을 출력할 수 있도록 합니다.
+                if (!"1.0".equals(httpRequest.getVersion())) {
+                    responseSender.enableStreaming(httpResponse);
+                }
 
-                // 서블릿이 구성한 컨텐츠를 처리합니다.
-                responseSender.send(httpResponse, serverSpecLogPath);
+                SimpleServlet simpleServlet = (SimpleServlet)serverContents.get();
+                try {
+                    simpleServlet.service(httpRequest, httpResponse);
+                } catch (RuntimeException e) {
+                    // 이미 헤더를 출력했다면 에러 페이지로 응답할 수 없으므로, 연결을 닫아 응답이 완료되지 않았음을 알립니다.
+                    if (httpResponse.isCommitted()) {
+                        eachPrintErrorLog(serverSpec, "서블릿 응답 도중 에러가 발생했습니다.", e);
+                        responseSender.setKeepAlive(false);
+                        return;
+                    }
+                    throw e;
+                }
+                writeStartNanos = recordStage(serverSpec, RequestStage.SERVICE, writeStartNanos);
+
+                // 서블릿이 구성한 컨텐츠를 클라이언트가 허용한 방식으로 압축하여 처리합니다.
+                String contentType = httpResponse.getHeaderData(HttpHeaderType.CONTENT_TYPE);
+                ContentEncoding contentEncoding = compressionPolicy.isCompressible(contentType, httpResponse.getBodyLength())
+                        ? compressionPolicy.negotiateOrNull(httpRequest.getHeader(HttpHeaderType.ACCEPT_ENCODING))
+                        : null;
+                responseSender.send(httpResponse, contentEncoding, compressionPolicy.isCompressibleType(contentType), serverSpecLogPath);
                 break;
             case FILE:
                 // 파일이 매칭된다면, 파일 내용을 읽어 처리합니다.
-                Path filePath = (Path)serverContents.get();
-                responseSender.sendFile(serverContents.getHttpStatus(), filePath, serverSpecLogPath);
+                sendFileContents(httpRequest, responseSender, serverContents, contentsFinder.getIndexedFileOrNull(), serverSpec);
                 break;
         }
+        recordStage(serverSpec, RequestStage.WRITE, writeStartNanos);
+    }
+
+    /**
+     * 처리 시간 지표를 기록한다면, 단계를 시작한 시간부터 지금까지 걸린 시간을 기록합니다.
+     *
+     * @return 현재 시간(ns), 다음 단계를 시작한 시간으로 사용합니다.
+     */
+    private long recordStage(ServerSpec serverSpec, RequestStage stage, long stageStartNanos) {
+        long nowNanos = System.nanoTime();
+        if (metricsOrNull != null) {
+            metricsOrNull.recordStage(serverSpec, stage, nowNanos - stageStartNanos);
+        }
+        return nowNanos;
+    }
+
+    /**
+     * 처리 시간 지표로 응답합니다.
+     * 기본은 Prometheus 텍스트 형식이며, format=json 파라미터를 전달하면 JSON 형식으로 응답합니다.
+     */
+    private void sendMetrics(HttpRequest httpRequest, HttpResponseSender responseSender) throws IOException {
+        HttpResponseHandler httpResponse = new HttpResponseHandler();
+        String body;
+        if ("json".equals(httpRequest.getParameter("format"))) {
+            httpResponse.setHeaderData(HttpHeaderType.CONTENT_TYPE, "application/json; charset=UTF-8");
+            body = metricsOrNull.toJSON();
+        } else {
+            httpResponse.setHeaderData(HttpHeaderType.CONTENT_TYPE, "text/plain; version=0.0.4; charset=UTF-8");
+            body = metricsOrNull.toPrometheusText();
+        }
+
+        httpResponse.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        responseSender.send(httpResponse, null, false, mainLogPath);
+    }
+
+    /**
+     * 파일 컨텐츠로 응답합니다.
+     * 색인에서 찾은 파일이라면, 색인할 때 구성한 Content-Type, 검증자, gzip 파일(.gz)을 사용하여 디스크를 확인하지 않습니다.
+     */
+    private void sendFileContents(HttpRequest httpRequest, HttpResponseSender responseSender, ServerContents serverContents,
+                                  IndexedFile indexedFileOrNull, ServerSpec serverSpec) {
+        Path filePath = (Path)serverContents.get();
+        HttpStatus fileStatus = serverContents.getHttpStatus();
+        StaticContentCache contentCacheOrNull = contentCacheMap.get(serverSpec);
+        FileMetadataCache metadataCacheOrNull = metadataCacheMap.get(serverSpec);
+        String serverSpecLogPath = serverSpec.getLogPath();
+
+        // 구간을 요청했다면, 캐시와 압축을 사용하지 않고 파일의 구간을 전송합니다.
+        String range = getRangeOrNull(httpRequest, fileStatus);
+        if (range != null) {
+            FileValidator fileValidator = createFileValidatorOrNull(filePath, indexedFileOrNull, metadataCacheOrNull);
+            String contentType = indexedFileOrNull == null ? mimeTypeTable.getContentType(filePath) : indexedFileOrNull.getContentType();
+            if (sendFileRanges(httpRequest, responseSender, filePath, contentType, range, fileValidator, serverSpecLogPath)) {
+                return;
+            }
+        }
+
+        // 정상 응답인 파일만 압축하며, 클라이언트가 허용한 압축 방식을 구합니다.
+        ContentEncoding acceptedEncoding = fileStatus == HttpStatus.CODE_200
+                ? compressionPolicy.negotiateOrNull(httpRequest.getHeader(HttpHeaderType.ACCEPT_ENCODING))
+                : null;
+
+        // 캐시에 보관할 수 있는 작은 파일은 메모리에서 바로 응답합니다. 압축한 응답도 캐시에 보관되어 있습니다.
+        CachedContent cachedContent = contentCacheOrNull == null
+                ? null
+                : contentCacheOrNull.getOrLoadOrNull(filePath, fileStatus, acceptedEncoding);
+
+        if (cachedContent != null) {
+            FileValidator fileValidator = cachedContent.getValidatorOrNull();
+            if (fileValidator != null && isNotModified(httpRequest, fileValidator)) {
+                // 클라이언트가 가진 파일이 최신이므로, 바디 없이 응답합니다.
+                responseSender.sendNotModified(fileValidator, cachedContent.isVary(), serverSpecLogPath);
+            } else {
+                responseSender.send(fileStatus, cachedContent.getHeader(responseSender.isKeepAlive()), cachedContent.getBody(), serverSpecLogPath);
+            }
+            return;
+        }
+
+        // 큰 파일은 요청마다 압축하지 않으며, 미리 압축한 gzip 파일(.gz)이 있을 때만 압축된 파일을 전송합니다.
+        // Content-Type 은 .gz 파일이 아닌 원본 파일의 확장자로 찾습니다.
+        String contentType = indexedFileOrNull == null ? mimeTypeTable.getContentType(filePath) : indexedFileOrNull.getContentType();
+        boolean vary = fileStatus == HttpStatus.CODE_200 && compressionPolicy.isCompressibleType(contentType);
+        Path sidecarPath = null;
+        if (vary && acceptedEncoding == ContentEncoding.GZIP) {
+            sidecarPath = indexedFileOrNull == null ? CompressionPolicy.findSidecarOrNull(filePath) : indexedFileOrNull.getSidecarPathOrNull();
+        }
+        ContentEncoding contentEncoding = sidecarPath == null ? null : ContentEncoding.GZIP;
+
+        // 정상 응답인 파일만 검증자를 사용합니다.
+        FileValidator fileValidator = fileStatus == HttpStatus.CODE_200
+                ? createFileValidatorOrNull(filePath, indexedFileOrNull, metadataCacheOrNull)
+                : null;
+        if (fileValidator != null && contentEncoding != null) {
+            fileValidator = fileValidator.withEncoding(contentEncoding);
+        }
+
+        if (fileValidator != null && isNotModified(httpRequest, fileValidator)) {
+            responseSender.sendNotModified(fileValidator, vary, serverSpecLogPath);
+            return;
+        }
+
+        // 힙 캐시에 보관하기에 큰 파일은, 메모리에 매핑한 파일을 다시 열지 않고 전송합니다.
+        MappedFileCache mappedCacheOrNull = mappedCacheMap.get(serverSpec);
+        MappedFile mappedFile = contentEncoding == null && mappedCacheOrNull != null ? mappedCacheOrNull.acquireOrNull(filePath) : null;
+        if (mappedFile != null) {
+            responseSender.sendMappedFile(fileStatus, mappedFile.duplicate(), mappedFile::release, contentType, fileValidator, vary, serverSpecLogPath);
+        } else {
+            responseSender.sendFile(fileStatus, sidecarPath == null ? filePath : sidecarPath, contentType, fileValidator, contentEncoding, vary, serverSpecLogPath);
+        }
+    }
+
+    /** 구간 요청은 GET 메서드의 정상 응답 파일만 처리합니다. */
+    private static String getRangeOrNull(HttpRequest httpRequest, HttpStatus fileStatus) {
+        if (httpRequest.getMethod() != HttpMethod.GET || fileStatus != HttpStatus.CODE_200) {
+            return null;
+        }
+        return httpRequest.getHeader(HttpHeaderType.RANGE);
+    }
+
+    /**
+     * Range 헤더가 요청한 파일의 구간을 전송합니다.
+     * 조건부 요청이 파일이 최신임을 확인하면 304 로 응답하며, If-Range 가 일치하지 않으면 구간 요청을 무시합니다.
+     *
+     * @return 응답했는지 여부, 구간 요청을 무시해야 한다면 false
+     */
+    private boolean sendFileRanges(HttpRequest httpRequest, HttpResponseSender responseSender, Path filePath, String contentType,
+                                   String range, FileValidator fileValidator, String serverSpecLogPath) {
+        boolean vary = compressionPolicy.isCompressibleType(contentType);
+        if (fileValidator != null && isNotModified(httpRequest, fileValidator)) {
+            responseSender.sendNotModified(fileValidator, vary, serverSpecLogPath);
+            return true;
+        }
+
+        String ifRange = httpRequest.getHeader(HttpHeaderType.IF_RANGE);
+        if (ifRange != null && (fileValidator == null || !fileValidator.isRangeMatched(ifRange))) {
+            return false;
+        }
+
+        responseSender.sendFileRanges(filePath, contentType, range, fileValidator, vary, serverSpecLogPath);
+        return true;
+    }
+
+    /** 조건부 요청 헤더로, 클라이언트가 가진 파일이 최신인지 검사합니다. 조건부 요청은 GET 메서드만 처리합니다. */
+    private static boolean isNotModified(HttpRequest httpRequest, FileValidator fileValidator) {
+        if (httpRequest.getMethod() != HttpMethod.GET) {
+            return false;
+        }
+
+        return fileValidator.isNotModified(
+                httpRequest.getHeader(HttpHeaderType.IF_NONE_MATCH),
+                httpRequest.getHeader(HttpHeaderType.IF_MODIFIED_SINCE));
+    }
+
+    /**
+     * 파일 메타 데이터를 읽지 못했다면, 검증자 없이 응답하도록 null 을 반환합니다.
+     * 색인에서 찾은 파일이라면 색인의 검증자를, 경로 조회 결과 캐시가 있다면 파일을 찾을 때 보관한 메타 데이터로 구성합니다.
+     */
+    private static FileValidator createFileValidatorOrNull(Path filePath, IndexedFile indexedFileOrNull, FileMetadataCache metadataCacheOrNull) {
+        if (indexedFileOrNull != null) {
+            return indexedFileOrNull.getValidator();
+        }
+
+        FileMetadata fileMetadata = metadataCacheOrNull == null ? FileMetadata.read(filePath) : metadataCacheOrNull.get(filePath);
+        if (!fileMetadata.isFile()) {
+            return null;
+        }
+        return fileMetadata.getValidator();
     }
 
     @Override
@@ -1,5 +1,7 @@
 package com.mommoo.conf;
 
+import com.mommoo.connector.ConnectorType;
+import com.mommoo.connector.ExecutorType;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
@@ -8,6 +10,10 @@ import org.json.simple.parser.ParseException;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
 import java.util.*;
 
 /**
@@ -21,6 +27,25 @@ import java.util.*;
 public class ServerConfiguration {
     private static final int MIN_THREAD_COUNT = 1;
     private static final int MAX_THREAD_COUNT = 20;
+    private static final long DEFAULT_KEEP_ALIVE_TIMEOUT = 5000;
+    /** 블로킹 방식은 유휴 연결이 워커 스레드를 점유하므로, 연결 유지 시간을 짧게 둡니다. */
+    private static final long DEFAULT_BLOCKING_KEEP_ALIVE_TIMEOUT = 1000;
+    private static final long DEFAULT_READ_TIMEOUT = 20000;
+    private static final long DEFAULT_MAX_KEEP_ALIVE_REQUESTS = 100;
+    private static final long DEFAULT_MAX_QUEUE_SIZE = 256;
+    private static final long DEFAULT_MAX_QUEUE_WAIT = 5000;
+    private static final long DEFAULT_MAX_BODY_MEMORY_SIZE = 64 * 1024;
+    private static final long DEFAULT_CONTENT_CACHE_SIZE = 32 * 1024 * 1024;
+    private static final long DEFAULT_CONTENT_CACHE_MAX_FILE_SIZE = 256 * 1024;
+    private static final long DEFAULT_MAPPED_CACHE_SIZE = 0;
+    private static final long DEFAULT_METADATA_CACHE_SIZE = 10_000;
+    private static final long DEFAULT_METADATA_CACHE_TTL = 2000;
+    private static final long DEFAULT_ACCESS_LOG_BUFFER_SIZE = 8192;
+    private static final long DEFAULT_COMPRESSION_MIN_SIZE = 1024;
+    private static final String[] DEFAULT_COMPRESSION_MIME_TYPES = {
+            "text/html", "text/css", "text/plain", "text/xml", "text/javascript",
+            "application/javascript", "application/json", "application/xml", "image/svg+xml"
+    };
 
     private static final String MAIN_LOG_PATH = "mainLogPath";
     private static final String THREAD_COUNT = "threadCount";
@@ -28,6 +53,29 @@ public class ServerConfiguration {
 
     private static final String[] CONFIG_KEYS = {MAIN_LOG_PATH, THREAD_COUNT, SERVER_SPEC};
 
+    // 아래의 키는 선택 사항이며, 값이 없다면 기본 값으로 동작합니다.
+    private static final String CONNECTOR = "connector";
+    private static final String EXECUTOR = "executor";
+    private static final String KEEP_ALIVE_TIMEOUT = "keepAliveTimeout";
+    private static final String MAX_KEEP_ALIVE_REQUESTS = "maxKeepAliveRequests";
+    private static final String READ_TIMEOUT = "readTimeout";
+    private static final String MAX_QUEUE_SIZE = "maxQueueSize";
+    private static final String MAX_QUEUE_WAIT = "maxQueueWait";
+    private static final String MAX_BODY_MEMORY_SIZE = "maxBodyMemorySize";
+    private static final String CONTENT_CACHE_SIZE = "contentCacheSize";
+    private static final String CONTENT_CACHE_MAX_FILE_SIZE = "contentCacheMaxFileSize";
+    private static final String MAPPED_CACHE_SIZE = "mappedCacheSize";
+    private static final String METADATA_CACHE_SIZE = "metadataCacheSize";
+    private static final String METADATA_CACHE_TTL = "metadataCacheTTL";
+    private static final String DOCUMENT_INDEX = "documentIndex";
+    private static final String ACCESS_LOG_BUFFER_SIZE = "accessLogBufferSize";
+    private static final String METRICS_URI = "metricsURI";
+    private static final String SERVLET_MAPPING = "servletMapping";
+    private static final String COMPRESSION_MIN_SIZE = "compressionMinSize";
+    private static final String COMPRESSION_MIME_TYPES = "compressionMimeTypes";
+    private static final String MIME_TYPES = "mimeTypes";
+    private static final String CHARSET = "charset";
+
     private static final String SERVER_NAME = "serverName";
     private static final String PORT_NUMBER = "portNumber";
     private static final String DOCUMENT_PATH = "documentPath";
@@ -42,8 +90,34 @@ public class ServerConfiguration {
 
     private static final String[] ERROR_PAGE_KEYS = {ERROR_CODE, ERROR_INDEX_PAGE};
 
+    private static final String SERVLET_URI = "servletURI";
+    private static final String SERVLET_CLASS = "servletClass";
+
+    private static final String[] SERVLET_MAPPING_KEYS = {SERVLET_URI, SERVLET_CLASS};
+
     private final int threadCount;
     private final String mainLogPath;
+    private final ConnectorType connectorType;
+    private final ExecutorType executorType;
+    private final long keepAliveTimeout;
+    private final int maxKeepAliveRequests;
+    private final long readTimeout;
+    private final int maxQueueSize;
+    private final long maxQueueWait;
+    private final int maxBodyMemorySize;
+    private final long contentCacheSize;
+    private final int contentCacheMaxFileSize;
+    private final long mappedCacheSize;
+    private final int metadataCacheSize;
+    private final long metadataCacheTTL;
+    private final boolean documentIndexEnabled;
+    private final int accessLogBufferSize;
+    private final String metricsURI;
+    private final long compressionMinSize;
+    private final List<String> compressionMimeTypes = new ArrayList<>();
+    private final Map<String, String> servletMapping = new LinkedHashMap<>();
+    private final Map<String, String> mimeTypes = new HashMap<>();
+    private final Charset charset;
     private final Map<Integer, List<ServerSpec>> serverSpecFinder = new HashMap<>();
 
     public ServerConfiguration(String configFilePath) throws IOException, ClassCastException, ParseException, JSONKeyNotFoundException {
@@ -57,6 +131,57 @@ public class ServerConfiguration {
 
         this.mainLogPath = (String) serverJSONObject.get(MAIN_LOG_PATH);
         this.threadCount = (int)Math.min(MAX_THREAD_COUNT, Math.max(MIN_THREAD_COUNT, (long) serverJSONObject.get(THREAD_COUNT)));
+        this.connectorType = parseConnectorType((String) serverJSONObject.get(CONNECTOR));
+        this.executorType = parseExecutorType((String) serverJSONObject.get(EXECUTOR));
+        this.keepAliveTimeout = Math.max(0, getLongOrDefault(serverJSONObject, KEEP_ALIVE_TIMEOUT,
+                connectorType == ConnectorType.BLOCKING ? DEFAULT_BLOCKING_KEEP_ALIVE_TIMEOUT : DEFAULT_KEEP_ALIVE_TIMEOUT));
+        this.maxKeepAliveRequests = (int) Math.max(1, getLongOrDefault(serverJSONObject, MAX_KEEP_ALIVE_REQUESTS, DEFAULT_MAX_KEEP_ALIVE_REQUESTS));
+        this.readTimeout = Math.max(0, getLongOrDefault(serverJSONObject, READ_TIMEOUT, DEFAULT_READ_TIMEOUT));
+        this.maxQueueSize = (int) Math.max(1, getLongOrDefault(serverJSONObject, MAX_QUEUE_SIZE, DEFAULT_MAX_QUEUE_SIZE));
+        this.maxQueueWait = Math.max(0, getLongOrDefault(serverJSONObject, MAX_QUEUE_WAIT, DEFAULT_MAX_QUEUE_WAIT));
+        this.maxBodyMemorySize = (int) Math.min(Integer.MAX_VALUE, Math.max(0, getLongOrDefault(serverJSONObject, MAX_BODY_MEMORY_SIZE, DEFAULT_MAX_BODY_MEMORY_SIZE)));
+        this.contentCacheSize = Math.max(0, getLongOrDefault(serverJSONObject, CONTENT_CACHE_SIZE, DEFAULT_CONTENT_CACHE_SIZE));
+        this.contentCacheMaxFileSize = (int) Math.min(Integer.MAX_VALUE, Math.max(0, getLongOrDefault(serverJSONObject, CONTENT_CACHE_MAX_FILE_SIZE, DEFAULT_CONTENT_CACHE_MAX_FILE_SIZE)));
+        this.mappedCacheSize = Math.max(0, getLongOrDefault(serverJSONObject, MAPPED_CACHE_SIZE, DEFAULT_MAPPED_CACHE_SIZE));
+        this.metadataCacheSize = (int) Math.min(Integer.MAX_VALUE, Math.max(0, getLongOrDefault(serverJSONObject, METADATA_CACHE_SIZE, DEFAULT_METADATA_CACHE_SIZE)));
+        this.metadataCacheTTL = Math.max(0, getLongOrDefault(serverJSONObject, METADATA_CACHE_TTL, DEFAULT_METADATA_CACHE_TTL));
+        this.documentIndexEnabled = Boolean.TRUE.equals(serverJSONObject.get(DOCUMENT_INDEX));
+        this.metricsURI = (String) serverJSONObject.get(METRICS_URI);
+        this.accessLogBufferSize = (int) Math.min(1 << 20, Math.max(0, getLongOrDefault(serverJSONObject, ACCESS_LOG_BUFFER_SIZE, DEFAULT_ACCESS_LOG_BUFFER_SIZE)));
+
+        this.compressionMinSize = Math.max(0, getLongOrDefault(serverJSONObject, COMPRESSION_MIN_SIZE, DEFAULT_COMPRESSION_MIN_SIZE));
+
+        // 압축할 MIME 타입이 없다면, 기본 타입을 압축합니다. 빈 배열이라면 압축하지 않습니다.
+        JSONArray compressionMimeTypeJSONArray = (JSONArray) serverJSONObject.get(COMPRESSION_MIME_TYPES);
+        if (compressionMimeTypeJSONArray == null) {
+            Collections.addAll(compressionMimeTypes, DEFAULT_COMPRESSION_MIME_TYPES);
+        } else {
+            for (Object mimeType : compressionMimeTypeJSONArray) {
+                compressionMimeTypes.add((String) mimeType);
+            }
+        }
+
+        // 확장자 별 MIME 타입 입니다. 기술된 확장자만 기본 매핑을 덮어씁니다.
+        JSONObject mimeTypeJSONObject = (JSONObject) serverJSONObject.get(MIME_TYPES);
+        if (mimeTypeJSONObject != null) {
+            for (Object extension : mimeTypeJSONObject.keySet()) {
+                mimeTypes.put((String) extension, (String) mimeTypeJSONObject.get(extension));
+            }
+        }
+        this.charset = parseCharset((String) serverJSONObject.get(CHARSET));
+
+        JSONArray servletMappingJSONArray = (JSONArray) serverJSONObject.get(SERVLET_MAPPING);
+        if (servletMappingJSONArray != null) {
+            for (Object servletMappingObject : servletMappingJSONArray) {
+                JSONObject servletMappingJSON = (JSONObject) servletMappingObject;
+
+                if (isNotContainsKeys(servletMappingJSON, SERVLET_MAPPING_KEYS)) {
+                    throw new JSONKeyNotFoundException();
+                }
+
+                servletMapping.put((String) servletMappingJSON.get(SERVLET_URI), (String) servletMappingJSON.get(SERVLET_CLASS));
+            }
+        }
 
         JSONArray serverSpecJSONArray = (JSONArray) serverJSONObject.get(SERVER_SPEC);
 
@@ -96,6 +221,29 @@ public class ServerConfiguration {
         return false;
     }
 
+    private static long getLongOrDefault(JSONObject jsonObject, String key, long defaultValue) {
+        Object value = jsonObject.get(key);
+        return value == null ? defaultValue : (long) value;
+    }
+
+    private static ConnectorType parseConnectorType(String connectorText) {
+        ConnectorType connectorType = connectorText == null ? null : ConnectorType.of(connectorText);
+        return connectorType == null ? ConnectorType.BLOCKING : connectorType;
+    }
+
+    private static ExecutorType parseExecutorType(String executorText) {
+        ExecutorType executorType = executorText == null ? null : ExecutorType.of(executorText);
+        return executorType == null ? ExecutorType.FIXED : executorType;
+    }
+
+    private static Charset parseCharset(String charsetText) {
+        try {
+            return charsetText == null ? StandardCharsets.UTF_8 : Charset.forName(charsetText);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
     private ServerSpec parseServerSpec(JSONObject jsonObject) throws ClassCastException {
         ServerSpecBuilder serverSpecBuilder
                 = new ServerSpecBuilder()
@@ -134,6 +282,129 @@ public class ServerConfiguration {
         return mainLogPath;
     }
 
+    public ConnectorType getConnectorType() {
+        return connectorType;
+    }
+
+    public ExecutorType getExecutorType() {
+        return executorType;
+    }
+
+    /**
+     * 다음 요청을 기다리는 유휴 시간(ms) 입니다. 0 이라면 연결을 유지하지 않습니다.
+     *
+     * 블로킹 방식은 다음 요청을 기다리는 동안 연결이 워커 스레드를 점유하므로, 기본 값을 짧게(1000ms) 둡니다.
+     * 길게 설정하면 연결을 다시 맺는 비용은 줄지만, 유휴 연결이 워커를 점유하여 새 연결이 큐에서 기다리거나 503 응답을 받을 수 있습니다.
+     */
+    public long getKeepAliveTimeout() {
+        return keepAliveTimeout;
+    }
+
+    /**
+     * 요청 메시지를 받는 동안 다음 데이터를 기다리는 최대 시간(ms) 입니다. 0 이라면 제한하지 않습니다.
+     * 연결 후 첫 요청을 기다리거나 요청을 받는 중인 연결에 적용하며, 연결 유지 여부와 관계없이 적용합니다.
+     */
+    public long getReadTimeout() {
+        return readTimeout;
+    }
+
+    /** 하나의 연결로 처리할 수 있는 최대 요청 수 입니다. */
+    public int getMaxKeepAliveRequests() {
+        return maxKeepAliveRequests;
+    }
+
+    /** 워커를 기다리는 작업 큐의 최대 크기 입니다. */
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /** 작업이 큐에서 기다릴 수 있는 최대 시간(ms) 입니다. 0 이라면 제한하지 않습니다. */
+    public long getMaxQueueWait() {
+        return maxQueueWait;
+    }
+
+    /** 논블로킹 방식에서 요청 바디를 메모리에 보관하는 최대 크기(byte) 입니다. 이를 넘는 바디는 임시 파일에 보관합니다. */
+    public int getMaxBodyMemorySize() {
+        return maxBodyMemorySize;
+    }
+
+    /** ServerSpec 마다 정적 파일을 메모리에 보관하는 최대 크기(byte) 입니다. 0 이라면 캐시를 사용하지 않습니다. */
+    public long getContentCacheSize() {
+        return contentCacheSize;
+    }
+
+    /** 메모리에 보관할 수 있는 정적 파일의 최대 크기(byte) 입니다. 이보다 큰 파일은 매번 디스크에서 전송합니다. */
+    public int getContentCacheMaxFileSize() {
+        return contentCacheMaxFileSize;
+    }
+
+    /**
+     * ServerSpec 마다 contentCacheMaxFileSize 보다 큰 정적 파일을 메모리에 매핑하는 최대 크기(byte) 입니다. 0 이라면 매핑하지 않습니다.
+     * 매핑한 파일은 삭제하거나 교체할 수 없는 운영체제도 있으므로, 기본 값은 0 입니다.
+     */
+    public long getMappedCacheSize() {
+        return mappedCacheSize;
+    }
+
+    /** ServerSpec 마다 경로 조회 결과를 보관하는 최대 경로 수 입니다. 0 이라면 캐시를 사용하지 않습니다. */
+    public int getMetadataCacheSize() {
+        return metadataCacheSize;
+    }
+
+    /** 경로 조회 결과를 보관하는 시간(ms) 입니다. 0 이라면 캐시를 사용하지 않습니다. */
+    public long getMetadataCacheTTL() {
+        return metadataCacheTTL;
+    }
+
+    /**
+     * 서버 구동 시 documentPath 의 모든 파일을 색인하여, 요청마다 디스크를 확인하지 않는지 여부 입니다.
+     * 파일이 자주 변경되지 않는 documentPath 에 적합하며, 변경된 파일은 색인을 다시 구성한 뒤에 반영됩니다.
+     */
+    public boolean isDocumentIndexEnabled() {
+        return documentIndexEnabled;
+    }
+
+    /**
+     * 기록하기 전의 접근 로그를 보관하는 최대 개수 입니다. 0 이라면 접근 로그를 기록하지 않습니다.
+     * 로그를 기록하는 속도보다 요청이 빨라 가득 차면, 요청을 기다리게 하지 않고 로그를 버립니다.
+     */
+    public int getAccessLogBufferSize() {
+        return accessLogBufferSize;
+    }
+
+    /**
+     * 요청 처리 시간 통계를 조회하는 URI 입니다. 모든 Host 에서 조회할 수 있으므로, 외부에 공개하지 않는 경로를 사용해야 합니다.
+     * 없다면 통계를 기록하지 않습니다.
+     */
+    public String getMetricsURIOrNull() {
+        return metricsURI;
+    }
+
+    /** 응답을 압축하는 최소 바디 크기(byte) 입니다. */
+    public long getCompressionMinSize() {
+        return compressionMinSize;
+    }
+
+    /** 응답을 압축할 MIME 타입 목록 입니다. 비어 있다면 압축하지 않습니다. */
+    public List<String> getCompressionMimeTypes() {
+        return Collections.unmodifiableList(compressionMimeTypes);
+    }
+
+    /** 파일 확장자(점 제외)와 MIME 타입의 매핑 입니다. 기본 매핑에 없거나 덮어쓸 확장자만 포함합니다. */
+    public Map<String, String> getMimeTypes() {
+        return Collections.unmodifiableMap(mimeTypes);
+    }
+
+    /** 정적 텍스트 파일의 문자 인코딩 입니다. 텍스트 타입의 Content-Type 에 charset 으로 붙습니다. */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /** 서블릿 URI 와 서블릿 클래스 이름의 매핑 입니다. */
+    public Map<String, String> getServletMapping() {
+        return Collections.unmodifiableMap(servletMapping);
+    }
+
     public List<ServerSpec> getServerSpecs(int portNumber) {
         return Collections.unmodifiableList(serverSpecFinder.get(portNumber));
     }
@@ -0,0 +1,143 @@
+package com.mommoo.conf;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 요청의 Host 헤더로, 같은 포트를 사용하는 {@link ServerSpec}을 찾는 표 입니다.
+ *
+ * 서버를 구동하기 전에 모든 ServerSpec 을 등록하며, 요청 처리 중에는 변경하지 않습니다.
+ * Host 는 대소문자를 구분하지 않으며, 포트번호를 포함하는 경우 ServerSpec 의 포트번호와 같아야 합니다.
+ *
+ * ServerSpec 의 serverName 은 다음 세 가지 형태로 등록됩니다.
+ *
+ *  1. 호스트 이름. ex) mommoo.com
+ *     포트번호가 있는 이름과 없는 이름을 모두 등록하여, 한번의 Map 조회로 찾습니다.
+ *  2. 하위 도메인 와일드카드. ex) *.mommoo.com
+ *     도메인 이름을 뒤에서 부터 나눈 트리로 구성하며, 가장 길게 일치하는 와일드카드를 찾습니다.
+ *     ex) a.b.mommoo.com 은 *.b.mommoo.com 을 *.mommoo.com 보다 먼저 찾으며, mommoo.com 은 찾지 않습니다.
+ *  3. 모든 경우를 매칭하는 이름. ex) *
+ *     위의 두 형태로 찾지 못한 경우 사용합니다.
+ *
+ * 같은 이름을 여러번 등록한 경우, 먼저 등록한 ServerSpec 을 사용합니다.
+ *
+ * @author mommoo
+ */
+public class VirtualHostTable {
+    private static final String ANY_MATCH_SERVER_NAME = "*";
+    private static final String WILDCARD_PREFIX = "*.";
+
+    private final String portNumber;
+    private final Map<String, ServerSpec> hostMap = new HashMap<>();
+    private final WildcardNode wildcardRoot = new WildcardNode();
+    private ServerSpec anyMatchServerSpec;
+
+    public VirtualHostTable(int portNumber) {
+        this.portNumber = Integer.toString(portNumber);
+    }
+
+    public void add(ServerSpec serverSpec) {
+        String serverName = serverSpec.getServerName().toLowerCase(Locale.ROOT);
+
+        if (serverName.equals(ANY_MATCH_SERVER_NAME)) {
+            if (anyMatchServerSpec == null) {
+                anyMatchServerSpec = serverSpec;
+            }
+            return;
+        }
+
+        if (serverName.startsWith(WILDCARD_PREFIX)) {
+            addWildcard(serverName.substring(WILDCARD_PREFIX.length()), serverSpec);
+            return;
+        }
+
+        hostMap.putIfAbsent(serverName, serverSpec);
+        hostMap.putIfAbsent(serverName.concat(":").concat(portNumber), serverSpec);
+    }
+
+    /**
+     * @param host 요청의 Host 헤더 값, 포트번호를 포함할 수 있습니다.
+     * @return Host 에 매칭되는 ServerSpec, 없다면 모든 경우를 매칭하는 ServerSpec. 그마저 없다면 null
+     */
+    public ServerSpec findOrNull(String host) {
+        if (host == null || host.isEmpty()) {
+            return anyMatchServerSpec;
+        }
+
+        // 대부분의 Host 는 소문자이므로, 이 경우 새로운 문자열을 만들지 않습니다.
+        String lowerCaseHost = host.toLowerCase(Locale.ROOT);
+
+        ServerSpec serverSpec = hostMap.get(lowerCaseHost);
+        if (serverSpec != null) {
+            return serverSpec;
+        }
+
+        int endOfHostName = findEndOfHostName(lowerCaseHost);
+        if (endOfHostName < lowerCaseHost.length() && !isSamePort(lowerCaseHost, endOfHostName + 1)) {
+            return anyMatchServerSpec;
+        }
+
+        serverSpec = findWildcardOrNull(lowerCaseHost, endOfHostName);
+        return serverSpec == null ? anyMatchServerSpec : serverSpec;
+    }
+
+    private void addWildcard(String domain, ServerSpec serverSpec) {
+        WildcardNode node = wildcardRoot;
+        int endIndex = domain.length();
+
+        while (endIndex > 0) {
+            int beginIndex = domain.lastIndexOf('.', endIndex - 1) + 1;
+            node = node.children.computeIfAbsent(domain.substring(beginIndex, endIndex), label -> new WildcardNode());
+            endIndex = beginIndex - 1;
+        }
+
+        if (node.serverSpec == null) {
+            node.serverSpec = serverSpec;
+        }
+    }
+
+    /** 도메인 이름을 뒤에서부터 하나씩 따라가며, 가장 길게 일치하는 와일드카드를 찾습니다. */
+    private ServerSpec findWildcardOrNull(String host, int endOfHostName) {
+        WildcardNode node = wildcardRoot;
+        ServerSpec serverSpec = null;
+        int endIndex = endOfHostName;
+
+        // 와일드카드는 적어도 하나의 하위 도메인이 필요하므로, 첫 이름(beginIndex == 0)은 비교하지 않습니다.
+        while (endIndex > 0) {
+            int beginIndex = host.lastIndexOf('.', endIndex - 1) + 1;
+            if (beginIndex == 0) {
+                break;
+            }
+
+            node = node.children.get(host.substring(beginIndex, endIndex));
+            if (node == null) {
+                break;
+            }
+            if (node.serverSpec != null) {
+                serverSpec = node.serverSpec;
+            }
+            endIndex = beginIndex - 1;
+        }
+
+        return serverSpec;
+    }
+
+    /** IPv6 주소([::1]:8080)의 콜론은 포트번호 구분자로 보지 않습니다. */
+    private static int findEndOfHostName(String host) {
+        int indexOfColon = host.lastIndexOf(':');
+        if (indexOfColon == -1 || indexOfColon < host.lastIndexOf(']')) {
+            return host.length();
+        }
+        return indexOfColon;
+    }
+
+    private boolean isSamePort(String host, int beginIndex) {
+        return host.length() - beginIndex == portNumber.length() && host.startsWith(portNumber, beginIndex);
+    }
+
+    private static class WildcardNode {
+        private final Map<String, WildcardNode> children = new HashMap<>();
+        private ServerSpec serverSpec;
+    }
+}
@@ -0,0 +1,176 @@
+package com.mommoo.connector;
+
+import com.mommoo.conf.ServerConfiguration;
+import com.mommoo.http.request.HttpRequest;
+import com.mommoo.http.request.HttpRequestBuilder;
+import com.mommoo.http.request.HttpRequestParseException;
+import com.mommoo.http.response.HttpResponseSender;
+import com.mommoo.metrics.RequestStage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 기존의 블로킹 방식으로 연결을 처리하는 {@link Connector} 입니다.
+ *
+ * 블로킹 모드의 {@link ServerSocketChannel#accept()}로 연결을 받고, 연결 하나를 워커 스레드 하나가 처리합니다.
+ * 요청은 소켓의 입력 스트림으로 읽고, 응답은 파일 전송(transferTo)을 위해 {@link SocketChannel}로 출력합니다.
+ * 워커 스레드는 연결이 유지되는 동안 소켓을 점유하며, 같은 소켓으로 들어오는 요청을 차례대로 처리합니다.
+ * 다음 요청이 유휴 시간(keepAliveTimeout) 안에 오지 않으면 연결을 닫습니다.
+ * 첫 요청은 readTimeout 안에 받아야 하므로, 연결 유지를 사용하지 않더라도 요청을 보내지 않는 클라이언트가 워커를 점유하지 못합니다.
+ *
+ * 유휴 연결도 워커 스레드를 점유하므로, 연결 유지는 연결을 다시 맺는 비용과 워커를 맞바꾸는 선택 입니다.
+ * 워커가 모두 바쁘거나 큐에서 기다리는 연결이 있다면, 응답을 끝으로 연결을 닫아 기다리는 연결에게 워커를 넘깁니다.
+ *
+ * 워커가 모두 바쁘고 작업 큐도 가득 찼다면, 연결을 받은 스레드가 바로 503 응답을 보내고 연결을 닫습니다. {@link WorkerDispatcher}
+ *
+ * @author mommoo
+ */
+public class BlockingConnector implements Connector {
+    private static final Logger logger = LoggerFactory.getLogger(BlockingConnector.class);
+
+    private final int portNumber;
+    private final WorkerDispatcher workerDispatcher;
+    private final ConnectionHandler connectionHandler;
+    private final String mainLogPath;
+    private final long keepAliveTimeout;
+    private final long readTimeout;
+    private final int maxKeepAliveRequests;
+
+    public BlockingConnector(int portNumber, ServerConfiguration serverConfiguration, ExecutorService executorService, ConnectionHandler connectionHandler) {
+        this.portNumber = portNumber;
+        this.workerDispatcher = new WorkerDispatcher(executorService, serverConfiguration.getMaxQueueWait(), connectionHandler);
+        this.connectionHandler = connectionHandler;
+        this.mainLogPath = serverConfiguration.getMainLogPath();
+        this.keepAliveTimeout = serverConfiguration.getKeepAliveTimeout();
+        this.readTimeout = serverConfiguration.getReadTimeout();
+        this.maxKeepAliveRequests = serverConfiguration.getMaxKeepAliveRequests();
+    }
+
+    @Override
+    public void listen() throws IOException {
+        ServerSocketChannel serverSocketChannel = ServerSocketChannel.open();
+        serverSocketChannel.bind(new InetSocketAddress(portNumber));
+
+        setLogPath(mainLogPath);
+        logger.info(this + "의 Connection Listen 시작");
+
+        while (true) {
+            SocketChannel tempSocketChannel = null;
+            try {
+                tempSocketChannel = serverSocketChannel.accept();
+            } catch (IOException e) {
+                setLogPath(mainLogPath);
+                logger.error("소켓을 받지 못했습니다.", e);
+                continue;
+            }
+
+            connectionHandler.onAccept(tempSocketChannel.socket().getRemoteSocketAddress());
+
+            // 자바 익명클래스는 final 변수로 받아야 하므로, 어쩔 수 없이 추가적인 코드를 넣었습니다.
+            final SocketChannel socketChannel = tempSocketChannel;
+
+            workerDispatcher.dispatch(() -> handleConnection(socketChannel), () -> rejectConnection(socketChannel));
+        }
+    }
+
+    /** 서버가 포화 상태이므로, 요청을 읽지 않고 503 응답을 보낸 뒤 연결을 닫습니다. */
+    private void rejectConnection(SocketChannel socketChannel) {
+        Socket socket = socketChannel.socket();
+        try {
+            HttpResponseSender.sendServiceUnavailable(new BlockingResponseChannel(socketChannel));
+
+            // 읽지 않은 데이터가 남은 채로 닫으면 RST로 끊겨 응답이 유실될 수 있으므로, 이미 도착한 데이터는 비웁니다.
+            InputStream inputStream = socket.getInputStream();
+            inputStream.skip(inputStream.available());
+        } catch (IOException e) {
+            // 거절하는 연결이므로, 응답을 보내지 못해도 별도로 처리하지 않습니다.
+        }
+
+        try {
+            socket.close();
+        } catch (IOException e) {
+            setLogPath(mainLogPath);
+            logger.error("socket을 닫지 못했습니다.", e);
+        }
+    }
+
+    private void handleConnection(SocketChannel socketChannel) {
+        Socket socket = socketChannel.socket();
+        BlockingResponseChannel responseChannel = new BlockingResponseChannel(socketChannel);
+
+        try {
+            // 데이터를 기다리는 시간이 제한 시간을 넘으면 SocketTimeoutException 이 발생합니다. 0 은 제한하지 않습니다.
+            socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, readTimeout));
+
+            HttpRequestBuilder requestBuilder = new HttpRequestBuilder(mainLogPath, socket);
+
+            for (int requestCount = 1; ; requestCount++) {
+                // 연결을 유지한 다음 요청은 유휴 시간 안에 받아야 합니다.
+                if (requestCount == 2 && keepAliveTimeout > 0) {
+                    socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, keepAliveTimeout));
+                }
+
+                HttpRequest httpRequest;
+                try {
+                    httpRequest = requestBuilder.build();
+                    if (httpRequest != null) {
+                        connectionHandler.onStageCompleted(RequestStage.PARSE, requestBuilder.getParseNanos());
+                    }
+                } catch (HttpRequestParseException e) {
+                    HttpResponseSender responseSender = new HttpResponseSender(responseChannel);
+                    responseSender.setKeepAlive(false);
+                    connectionHandler.onBadRequest(e, responseSender);
+                    break;
+                }
+
+                // 클라이언트가 연결을 끊었습니다.
+                if (httpRequest == null) {
+                    break;
+                }
+
+                // 사용자에게 HttpResponse 응답을 보낼 수 있는 인스턴스를 생성합니다.
+                // 최대 요청 수에 도달했거나 워커를 기다리는 연결이 있다면, 이번 응답을 끝으로 닫습니다.
+                HttpResponseSender responseSender = new HttpResponseSender(responseChannel);
+                responseSender.setKeepAlive(keepAliveTimeout > 0 && requestCount < maxKeepAliveRequests && !workerDispatcher.isBusy());
+
+                if (!connectionHandler.onRequest(httpRequest, responseSender)) {
+                    break;
+                }
+            }
+        } catch (SocketTimeoutException e) {
+            // 유휴 시간 동안 다음 요청이 없었으므로, 연결을 닫습니다.
+        } catch (EOFException e) {
+            // 요청을 모두 보내기 전에 클라이언트가 연결을 끊었으므로, 연결을 닫습니다.
+        } catch (IOException e) {
+            setLogPath(mainLogPath);
+            logger.error("요청 데이터를 읽지 못했습니다.", e);
+        }
+
+        try {
+            socket.close();
+        } catch (IOException e) {
+            setLogPath(mainLogPath);
+            logger.error("socket을 닫지 못했습니다.", e);
+        }
+    }
+
+    private static void setLogPath(String logPath) {
+        MDC.put("logPath", logPath);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BlockingConnector[%-6d]", portNumber);
+    }
+}
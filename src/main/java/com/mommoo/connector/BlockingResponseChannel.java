@@ -0,0 +1,77 @@
+package com.mommoo.connector;
+
+import com.mommoo.http.response.HttpResponseChannel;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * 블로킹 모드의 {@link SocketChannel}에 바로 출력하는 {@link HttpResponseChannel} 입니다.
+ *
+ * 여러 버퍼는 한번의 gathering write 로 출력하며, 파일은 {@link FileChannel#transferTo}로 커널에서 바로 전송합니다.
+ *
+ * @author mommoo
+ */
+class BlockingResponseChannel implements HttpResponseChannel {
+    private final SocketChannel socketChannel;
+
+    BlockingResponseChannel(SocketChannel socketChannel) {
+        this.socketChannel = socketChannel;
+    }
+
+    @Override
+    public void write(ByteBuffer... byteBuffers) throws IOException {
+        // 블로킹 모드라도 한번에 모두 출력된다는 보장이 없으므로, 남은 데이터가 없을 때 까지 출력합니다.
+        // 바디가 없는 응답처럼 비어있는 버퍼가 있을 수 있으므로, 모든 버퍼의 남은 데이터를 검사합니다.
+        while (hasRemaining(byteBuffers)) {
+            socketChannel.write(byteBuffers);
+        }
+    }
+
+    private static boolean hasRemaining(ByteBuffer[] byteBuffers) {
+        for (ByteBuffer byteBuffer : byteBuffers) {
+            if (byteBuffer.hasRemaining()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void write(ByteBuffer byteBuffer, Runnable releaseCallback) throws IOException {
+        try {
+            while (byteBuffer.hasRemaining()) {
+                socketChannel.write(byteBuffer);
+            }
+        } finally {
+            releaseCallback.run();
+        }
+    }
+
+    @Override
+    public InetAddress getRemoteAddressOrNull() {
+        return socketChannel.socket().getInetAddress();
+    }
+
+    @Override
+    public void transferFrom(FileChannel fileChannel, long position, long count) throws IOException {
+        try {
+            long end = position + count;
+            while (position < end) {
+                long transferCount = fileChannel.transferTo(position, end - position, socketChannel);
+
+                // 전송 도중 파일이 줄어들었다면, Content-Length 만큼 보낼 수 없습니다.
+                if (transferCount == 0 && position >= fileChannel.size()) {
+                    throw new EOFException("전송 도중 파일의 크기가 변경되었습니다.");
+                }
+                position += transferCount;
+            }
+        } finally {
+            fileChannel.close();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.mommoo.connector;
+
+import com.mommoo.http.request.HttpRequest;
+import com.mommoo.http.request.HttpRequestParseException;
+import com.mommoo.http.response.HttpResponseSender;
+import com.mommoo.metrics.RequestStage;
+
+import java.net.SocketAddress;
+
+/**
+ * {@link Connector}가 받은 연결과 요청을 처리하는 역할을 정의한 인터페이스 입니다.
+ *
+ * @author mommoo
+ */
+public interface ConnectionHandler {
+    /** 새로운 클라이언트 연결이 수립되었을 때 호출됩니다. */
+    public void onAccept(SocketAddress remoteAddress);
+
+    /**
+     * 요청 하나를 처리합니다. 워커 스레드에서 호출됩니다.
+     *
+     * @param httpRequest {@link Connector}가 분석한 요청
+     * @param responseSender 응답을 보낼 수 있는 인스턴스
+     * @return 연결을 유지하고 다음 요청을 받을지 여부
+     */
+    public boolean onRequest(HttpRequest httpRequest, HttpResponseSender responseSender);
+
+    /**
+     * 요청 메시지가 Http 프로토콜 스펙에 맞지 않아 분석하지 못했을 때 호출됩니다. 워커 스레드에서 호출됩니다.
+     * 오류 응답을 보낸 뒤 연결은 닫힙니다.
+     */
+    public void onBadRequest(HttpRequestParseException parseException, HttpResponseSender responseSender);
+
+    /**
+     * {@link Connector}가 처리하는 단계({@link RequestStage#QUEUE_WAIT}, {@link RequestStage#PARSE})를 마쳤을 때 호출됩니다.
+     * 요청마다 호출되므로, 기다리지 않고 반환해야 합니다.
+     *
+     * @param elapsedNanos 단계를 처리하는 데 걸린 시간(ns)
+     */
+    public void onStageCompleted(RequestStage stage, long elapsedNanos);
+}
@@ -0,0 +1,17 @@
+package com.mommoo.connector;
+
+import java.io.IOException;
+
+/**
+ * 포트를 개방하고, 클라이언트 연결을 받아 {@link ConnectionHandler}에게 전달하는 역할을 정의한 인터페이스 입니다.
+ *
+ * @author mommoo
+ */
+public interface Connector {
+    /**
+     * 포트를 개방하고 연결을 받기 시작합니다. 해당 메서드는 서버가 종료되기 전까지 반환되지 않습니다.
+     *
+     * @throws IOException 포트를 개방하지 못한 경우
+     */
+    public void listen() throws IOException;
+}
@@ -0,0 +1,34 @@
+package com.mommoo.connector;
+
+import java.util.Arrays;
+
+/**
+ * 클라이언트 연결을 처리하는 방식을 정의한 Enum 클래스 입니다.
+ *
+ *  1. {@link #BLOCKING} : 연결 마다 워커 스레드가 소켓을 점유하여 처리합니다. {@link BlockingConnector}
+ *  2. {@link #NIO} : Selector 이벤트 루프가 읽기/쓰기를 처리하고, 완성된 요청만 워커에게 넘깁니다. {@link NioConnector}
+ *
+ * 설정 파일의 'connector' 값으로 선택하며, 값이 없다면 {@link #BLOCKING} 으로 동작합니다.
+ *
+ * @author mommoo
+ */
+public enum ConnectorType {
+    BLOCKING("blocking"), NIO("nio");
+
+    private final String text;
+
+    private ConnectorType(String text) {
+        this.text = text;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public static ConnectorType of(String textConnectorType) {
+        return Arrays.stream(values())
+                .filter(connectorType -> connectorType.text.equalsIgnoreCase(textConnectorType))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,75 @@
+package com.mommoo.connector;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청을 처리하는 워커 스레드의 실행 방식을 정의한 Enum 클래스 입니다.
+ *
+ *  1. {@link #FIXED} : threadCount 개의 플랫폼 스레드를 가진 스레드 풀로 처리합니다.
+ *                      작업 큐의 크기는 maxQueueSize 로 제한되며, 큐가 가득 차면 작업을 거절합니다.
+ *  2. {@link #VIRTUAL} : 작업 마다 가상 스레드를 생성하여 처리합니다. (JDK 21 이상)
+ *
+ * 가상 스레드는 블로킹 I/O 에서 플랫폼 스레드를 점유하지 않으므로, threadCount 가 동시 처리량의 상한이 되지 않습니다.
+ * 빌드는 자바 8 기준이므로 가상 스레드 API는 리플렉션으로 찾으며,
+ * 실행중인 JDK가 지원하지 않는다면 {@link #FIXED} 방식으로 대신 동작합니다.
+ *
+ * 설정 파일의 'executor' 값으로 선택하며, 값이 없다면 {@link #FIXED} 로 동작합니다.
+ *
+ * @author mommoo
+ */
+public enum ExecutorType {
+    FIXED("fixed"), VIRTUAL("virtual");
+
+    private static final String VIRTUAL_THREAD_FACTORY_METHOD = "newVirtualThreadPerTaskExecutor";
+
+    private final String text;
+
+    private ExecutorType(String text) {
+        this.text = text;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * 실행 방식에 맞는 {@link ExecutorService}를 생성합니다.
+     *
+     * @param threadCount {@link #FIXED} 방식의 스레드 개수
+     * @param maxQueueSize {@link #FIXED} 방식의 최대 작업 큐 크기
+     */
+    public ExecutorService createExecutorService(int threadCount, int maxQueueSize) {
+        if (this == VIRTUAL) {
+            ExecutorService virtualExecutorService = createVirtualExecutorServiceOrNull();
+            if (virtualExecutorService != null) {
+                return virtualExecutorService;
+            }
+        }
+
+        // 큐가 가득 차면 RejectedExecutionException 을 던지도록, 기본 거절 정책(AbortPolicy)을 사용합니다.
+        return new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(maxQueueSize));
+    }
+
+    public static ExecutorType of(String textExecutorType) {
+        return Arrays.stream(values())
+                .filter(executorType -> executorType.text.equalsIgnoreCase(textExecutorType))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static ExecutorService createVirtualExecutorServiceOrNull() {
+        try {
+            Method factoryMethod = Executors.class.getMethod(VIRTUAL_THREAD_FACTORY_METHOD);
+            return (ExecutorService) factoryMethod.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // 메서드가 없거나, 프리뷰 기능으로만 제공되는 JDK 에서는 호출이 실패합니다.
+            return null;
+        }
+    }
+}
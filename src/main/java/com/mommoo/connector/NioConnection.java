@@ -0,0 +1,497 @@
+package com.mommoo.connector;
+
+import com.mommoo.http.request.HttpBodyDecoder;
+import com.mommoo.http.request.HttpRequest;
+import com.mommoo.http.request.HttpRequestBodyBuffer;
+import com.mommoo.http.request.HttpRequestParseException;
+import com.mommoo.http.request.HttpRequestParser;
+import com.mommoo.http.response.HttpResponseChannel;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * {@link NioConnector}가 관리하는 클라이언트 연결 하나의 상태를 정의한 클래스 입니다.
+ *
+ * 요청 데이터는 이벤트 루프 스레드가 읽는 즉시 {@link HttpRequestParser}로 분석하며, 헤더 이후 바디를 끝까지 받으면
+ * 요청이 완성된 것으로 판단합니다. 바디는 {@link HttpBodyDecoder}로 디코딩하여 {@link HttpRequestBodyBuffer}에 보관합니다.
+ * 요청 이후에 함께 도착한 데이터(파이프라이닝)는 다음 요청을 위해 보관합니다.
+ * 응답 데이터는 워커 스레드가 {@link HttpResponseChannel}로 출력하며, 소켓 버퍼가 가득 차서 보내지 못한 데이터는
+ * 큐에 보관했다가 이벤트 루프가 쓰기 가능 이벤트를 받았을 때 마저 보냅니다.
+ * 파일은 힙 메모리에 읽지 않고 파일 채널의 구간({@link FileRegionWrite})으로 큐에 보관하여, 커널에서 바로 전송합니다.
+ *
+ * 요청을 워커에게 넘긴 뒤에는 응답이 끝날 때 까지 읽기를 멈추며, 연결을 유지하는 경우 다시 읽기를 시작합니다.
+ *
+ * 스트리밍 응답은 큐에 보관한 데이터가 많다면 {@link #awaitPendingWrites(long)}로 워커 스레드를 기다리게 하며,
+ * 이벤트 루프가 큐를 비우거나 연결을 닫을 때 깨웁니다.
+ *
+ * @author mommoo
+ */
+class NioConnection implements HttpResponseChannel {
+    private final NioConnector connector;
+    private final SocketChannel socketChannel;
+    private final HttpRequestParser requestParser;
+    private final int maxBodyMemorySize;
+    private final long writeTimeout;
+    private final Queue<PendingWrite> writeQueue = new ArrayDeque<>();
+
+    private SelectionKey selectionKey;
+    private HttpBodyDecoder bodyDecoder;
+    private HttpRequestBodyBuffer bodyBuffer;
+    private HttpRequestBodyBuffer requestBodyBuffer;
+    private ByteBuffer pendingBuffer;
+    private boolean reading = true;
+    private boolean closeRequested = false;
+    private int requestCount = 0;
+    /** 분석중인 요청을 분석하는 데 걸린 시간의 합(ns) 입니다. 소켓을 기다린 시간은 포함하지 않습니다. */
+    private long parsingNanos = 0;
+    private long parseNanos = 0;
+    private volatile long lastActiveTime = System.currentTimeMillis();
+
+    /**
+     * @param writeTimeout 보관한 응답 데이터를 보내지 못하고 기다릴 수 있는 최대 시간(ms), 0 이라면 제한하지 않습니다.
+     */
+    NioConnection(NioConnector connector, SocketChannel socketChannel, String mainLogPath, int maxBodyMemorySize, long writeTimeout) {
+        this.connector = connector;
+        this.socketChannel = socketChannel;
+        this.requestParser = new HttpRequestParser(mainLogPath);
+        this.maxBodyMemorySize = maxBodyMemorySize;
+        this.writeTimeout = writeTimeout;
+    }
+
+    void setSelectionKey(SelectionKey selectionKey) {
+        this.selectionKey = selectionKey;
+    }
+
+    /**
+     * 소켓에서 데이터를 읽습니다. 이벤트 루프 스레드에서만 호출됩니다.
+     *
+     * @return 읽은 바이트 수, 연결이 끊겼다면 -1
+     */
+    int read(ByteBuffer readBuffer) throws IOException {
+        readBuffer.clear();
+        int readCount = socketChannel.read(readBuffer);
+        if (readCount <= 0) {
+            return readCount;
+        }
+
+        readBuffer.flip();
+        lastActiveTime = System.currentTimeMillis();
+
+        return readCount;
+    }
+
+    /**
+     * 소켓에서 읽은 데이터로 요청을 분석합니다. 이벤트 루프 스레드에서만 호출됩니다.
+     * 요청이 완성되었다면 응답이 끝날 때 까지 읽기를 멈춥니다.
+     *
+     * @param readBuffer 이벤트 루프가 공유하는 버퍼, 요청 이후의 데이터는 복사하여 보관합니다.
+     * @return 완성된 요청, 아직 완성되지 않았다면 null
+     */
+    HttpRequest takeRequestOrNull(ByteBuffer readBuffer) throws IOException {
+        HttpRequest httpRequest = parseRequestOrNull(readBuffer);
+
+        if (readBuffer.hasRemaining()) {
+            pendingBuffer = ByteBuffer.allocate(readBuffer.remaining());
+            pendingBuffer.put(readBuffer);
+            pendingBuffer.flip();
+        }
+        return httpRequest;
+    }
+
+    /**
+     * 응답하는 동안 보관해 둔 데이터로 다음 요청을 분석합니다. 이벤트 루프 스레드에서만 호출됩니다.
+     *
+     * @return 완성된 요청, 보관한 데이터가 없거나 아직 완성되지 않았다면 null
+     */
+    HttpRequest takePendingRequestOrNull() throws IOException {
+        if (pendingBuffer == null) {
+            return null;
+        }
+
+        HttpRequest httpRequest = parseRequestOrNull(pendingBuffer);
+        if (!pendingBuffer.hasRemaining()) {
+            pendingBuffer = null;
+        }
+        return httpRequest;
+    }
+
+    private HttpRequest parseRequestOrNull(ByteBuffer src) throws IOException {
+        long startTime = System.nanoTime();
+        HttpRequest httpRequest = buildRequestOrNull(src);
+        parsingNanos += System.nanoTime() - startTime;
+
+        if (httpRequest != null) {
+            parseNanos = parsingNanos;
+            parsingNanos = 0;
+        }
+        return httpRequest;
+    }
+
+    private HttpRequest buildRequestOrNull(ByteBuffer src) throws IOException {
+        // 헤더를 분석하는 중 입니다.
+        if (bodyDecoder == null) {
+            if (!requestParser.parse(src)) {
+                return null;
+            }
+
+            bodyDecoder = requestParser.createBodyDecoder();
+            if (!bodyDecoder.isCompleted()) {
+                bodyBuffer = new HttpRequestBodyBuffer(maxBodyMemorySize);
+            }
+        }
+
+        if (bodyBuffer != null) {
+            bodyBuffer.append(src, bodyDecoder);
+        }
+
+        if (!bodyDecoder.isCompleted()) {
+            return null;
+        }
+
+        // 요청 처리가 끝나면 임시 파일을 지울 수 있도록, 요청에 넘긴 바디 버퍼를 기록합니다.
+        if (bodyBuffer != null) {
+            requestParser.setBody(bodyBuffer.toInputStream());
+            requestBodyBuffer = bodyBuffer;
+        }
+
+        HttpRequest httpRequest = requestParser.toHttpRequest();
+        requestParser.reset();
+        bodyDecoder = null;
+        bodyBuffer = null;
+
+        requestCount++;
+        stopReading();
+        return httpRequest;
+    }
+
+    /** 요청을 처리하는 동안 읽기 이벤트를 받지 않습니다. */
+    synchronized void stopReading() {
+        reading = false;
+        updateInterestOps();
+    }
+
+    int getRequestCount() {
+        return requestCount;
+    }
+
+    /** 마지막으로 완성된 요청을 분석하는 데 걸린 시간(ns) 입니다. 이벤트 루프 스레드에서만 호출됩니다. */
+    long getParseNanos() {
+        return parseNanos;
+    }
+
+    /**
+     * 연결이 유휴 시간을 초과했는지 검사합니다. 이벤트 루프 스레드에서만 호출됩니다.
+     * 워커가 요청을 처리중이거나 응답을 보내는 중인 연결은 검사 대상이 아닙니다.
+     *
+     * 응답을 마치고 다음 요청을 기다리는 연결은 keepAliveTimeout, 첫 요청을 기다리거나 요청을 받는 중인 연결은 readTimeout 을 적용합니다.
+     *
+     * @param keepAliveTimeout 다음 요청을 기다리는 유휴 시간(ms)
+     * @param readTimeout 요청 데이터를 기다리는 최대 시간(ms), 0 이라면 제한하지 않습니다.
+     */
+    synchronized boolean isIdleTimeout(long now, long keepAliveTimeout, long readTimeout) {
+        if (!reading || !writeQueue.isEmpty()) {
+            return false;
+        }
+
+        boolean waitingForNextRequest = requestCount > 0 && bodyDecoder == null && pendingBuffer == null && requestParser.isEmpty();
+        long idleTimeout = waitingForNextRequest ? keepAliveTimeout : readTimeout;
+        return idleTimeout > 0 && now - lastActiveTime > idleTimeout;
+    }
+
+    @Override
+    public synchronized void write(ByteBuffer... byteBuffers) throws IOException {
+        if (!socketChannel.isOpen()) {
+            throw new IOException("이미 닫힌 연결 입니다.");
+        }
+
+        // 대기중인 데이터가 없다면, 워커 스레드에서 바로 출력을 시도합니다.
+        if (writeQueue.isEmpty()) {
+            socketChannel.write(byteBuffers);
+        }
+
+        for (ByteBuffer byteBuffer : byteBuffers) {
+            if (byteBuffer.hasRemaining()) {
+                enqueue(new BufferWrite(byteBuffer));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void write(ByteBuffer byteBuffer, Runnable releaseCallback) throws IOException {
+        BufferWrite bufferWrite = new BufferWrite(byteBuffer, releaseCallback);
+
+        if (!socketChannel.isOpen()) {
+            bufferWrite.release();
+            throw new IOException("이미 닫힌 연결 입니다.");
+        }
+
+        try {
+            if (writeQueue.isEmpty() && bufferWrite.writeTo(socketChannel)) {
+                bufferWrite.release();
+                return;
+            }
+        } catch (IOException e) {
+            bufferWrite.release();
+            throw e;
+        }
+
+        enqueue(bufferWrite);
+    }
+
+    @Override
+    public InetAddress getRemoteAddressOrNull() {
+        return socketChannel.socket().getInetAddress();
+    }
+
+    @Override
+    public synchronized void transferFrom(FileChannel fileChannel, long position, long count) throws IOException {
+        FileRegionWrite fileRegionWrite = new FileRegionWrite(fileChannel, position, count);
+
+        if (!socketChannel.isOpen()) {
+            fileRegionWrite.release();
+            throw new IOException("이미 닫힌 연결 입니다.");
+        }
+
+        // 대기중인 데이터가 없다면, 소켓 버퍼가 가득 찰 때 까지 워커 스레드에서 바로 전송합니다.
+        try {
+            if (writeQueue.isEmpty() && fileRegionWrite.writeTo(socketChannel)) {
+                fileRegionWrite.release();
+                return;
+            }
+        } catch (IOException e) {
+            fileRegionWrite.release();
+            throw e;
+        }
+
+        enqueue(fileRegionWrite);
+    }
+
+    /**
+     * 큐에 보관한 데이터가 maxPendingBytes 이하가 될 때 까지 워커 스레드를 기다리게 합니다.
+     * 이벤트 루프가 데이터를 보내거나 연결을 닫으면 깨어나며, writeTimeout 동안 데이터를 보내지 못했다면 연결을 닫습니다.
+     */
+    @Override
+    public synchronized void awaitPendingWrites(long maxPendingBytes) throws IOException {
+        long pendingBytes;
+        while ((pendingBytes = getPendingBytes()) > maxPendingBytes) {
+            if (!socketChannel.isOpen()) {
+                throw new IOException("이미 닫힌 연결 입니다.");
+            }
+
+            try {
+                wait(writeTimeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("응답 데이터를 보내기를 기다리던 중 중단되었습니다.");
+            }
+
+            // 제한 시간 동안 데이터를 조금도 보내지 못했다면, 클라이언트가 받지 않는 것으로 판단합니다.
+            if (writeTimeout > 0 && socketChannel.isOpen() && getPendingBytes() >= pendingBytes) {
+                close();
+                throw new IOException(writeTimeout + "ms 동안 응답 데이터를 보내지 못했습니다.");
+            }
+        }
+    }
+
+    private long getPendingBytes() {
+        long pendingBytes = 0;
+        for (PendingWrite pendingWrite : writeQueue) {
+            pendingBytes += pendingWrite.remaining();
+        }
+        return pendingBytes;
+    }
+
+    private void enqueue(PendingWrite pendingWrite) {
+        writeQueue.add(pendingWrite);
+
+        if (writeQueue.size() == 1) {
+            connector.execute(this::updateInterestOps);
+        }
+    }
+
+    /**
+     * 큐에 남아있는 응답 데이터를 출력합니다. 이벤트 루프 스레드에서 쓰기 가능 이벤트를 받았을 때 호출됩니다.
+     */
+    synchronized void flushWriteQueue() throws IOException {
+        try {
+            while (!writeQueue.isEmpty()) {
+                if (!writeQueue.peek().writeTo(socketChannel)) {
+                    return;
+                }
+                writeQueue.poll().release();
+            }
+        } finally {
+            // 보낸 만큼, 응답 데이터를 보내기를 기다리는 워커 스레드를 깨웁니다.
+            notifyAll();
+        }
+
+        lastActiveTime = System.currentTimeMillis();
+
+        if (closeRequested) {
+            close();
+            return;
+        }
+
+        updateInterestOps();
+    }
+
+    /**
+     * 요청 하나의 응답이 끝났음을 알립니다. 워커 스레드에서 호출됩니다.
+     *
+     * @param keepAlive 연결을 유지하고 다음 요청을 받을지 여부
+     */
+    synchronized void finishResponse(boolean keepAlive) {
+        discardRequestBody();
+
+        if (!keepAlive) {
+            closeRequested = true;
+            if (writeQueue.isEmpty()) {
+                close();
+            }
+            return;
+        }
+
+        reading = true;
+        lastActiveTime = System.currentTimeMillis();
+
+        // 이미 도착한 다음 요청이 있을 수 있으므로, 이벤트 루프가 보관된 데이터를 먼저 검사하도록 합니다.
+        connector.execute(() -> connector.resume(this));
+    }
+
+    synchronized void close() {
+        if (selectionKey != null) {
+            selectionKey.cancel();
+        }
+
+        // 보내지 못한 파일 구간이 있다면, 파일 채널을 닫습니다.
+        PendingWrite pendingWrite;
+        while ((pendingWrite = writeQueue.poll()) != null) {
+            pendingWrite.release();
+        }
+
+        discardRequestBody();
+        if (bodyBuffer != null) {
+            bodyBuffer.discard();
+        }
+
+        try {
+            socketChannel.close();
+        } catch (IOException ignore) {
+            // 이미 끊긴 연결이므로 처리할 작업이 없습니다.
+        }
+
+        // 응답 데이터를 보내기를 기다리는 워커 스레드가 있다면, 깨워서 실패하도록 합니다.
+        notifyAll();
+    }
+
+    private synchronized void discardRequestBody() {
+        if (requestBodyBuffer != null) {
+            requestBodyBuffer.discard();
+            requestBodyBuffer = null;
+        }
+    }
+
+    /** 읽기/쓰기 상태에 맞게 관심 이벤트를 변경합니다. 이벤트 루프 스레드에서만 호출됩니다. */
+    synchronized void updateInterestOps() {
+        if (selectionKey == null || !selectionKey.isValid()) {
+            return;
+        }
+
+        int interestOps = (reading ? SelectionKey.OP_READ : 0) | (writeQueue.isEmpty() ? 0 : SelectionKey.OP_WRITE);
+        selectionKey.interestOps(interestOps);
+    }
+
+    /** 소켓 버퍼가 가득 차서 보내지 못하고 큐에 보관한 응답 데이터 입니다. */
+    private interface PendingWrite {
+        /** @return 모두 출력했는지 여부 */
+        boolean writeTo(SocketChannel socketChannel) throws IOException;
+
+        /** @return 아직 출력하지 못한 바이트 수 */
+        long remaining();
+
+        void release();
+    }
+
+    private static class BufferWrite implements PendingWrite {
+        private final ByteBuffer byteBuffer;
+        private final Runnable releaseCallback;
+
+        private BufferWrite(ByteBuffer byteBuffer) {
+            this(byteBuffer, null);
+        }
+
+        private BufferWrite(ByteBuffer byteBuffer, Runnable releaseCallbackOrNull) {
+            this.byteBuffer = byteBuffer;
+            this.releaseCallback = releaseCallbackOrNull;
+        }
+
+        @Override
+        public boolean writeTo(SocketChannel socketChannel) throws IOException {
+            socketChannel.write(byteBuffer);
+            return !byteBuffer.hasRemaining();
+        }
+
+        @Override
+        public long remaining() {
+            return byteBuffer.remaining();
+        }
+
+        @Override
+        public void release() {
+            if (releaseCallback != null) {
+                releaseCallback.run();
+            }
+        }
+    }
+
+    private static class FileRegionWrite implements PendingWrite {
+        private final FileChannel fileChannel;
+        private final long end;
+        private long position;
+
+        private FileRegionWrite(FileChannel fileChannel, long position, long count) {
+            this.fileChannel = fileChannel;
+            this.position = position;
+            this.end = position + count;
+        }
+
+        @Override
+        public boolean writeTo(SocketChannel socketChannel) throws IOException {
+            while (position < end) {
+                long transferCount = fileChannel.transferTo(position, end - position, socketChannel);
+                if (transferCount == 0) {
+                    // 전송 도중 파일이 줄어들었다면, Content-Length 만큼 보낼 수 없습니다.
+                    if (position >= fileChannel.size()) {
+                        throw new EOFException("전송 도중 파일의 크기가 변경되었습니다.");
+                    }
+                    return false;
+                }
+                position += transferCount;
+            }
+            return true;
+        }
+
+        @Override
+        public long remaining() {
+            return end - position;
+        }
+
+        @Override
+        public void release() {
+            try {
+                fileChannel.close();
+            } catch (IOException ignore) {
+                // 읽기 전용으로 연 채널이므로, 닫지 못해도 처리할 작업이 없습니다.
+            }
+        }
+    }
+}
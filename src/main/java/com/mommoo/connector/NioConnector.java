@@ -0,0 +1,257 @@
+package com.mommoo.connector;
+
+import com.mommoo.conf.ServerConfiguration;
+import com.mommoo.http.request.HttpRequest;
+import com.mommoo.http.request.HttpRequestParseException;
+import com.mommoo.http.response.HttpResponseSender;
+import com.mommoo.metrics.RequestStage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * {@link Selector} 기반의 이벤트 루프로 연결을 처리하는 {@link Connector} 입니다.
+ *
+ * 이벤트 루프 스레드 하나가 연결 수락, 논블로킹 읽기/쓰기를 모두 담당하며,
+ * 요청 메시지가 완성된 경우에만 워커 스레드에게 처리를 넘깁니다.
+ * 따라서 느린 클라이언트나 유휴 연결이 워커 스레드를 점유하지 않습니다.
+ *
+ * 워커 스레드가 요청하는 Selector 관련 작업은 {@link #pendingTaskQueue}에 넣고, 이벤트 루프 스레드가 처리합니다.
+ *
+ * 연결 유지(keep-alive)시 다음 요청을 기다리는 연결은 워커 없이 Selector에 등록된 채로 대기하며,
+ * 유휴 시간이 지나면 이벤트 루프가 주기적으로 검사하여 닫습니다.
+ * 첫 요청을 기다리거나 요청을 받는 중인 연결은 readTimeout 으로 검사하므로, 연결 유지를 사용하지 않더라도 닫힙니다.
+ *
+ * 워커가 모두 바쁘고 작업 큐도 가득 찼다면, 이벤트 루프가 바로 503 응답을 보내고 연결을 닫습니다. {@link WorkerDispatcher}
+ *
+ * @author mommoo
+ */
+public class NioConnector implements Connector {
+    private static final Logger logger = LoggerFactory.getLogger(NioConnector.class);
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+    private static final long IDLE_CHECK_INTERVAL = 1000;
+
+    private final int portNumber;
+    private final WorkerDispatcher workerDispatcher;
+    private final ConnectionHandler connectionHandler;
+    private final String mainLogPath;
+    private final long keepAliveTimeout;
+    private final long readTimeout;
+    private final int maxKeepAliveRequests;
+    private final int maxBodyMemorySize;
+
+    private final Queue<Runnable> pendingTaskQueue = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private Selector selector;
+
+    public NioConnector(int portNumber, ServerConfiguration serverConfiguration, ExecutorService executorService, ConnectionHandler connectionHandler) {
+        this.portNumber = portNumber;
+        this.workerDispatcher = new WorkerDispatcher(executorService, serverConfiguration.getMaxQueueWait(), connectionHandler);
+        this.connectionHandler = connectionHandler;
+        this.mainLogPath = serverConfiguration.getMainLogPath();
+        this.keepAliveTimeout = serverConfiguration.getKeepAliveTimeout();
+        this.readTimeout = serverConfiguration.getReadTimeout();
+        this.maxKeepAliveRequests = serverConfiguration.getMaxKeepAliveRequests();
+        this.maxBodyMemorySize = serverConfiguration.getMaxBodyMemorySize();
+    }
+
+    @Override
+    public void listen() throws IOException {
+        selector = Selector.open();
+
+        ServerSocketChannel serverSocketChannel = ServerSocketChannel.open();
+        serverSocketChannel.bind(new InetSocketAddress(portNumber));
+        serverSocketChannel.configureBlocking(false);
+        serverSocketChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        setLogPath(mainLogPath);
+        logger.info(this + "의 Connection Listen 시작");
+
+        long lastIdleCheckTime = System.currentTimeMillis();
+
+        while (true) {
+            try {
+                selector.select(IDLE_CHECK_INTERVAL);
+            } catch (IOException e) {
+                setLogPath(mainLogPath);
+                logger.error("Selector 이벤트를 받지 못했습니다.", e);
+                continue;
+            }
+
+            runPendingTasks();
+
+            long now = System.currentTimeMillis();
+            if (now - lastIdleCheckTime >= IDLE_CHECK_INTERVAL) {
+                closeIdleConnections(now);
+                lastIdleCheckTime = now;
+            }
+
+            Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+            while (selectedKeys.hasNext()) {
+                SelectionKey selectionKey = selectedKeys.next();
+                selectedKeys.remove();
+
+                if (selectionKey.isValid() && selectionKey.isAcceptable()) {
+                    accept(serverSocketChannel);
+                    continue;
+                }
+
+                NioConnection connection = (NioConnection) selectionKey.attachment();
+                try {
+                    if (selectionKey.isValid() && selectionKey.isReadable()) {
+                        read(connection);
+                    }
+
+                    if (selectionKey.isValid() && selectionKey.isWritable()) {
+                        connection.flushWriteQueue();
+                    }
+                } catch (IOException e) {
+                    // 클라이언트가 연결을 끊은 경우가 대부분이므로, 연결만 정리합니다.
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    private void accept(ServerSocketChannel serverSocketChannel) {
+        SocketChannel socketChannel;
+        try {
+            while ((socketChannel = serverSocketChannel.accept()) != null) {
+                socketChannel.configureBlocking(false);
+
+                NioConnection connection = new NioConnection(this, socketChannel, mainLogPath, maxBodyMemorySize, readTimeout);
+                connection.setSelectionKey(socketChannel.register(selector, SelectionKey.OP_READ, connection));
+
+                connectionHandler.onAccept(socketChannel.getRemoteAddress());
+            }
+        } catch (IOException e) {
+            setLogPath(mainLogPath);
+            logger.error("소켓을 받지 못했습니다.", e);
+        }
+    }
+
+    private void read(NioConnection connection) throws IOException {
+        if (connection.read(readBuffer) == -1) {
+            connection.close();
+            return;
+        }
+
+        try {
+            dispatchIfRequestCompleted(connection, connection.takeRequestOrNull(readBuffer));
+        } catch (HttpRequestParseException e) {
+            dispatchBadRequest(connection, e);
+        }
+    }
+
+    /**
+     * 응답을 마치고 연결을 유지하는 경우 호출됩니다.
+     * 응답 도중 이미 도착한 다음 요청이 있다면 바로 처리하고, 없다면 다시 읽기 이벤트를 기다립니다.
+     */
+    void resume(NioConnection connection) {
+        try {
+            if (!dispatchIfRequestCompleted(connection, connection.takePendingRequestOrNull())) {
+                connection.updateInterestOps();
+            }
+        } catch (HttpRequestParseException e) {
+            dispatchBadRequest(connection, e);
+        } catch (IOException e) {
+            connection.close();
+        }
+    }
+
+    private boolean dispatchIfRequestCompleted(NioConnection connection, HttpRequest httpRequest) {
+        // 요청이 완성되었다면, 응답이 끝날 때 까지 읽기 이벤트를 받지 않습니다.
+        if (httpRequest == null) {
+            return false;
+        }
+
+        // 최대 요청 수에 도달한 연결은, 이번 응답을 끝으로 닫습니다.
+        boolean keepAliveAllowed = keepAliveTimeout > 0 && connection.getRequestCount() < maxKeepAliveRequests;
+        long parseNanos = connection.getParseNanos();
+
+        workerDispatcher.dispatch(() -> {
+            // 이벤트 루프가 기다리지 않도록, 분석 시간은 워커 스레드에서 알립니다.
+            connectionHandler.onStageCompleted(RequestStage.PARSE, parseNanos);
+
+            HttpResponseSender responseSender = new HttpResponseSender(connection);
+            responseSender.setKeepAlive(keepAliveAllowed);
+
+            boolean keepAlive = connectionHandler.onRequest(httpRequest, responseSender);
+            connection.finishResponse(keepAlive);
+        }, () -> rejectRequest(connection));
+        return true;
+    }
+
+    /** 요청 메시지를 분석하지 못했으므로, 더 읽지 않고 오류 응답을 보낸 뒤 연결을 닫습니다. */
+    private void dispatchBadRequest(NioConnection connection, HttpRequestParseException parseException) {
+        connection.stopReading();
+
+        workerDispatcher.dispatch(() -> {
+            HttpResponseSender responseSender = new HttpResponseSender(connection);
+            responseSender.setKeepAlive(false);
+
+            connectionHandler.onBadRequest(parseException, responseSender);
+            connection.finishResponse(false);
+        }, () -> rejectRequest(connection));
+    }
+
+    /** 서버가 포화 상태이므로, 요청을 처리하지 않고 503 응답을 보낸 뒤 연결을 닫습니다. */
+    private static void rejectRequest(NioConnection connection) {
+        try {
+            HttpResponseSender.sendServiceUnavailable(connection);
+        } catch (IOException e) {
+            // 거절하는 연결이므로, 응답을 보내지 못해도 별도로 처리하지 않습니다.
+        }
+        connection.finishResponse(false);
+    }
+
+    private void closeIdleConnections(long now) {
+        if (keepAliveTimeout <= 0 && readTimeout <= 0) {
+            return;
+        }
+
+        for (SelectionKey selectionKey : selector.keys()) {
+            Object attachment = selectionKey.attachment();
+            if (attachment instanceof NioConnection && ((NioConnection) attachment).isIdleTimeout(now, keepAliveTimeout, readTimeout)) {
+                ((NioConnection) attachment).close();
+            }
+        }
+    }
+
+    /**
+     * Selector 관련 작업을 이벤트 루프 스레드에서 처리하도록 넘깁니다.
+     * 워커 스레드에서 {@link SelectionKey}를 직접 변경하지 않기 위함입니다.
+     */
+    void execute(Runnable task) {
+        pendingTaskQueue.add(task);
+        selector.wakeup();
+    }
+
+    private void runPendingTasks() {
+        Runnable task;
+        while ((task = pendingTaskQueue.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static void setLogPath(String logPath) {
+        MDC.put("logPath", logPath);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("NioConnector[%-6d]", portNumber);
+    }
+}
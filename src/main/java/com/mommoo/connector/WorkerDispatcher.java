@@ -0,0 +1,77 @@
+package com.mommoo.connector;
+
+import com.mommoo.metrics.RequestStage;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Connector}가 워커에게 작업을 넘기는 역할을 담당하는 클래스 입니다.
+ *
+ * 서버가 포화 상태일 때 작업을 큐에 쌓아두면, 요청들이 처리되기도 전에 타임아웃 되어 모든 요청이 느려집니다.
+ * 따라서 다음 2가지 경우에는 작업을 처리하지 않고, 거절 작업(503 응답)을 대신 수행합니다.
+ *
+ *  1. 작업 큐가 가득 차서 {@link ExecutorService}가 작업을 거절한 경우. (연결을 받은 스레드에서 바로 수행)
+ *  2. 작업이 큐에서 기다린 시간이 maxQueueWait 를 넘은 경우. (워커 스레드에서 수행)
+ *
+ * 워커가 작업을 꺼냈을 때, 큐에서 기다린 시간을 {@link ConnectionHandler#onStageCompleted}로 알립니다.
+ * 스레드 풀이라면 큐와 워커의 상태로 워커가 모두 바쁜지 알려줍니다. {@link #isBusy()}
+ *
+ * @author mommoo
+ */
+class WorkerDispatcher {
+    private final ExecutorService executorService;
+    private final long maxQueueWaitNanos;
+    private final ConnectionHandler connectionHandler;
+    private final ThreadPoolExecutor threadPoolOrNull;
+
+    /**
+     * @param maxQueueWait 작업이 큐에서 기다릴 수 있는 최대 시간(ms), 0 이라면 제한하지 않습니다.
+     */
+    WorkerDispatcher(ExecutorService executorService, long maxQueueWait, ConnectionHandler connectionHandler) {
+        this.executorService = executorService;
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWait);
+        this.connectionHandler = connectionHandler;
+
+        this.threadPoolOrNull = executorService instanceof ThreadPoolExecutor ? (ThreadPoolExecutor) executorService : null;
+    }
+
+    /**
+     * 가상 스레드는 작업마다 스레드를 만들어 워커 수의 제한이 없으므로, 항상 바쁘지 않습니다.
+     *
+     * @return 큐에서 워커를 기다리는 작업이 있거나, 모든 워커가 작업을 수행중인지 여부
+     */
+    boolean isBusy() {
+        if (threadPoolOrNull == null) {
+            return false;
+        }
+        return !threadPoolOrNull.getQueue().isEmpty() || threadPoolOrNull.getActiveCount() >= threadPoolOrNull.getMaximumPoolSize();
+    }
+
+    /**
+     * 작업을 워커에게 넘깁니다.
+     *
+     * @param task 워커가 수행할 작업
+     * @param rejectTask 작업을 처리할 수 없을 때 대신 수행할 작업
+     */
+    void dispatch(Runnable task, Runnable rejectTask) {
+        long enqueueTime = System.nanoTime();
+
+        try {
+            executorService.execute(() -> {
+                long queueWaitNanos = System.nanoTime() - enqueueTime;
+                connectionHandler.onStageCompleted(RequestStage.QUEUE_WAIT, queueWaitNanos);
+
+                if (maxQueueWaitNanos > 0 && queueWaitNanos > maxQueueWaitNanos) {
+                    rejectTask.run();
+                    return;
+                }
+                task.run();
+            });
+        } catch (RejectedExecutionException e) {
+            rejectTask.run();
+        }
+    }
+}
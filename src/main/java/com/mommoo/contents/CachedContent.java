@@ -0,0 +1,69 @@
+package com.mommoo.contents;
+
+import com.mommoo.http.HttpStatus;
+import com.mommoo.http.response.ContentEncoding;
+import com.mommoo.http.response.FileValidator;
+import com.mommoo.http.response.HttpResponseSender;
+
+/**
+ * {@link StaticContentCache}가 보관하는 파일 응답 데이터 입니다.
+ *
+ * 응답마다 헤더를 다시 구성하지 않도록, 연결 유지 여부에 따른 두 가지 헤더를 미리 인코딩하여 바디와 함께 보관합니다.
+ * 파일의 Content-Type 은 캐시에 넣을 때 {@link com.mommoo.http.response.MimeTypeTable}에서 한번 찾아 헤더와 함께 보관합니다.
+ * 압축한 응답이라면 바디는 압축된 데이터이며, 헤더에 압축 방식(Content-Encoding)이 포함됩니다.
+ * 정상(200) 응답인 파일은 파일을 읽을 때 구성한 {@link FileValidator}도 함께 보관하여, 조건부 요청을 디스크 확인 없이 검사합니다.
+ * 여러 워커 스레드가 동시에 사용하므로, 보관한 배열은 변경하지 않아야 합니다.
+ *
+ * @author mommoo
+ */
+public class CachedContent {
+    private final HttpStatus httpStatus;
+    private final String contentType;
+    private final FileValidator fileValidator;
+    private final boolean vary;
+    private final byte[] keepAliveHeader;
+    private final byte[] closeHeader;
+    private final byte[] body;
+
+    CachedContent(HttpStatus httpStatus, String contentType, byte[] body, FileValidator fileValidatorOrNull,
+                  ContentEncoding contentEncodingOrNull, boolean vary) {
+        this.httpStatus = httpStatus;
+        this.contentType = contentType;
+        this.fileValidator = fileValidatorOrNull;
+        this.vary = vary;
+        this.keepAliveHeader = HttpResponseSender.encodeFileHeader(httpStatus, contentType, body.length, fileValidatorOrNull, contentEncodingOrNull, vary, true);
+        this.closeHeader = HttpResponseSender.encodeFileHeader(httpStatus, contentType, body.length, fileValidatorOrNull, contentEncodingOrNull, vary, false);
+        this.body = body;
+    }
+
+    public HttpStatus getHttpStatus() {
+        return httpStatus;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /** @return 파일 검증자, 정상(200) 응답이 아니라면 null */
+    public FileValidator getValidatorOrNull() {
+        return fileValidator;
+    }
+
+    /** 응답이 Accept-Encoding 헤더에 따라 달라지는지(Vary 헤더를 출력하는지) 여부 입니다. */
+    public boolean isVary() {
+        return vary;
+    }
+
+    public byte[] getHeader(boolean keepAlive) {
+        return keepAlive ? keepAliveHeader : closeHeader;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    /** 캐시가 차지하는 메모리 크기(byte) 입니다. */
+    long size() {
+        return keepAliveHeader.length + closeHeader.length + body.length;
+    }
+}
@@ -0,0 +1,44 @@
+package com.mommoo.contents;
+
+import com.mommoo.http.HttpStatus;
+import com.mommoo.http.response.ContentEncoding;
+
+/**
+ * {@link StaticContentCache}가 파일 하나에 대해 보관하는 응답 데이터 입니다.
+ *
+ * 원본 응답과 함께, 압축 방식({@link ContentEncoding}) 별로 압축한 응답을 보관하여 요청마다 압축하지 않도록 합니다.
+ * 압축 대상이 아니거나, 압축해도 크기가 줄지 않는 방식의 응답은 보관하지 않습니다.
+ *
+ * @author mommoo
+ */
+class CachedFile {
+    private final CachedContent identityContent;
+    private final CachedContent[] encodedContents;
+
+    CachedFile(CachedContent identityContent, CachedContent[] encodedContents) {
+        this.identityContent = identityContent;
+        this.encodedContents = encodedContents;
+    }
+
+    HttpStatus getHttpStatus() {
+        return identityContent.getHttpStatus();
+    }
+
+    /** @return 압축 방식에 맞는 응답, 압축한 응답이 없다면 원본 응답 */
+    CachedContent getContent(ContentEncoding contentEncodingOrNull) {
+        if (contentEncodingOrNull != null && encodedContents[contentEncodingOrNull.ordinal()] != null) {
+            return encodedContents[contentEncodingOrNull.ordinal()];
+        }
+        return identityContent;
+    }
+
+    long size() {
+        long size = identityContent.size();
+        for (CachedContent encodedContent : encodedContents) {
+            if (encodedContent != null) {
+                size += encodedContent.size();
+            }
+        }
+        return size;
+    }
+}
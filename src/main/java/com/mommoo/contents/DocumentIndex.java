@@ -0,0 +1,161 @@
+package com.mommoo.contents;
+
+import com.mommoo.http.response.CompressionPolicy;
+import com.mommoo.http.response.MimeTypeTable;
+
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * documentPath 의 모든 파일을 URI 경로로 찾을 수 있도록 구성한 변경 불가능한 색인 입니다.
+ *
+ * 경로 구분자(/)로 나눈 이름을 노드로 하는 트리(prefix tree)로 구성하여, URI 를 앞에서부터 따라가며 파일을 찾습니다.
+ *  ex) /css/style.css : root -> css -> style.css
+ *
+ * 색인은 구성한 뒤에 변경하지 않으므로, 여러 워커 스레드가 잠금 없이 사용합니다.
+ * 파일이 변경되면 새로운 색인을 구성하여 교체합니다. {@link DocumentIndexer}
+ *
+ * 디렉토리는 응답하지 않으며, 상위 경로(..)를 포함한 URI 는 documentPath 밖을 가리킬 수 있으므로 찾지 않습니다.
+ *
+ * @author mommoo
+ */
+public class DocumentIndex {
+    /** 파일이 없는 색인 입니다. */
+    static final DocumentIndex EMPTY = new DocumentIndex(new Node(Collections.emptyMap(), null), 0);
+
+    private final Node root;
+    private final int fileCount;
+
+    private DocumentIndex(Node root, int fileCount) {
+        this.root = root;
+        this.fileCount = fileCount;
+    }
+
+    /** documentPath 를 순회하여 색인을 구성합니다. 심볼릭 링크는 링크가 가리키는 파일로 색인합니다. */
+    public static DocumentIndex build(Path documentPath, MimeTypeTable mimeTypeTable) throws IOException {
+        NodeBuilder rootBuilder = new NodeBuilder();
+
+        Files.walkFileTree(documentPath, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path filePath, BasicFileAttributes attributes) {
+                if (!attributes.isDirectory()) {
+                    NodeBuilder nodeBuilder = rootBuilder;
+                    for (Path name : documentPath.relativize(filePath)) {
+                        nodeBuilder = nodeBuilder.child(name.toString());
+                    }
+                    nodeBuilder.filePath = filePath;
+                    nodeBuilder.attributes = attributes;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path filePath, IOException e) {
+                // 읽을 수 없는 파일이나 순환하는 링크는 색인하지 않습니다.
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        int[] fileCount = new int[1];
+        Node root = rootBuilder.build(null, mimeTypeTable, fileCount);
+        return new DocumentIndex(root, fileCount[0]);
+    }
+
+    /**
+     * URI 경로의 파일을 찾습니다. 빈 이름(//)과 현재 경로(.)는 무시합니다.
+     *
+     * @param fileURI documentPath 기준의 파일 경로 ex) /css/style.css
+     * @return 파일 정보, 없거나 디렉토리라면 null
+     */
+    public IndexedFile findOrNull(String fileURI) {
+        Node node = root;
+        int nameStart = 0;
+        int length = fileURI.length();
+
+        while (nameStart <= length) {
+            int nameEnd = fileURI.indexOf('/', nameStart);
+            if (nameEnd == -1) {
+                nameEnd = length;
+            }
+
+            int nameLength = nameEnd - nameStart;
+            if (nameLength == 2 && fileURI.startsWith("..", nameStart)) {
+                return null;
+            }
+
+            if (nameLength != 0 && !(nameLength == 1 && fileURI.charAt(nameStart) == '.')) {
+                node = node.children.get(fileURI.substring(nameStart, nameEnd));
+                if (node == null) {
+                    return null;
+                }
+            }
+            nameStart = nameEnd + 1;
+        }
+        return node.file;
+    }
+
+    /** 색인한 파일의 수 입니다. */
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    private static class Node {
+        private final Map<String, Node> children;
+        private final IndexedFile file;
+
+        private Node(Map<String, Node> children, IndexedFile fileOrNull) {
+            this.children = children;
+            this.file = fileOrNull;
+        }
+    }
+
+    /** 순회하는 동안 트리를 구성하며, 순회를 마치면 변경 불가능한 {@link Node}로 변환합니다. */
+    private static class NodeBuilder {
+        private final Map<String, NodeBuilder> children = new HashMap<>();
+        private Path filePath;
+        private BasicFileAttributes attributes;
+
+        private NodeBuilder child(String name) {
+            return children.computeIfAbsent(name, key -> new NodeBuilder());
+        }
+
+        private Node build(NodeBuilder parentOrNull, MimeTypeTable mimeTypeTable, int[] fileCount) {
+            Map<String, Node> childNodes = new HashMap<>();
+            for (Map.Entry<String, NodeBuilder> child : children.entrySet()) {
+                childNodes.put(child.getKey(), child.getValue().build(this, mimeTypeTable, fileCount));
+            }
+
+            IndexedFile indexedFile = null;
+            if (filePath != null) {
+                fileCount[0]++;
+                indexedFile = new IndexedFile(filePath, attributes.size(), attributes.lastModifiedTime().toMillis(),
+                        mimeTypeTable.getContentType(filePath), findSidecarOrNull(parentOrNull));
+            }
+            return new Node(childNodes.isEmpty() ? Collections.emptyMap() : childNodes, indexedFile);
+        }
+
+        /** 같은 디렉토리에 원본보다 최신인 gzip 파일(원본 이름 + .gz)이 있다면, 그 경로를 반환합니다. */
+        private Path findSidecarOrNull(NodeBuilder parentOrNull) {
+            if (parentOrNull == null) {
+                return null;
+            }
+
+            String sidecarName = filePath.getFileName().toString().concat(CompressionPolicy.SIDECAR_EXTENSION);
+            NodeBuilder sidecar = parentOrNull.children.get(sidecarName);
+            if (sidecar == null || sidecar.filePath == null
+                    || sidecar.attributes.lastModifiedTime().compareTo(attributes.lastModifiedTime()) < 0) {
+                return null;
+            }
+            return sidecar.filePath;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.mommoo.contents;
+
+import com.mommoo.http.response.MimeTypeTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link com.mommoo.conf.ServerSpec} 하나의 documentPath 색인({@link DocumentIndex})을 구성하고, 변경되면 교체하는 클래스 입니다.
+ *
+ * 서버 구동 시 색인을 한번 구성하며, {@link DocumentWatcher}가 변경을 알리면 새로운 색인을 구성하여 교체합니다.
+ * 배포처럼 짧은 시간에 많은 파일이 변경되더라도 한번만 구성하도록, 변경 알림을 받고 {@link #REINDEX_DELAY_MILLIS} 뒤에 구성합니다.
+ * 색인은 변경 불가능하므로, 요청은 교체 전 또는 교체 후의 색인 하나만 사용합니다.
+ *
+ * @author mommoo
+ */
+public class DocumentIndexer implements DocumentWatcher.Listener {
+    private static final Logger logger = LoggerFactory.getLogger(DocumentIndexer.class);
+
+    static final long REINDEX_DELAY_MILLIS = 200;
+
+    private final Path documentPath;
+    private final String logPath;
+    private final MimeTypeTable mimeTypeTable;
+    private final AtomicBoolean reindexScheduled = new AtomicBoolean();
+
+    /** 색인 구성은 순서대로 하나씩 처리하여, 오래된 색인이 최신 색인을 덮어쓰지 않도록 합니다. */
+    private final ScheduledExecutorService reindexExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread reindexThread = new Thread(runnable, "document-indexer");
+        reindexThread.setDaemon(true);
+        return reindexThread;
+    });
+
+    private volatile DocumentIndex documentIndex = DocumentIndex.EMPTY;
+
+    public DocumentIndexer(Path documentPath, String logPath, MimeTypeTable mimeTypeTable) {
+        this.documentPath = documentPath;
+        this.logPath = logPath;
+        this.mimeTypeTable = mimeTypeTable;
+    }
+
+    /** 현재 색인 입니다. 변경된 파일은 다음 색인부터 반영됩니다. */
+    public DocumentIndex getIndex() {
+        return documentIndex;
+    }
+
+    /** 색인을 구성하여 교체합니다. 구성하지 못했다면, 이전 색인을 그대로 사용합니다. */
+    public void reindex() {
+        try {
+            DocumentIndex newIndex = DocumentIndex.build(documentPath, mimeTypeTable);
+            documentIndex = newIndex;
+
+            MDC.put("logPath", logPath);
+            logger.info("문서 경로를 색인했습니다. " + documentPath + " , " + newIndex.getFileCount() + "개 파일");
+        } catch (IOException e) {
+            MDC.put("logPath", logPath);
+            logger.warn("문서 경로를 색인하지 못했습니다. " + documentPath, e);
+        }
+    }
+
+    @Override
+    public void invalidate(Path path) {
+        scheduleReindex();
+    }
+
+    @Override
+    public void clear() {
+        scheduleReindex();
+    }
+
+    public void close() {
+        reindexExecutor.shutdownNow();
+    }
+
+    private void scheduleReindex() {
+        if (!reindexScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            reindexExecutor.schedule(() -> {
+                // 구성하는 도중 받은 변경 알림은 다음 구성으로 반영합니다.
+                reindexScheduled.set(false);
+                reindex();
+            }, REINDEX_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ignore) {
+            // 닫힌 색인은 더 이상 구성하지 않습니다.
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.mommoo.contents;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link WatchService}로 documentPath 의 모든 디렉토리를 감시하여, 변경된 경로를 {@link Listener}에게 알리는 클래스 입니다.
+ *
+ * {@link com.mommoo.conf.ServerSpec} 하나의 파일 캐시들({@link StaticContentCache}, {@link FileMetadataCache})이
+ * 감시 스레드 하나를 같이 사용하도록, 캐시와 분리했습니다.
+ * 감시를 시작한 뒤에 생긴 디렉토리도 감시하며, 이벤트가 유실되었다면 모든 경로가 변경된 것으로 알립니다. {@link Listener#clear()}
+ *
+ * @author mommoo
+ */
+public class DocumentWatcher {
+    private static final Logger logger = LoggerFactory.getLogger(DocumentWatcher.class);
+
+    /** 감시중인 경로가 변경되었을 때 호출됩니다. 감시 스레드에서 호출하므로, 빠르게 반환해야 합니다. */
+    public interface Listener {
+        /** 경로가 생성, 변경 또는 삭제되었습니다. 디렉토리라면 하위 경로도 변경되었을 수 있습니다. */
+        void invalidate(Path path);
+
+        /** 어떤 경로가 변경되었는지 알 수 없습니다. */
+        void clear();
+    }
+
+    private final Path documentPath;
+    private final String logPath;
+    private final List<Listener> listenerList = new CopyOnWriteArrayList<>();
+    private final Map<WatchKey, Path> watchDirectoryMap = new HashMap<>();
+
+    private boolean started;
+    private boolean watching;
+    private WatchService watchService;
+
+    public DocumentWatcher(Path documentPath, String logPath) {
+        this.documentPath = documentPath.toAbsolutePath().normalize();
+        this.logPath = logPath;
+    }
+
+    public void addListener(Listener listener) {
+        listenerList.add(listener);
+    }
+
+    /**
+     * 감시를 시작합니다. 이미 시작했다면, 처음 시작한 결과를 반환합니다.
+     *
+     * @return 감시중인지 여부, 감시하지 못한다면 변경을 알 수 없습니다.
+     */
+    public synchronized boolean start() {
+        if (started) {
+            return watching;
+        }
+        started = true;
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            registerDirectories(documentPath);
+        } catch (IOException e) {
+            MDC.put("logPath", logPath);
+            logger.warn("문서 경로를 감시할 수 없습니다. " + documentPath, e);
+            closeWatchService();
+            return false;
+        }
+
+        watching = true;
+        Thread watchThread = new Thread(this::watch, "document-watcher-" + documentPath);
+        watchThread.setDaemon(true);
+        watchThread.start();
+        return true;
+    }
+
+    public synchronized boolean isWatching() {
+        return watching;
+    }
+
+    /** 감시를 멈춥니다. 감시 스레드는 닫힌 WatchService 를 만나면 종료합니다. */
+    public synchronized void close() {
+        watching = false;
+        closeWatchService();
+    }
+
+    private void closeWatchService() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignore) {
+                // 이미 닫혔다면 할 일이 없습니다.
+            }
+        }
+    }
+
+    private void registerDirectories(Path rootDirectory) throws IOException {
+        Files.walkFileTree(rootDirectory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException {
+                WatchKey watchKey = directory.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+
+                synchronized (watchDirectoryMap) {
+                    watchDirectoryMap.put(watchKey, directory);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void watch() {
+        MDC.put("logPath", logPath);
+
+        while (true) {
+            WatchKey watchKey;
+            try {
+                watchKey = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            Path directory;
+            synchronized (watchDirectoryMap) {
+                directory = watchDirectoryMap.get(watchKey);
+            }
+
+            for (WatchEvent<?> watchEvent : watchKey.pollEvents()) {
+                // 이벤트가 유실되었다면, 어떤 파일이 변경되었는지 알 수 없으므로 모두 제거합니다.
+                if (watchEvent.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                    for (Listener listener : listenerList) {
+                        listener.clear();
+                    }
+                    continue;
+                }
+
+                Path changedPath = directory.resolve((Path) watchEvent.context());
+
+                // 새로 생긴 디렉토리의 파일도 감시합니다.
+                // 감시를 시작하기 전에 읽은 파일이 남지 않도록, 등록한 뒤에 캐시에서 제거합니다.
+                if (watchEvent.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changedPath)) {
+                    try {
+                        registerDirectories(changedPath);
+                    } catch (IOException | ClosedWatchServiceException e) {
+                        logger.warn("새로 생긴 디렉토리를 감시하지 못했습니다. " + changedPath, e);
+                    }
+                }
+
+                for (Listener listener : listenerList) {
+                    listener.invalidate(changedPath);
+                }
+            }
+
+            // 디렉토리가 삭제되어 더 이상 감시할 수 없다면, 감시 목록에서 제거합니다.
+            if (!watchKey.reset()) {
+                synchronized (watchDirectoryMap) {
+                    watchDirectoryMap.remove(watchKey);
+                }
+            }
+        }
+    }
+}
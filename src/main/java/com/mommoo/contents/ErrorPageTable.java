@@ -0,0 +1,59 @@
+package com.mommoo.contents;
+
+import com.mommoo.conf.ServerSpec;
+import com.mommoo.http.HttpStatus;
+import com.mommoo.http.response.PreparedResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * {@link ServerSpec}에 기술된 에러 페이지를 미리 응답 데이터로 구성해 보관하는 클래스 입니다.
+ *
+ * 에러 응답마다 파일을 찾고 읽지 않도록, 서버 구동 시 모든 에러 페이지를 한번 읽어 {@link PreparedResponse}로 구성합니다.
+ * 따라서 구동 후 변경된 에러 페이지는, 서버를 다시 구동해야 반영됩니다.
+ *
+ * 정의되지 않은 상태 코드나 읽을 수 없는 파일은 경고 로그를 남기고 제외하며, 이 경우 서버가 자체적으로 구성한 페이지로 응답합니다.
+ *
+ * @author mommoo
+ */
+public class ErrorPageTable {
+    private static final Logger logger = LoggerFactory.getLogger(ErrorPageTable.class);
+
+    private final Map<HttpStatus, PreparedResponse> errorPageMap = new EnumMap<>(HttpStatus.class);
+
+    public ErrorPageTable(ServerSpec serverSpec) {
+        for (Map.Entry<Integer, String> errorPageEntry : serverSpec.getErrorPage().entrySet()) {
+            HttpStatus httpStatus = HttpStatus.of(errorPageEntry.getKey());
+            Path filePath = Paths.get(serverSpec.getDocumentPath(), errorPageEntry.getValue());
+
+            if (httpStatus == null) {
+                printWarnLog(serverSpec, "정의되지 않은 에러 코드 입니다. : " + errorPageEntry.getKey());
+                continue;
+            }
+
+            try {
+                errorPageMap.put(httpStatus, PreparedResponse.of(httpStatus, Files.readAllBytes(filePath)));
+            } catch (IOException e) {
+                printWarnLog(serverSpec, "에러 페이지를 읽지 못했습니다. : " + filePath);
+            }
+        }
+    }
+
+    /** @return 상태 코드에 맞는 에러 페이지 응답, 없다면 null */
+    public PreparedResponse getErrorPageOrNull(HttpStatus httpStatus) {
+        return errorPageMap.get(httpStatus);
+    }
+
+    private static void printWarnLog(ServerSpec serverSpec, String msg) {
+        MDC.put("logPath", serverSpec.getLogPath());
+        logger.warn(msg);
+    }
+}
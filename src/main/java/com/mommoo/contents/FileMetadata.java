@@ -0,0 +1,70 @@
+package com.mommoo.contents;
+
+import com.mommoo.http.response.FileValidator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * 경로의 파일 메타 데이터(존재 여부, 디렉토리 여부, 크기, 수정 시각) 입니다.
+ *
+ * 존재하지 않는 경로도 {@link #NOT_FOUND}로 표현하여, {@link FileMetadataCache}가 없는 경로의 조회 결과도 보관할 수 있도록 합니다.
+ *
+ * @author mommoo
+ */
+public class FileMetadata {
+    /** 존재하지 않거나, 메타 데이터를 읽을 수 없는 경로 입니다. */
+    public static final FileMetadata NOT_FOUND = new FileMetadata(false, false, 0, 0);
+
+    private final boolean exists;
+    private final boolean directory;
+    private final long size;
+    private final long lastModifiedMillis;
+    private final FileValidator fileValidator;
+
+    private FileMetadata(boolean exists, boolean directory, long size, long lastModifiedMillis) {
+        this.exists = exists;
+        this.directory = directory;
+        this.size = size;
+        this.lastModifiedMillis = lastModifiedMillis;
+        this.fileValidator = FileValidator.of(size, lastModifiedMillis);
+    }
+
+    /** 메타 데이터를 한번의 시스템 호출로 읽습니다. */
+    public static FileMetadata read(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileMetadata(true, attributes.isDirectory(), attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            return NOT_FOUND;
+        }
+    }
+
+    public boolean exists() {
+        return exists;
+    }
+
+    public boolean isDirectory() {
+        return directory;
+    }
+
+    /** 응답할 수 있는 파일인지 여부 입니다. 디렉토리는 응답하지 않습니다. */
+    public boolean isFile() {
+        return exists && !directory;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModifiedMillis() {
+        return lastModifiedMillis;
+    }
+
+    /** 캐시된 메타 데이터를 재사용할 때 ETag, Last-Modified 를 다시 만들지 않도록, 읽을 때 한번만 구성한 검증자 입니다. */
+    public FileValidator getValidator() {
+        return fileValidator;
+    }
+}
@@ -0,0 +1,110 @@
+package com.mommoo.contents;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link com.mommoo.conf.ServerSpec} 하나의 경로 조회 결과({@link FileMetadata})를 보관하는 캐시 입니다.
+ *
+ * 요청마다 파일 존재 여부를 디스크에서 확인하지 않도록, 조회 결과를 ttl 동안 보관합니다.
+ * 존재하지 않는 경로의 결과({@link FileMetadata#NOT_FOUND})도 보관하므로, 없는 URI 를 반복해서 요청해도 시스템 호출을 하지 않습니다.
+ * 보관한 경로의 수가 maxEntryCount 를 넘으면, 가장 오래 사용하지 않은 경로부터 제거합니다. (LRU)
+ *
+ * {@link DocumentWatcher}가 경로의 변경을 알리면 해당 경로를 바로 제거하며, ttl 은 감시가 놓친 변경을 반영하는 최대 시간 입니다.
+ *
+ * @author mommoo
+ */
+public class FileMetadataCache implements DocumentWatcher.Listener {
+    private final int maxEntryCount;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    /** 접근 순서를 유지하여, 가장 앞의 경로가 가장 오래 사용하지 않은 경로 입니다. */
+    private final LinkedHashMap<Path, Entry> entryMap = new LinkedHashMap<Path, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, Entry> eldest) {
+            return size() > maxEntryCount;
+        }
+    };
+
+    /** 경로가 변경될 때 마다 증가하여, 읽는 도중 변경된 경로가 캐시에 들어가지 않도록 합니다. */
+    private long generation;
+
+    public FileMetadataCache(int maxEntryCount, long ttlMillis) {
+        this(maxEntryCount, ttlMillis, System::nanoTime);
+    }
+
+    FileMetadataCache(int maxEntryCount, long ttlMillis, LongSupplier nanoClock) {
+        this.maxEntryCount = maxEntryCount;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    /** @return 경로의 메타 데이터, 보관한 결과가 ttl 이 지났다면 디스크에서 다시 읽습니다. */
+    public FileMetadata get(Path path) {
+        Path key = toKey(path);
+        long now = nanoClock.getAsLong();
+        long loadGeneration;
+
+        synchronized (this) {
+            Entry entry = entryMap.get(key);
+            if (entry != null && now - entry.loadedNanos < ttlNanos) {
+                return entry.fileMetadata;
+            }
+            loadGeneration = generation;
+        }
+
+        // 디스크를 읽는 동안 다른 요청이 막히지 않도록, 잠금 밖에서 읽습니다.
+        FileMetadata fileMetadata = FileMetadata.read(key);
+
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                entryMap.put(key, new Entry(fileMetadata, now));
+            }
+        }
+        return fileMetadata;
+    }
+
+    /** 경로와, 경로가 디렉토리라면 그 하위의 모든 경로를 캐시에서 제거합니다. */
+    @Override
+    public synchronized void invalidate(Path path) {
+        Path key = toKey(path);
+        generation++;
+
+        Iterator<Path> iterator = entryMap.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().startsWith(key)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        generation++;
+        entryMap.clear();
+    }
+
+    /** 캐시가 보관중인 경로의 수 입니다. */
+    synchronized int size() {
+        return entryMap.size();
+    }
+
+    private static Path toKey(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private static class Entry {
+        private final FileMetadata fileMetadata;
+        private final long loadedNanos;
+
+        private Entry(FileMetadata fileMetadata, long loadedNanos) {
+            this.fileMetadata = fileMetadata;
+            this.loadedNanos = loadedNanos;
+        }
+    }
+}
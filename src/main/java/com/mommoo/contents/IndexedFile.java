@@ -0,0 +1,49 @@
+package com.mommoo.contents;
+
+import com.mommoo.http.response.FileValidator;
+
+import java.nio.file.Path;
+
+/**
+ * {@link DocumentIndex}가 보관하는 파일 하나의 응답 정보 입니다.
+ *
+ * 요청마다 디스크를 확인하지 않도록, 색인할 때 읽은 메타 데이터로 Content-Type, 검증자, gzip 파일(.gz)을 미리 구성합니다.
+ *
+ * @author mommoo
+ */
+public class IndexedFile {
+    private final Path path;
+    private final long size;
+    private final String contentType;
+    private final FileValidator fileValidator;
+    private final Path sidecarPath;
+
+    IndexedFile(Path path, long size, long lastModifiedMillis, String contentType, Path sidecarPathOrNull) {
+        this.path = path;
+        this.size = size;
+        this.contentType = contentType;
+        this.fileValidator = FileValidator.of(size, lastModifiedMillis);
+        this.sidecarPath = sidecarPathOrNull;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public FileValidator getValidator() {
+        return fileValidator;
+    }
+
+    /** @return 원본보다 최신인 gzip 파일(.gz)의 경로, 없다면 null */
+    public Path getSidecarPathOrNull() {
+        return sidecarPath;
+    }
+}
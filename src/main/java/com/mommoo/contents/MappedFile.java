@@ -0,0 +1,92 @@
+package com.mommoo.contents;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link MappedFileCache}가 보관하는, 파일 전체를 메모리에 매핑한 버퍼 입니다.
+ *
+ * 매핑을 해제한 뒤에 버퍼에 접근하면 JVM 이 비정상 종료될 수 있으므로, 참조 수로 해제 시점을 관리합니다.
+ * 캐시가 보관하는 동안 참조 하나를 가지며, 응답은 전송하기 전에 {@link #tryAcquire()}로 참조를 얻고 전송이 끝나면 {@link #release()}로 반환합니다.
+ * 캐시에서 제거되고 모든 응답이 반환하여 참조 수가 0 이 되면, 매핑을 바로 해제합니다.
+ *
+ * 매핑을 바로 해제할 수 없는 JDK(8 이하)라면, 버퍼를 참조하지 않게 된 뒤에 GC 가 해제합니다.
+ *
+ * @author mommoo
+ */
+public class MappedFile {
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field unsafeField = unsafeClass.getDeclaredField("theUnsafe");
+            unsafeField.setAccessible(true);
+            unsafe = unsafeField.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException ignore) {
+            // 매핑은 GC 가 해제합니다.
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final MappedByteBuffer mappedBuffer;
+    /** 매핑을 만든 쪽이 첫 참조를 가집니다. */
+    private final AtomicInteger referenceCount = new AtomicInteger(1);
+
+    MappedFile(MappedByteBuffer mappedBuffer) {
+        this.mappedBuffer = mappedBuffer;
+    }
+
+    /** @return 참조를 얻었는지 여부, 이미 해제된 매핑이라면 false */
+    boolean tryAcquire() {
+        while (true) {
+            int count = referenceCount.get();
+            if (count == 0) {
+                return false;
+            }
+            if (referenceCount.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** 참조를 반환합니다. 마지막 참조라면 매핑을 해제하므로, 반환한 뒤에는 버퍼에 접근하지 않아야 합니다. */
+    public void release() {
+        if (referenceCount.decrementAndGet() == 0) {
+            unmap();
+        }
+    }
+
+    /** 응답마다 position 을 따로 사용하도록, 파일 전체를 가리키는 버퍼의 복제본을 반환합니다. */
+    public ByteBuffer duplicate() {
+        return mappedBuffer.duplicate();
+    }
+
+    public long getSize() {
+        return mappedBuffer.capacity();
+    }
+
+    int getReferenceCount() {
+        return referenceCount.get();
+    }
+
+    private void unmap() {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, mappedBuffer);
+        } catch (ReflectiveOperationException | RuntimeException ignore) {
+            // 해제하지 못한 매핑은 GC 가 해제합니다.
+        }
+    }
+}
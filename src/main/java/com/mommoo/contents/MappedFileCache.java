@@ -0,0 +1,169 @@
+package com.mommoo.contents;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link com.mommoo.conf.ServerSpec} 하나의 큰 정적 파일을 메모리에 매핑하여 보관하는 캐시 입니다.
+ *
+ * 힙 캐시({@link StaticContentCache})에 보관하기에 크지만 자주 요청되는 파일은, 요청마다 파일을 다시 열지 않고
+ * 매핑된 버퍼({@link MappedFile})를 소켓에 바로 출력합니다. 파일 데이터는 힙이 아닌 운영체제의 페이지 캐시를 사용합니다.
+ *
+ * 매핑한 전체 크기가 maxMappedSize 를 넘으면, 가장 오래 사용하지 않은 파일부터 제거합니다. (LRU)
+ * 제거한 매핑은 전송중인 응답이 모두 끝난 뒤에 해제합니다.
+ * minFileSize 보다 작은 파일과 2GB 이상인 파일은 매핑하지 않습니다.
+ *
+ * 매핑한 파일이 변경되면 응답이 깨질 수 있으므로, {@link DocumentWatcher}로 변경을 알 수 있을 때만 사용합니다.
+ *
+ * @author mommoo
+ */
+public class MappedFileCache implements DocumentWatcher.Listener {
+    private static final Logger logger = LoggerFactory.getLogger(MappedFileCache.class);
+
+    private final long maxMappedSize;
+    private final long minFileSize;
+    private final String logPath;
+
+    /** 접근 순서를 유지하여, 가장 앞의 파일이 가장 오래 사용하지 않은 파일 입니다. */
+    private final LinkedHashMap<Path, MappedFile> mappedFileMap = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long mappedSize;
+    /** 캐시를 비울 때 마다 증가하여, 매핑하는 도중 변경된 파일이 캐시에 들어가지 않도록 합니다. */
+    private long generation;
+    private boolean enabled;
+
+    public MappedFileCache(long maxMappedSize, long minFileSize, String logPath) {
+        this.maxMappedSize = maxMappedSize;
+        this.minFileSize = minFileSize;
+        this.logPath = logPath;
+    }
+
+    /** 같이 사용하는 감시자로 변경을 알 수 있다면, 캐시를 사용합니다. */
+    public void startWatching(DocumentWatcher documentWatcher) {
+        documentWatcher.addListener(this);
+        boolean watching = documentWatcher.start();
+
+        synchronized (this) {
+            enabled = watching;
+        }
+    }
+
+    /**
+     * 매핑한 파일의 참조를 얻습니다. 캐시에 없다면 파일을 매핑하여 보관합니다.
+     * 얻은 참조는 전송이 끝나면 {@link MappedFile#release()}로 반환해야 합니다.
+     *
+     * @return 매핑한 파일, 캐시를 사용하지 않거나 매핑 대상이 아닌 크기라면 null
+     */
+    public MappedFile acquireOrNull(Path filePath) {
+        Path key = filePath.toAbsolutePath().normalize();
+        long loadGeneration;
+
+        synchronized (this) {
+            if (!enabled) {
+                return null;
+            }
+
+            MappedFile mappedFile = mappedFileMap.get(key);
+            if (mappedFile != null && mappedFile.tryAcquire()) {
+                return mappedFile;
+            }
+            loadGeneration = generation;
+        }
+
+        // 매핑하는 동안 다른 요청이 막히지 않도록, 잠금 밖에서 매핑합니다.
+        MappedFile mappedFile;
+        try {
+            long fileSize = Files.size(key);
+            if (fileSize < minFileSize || fileSize > maxMappedSize || fileSize > Integer.MAX_VALUE) {
+                return null;
+            }
+
+            // 매핑은 채널을 닫아도 유지됩니다.
+            try (FileChannel fileChannel = FileChannel.open(key, StandardOpenOption.READ)) {
+                MappedByteBuffer mappedBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+                mappedFile = new MappedFile(mappedBuffer);
+            }
+        } catch (IOException | RuntimeException e) {
+            MDC.put("logPath", logPath);
+            logger.warn("파일을 메모리에 매핑하지 못했습니다. " + key, e);
+            return null;
+        }
+
+        synchronized (this) {
+            // 매핑하는 도중 파일이 변경되었다면, 응답에는 사용하되 보관하지 않습니다.
+            if (enabled && loadGeneration == generation && mappedFile.tryAcquire()) {
+                put(key, mappedFile);
+            }
+        }
+        return mappedFile;
+    }
+
+    /** 경로와, 경로가 디렉토리라면 그 하위의 모든 파일을 캐시에서 제거합니다. */
+    @Override
+    public synchronized void invalidate(Path path) {
+        Path key = path.toAbsolutePath().normalize();
+        generation++;
+
+        Iterator<Map.Entry<Path, MappedFile>> iterator = mappedFileMap.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Path, MappedFile> entry = iterator.next();
+            if (entry.getKey().startsWith(key)) {
+                iterator.remove();
+                remove(entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        generation++;
+        for (MappedFile mappedFile : mappedFileMap.values()) {
+            remove(mappedFile);
+        }
+        mappedFileMap.clear();
+    }
+
+    /** 캐시를 사용하지 않고, 매핑을 모두 제거합니다. */
+    public synchronized void close() {
+        enabled = false;
+        clear();
+    }
+
+    /** 캐시가 매핑한 전체 크기(byte) 입니다. */
+    synchronized long getMappedSize() {
+        return mappedSize;
+    }
+
+    private void put(Path key, MappedFile mappedFile) {
+        MappedFile oldFile = mappedFileMap.put(key, mappedFile);
+        if (oldFile != null) {
+            remove(oldFile);
+        }
+        mappedSize += mappedFile.getSize();
+
+        // 최대 크기를 넘었다면, 가장 오래 사용하지 않은 파일부터 제거합니다.
+        Iterator<MappedFile> iterator = mappedFileMap.values().iterator();
+        while (mappedSize > maxMappedSize && iterator.hasNext()) {
+            MappedFile eldestFile = iterator.next();
+            iterator.remove();
+            remove(eldestFile);
+        }
+    }
+
+    /** 캐시의 참조를 반환합니다. 전송중인 응답이 없다면, 매핑을 바로 해제합니다. */
+    private void remove(MappedFile mappedFile) {
+        mappedSize -= mappedFile.getSize();
+        mappedFile.release();
+    }
+}
@@ -2,9 +2,9 @@ package com.mommoo.contents;
 
 import com.mommoo.conf.ServerSpec;
 import com.mommoo.http.HttpStatus;
+import com.mommoo.servlet.ServletRegistry;
 import com.mommoo.servlet.SimpleServlet;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -14,19 +14,43 @@ import java.nio.file.Paths;
  * 컨텐츠를 찾는 과정에서 {@link HttpStatus}가 변경될 수도 있습니다.
  *  ex) 올바른 요청이지만, 컨텐츠를 찾이 못한 경우 : {@link HttpStatus#CODE_200} -> {@link HttpStatus#CODE_404}
  *
+ * 서블릿은 {@link ServletRegistry}에 등록된 인스턴스를 사용합니다.
  * 찾은 결과물을 {@link ServerContents} 인스턴스로 제공합니다.
+ * {@link StaticContentCache}가 주어졌다면, 캐시에 있는 파일은 디스크에서 존재 여부를 확인하지 않습니다.
+ * {@link FileMetadataCache}가 주어졌다면, 없는 파일을 포함한 경로의 조회 결과를 캐시에서 찾습니다.
+ * {@link DocumentIndex}가 주어졌다면, 디스크를 확인하지 않고 색인에서 파일을 찾습니다. {@link #getIndexedFileOrNull()}
  *
  * @author mommoo
  */
 public class ServerContentsFinder {
     private final ServerContents serverContents;
+    private final IndexedFile indexedFile;
 
     public ServerContentsFinder(ServerSpec serverSpec, String URI, HttpStatus httpStatus) {
+        this(serverSpec, URI, httpStatus, null, null, null);
+    }
+
+    public ServerContentsFinder(ServerSpec serverSpec, String URI, HttpStatus httpStatus, StaticContentCache contentCacheOrNull) {
+        this(serverSpec, URI, httpStatus, contentCacheOrNull, null);
+    }
+
+    public ServerContentsFinder(ServerSpec serverSpec, String URI, HttpStatus httpStatus,
+                                StaticContentCache contentCacheOrNull, FileMetadataCache metadataCacheOrNull) {
+        this(serverSpec, URI, httpStatus, contentCacheOrNull, metadataCacheOrNull, null);
+    }
+
+    public ServerContentsFinder(ServerSpec serverSpec, String URI, HttpStatus httpStatus, DocumentIndex documentIndex) {
+        this(serverSpec, URI, httpStatus, null, null, documentIndex);
+    }
+
+    private ServerContentsFinder(ServerSpec serverSpec, String URI, HttpStatus httpStatus, StaticContentCache contentCacheOrNull,
+                                 FileMetadataCache metadataCacheOrNull, DocumentIndex documentIndexOrNull) {
         boolean isHttpOK = httpStatus == HttpStatus.CODE_200;
 
-        if (isHttpOK && isServletRequest(URI)) {
-            SimpleServlet servlet = createServlet(URI);
+        SimpleServlet servlet = isHttpOK ? ServletRegistry.getInstance().findServletOrNull(URI) : null;
+        if (servlet != null) {
             serverContents = new ServerContents(HttpStatus.CODE_200, ServerContentsType.SERVLET, servlet);
+            indexedFile = null;
             return;
         }
 
@@ -36,15 +60,24 @@ public class ServerContentsFinder {
             fileURI = "/".concat(serverSpec.getIndexPage());
         }
 
-        String documentPath = serverSpec.getDocumentPath();
+        // 색인을 사용한다면, 색인에 없는 파일은 존재하지 않는 파일 입니다.
+        if (documentIndexOrNull != null) {
+            indexedFile = fileURI == null ? null : documentIndexOrNull.findOrNull(fileURI);
+            serverContents = indexedFile == null
+                    ? new ServerContents(isHttpOK ? HttpStatus.CODE_404 : httpStatus, ServerContentsType.NONE, null)
+                    : new ServerContents(httpStatus, ServerContentsType.FILE, indexedFile.getPath());
+            return;
+        }
+        indexedFile = null;
 
-        if (isFileNotExist(documentPath, fileURI)) {
+        Path filePath = fileURI == null ? null : Paths.get(serverSpec.getDocumentPath(), fileURI);
+
+        if (isFileNotExist(filePath, contentCacheOrNull, metadataCacheOrNull)) {
             HttpStatus properStatus = isHttpOK ? HttpStatus.CODE_404 : httpStatus;
             serverContents = new ServerContents(properStatus, ServerContentsType.NONE, null);
             return;
         }
 
-        Path filePath = Paths.get(documentPath, fileURI);
         serverContents = new ServerContents(httpStatus, ServerContentsType.FILE, filePath);
     }
 
@@ -52,36 +85,23 @@ public class ServerContentsFinder {
         return serverContents;
     }
 
-    private SimpleServlet createServlet(String URI) {
-        String lastResourceName = URI.substring(URI.lastIndexOf("/") + 1);
-        try {
-            return (SimpleServlet) Class.forName(lastResourceName).newInstance();
-        } catch (ClassNotFoundException e) {
-            e.printStackTrace();
-        } catch (InstantiationException e) {
-            e.printStackTrace();
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
-        }
-        return null;
+    /** @return 색인에서 찾은 파일 정보, 색인을 사용하지 않거나 파일 컨텐츠가 아니라면 null */
+    public IndexedFile getIndexedFileOrNull() {
+        return indexedFile;
     }
 
-    private static boolean isFileNotExist(String documentPath, String fileURI) {
-        if (fileURI == null) {
+    private static boolean isFileNotExist(Path filePathOrNull, StaticContentCache contentCacheOrNull, FileMetadataCache metadataCacheOrNull) {
+        if (filePathOrNull == null) {
             return true;
         }
 
-        Path filePath = Paths.get(documentPath, fileURI);
-        return Files.isDirectory(filePath) || Files.notExists(filePath);
-    }
-
-    public static boolean isServletRequest(String URI) {
-        String lastResourceName = URI.substring(URI.lastIndexOf("/") + 1);
-        try {
-            Class.forName(lastResourceName);
-            return true;
-        } catch (ClassNotFoundException e) {
+        if (contentCacheOrNull != null && contentCacheOrNull.contains(filePathOrNull)) {
             return false;
         }
+
+        FileMetadata fileMetadata = metadataCacheOrNull == null
+                ? FileMetadata.read(filePathOrNull)
+                : metadataCacheOrNull.get(filePathOrNull);
+        return !fileMetadata.isFile();
     }
 }
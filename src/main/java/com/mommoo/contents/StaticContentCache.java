@@ -0,0 +1,264 @@
+package com.mommoo.contents;
+
+import com.mommoo.conf.ServerSpec;
+import com.mommoo.http.HttpStatus;
+import com.mommoo.http.response.CompressionPolicy;
+import com.mommoo.http.response.ContentEncoding;
+import com.mommoo.http.response.FileValidator;
+import com.mommoo.http.response.MimeTypeTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link ServerSpec} 하나의 작은 정적 파일 응답을 메모리에 보관하는 캐시 입니다.
+ *
+ * 자주 요청되는 작은 파일은 디스크를 거치지 않고, 미리 인코딩한 헤더와 바디({@link CachedContent})로 바로 응답합니다.
+ * 캐시는 파일의 절대 경로를 키로 사용하며, 보관한 전체 크기가 maxTotalSize 를 넘으면 가장 오래 사용하지 않은 파일부터 제거합니다. (LRU)
+ * maxFileSize 보다 큰 파일은 보관하지 않습니다.
+ *
+ * {@link CompressionPolicy}의 압축 대상 파일은 압축한 응답도 함께 보관합니다. ({@link CachedFile})
+ * gzip 은 원본보다 최신인 .gz 파일이 있다면 압축하지 않고 그 파일을 사용합니다.
+ *
+ * 파일이 변경되면 오래된 내용을 응답하지 않도록, {@link DocumentWatcher}로 documentPath 의 모든 디렉토리를 감시하여 해당 파일을 캐시에서 제거합니다.
+ * 감시를 시작하지 못했다면, 변경을 알 수 없으므로 캐시를 사용하지 않습니다.
+ *
+ * @author mommoo
+ */
+public class StaticContentCache implements DocumentWatcher.Listener {
+    private static final Logger logger = LoggerFactory.getLogger(StaticContentCache.class);
+
+    private final Path documentPath;
+    private final String logPath;
+    private final long maxTotalSize;
+    private final long maxFileSize;
+    private final CompressionPolicy compressionPolicy;
+    private final MimeTypeTable mimeTypeTable;
+
+    /** 접근 순서를 유지하여, 가장 앞의 파일이 가장 오래 사용하지 않은 파일 입니다. */
+    private final LinkedHashMap<Path, CachedFile> contentMap = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalSize;
+    /** 캐시를 비울 때 마다 증가하여, 읽는 도중 변경된 파일이 캐시에 들어가지 않도록 합니다. */
+    private long generation;
+    private boolean enabled;
+    /** 캐시가 직접 시작한 감시자 입니다. 같이 사용하는 감시자는 캐시를 닫아도 멈추지 않습니다. */
+    private DocumentWatcher ownedWatcher;
+
+    public StaticContentCache(ServerSpec serverSpec, long maxTotalSize, long maxFileSize) {
+        this(serverSpec, maxTotalSize, maxFileSize, CompressionPolicy.DISABLED);
+    }
+
+    public StaticContentCache(ServerSpec serverSpec, long maxTotalSize, long maxFileSize, CompressionPolicy compressionPolicy) {
+        this(serverSpec, maxTotalSize, maxFileSize, compressionPolicy, MimeTypeTable.DEFAULT);
+    }
+
+    public StaticContentCache(ServerSpec serverSpec, long maxTotalSize, long maxFileSize,
+                              CompressionPolicy compressionPolicy, MimeTypeTable mimeTypeTable) {
+        this.documentPath = Paths.get(serverSpec.getDocumentPath()).toAbsolutePath().normalize();
+        this.logPath = serverSpec.getLogPath();
+        this.maxTotalSize = maxTotalSize;
+        this.maxFileSize = Math.min(maxFileSize, maxTotalSize);
+        this.compressionPolicy = compressionPolicy;
+        this.mimeTypeTable = mimeTypeTable;
+    }
+
+    /** documentPath 감시를 시작하고, 캐시를 사용합니다. */
+    public void startWatching() {
+        DocumentWatcher documentWatcher = new DocumentWatcher(documentPath, logPath);
+        synchronized (this) {
+            ownedWatcher = documentWatcher;
+        }
+        startWatching(documentWatcher);
+    }
+
+    /** 다른 캐시와 같이 사용하는 감시자로 변경을 알 수 있다면, 캐시를 사용합니다. */
+    public void startWatching(DocumentWatcher documentWatcher) {
+        documentWatcher.addListener(this);
+        if (!documentWatcher.start()) {
+            MDC.put("logPath", logPath);
+            logger.warn("문서 경로의 변경을 알 수 없어, 정적 파일 캐시를 사용하지 않습니다. " + documentPath);
+            close();
+            return;
+        }
+
+        synchronized (this) {
+            enabled = true;
+        }
+    }
+
+    /** 감시를 멈추고, 캐시를 비웁니다. */
+    public void close() {
+        DocumentWatcher documentWatcher;
+        synchronized (this) {
+            enabled = false;
+            clear();
+            documentWatcher = ownedWatcher;
+        }
+
+        if (documentWatcher != null) {
+            documentWatcher.close();
+        }
+    }
+
+    /** 파일이 캐시에 있는지 여부 입니다. 캐시에 있다면 디스크를 확인하지 않아도 파일이 존재합니다. */
+    public synchronized boolean contains(Path filePath) {
+        return contentMap.containsKey(toKey(filePath));
+    }
+
+    public CachedContent getOrLoadOrNull(Path filePath, HttpStatus httpStatus) {
+        return getOrLoadOrNull(filePath, httpStatus, null);
+    }
+
+    /**
+     * 캐시된 응답을 반환합니다. 캐시에 없다면 파일을 읽어 보관합니다.
+     *
+     * @param contentEncodingOrNull 클라이언트가 허용한 압축 방식, 압축한 응답이 없다면 원본 응답을 반환합니다.
+     * @return 응답 데이터, 캐시를 사용하지 않거나 파일이 보관하기에 너무 크다면 null
+     */
+    public CachedContent getOrLoadOrNull(Path filePath, HttpStatus httpStatus, ContentEncoding contentEncodingOrNull) {
+        Path key = toKey(filePath);
+        long loadGeneration;
+
+        synchronized (this) {
+            if (!enabled) {
+                return null;
+            }
+
+            // 같은 파일이라도 상태 코드가 다르다면, 헤더가 다르므로 새로 구성합니다.
+            CachedFile cachedFile = contentMap.get(key);
+            if (cachedFile != null && cachedFile.getHttpStatus() == httpStatus) {
+                return cachedFile.getContent(contentEncodingOrNull);
+            }
+            loadGeneration = generation;
+        }
+
+        // 파일을 읽는 동안 다른 요청이 막히지 않도록, 잠금 밖에서 읽습니다.
+        CachedFile cachedFile;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+            if (attributes.size() > maxFileSize) {
+                return null;
+            }
+
+            byte[] body = Files.readAllBytes(key);
+            if (body.length > maxFileSize) {
+                return null;
+            }
+
+            cachedFile = createCachedFile(key, httpStatus, attributes, body);
+        } catch (IOException e) {
+            return null;
+        }
+
+        synchronized (this) {
+            // 읽는 도중 파일이 변경되었다면, 응답에는 사용하되 보관하지 않습니다.
+            if (enabled && loadGeneration == generation) {
+                put(key, cachedFile);
+            }
+        }
+        return cachedFile.getContent(contentEncodingOrNull);
+    }
+
+    private CachedFile createCachedFile(Path filePath, HttpStatus httpStatus, BasicFileAttributes attributes, byte[] body) throws IOException {
+        CachedContent[] encodedContents = new CachedContent[ContentEncoding.values().length];
+        String contentType = mimeTypeTable.getContentType(filePath);
+
+        // 검증자와 압축은 정상 응답인 파일만 사용하며, 검증자는 이미 읽은 메타 데이터로 구성합니다.
+        if (httpStatus != HttpStatus.CODE_200) {
+            return new CachedFile(new CachedContent(httpStatus, contentType, body, null, null, false), encodedContents);
+        }
+
+        FileValidator fileValidator = FileValidator.of(attributes);
+        boolean vary = compressionPolicy.isCompressibleType(contentType);
+
+        if (compressionPolicy.isCompressible(contentType, body.length)) {
+            for (ContentEncoding contentEncoding : ContentEncoding.values()) {
+                byte[] encodedBody = contentEncoding == ContentEncoding.GZIP ? readSidecarOrNull(filePath) : null;
+                if (encodedBody == null) {
+                    encodedBody = contentEncoding.encode(body);
+                }
+
+                // 압축해도 크기가 줄지 않는다면, 원본 응답을 사용합니다.
+                if (encodedBody.length < body.length) {
+                    encodedContents[contentEncoding.ordinal()] = new CachedContent(
+                            httpStatus, contentType, encodedBody, fileValidator.withEncoding(contentEncoding), contentEncoding, true);
+                }
+            }
+        }
+
+        return new CachedFile(new CachedContent(httpStatus, contentType, body, fileValidator, null, vary), encodedContents);
+    }
+
+    private byte[] readSidecarOrNull(Path filePath) throws IOException {
+        Path sidecarPath = CompressionPolicy.findSidecarOrNull(filePath);
+        if (sidecarPath == null || Files.size(sidecarPath) > maxFileSize) {
+            return null;
+        }
+        return Files.readAllBytes(sidecarPath);
+    }
+
+    /**
+     * 경로와, 경로가 디렉토리라면 그 하위의 모든 파일을 캐시에서 제거합니다.
+     * 압축 파일(.gz)이라면, 압축 파일을 사용하는 원본 파일도 제거합니다.
+     */
+    @Override
+    public synchronized void invalidate(Path path) {
+        Path key = toKey(path);
+        generation++;
+
+        String fileName = key.getFileName() == null ? "" : key.getFileName().toString();
+        Path sourceKey = fileName.endsWith(CompressionPolicy.SIDECAR_EXTENSION)
+                ? key.resolveSibling(fileName.substring(0, fileName.length() - CompressionPolicy.SIDECAR_EXTENSION.length()))
+                : null;
+
+        Iterator<Map.Entry<Path, CachedFile>> iterator = contentMap.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Path, CachedFile> entry = iterator.next();
+            if (entry.getKey().startsWith(key) || entry.getKey().equals(sourceKey)) {
+                totalSize -= entry.getValue().size();
+                iterator.remove();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        generation++;
+        contentMap.clear();
+        totalSize = 0;
+    }
+
+    /** 캐시가 보관중인 전체 크기(byte) 입니다. */
+    synchronized long getTotalSize() {
+        return totalSize;
+    }
+
+    private void put(Path key, CachedFile cachedFile) {
+        CachedFile oldFile = contentMap.put(key, cachedFile);
+        if (oldFile != null) {
+            totalSize -= oldFile.size();
+        }
+        totalSize += cachedFile.size();
+
+        // 최대 크기를 넘었다면, 가장 오래 사용하지 않은 파일부터 제거합니다.
+        Iterator<CachedFile> iterator = contentMap.values().iterator();
+        while (totalSize > maxTotalSize && iterator.hasNext()) {
+            totalSize -= iterator.next().size();
+            iterator.remove();
+        }
+    }
+
+    private static Path toKey(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+}
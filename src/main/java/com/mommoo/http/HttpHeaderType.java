@@ -1,5 +1,8 @@
 package com.mommoo.http;
 
+import com.mommoo.utils.ByteUtils;
+
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 /**
@@ -7,6 +10,8 @@ import java.util.Arrays;
  *
  * 모든 HTTP 헤더 스펙을 구현하진 않았습니다.
  *
+ * 응답 헤더는 선언된 순서대로 출력됩니다.
+ *
  * @author mommoo
  */
 public enum HttpHeaderType {
@@ -16,17 +21,31 @@ public enum HttpHeaderType {
     ACCEPT_ENCODING("Accept-Encoding"),
     IF_MODIFIED_SINCE("If-Modified-Since"),
     IF_NONE_MATCH("If-None-Match"),
+    RANGE("Range"),
+    IF_RANGE("If-Range"),
     USER_AGENT("User-Agent"),
+    SERVER("Server"),
+    DATE("Date"),
+    LAST_MODIFIED("Last-Modified"),
+    ETAG("ETag"),
+    ACCEPT_RANGES("Accept-Ranges"),
+    VARY("Vary"),
     CONNECTION("Connection"),
-    CONTENT_TYPE("Content-Type"),
+    RETRY_AFTER("Retry-After"),
+    TRANSFER_ENCODING("Transfer-Encoding"),
+    CONTENT_ENCODING("Content-Encoding"),
+    CONTENT_RANGE("Content-Range"),
     CONTENT_LENGTH("Content-Length"),
-    SERVER("Server"),
-    DATE("Date");
+    CONTENT_TYPE("Content-Type");
+
+    private static final HttpHeaderType[] VALUES = values();
 
     private final String text;
+    private final byte[] lowerCaseBytes;
 
     private HttpHeaderType(String text) {
         this.text = text;
+        this.lowerCaseBytes = text.toLowerCase().getBytes(StandardCharsets.US_ASCII);
     }
 
     private boolean isLowerCaseMatched(String lowercaseString) {
@@ -44,4 +63,14 @@ public enum HttpHeaderType {
                 .findFirst()
                 .orElse(null);
     }
+
+    /** 헤더 이름을 문자열로 만들지 않고, 바이트 배열의 구간으로 찾습니다. */
+    public static HttpHeaderType of(byte[] bytes, int offset, int length) {
+        for (HttpHeaderType headerType : VALUES) {
+            if (ByteUtils.equalsIgnoreCase(headerType.lowerCaseBytes, bytes, offset, length)) {
+                return headerType;
+            }
+        }
+        return null;
+    }
 }
@@ -1,5 +1,8 @@
 package com.mommoo.http;
 
+import com.mommoo.utils.ByteUtils;
+
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 /**
@@ -13,10 +16,14 @@ import java.util.Arrays;
 public enum HttpMethod {
     GET("Get"), POST("Post");
 
+    private static final HttpMethod[] VALUES = values();
+
     private final String TEXT;
+    private final byte[] LOWER_CASE_BYTES;
 
     private HttpMethod(String TEXT) {
         this.TEXT = TEXT;
+        this.LOWER_CASE_BYTES = TEXT.toLowerCase().getBytes(StandardCharsets.US_ASCII);
     }
 
     private boolean isLowerCaseMatched(String lowercaseString) {
@@ -32,4 +39,14 @@ public enum HttpMethod {
                 .findFirst()
                 .orElse(null);
     }
+
+    /** 메서드를 문자열로 만들지 않고, 바이트 배열의 구간으로 찾습니다. */
+    public static HttpMethod of(byte[] bytes, int offset, int length) {
+        for (HttpMethod httpMethod : VALUES) {
+            if (ByteUtils.equalsIgnoreCase(httpMethod.LOWER_CASE_BYTES, bytes, offset, length)) {
+                return httpMethod;
+            }
+        }
+        return null;
+    }
 }
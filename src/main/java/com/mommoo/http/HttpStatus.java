@@ -7,10 +7,16 @@ package com.mommoo.http;
  */
 public enum HttpStatus {
     CODE_200(200, "OK"),
+    CODE_206(206, "Partial Content"),
+    CODE_304(304, "Not Modified"),
     CODE_403(403, "Forbidden"),
     CODE_404(404, "Not Found"),
     CODE_412(412, "Precondition Failed"),
-    CODE_500(500, "Internal Server Error");
+    CODE_416(416, "Range Not Satisfiable"),
+    CODE_500(500, "Internal Server Error"),
+    CODE_503(503, "Service Unavailable");
+
+    private static final HttpStatus[] VALUES = values();
 
     private final int codeNum;
     private final String message;
@@ -24,6 +30,16 @@ public enum HttpStatus {
         return codeNum;
     }
 
+    /** @return 상태 코드에 맞는 HttpStatus, 정의되지 않은 상태 코드라면 null */
+    public static HttpStatus of(int codeNum) {
+        for (HttpStatus httpStatus : VALUES) {
+            if (httpStatus.codeNum == codeNum) {
+                return httpStatus;
+            }
+        }
+        return null;
+    }
+
     @Override
     public String toString() {
         return codeNum + " " + message;
@@ -0,0 +1,154 @@
+package com.mommoo.http.request;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 요청 바디를 전송 방식에 맞게 디코딩하는 클래스 입니다.
+ *
+ *  1. Content-Length : 명시된 크기 만큼의 데이터를 바디로 사용합니다.
+ *  2. Transfer-Encoding: chunked : 'chunk 크기(16진수) CRLF 데이터 CRLF' 의 반복을 데이터만 꺼내며,
+ *                                  크기가 0인 chunk 와 trailer 헤더를 읽으면 끝납니다. trailer 헤더는 사용하지 않고 버립니다.
+ *
+ * {@link HttpRequestParser}와 마찬가지로 데이터가 나누어 도착해도 이어서 디코딩할 수 있는 상태 머신 입니다.
+ * 바디 이후의 데이터(다음 요청)는 읽지 않고 버퍼에 남겨둡니다.
+ *
+ * @author mommoo
+ */
+public class HttpBodyDecoder {
+    /** chunk 크기 라인과 trailer 헤더의 최대 크기 입니다. */
+    private static final int MAX_CONTROL_SIZE = 8 * 1024;
+    private static final long MAX_CHUNK_SIZE = Long.MAX_VALUE >> 4;
+
+    private enum State {
+        DATA, CHUNK_SIZE, CHUNK_EXTENSION, CHUNK_DATA_END, TRAILER, COMPLETED
+    }
+
+    private final boolean chunked;
+
+    private State state;
+    private long remaining;
+    private boolean hasChunkSizeDigit;
+    private int controlLength;
+
+    private HttpBodyDecoder(boolean chunked, long contentLength) {
+        this.chunked = chunked;
+
+        if (chunked) {
+            state = State.CHUNK_SIZE;
+        } else {
+            remaining = contentLength;
+            state = contentLength == 0 ? State.COMPLETED : State.DATA;
+        }
+    }
+
+    static HttpBodyDecoder ofContentLength(long contentLength) {
+        return new HttpBodyDecoder(false, contentLength);
+    }
+
+    static HttpBodyDecoder ofChunked() {
+        return new HttpBodyDecoder(true, 0);
+    }
+
+    /** 바디를 끝까지 디코딩했는지 여부 입니다. */
+    public boolean isCompleted() {
+        return state == State.COMPLETED;
+    }
+
+    /**
+     * src 의 데이터를 디코딩하여, 바디 데이터만 dst 에 담습니다.
+     *
+     * @return dst 에 담은 바이트 수, src 에 chunk 구분 데이터만 있었다면 0일 수 있습니다.
+     */
+    public int decode(ByteBuffer src, byte[] dst, int offset, int length) throws HttpRequestParseException {
+        int decodedLength = 0;
+
+        while (state != State.COMPLETED && src.hasRemaining()) {
+            if (state != State.DATA) {
+                decodeControl(src.get());
+                continue;
+            }
+
+            if (decodedLength == length) {
+                break;
+            }
+
+            int dataLength = (int) Math.min(remaining, Math.min(src.remaining(), length - decodedLength));
+            src.get(dst, offset + decodedLength, dataLength);
+            decodedLength += dataLength;
+            remaining -= dataLength;
+
+            if (remaining == 0) {
+                state = chunked ? State.CHUNK_DATA_END : State.COMPLETED;
+            }
+        }
+
+        return decodedLength;
+    }
+
+    /** chunk 크기 라인, chunk 데이터 뒤의 CRLF, trailer 헤더를 한 바이트씩 처리합니다. */
+    private void decodeControl(byte b) throws HttpRequestParseException {
+        if (++controlLength > MAX_CONTROL_SIZE) {
+            throw new HttpRequestParseException("chunk 구분 데이터의 크기가 제한을 넘었습니다.");
+        }
+
+        switch (state) {
+            case CHUNK_SIZE:
+                int digit = Character.digit(b, 16);
+                if (digit != -1) {
+                    if (remaining > MAX_CHUNK_SIZE) {
+                        throw new HttpRequestParseException("chunk 크기가 올바르지 않습니다.");
+                    }
+                    remaining = remaining * 16 + digit;
+                    hasChunkSizeDigit = true;
+                } else if (b == ';') {
+                    state = State.CHUNK_EXTENSION;
+                } else if (b == '\n') {
+                    finishChunkSizeLine();
+                } else if (b != '\r' && b != ' ' && b != '\t') {
+                    throw new HttpRequestParseException("chunk 크기가 올바르지 않습니다.");
+                }
+                break;
+
+            case CHUNK_EXTENSION:
+                // chunk 확장은 사용하지 않으므로, 라인의 끝까지 버립니다.
+                if (b == '\n') {
+                    finishChunkSizeLine();
+                }
+                break;
+
+            case CHUNK_DATA_END:
+                if (b == '\n') {
+                    state = State.CHUNK_SIZE;
+                    controlLength = 0;
+                } else if (b != '\r') {
+                    throw new HttpRequestParseException("chunk 데이터가 크기와 맞지 않습니다.");
+                }
+                break;
+
+            case TRAILER:
+                // 빈 라인을 만나면 바디가 끝납니다.
+                if (b == '\n') {
+                    if (remaining == 0) {
+                        state = State.COMPLETED;
+                    }
+                    remaining = 0;
+                } else if (b != '\r') {
+                    remaining++;
+                }
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    private void finishChunkSizeLine() throws HttpRequestParseException {
+        if (!hasChunkSizeDigit) {
+            throw new HttpRequestParseException("chunk 크기가 올바르지 않습니다.");
+        }
+        hasChunkSizeDigit = false;
+
+        // 크기가 0인 마지막 chunk 이후에는 trailer 헤더가 옵니다. trailer 에서 remaining 은 현재 라인의 길이 입니다.
+        state = remaining == 0 ? State.TRAILER : State.DATA;
+    }
+}
@@ -3,6 +3,7 @@ package com.mommoo.http.request;
 import com.mommoo.http.HttpHeaderType;
 import com.mommoo.http.HttpMethod;
 
+import java.io.InputStream;
 import java.util.Map;
 
 public interface HttpRequest {
@@ -15,4 +16,10 @@ public interface HttpRequest {
     public String getHeader(HttpHeaderType httpHeaderType);
     public Map<String, String> getParameters();
     public String getParameter(String parameterName);
+
+    /**
+     * 요청 바디를 읽을 수 있는 스트림 입니다. 바디가 없다면 빈 스트림 입니다.
+     * 스트림은 한번만 읽을 수 있으며, 읽은 만큼 소켓(또는 보관된 바디)에서 데이터를 가져옵니다.
+     */
+    public InputStream getBody();
 }
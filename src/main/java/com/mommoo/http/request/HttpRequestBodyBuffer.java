@@ -0,0 +1,98 @@
+package com.mommoo.http.request;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * 요청 바디를 모두 받을 때 까지 보관하는 버퍼 입니다.
+ *
+ * 논블로킹 방식은 워커 스레드가 소켓을 기다릴 수 없으므로, 요청을 넘기기 전에 바디를 모두 받아야 합니다.
+ * 바디가 memoryThreshold 보다 작다면 메모리에 보관하고, 이를 넘으면 임시 파일로 옮겨 힙 메모리를 사용하지 않습니다.
+ *
+ * 요청 처리가 끝나면 {@link #discard()}로 임시 파일을 지워야 합니다.
+ *
+ * @author mommoo
+ */
+public class HttpRequestBodyBuffer {
+    private static final int INITIAL_MEMORY_SIZE = 1024;
+    private static final int TRANSFER_BUFFER_SIZE = 8 * 1024;
+    private static final String TEMP_FILE_PREFIX = "simple-was-body-";
+
+    private final int memoryThreshold;
+
+    private byte[] memory;
+    private int size;
+    private Path tempFile;
+    private OutputStream tempFileOutputStream;
+    private InputStream tempFileInputStream;
+
+    public HttpRequestBodyBuffer(int memoryThreshold) {
+        this.memoryThreshold = memoryThreshold;
+        this.memory = new byte[Math.min(INITIAL_MEMORY_SIZE, memoryThreshold)];
+    }
+
+    /** 디코더로 src 의 바디 데이터를 꺼내 보관합니다. 바디 이후의 데이터는 src 에 남겨둡니다. */
+    public void append(ByteBuffer src, HttpBodyDecoder bodyDecoder) throws IOException {
+        while (!bodyDecoder.isCompleted() && src.hasRemaining()) {
+            if (tempFile == null && size == memory.length) {
+                if (size < memoryThreshold) {
+                    memory = Arrays.copyOf(memory, (int) Math.min(size * 2L, memoryThreshold));
+                } else {
+                    spillToTempFile();
+                }
+            }
+
+            if (tempFile == null) {
+                size += bodyDecoder.decode(src, memory, size, memory.length - size);
+            } else {
+                int decodedLength = bodyDecoder.decode(src, memory, 0, memory.length);
+                tempFileOutputStream.write(memory, 0, decodedLength);
+            }
+        }
+    }
+
+    /** 보관한 바디를 읽을 수 있는 스트림을 반환합니다. 바디를 모두 받은 뒤에 호출해야 합니다. */
+    public InputStream toInputStream() throws IOException {
+        if (tempFile == null) {
+            return new ByteArrayInputStream(memory, 0, size);
+        }
+
+        tempFileOutputStream.close();
+        tempFileInputStream = Files.newInputStream(tempFile);
+        return tempFileInputStream;
+    }
+
+    /** 임시 파일을 사용했다면 지웁니다. */
+    public void discard() {
+        if (tempFile == null) {
+            return;
+        }
+
+        try {
+            tempFileOutputStream.close();
+            if (tempFileInputStream != null) {
+                tempFileInputStream.close();
+            }
+            Files.deleteIfExists(tempFile);
+        } catch (IOException ignore) {
+            // 임시 디렉토리의 파일이므로, 지우지 못해도 요청 처리에는 영향이 없습니다.
+        }
+    }
+
+    private void spillToTempFile() throws IOException {
+        tempFile = Files.createTempFile(TEMP_FILE_PREFIX, ".tmp");
+        tempFileOutputStream = Files.newOutputStream(tempFile);
+        tempFileOutputStream.write(memory, 0, size);
+
+        // 메모리 버퍼는 이제 임시 파일로 옮기기 위한 용도로만 사용합니다.
+        if (memory.length < TRANSFER_BUFFER_SIZE) {
+            memory = new byte[TRANSFER_BUFFER_SIZE];
+        }
+    }
+}
@@ -1,41 +1,156 @@
 package com.mommoo.http.request;
 
-import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.net.Socket;
+import java.nio.ByteBuffer;
 
 /**
- * 소켓의 입력 데이터를 , {@link HttpRequestParser} 가 필요한 데이터로 가공하는 역할을 합니다.
- * {@link HttpRequestParser}를 통해 {@link HttpRequest}를 제공합니다.
+ * 소켓의 입력 데이터를 {@link HttpRequestParser}에 전달하여, {@link HttpRequest}를 차례대로 만드는 역할을 합니다.
+ *
+ * 연결(keep-alive) 하나로 여러 요청이 들어오므로, 인스턴스는 연결 마다 하나를 둡니다.
+ * 소켓에서 한번에 읽은 데이터에 다음 요청이 포함될 수 있으므로, 남은 데이터는 버퍼에 보관했다가 다음 요청에 사용합니다.
+ *
+ * 바디는 미리 읽지 않고, {@link HttpRequest#getBody()} 스트림을 읽을 때 {@link HttpBodyDecoder}로 소켓에서 가져옵니다.
+ * 워커 스레드가 연결을 점유하는 블로킹 방식이므로, 큰 바디도 메모리에 보관하지 않고 처리할 수 있습니다.
+ * 다음 요청을 읽기 전에, 이전 요청에서 읽지 않고 남은 바디는 버립니다.
  *
  * @author mommoo
  */
 public class HttpRequestBuilder {
-    private final HttpRequestParser headerParser;
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+
+    private final HttpRequestParser requestParser;
+    private final InputStream inputStream;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+    private BodyInputStream lastBody;
+    private long parseNanos;
 
     public HttpRequestBuilder(String mainLogPath, Socket socket) throws IOException {
-        headerParser = new HttpRequestParser(mainLogPath);
+        this(mainLogPath, socket.getInputStream());
+    }
+
+    public HttpRequestBuilder(String mainLogPath, InputStream inputStream) {
+        this.requestParser = new HttpRequestParser(mainLogPath);
+        this.inputStream = inputStream;
 
-        BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-        String requestLine = bufferedReader.readLine();
+        // 읽기 상태의 빈 버퍼로 시작합니다.
+        this.readBuffer.flip();
+    }
 
-        this.headerParser.setRequestLine(requestLine);
+    /**
+     * 다음 요청 하나를 읽어 {@link HttpRequest}를 만듭니다.
+     *
+     * @return 요청, 다음 요청을 받기 전에 클라이언트가 연결을 끊었다면 null
+     * @throws HttpRequestParseException 요청 메시지가 Http 프로토콜 스펙에 맞지 않는 경우
+     */
+    public HttpRequest build() throws IOException {
+        if (lastBody != null) {
+            // 이미 응답을 보낸 요청이므로, 바디가 올바르지 않다면 오류 응답 없이 연결을 닫도록 합니다.
+            try {
+                lastBody.discard();
+            } catch (HttpRequestParseException e) {
+                throw new IOException("이전 요청의 바디를 분석하지 못했습니다.", e);
+            }
+            lastBody = null;
+        }
+
+        requestParser.reset();
+        parseNanos = 0;
+
+        while (!parse()) {
+            if (!fillReadBuffer()) {
+                if (requestParser.isEmpty()) {
+                    return null;
+                }
+                throw new EOFException("요청 메시지를 모두 받기 전에 연결이 끊겼습니다.");
+            }
+        }
+
+        HttpBodyDecoder bodyDecoder = requestParser.createBodyDecoder();
+        if (!bodyDecoder.isCompleted()) {
+            lastBody = new BodyInputStream(bodyDecoder);
+            requestParser.setBody(lastBody);
+        }
+
+        return requestParser.toHttpRequest();
+    }
 
-        String headerLine;
+    /**
+     * 마지막으로 만든 요청의 헤더를 분석하는 데 걸린 시간(ns) 입니다.
+     * 소켓에서 데이터를 기다린 시간은 포함하지 않습니다.
+     */
+    public long getParseNanos() {
+        return parseNanos;
+    }
 
-        while (!(headerLine = bufferedReader.readLine()).equals("")) {
-            this.headerParser.setHeaderLine(headerLine);
+    private boolean parse() throws HttpRequestParseException {
+        long startTime = System.nanoTime();
+        try {
+            return requestParser.parse(readBuffer);
+        } finally {
+            parseNanos += System.nanoTime() - startTime;
         }
+    }
 
-        char[] buffer = new char[2014];
-        while (bufferedReader.ready()) {
-            int len = bufferedReader.read(buffer);
-            this.headerParser.appendBody(new String(buffer, 0, len));
+    /** @return 데이터를 읽었는지 여부, 연결이 끊겼다면 false */
+    private boolean fillReadBuffer() throws IOException {
+        int readCount = inputStream.read(readBuffer.array(), 0, readBuffer.capacity());
+        if (readCount == -1) {
+            return false;
         }
+
+        readBuffer.position(0);
+        readBuffer.limit(readCount);
+        return true;
     }
 
-    public HttpRequest build() {
-        return this.headerParser.toHttpRequest();
+    /** 요청 바디를 소켓에서 필요한 만큼만 읽는 스트림 입니다. */
+    private class BodyInputStream extends InputStream {
+        private final HttpBodyDecoder bodyDecoder;
+
+        private BodyInputStream(HttpBodyDecoder bodyDecoder) {
+            this.bodyDecoder = bodyDecoder;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] singleByte = new byte[1];
+            return read(singleByte, 0, 1) == -1 ? -1 : singleByte[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+
+            while (!bodyDecoder.isCompleted()) {
+                int decodedLength = bodyDecoder.decode(readBuffer, bytes, offset, length);
+                if (decodedLength > 0) {
+                    return decodedLength;
+                }
+
+                if (!readBuffer.hasRemaining() && !fillReadBuffer()) {
+                    throw new EOFException("요청 바디를 모두 받기 전에 연결이 끊겼습니다.");
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int available() {
+            return bodyDecoder.isCompleted() ? 0 : readBuffer.remaining();
+        }
+
+        /** 다음 요청을 읽을 수 있도록, 남은 바디를 읽어서 버립니다. */
+        private void discard() throws IOException {
+            byte[] discardBuffer = new byte[READ_BUFFER_SIZE];
+            while (read(discardBuffer, 0, discardBuffer.length) != -1) {
+                // 남은 바디를 버립니다.
+            }
+        }
     }
 }
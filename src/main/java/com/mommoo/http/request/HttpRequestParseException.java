@@ -0,0 +1,15 @@
+package com.mommoo.http.request;
+
+import java.io.IOException;
+
+/**
+ * 요청 메시지가 Http 프로토콜 스펙에 맞지 않을 때 발생하는 예외 입니다.
+ * 소켓 I/O 예외와 구분하여, 클라이언트에게 오류 응답을 보내기 위해 사용합니다.
+ *
+ * @author mommoo
+ */
+public class HttpRequestParseException extends IOException {
+    public HttpRequestParseException(String message) {
+        super(message);
+    }
+}
@@ -2,195 +2,322 @@ package com.mommoo.http.request;
 
 import com.mommoo.http.HttpHeaderType;
 import com.mommoo.http.HttpMethod;
+import com.mommoo.utils.ByteUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
-import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
- * Http 요청 메시지를 분석하고, 정보를 가공하는 클래스입니다.
- * 가공한 데아터를 {@link HttpRequest}로 만들어 줍니다.
+ * Http 요청 메시지를 바이트 단위로 분석하는 클래스입니다.
+ * 분석한 데이터를 {@link HttpRequest}로 만들어 줍니다.
+ *
+ * 요청 메시지를 문자열로 바꾸지 않고, {@link ByteBuffer}의 바이트를 하나씩 읽으며 다음의 상태를 전이합니다.
+ * 데이터가 여러번에 나누어 도착해도 이어서 분석할 수 있으므로, 블로킹/논블로킹 연결 모두 같은 파서를 사용합니다.
+ *
+ *  1. {@link State#REQUEST_LINE} : 요청 라인(메서드, URI, 스키마)을 읽는 중
+ *  2. {@link State#HEADER_LINE}  : 헤더 라인을 읽는 중
+ *  3. {@link State#COMPLETED}    : 헤더의 끝(빈 라인)을 읽음, 바디는 읽지 않고 버퍼에 남겨둡니다.
+ *
+ * 분석 결과는 원본 바이트 배열의 위치(offset)로만 기록하며, 문자열은 {@link HttpRequest}의 getter 가 호출될 때 만들어 집니다.
+ * 헤더 이름은 바이트 비교로 {@link HttpHeaderType}을 찾으므로, 등록되지 않은 헤더는 문자열을 만들지 않고 버립니다.
+ *
+ * 파서는 연결 마다 하나를 두고, {@link #reset()}으로 다음 요청에 재사용합니다.
  *
  * @author mommoo
  */
-class HttpRequestParser {
+public class HttpRequestParser {
     private static final Logger logger = LoggerFactory.getLogger(HttpRequestParser.class);
 
-    private String mainLogPath;
+    /** 요청 라인과 헤더를 합친 최대 크기 입니다. 이를 넘는 요청은 거절합니다. */
+    public static final int MAX_HEAD_SIZE = 64 * 1024;
+    private static final int INITIAL_HEAD_SIZE = 1024;
+    private static final int INITIAL_HEADER_COUNT = 16;
+
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final byte SP = ' ';
+    private static final byte COLON = ':';
+    private static final byte SLASH = '/';
+    private static final byte[] HTTP_PROTOCOL = "http".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CHUNKED = "chunked".getBytes(StandardCharsets.US_ASCII);
+    private static final InputStream EMPTY_BODY = new ByteArrayInputStream(new byte[0]);
+
+    private enum State {
+        REQUEST_LINE, HEADER_LINE, COMPLETED
+    }
+
+    private final String mainLogPath;
+
+    private State state;
+    private byte[] head;
+    private int headLength;
+    private int lineStart;
 
     private HttpMethod httpMethod;
-    private String URI;
-    private String schema;
-    private String protocol;
-    private String version;
+    private int uriStart;
+    private int uriEnd;
+    private int schemaStart;
+    private int schemaEnd;
 
-    private Map<HttpHeaderType, String> headerMap = new HashMap<>();
-    private Map<String, String> queryMap = new HashMap<>();
+    private HttpHeaderType[] headerTypes;
+    private int[] headerValueOffsets;
+    private int headerCount;
 
-    private StringBuilder body = new StringBuilder();
+    private InputStream body;
 
-    HttpRequestParser(String mainLogPath) {
+    public HttpRequestParser(String mainLogPath) {
         this.mainLogPath = mainLogPath;
+        reset();
     }
 
-    void setRequestLine(String requestLine) throws IOException {
-        String[] requestLineElement = requestLine.split(" ");
-
-        if (requestLineElement.length != 3) {
-            throw new IOException("Http 프로토콜 스펙에 맞지 않는 헤더 라인 입니다.");
+    /** 다음 요청을 분석할 수 있도록 상태를 초기화 합니다. */
+    public void reset() {
+        state = State.REQUEST_LINE;
+        headLength = 0;
+        lineStart = 0;
+        httpMethod = null;
+        headerCount = 0;
+        body = EMPTY_BODY;
+
+        // 이전 요청에 넘겨준 배열은 요청이 계속 참조하므로, 이 때만 새로 할당합니다.
+        if (head == null) {
+            head = new byte[INITIAL_HEAD_SIZE];
+            headerTypes = new HttpHeaderType[INITIAL_HEADER_COUNT];
+            headerValueOffsets = new int[INITIAL_HEADER_COUNT * 2];
         }
+    }
 
-        this.httpMethod = HttpMethod.of(requestLineElement[0]);
+    /**
+     * 버퍼의 데이터를 헤더의 끝까지 분석합니다.
+     * 헤더 이후의 데이터(바디, 다음 요청)는 읽지 않고 버퍼에 남겨둡니다.
+     *
+     * @return 헤더의 끝까지 분석했는지 여부, false 라면 데이터를 더 받아서 다시 호출해야 합니다.
+     */
+    public boolean parse(ByteBuffer src) throws HttpRequestParseException {
+        while (state != State.COMPLETED && src.hasRemaining()) {
+            if (headLength == head.length) {
+                growHead();
+            }
 
-        if ( this.httpMethod == null ) {
-            throw new IOException("Http 프로토콜에 알맞지 않은 메서드 요청을 시도 했습니다.");
-        } else if( !requestLineElement[2].toLowerCase().contains("http")) {
-            throw new IOException("Http 프로토콜이 아닙니다.");
+            byte b = src.get();
+            head[headLength++] = b;
+
+            if (b == LF) {
+                parseLine(lineStart, headLength - 1);
+                lineStart = headLength;
+            }
         }
 
-        parseURIAndQueryString(requestLineElement[1]);
+        return state == State.COMPLETED;
+    }
 
-        this.schema = requestLineElement[2];
-        String[] schemaElement = this.schema.split("/");
+    /** 요청 데이터를 하나도 받지 않은 상태인지 여부 입니다. */
+    public boolean isEmpty() {
+        return headLength == 0;
+    }
 
-        if (schemaElement.length != 2) {
-            throw new IOException("Http 스키마 형식이 아닙니다.");
+    /** 헤더에 명시된 바디의 크기를 반환합니다. 헤더가 없다면 0 입니다. */
+    public long getContentLength() throws HttpRequestParseException {
+        int index = findHeaderIndex(HttpHeaderType.CONTENT_LENGTH);
+        if (index == -1) {
+            return 0;
         }
 
-        this.protocol = schemaElement[0];
-        this.version = schemaElement[1];
-    }
-
-    void setHeaderLine(String headerLine) {
-        int typeEndIndex = headerLine.indexOf(":");
+        int valueStart = headerValueOffsets[index * 2];
+        int valueEnd = headerValueOffsets[index * 2 + 1];
+        if (valueStart == valueEnd || valueEnd - valueStart > 18) {
+            throw new HttpRequestParseException("Content-Length 값이 올바르지 않습니다.");
+        }
 
-        if (typeEndIndex == -1) {
-            changeLogPathToMain();
-            logger.info("Http 프로토콜 스펙에 맞지 않는 데이터 구성 입니다. ( ".concat(headerLine).concat(" )"));
-            return;
+        long contentLength = 0;
+        for (int i = valueStart; i < valueEnd; i++) {
+            if (head[i] < '0' || head[i] > '9') {
+                throw new HttpRequestParseException("Content-Length 값이 올바르지 않습니다.");
+            }
+            contentLength = contentLength * 10 + (head[i] - '0');
         }
+        return contentLength;
+    }
 
-        String headerTypeData = headerLine.substring(0, typeEndIndex).trim();
-        HttpHeaderType httpHeaderType = HttpHeaderType.of(headerTypeData);
-        if (httpHeaderType == null) {
-            changeLogPathToMain();
-            logger.info("WAS에 등록되지 않은 헤더 타입입니다.(" + headerTypeData +")");
-            return;
+    /**
+     * 헤더에 명시된 전송 방식에 맞는 바디 디코더를 만듭니다.
+     * Transfer-Encoding 이 chunked 라면 Content-Length 는 무시합니다.
+     */
+    public HttpBodyDecoder createBodyDecoder() throws HttpRequestParseException {
+        int index = findHeaderIndex(HttpHeaderType.TRANSFER_ENCODING);
+        if (index == -1) {
+            return HttpBodyDecoder.ofContentLength(getContentLength());
         }
 
-        headerMap.put(httpHeaderType, headerLine.substring(typeEndIndex+1).trim());
+        // chunked 는 항상 마지막에 적용된 전송 방식이어야 하며, 그 외의 전송 방식은 지원하지 않습니다.
+        int valueStart = headerValueOffsets[index * 2];
+        int valueEnd = headerValueOffsets[index * 2 + 1];
+        if (!ByteUtils.equalsIgnoreCase(CHUNKED, head, valueStart, valueEnd - valueStart)) {
+            throw new HttpRequestParseException("지원하지 않는 Transfer-Encoding 입니다.");
+        }
+        return HttpBodyDecoder.ofChunked();
     }
 
-    void appendBody(String body) {
-        this.body.append(body);
+    /** 바디를 읽을 수 있는 스트림을 설정합니다. 스트림은 {@link HttpRequest#getBody()}로 제공됩니다. */
+    public void setBody(InputStream body) {
+        this.body = body;
     }
 
-    private void changeLogPathToMain() {
-        MDC.put("logPath", mainLogPath);
+    /**
+     * 분석한 데이터로 {@link HttpRequest}를 만듭니다.
+     * 헤더의 끝(빈 라인)을 받지 못했다면, 지금까지 받은 헤더로 요청을 만듭니다.
+     *
+     * 분석에 사용한 배열은 요청에 넘겨주므로, 파서를 다시 사용하려면 {@link #reset()}을 호출해야 합니다.
+     */
+    public HttpRequest toHttpRequest() {
+        if (httpMethod == null) {
+            throw new IllegalStateException("요청 라인을 분석하지 않았습니다.");
+        }
+
+        HttpRequest httpRequest = new ParsedHttpRequest(head, httpMethod, uriStart, uriEnd, schemaStart, schemaEnd,
+                headerTypes, headerValueOffsets, headerCount, body);
+
+        head = null;
+        headerTypes = null;
+        headerValueOffsets = null;
+
+        return httpRequest;
     }
 
-    private void parseURIAndQueryString(String fullURI) {
-        int queryStringIndexOf = fullURI.lastIndexOf("?");
+    /** 요청 라인 한 줄을 분석합니다. 줄 단위로 데이터를 전달할 때 사용합니다. */
+    void setRequestLine(String requestLine) throws HttpRequestParseException {
+        parse(ByteBuffer.wrap(requestLine.concat("\n").getBytes(StandardCharsets.UTF_8)));
+    }
 
-        if (queryStringIndexOf != -1) {
-            URI = fullURI.substring(0, queryStringIndexOf);
-            String queryString = fullURI.substring(queryStringIndexOf + 1);
-            parseQueryString(queryString);
-            return;
+    /** 헤더 라인 한 줄을 분석합니다. 줄 단위로 데이터를 전달할 때 사용합니다. */
+    void setHeaderLine(String headerLine) {
+        try {
+            parse(ByteBuffer.wrap(headerLine.concat("\n").getBytes(StandardCharsets.UTF_8)));
+        } catch (HttpRequestParseException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
         }
-
-        URI = fullURI;
     }
 
-    private void parseQueryString(String queryString) {
-        String[] queries = queryString.split("&");
-        for (String query : queries) {
-            int keyIndex = query.indexOf("=");
-            if (keyIndex == -1) {
-                continue;
-            }
+    void appendBody(String body) {
+        this.body = new SequenceInputStream(this.body, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
 
-            String key = query.substring(0, keyIndex);
-            String value = query.substring(keyIndex+1);
-            changeLogPathToMain();
-            logger.info("쿼리 스트링 파싱 [ key : ".concat(key).concat(" , value : ").concat(value).concat(" ]"));
-            queryMap.put(key, value);
+    private void growHead() throws HttpRequestParseException {
+        if (head.length >= MAX_HEAD_SIZE) {
+            throw new HttpRequestParseException("요청 헤더의 크기가 제한을 넘었습니다.");
         }
+        head = Arrays.copyOf(head, Math.min(head.length * 2, MAX_HEAD_SIZE));
     }
 
-    private void parseQueryStringAtBody() {
-        String contentType = headerMap.get(HttpHeaderType.CONTENT_TYPE);
-        if (contentType == null) {
-            parseQueryString(body.toString());
-        } else if(contentType.contains("/")) {
-            String contentDataType = contentType.substring(0, contentType.indexOf("/"));
-            if (contentDataType.equals("*") || contentDataType.equals("text")) {
-                parseQueryString(body.toString());
+    /** LF 까지 읽은 한 줄을 분석합니다. CRLF, LF 줄바꿈 모두 허용합니다. */
+    private void parseLine(int start, int lineFeedIndex) throws HttpRequestParseException {
+        int end = lineFeedIndex;
+        if (end > start && head[end - 1] == CR) {
+            end--;
+        }
+
+        if (state == State.REQUEST_LINE) {
+            // 이전 요청의 바디 뒤에 붙은 빈 라인은 무시합니다.
+            if (end == start) {
+                return;
             }
+            parseRequestLine(start, end);
+            state = State.HEADER_LINE;
+        } else if (end == start) {
+            state = State.COMPLETED;
+        } else {
+            parseHeaderLine(start, end);
         }
     }
 
-    HttpRequest toHttpRequest() {
-        parseQueryStringAtBody();
+    private void parseRequestLine(int start, int end) throws HttpRequestParseException {
+        int methodEnd = ByteUtils.indexOf(head, SP, start, end);
+        int pathEnd = methodEnd == -1 ? -1 : ByteUtils.indexOf(head, SP, methodEnd + 1, end);
 
-        return new HttpRequest() {
-            @Override
-            public HttpMethod getMethod() {
-                return HttpRequestParser.this.httpMethod;
-            }
+        if (pathEnd == -1 || pathEnd == methodEnd + 1 || ByteUtils.indexOf(head, SP, pathEnd + 1, end) != -1) {
+            throw new HttpRequestParseException("Http 프로토콜 스펙에 맞지 않는 헤더 라인 입니다.");
+        }
 
-            @Override
-            public String getURI() {
-                return HttpRequestParser.this.URI;
-            }
+        this.httpMethod = HttpMethod.of(head, start, methodEnd - start);
 
-            @Override
-            public Map<HttpHeaderType, String> getHeaders() {
-                return new HashMap<>(headerMap);
-            }
+        int slashIndex = ByteUtils.indexOf(head, SLASH, pathEnd + 1, end);
 
-            @Override
-            public String getHeader(HttpHeaderType httpHeaderType) {
-                return headerMap.get(httpHeaderType);
-            }
+        if (this.httpMethod == null) {
+            throw new HttpRequestParseException("Http 프로토콜에 알맞지 않은 메서드 요청을 시도 했습니다.");
+        } else if (slashIndex == -1 || !ByteUtils.equalsIgnoreCase(HTTP_PROTOCOL, head, pathEnd + 1, slashIndex - pathEnd - 1)) {
+            throw new HttpRequestParseException("Http 프로토콜이 아닙니다.");
+        } else if (slashIndex == end - 1 || ByteUtils.indexOf(head, SLASH, slashIndex + 1, end) != -1) {
+            throw new HttpRequestParseException("Http 스키마 형식이 아닙니다.");
+        }
 
-            @Override
-            public String getSchema() {
-                return HttpRequestParser.this.schema;
-            }
+        this.uriStart = methodEnd + 1;
+        this.uriEnd = pathEnd;
+        this.schemaStart = pathEnd + 1;
+        this.schemaEnd = end;
+    }
 
-            @Override
-            public String getProtocol() {
-                return HttpRequestParser.this.protocol;
-            }
+    private void parseHeaderLine(int start, int end) {
+        int colonIndex = ByteUtils.indexOf(head, COLON, start, end);
 
-            @Override
-            public String getVersion() {
-                return HttpRequestParser.this.version;
-            }
+        if (colonIndex == -1) {
+            changeLogPathToMain();
+            logger.info("Http 프로토콜 스펙에 맞지 않는 데이터 구성 입니다. ( ".concat(new String(head, start, end - start, StandardCharsets.UTF_8)).concat(" )"));
+            return;
+        }
 
-            @Override
-            public Map<String, String> getParameters() {
-                return new HashMap<>(queryMap);
-            }
+        int nameStart = skipWhitespace(start, colonIndex);
+        int nameEnd = skipWhitespaceBackward(nameStart, colonIndex);
+        HttpHeaderType httpHeaderType = HttpHeaderType.of(head, nameStart, nameEnd - nameStart);
 
-            @Override
-            public String getParameter(String parameterName) {
-                return queryMap.get(parameterName);
-            }
+        // 등록되지 않은 헤더는 처리하지 않으므로, 기록하지 않습니다.
+        if (httpHeaderType == null) {
+            return;
+        }
+
+        if (headerCount == headerTypes.length) {
+            headerTypes = Arrays.copyOf(headerTypes, headerCount * 2);
+            headerValueOffsets = Arrays.copyOf(headerValueOffsets, headerCount * 4);
+        }
+
+        int valueStart = skipWhitespace(colonIndex + 1, end);
+        headerTypes[headerCount] = httpHeaderType;
+        headerValueOffsets[headerCount * 2] = valueStart;
+        headerValueOffsets[headerCount * 2 + 1] = skipWhitespaceBackward(valueStart, end);
+        headerCount++;
+    }
 
-            @Override
-            public String toString() {
-                return "HttpMethod : " + getMethod()+"\n"+
-                        "URI : " + getURI()+"\n"+
-                        "Protocol : " + getProtocol()+"\n"+
-                        "Version : " +getVersion()+"\n"+
-                        "headers : " + headerMap +"\n"+
-                        "queryStrings :" + queryMap+"\n";
+    /** 같은 헤더가 여러번 왔다면, 마지막 값을 사용합니다. */
+    private int findHeaderIndex(HttpHeaderType httpHeaderType) {
+        for (int i = headerCount - 1; i >= 0; i--) {
+            if (headerTypes[i] == httpHeaderType) {
+                return i;
             }
-        };
+        }
+        return -1;
+    }
+
+    private int skipWhitespace(int start, int end) {
+        while (start < end && (head[start] & 0xFF) <= SP) {
+            start++;
+        }
+        return start;
+    }
+
+    private int skipWhitespaceBackward(int start, int end) {
+        while (end > start && (head[end - 1] & 0xFF) <= SP) {
+            end--;
+        }
+        return end;
+    }
+
+    private void changeLogPathToMain() {
+        MDC.put("logPath", mainLogPath);
     }
 }
@@ -0,0 +1,235 @@
+package com.mommoo.http.request;
+
+import com.mommoo.http.HttpHeaderType;
+import com.mommoo.http.HttpMethod;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link HttpRequestParser}가 분석한 요청 메시지의 바이트 배열과 위치(offset)를 가지는 {@link HttpRequest} 입니다.
+ *
+ * URI, 헤더 값, 쿼리 스트링 등의 문자열은 getter 가 처음 호출될 때 만들어 집니다.
+ * 따라서 사용하지 않는 헤더는 문자열로 만들어지지 않습니다.
+ *
+ * 바디는 스트림으로 제공하며, 읽기 전까지는 소켓(또는 보관된 바디)에 남아 있습니다.
+ * 바디의 쿼리 스트링은 파라미터를 처음 찾을 때 {@link #MAX_PARAMETER_BODY_SIZE} 까지만 읽어 분석하며,
+ * 읽은 데이터는 {@link #getBody()}로 다시 읽을 수 있도록 스트림 앞에 되돌려 놓습니다.
+ *
+ * @author mommoo
+ */
+class ParsedHttpRequest implements HttpRequest {
+    /** 쿼리 스트링으로 분석할 바디의 최대 크기 입니다. 이보다 큰 바디는 파라미터로 분석하지 않습니다. */
+    static final int MAX_PARAMETER_BODY_SIZE = 64 * 1024;
+
+    private final byte[] head;
+    private final HttpMethod httpMethod;
+    private final int uriStart;
+    private final int uriEnd;
+    private final int schemaStart;
+    private final int schemaEnd;
+    private final HttpHeaderType[] headerTypes;
+    private final int[] headerValueOffsets;
+    private final int headerCount;
+
+    private String URI;
+    private String schema;
+    private String[] headerValues;
+    private Map<String, String> queryMap;
+    private InputStream body;
+
+    ParsedHttpRequest(byte[] head, HttpMethod httpMethod, int uriStart, int uriEnd, int schemaStart, int schemaEnd,
+                      HttpHeaderType[] headerTypes, int[] headerValueOffsets, int headerCount, InputStream body) {
+        this.head = head;
+        this.httpMethod = httpMethod;
+        this.uriStart = uriStart;
+        this.uriEnd = uriEnd;
+        this.schemaStart = schemaStart;
+        this.schemaEnd = schemaEnd;
+        this.headerTypes = headerTypes;
+        this.headerValueOffsets = headerValueOffsets;
+        this.headerCount = headerCount;
+        this.body = body;
+    }
+
+    @Override
+    public HttpMethod getMethod() {
+        return httpMethod;
+    }
+
+    @Override
+    public String getURI() {
+        if (URI == null) {
+            int queryStringIndex = findQueryStringIndex();
+            URI = toString(uriStart, queryStringIndex == -1 ? uriEnd : queryStringIndex);
+        }
+        return URI;
+    }
+
+    @Override
+    public String getSchema() {
+        if (schema == null) {
+            schema = toString(schemaStart, schemaEnd);
+        }
+        return schema;
+    }
+
+    @Override
+    public String getProtocol() {
+        String schema = getSchema();
+        return schema.substring(0, schema.indexOf("/"));
+    }
+
+    @Override
+    public String getVersion() {
+        String schema = getSchema();
+        return schema.substring(schema.indexOf("/") + 1);
+    }
+
+    @Override
+    public Map<HttpHeaderType, String> getHeaders() {
+        Map<HttpHeaderType, String> headerMap = new HashMap<>();
+        for (int i = 0; i < headerCount; i++) {
+            headerMap.put(headerTypes[i], getHeaderValue(i));
+        }
+        return headerMap;
+    }
+
+    /** 같은 헤더가 여러번 왔다면, 마지막 값을 사용합니다. */
+    @Override
+    public String getHeader(HttpHeaderType httpHeaderType) {
+        for (int i = headerCount - 1; i >= 0; i--) {
+            if (headerTypes[i] == httpHeaderType) {
+                return getHeaderValue(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Map<String, String> getParameters() {
+        return new HashMap<>(getQueryMap());
+    }
+
+    @Override
+    public String getParameter(String parameterName) {
+        return getQueryMap().get(parameterName);
+    }
+
+    @Override
+    public InputStream getBody() {
+        return body;
+    }
+
+    private String getHeaderValue(int index) {
+        if (headerValues == null) {
+            headerValues = new String[headerCount];
+        }
+
+        if (headerValues[index] == null) {
+            headerValues[index] = toString(headerValueOffsets[index * 2], headerValueOffsets[index * 2 + 1]);
+        }
+        return headerValues[index];
+    }
+
+    private Map<String, String> getQueryMap() {
+        if (queryMap == null) {
+            queryMap = new HashMap<>();
+
+            int queryStringIndex = findQueryStringIndex();
+            if (queryStringIndex != -1) {
+                parseQueryString(toString(queryStringIndex + 1, uriEnd));
+            }
+            parseQueryStringAtBody();
+        }
+        return queryMap;
+    }
+
+    private void parseQueryString(String queryString) {
+        String[] queries = queryString.split("&");
+        for (String query : queries) {
+            int keyIndex = query.indexOf("=");
+            if (keyIndex == -1) {
+                continue;
+            }
+
+            queryMap.put(query.substring(0, keyIndex), query.substring(keyIndex + 1));
+        }
+    }
+
+    private void parseQueryStringAtBody() {
+        String contentType = getHeader(HttpHeaderType.CONTENT_TYPE);
+        if (contentType == null) {
+            parseQueryString(readParameterBody());
+        } else if (contentType.contains("/")) {
+            String contentDataType = contentType.substring(0, contentType.indexOf("/"));
+            if (contentDataType.equals("*") || contentDataType.equals("text")) {
+                parseQueryString(readParameterBody());
+            }
+        }
+    }
+
+    /**
+     * 파라미터로 분석할 바디를 읽습니다.
+     * 바디가 제한보다 크다면 빈 문자열을 반환하며, 읽은 데이터는 어느 경우든 스트림 앞에 되돌려 놓습니다.
+     */
+    private String readParameterBody() {
+        byte[] buffer = new byte[1024];
+        int length = 0;
+
+        try {
+            int readCount;
+            while (length <= MAX_PARAMETER_BODY_SIZE && (readCount = body.read(buffer, length, buffer.length - length)) != -1) {
+                length += readCount;
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("요청 바디를 읽지 못했습니다.", e);
+        }
+
+        InputStream readBody = new ByteArrayInputStream(buffer, 0, length);
+        if (length > MAX_PARAMETER_BODY_SIZE) {
+            body = new SequenceInputStream(readBody, body);
+            return "";
+        }
+
+        body = readBody;
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private int findQueryStringIndex() {
+        for (int i = uriEnd - 1; i >= uriStart; i--) {
+            if (head[i] == '?') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String toString(int start, int end) {
+        return new String(head, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /** 로깅 만으로 바디를 읽지 않도록, 파라미터를 분석하기 전이라면 URI 의 쿼리 스트링만 출력합니다. */
+    @Override
+    public String toString() {
+        int queryStringIndex = findQueryStringIndex();
+        Object queryStrings = queryMap != null ? queryMap : queryStringIndex == -1 ? "" : toString(queryStringIndex + 1, uriEnd);
+
+        return "HttpMethod : " + getMethod()+"\n"+
+                "URI : " + getURI()+"\n"+
+                "Protocol : " + getProtocol()+"\n"+
+                "Version : " +getVersion()+"\n"+
+                "headers : " + getHeaders() +"\n"+
+                "queryStrings :" + queryStrings+"\n";
+    }
+}
@@ -3,13 +3,13 @@ package com.mommoo.http.request.rule;
 import com.mommoo.conf.ServerSpec;
 import com.mommoo.http.request.HttpRequest;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * 검증 해야 할, 모든 HttpRequest 검증 규칙을 한곳에 모은 클래스 입니다.
  * 필터 방식으로, 모든 규칙을 통과해야 최종 검증을 완료 합니다.
  *
+ * 모든 요청마다 검증하므로, 통과한 경우에는 객체를 만들지 않고 {@link HttpRequestRuleResult#PASS}를 반환합니다.
+ * 검증 결과 메시지는 실패한 규칙에 대해서만 만듭니다.
+ *
  * @author mommoo
  */
 public class HttpRequestRuleInspector implements HttpRequestRule{
@@ -17,11 +17,21 @@ public class HttpRequestRuleInspector implements HttpRequestRule{
 
     private static final HttpRequestRuleInspector INSTANCE = new HttpRequestRuleInspector();
 
-    private List<HttpRequestRule> requestRuleList = new ArrayList<>();
+    private final HttpRequestRule[] requestRules;
+    /** 로그에 기록할 규칙 이름 입니다. requestRules 와 같은 순서 입니다. */
+    private final String[] requestRuleNames;
 
     private HttpRequestRuleInspector() {
-        requestRuleList.add(new HttpResourceFileExtensionRule(INVALID_FILE_EXTENSIONS));
-        requestRuleList.add(new HttpResourceSearchRule());
+        this(new HttpResourceFileExtensionRule(INVALID_FILE_EXTENSIONS), new HttpResourceSearchRule());
+    }
+
+    HttpRequestRuleInspector(HttpRequestRule... requestRules) {
+        this.requestRules = requestRules;
+        this.requestRuleNames = new String[requestRules.length];
+
+        for (int index = 0; index < requestRules.length; index++) {
+            requestRuleNames[index] = requestRules[index].getClass().getSimpleName();
+        }
     }
 
     public static HttpRequestRuleInspector getInstance() {
@@ -30,20 +40,14 @@ public class HttpRequestRuleInspector implements HttpRequestRule{
 
     @Override
     public HttpRequestRuleResult isValidateRequest(ServerSpec serverSpec, HttpRequest httpRequest) {
-        StringBuilder builder = new StringBuilder();
-        boolean isValidate = true;
-
-        for (HttpRequestRule httpRequestRule : requestRuleList) {
-            HttpRequestRuleResult result = httpRequestRule.isValidateRequest(serverSpec, httpRequest);
-            String className = httpRequestRule.getClass().getSimpleName();
-            builder.append(className).append(" : ").append(result).append("\n");
+        for (int index = 0; index < requestRules.length; index++) {
+            HttpRequestRuleResult result = requestRules[index].isValidateRequest(serverSpec, httpRequest);
             if (!result.isValidate) {
-                isValidate = false;
-                break;
+                return new HttpRequestRuleResult(false, "## HttpRequestRule 검증 결과 (false)\n"
+                        .concat(requestRuleNames[index]).concat(" : ").concat(result.message).concat("\n"));
             }
         }
-        builder.insert(0, "## HttpRequestRule 검증 결과 (".concat(Boolean.toString(isValidate)).concat(")\n"));
 
-        return new HttpRequestRuleResult(isValidate, builder.toString());
+        return HttpRequestRuleResult.PASS;
     }
 }
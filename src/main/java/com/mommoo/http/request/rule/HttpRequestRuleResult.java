@@ -4,9 +4,14 @@ package com.mommoo.http.request.rule;
  * 검증 결과를 정의한 클래스 입니다.
  * (검증 여부, 검증 메시지)
  *
+ * 대부분의 요청은 검증을 통과하므로, 통과한 결과는 하나의 인스턴스({@link #PASS})를 같이 사용합니다.
+ * 메시지는 검증에 실패했을 때만 만듭니다.
+ *
  * @author mommoo
  */
 public class HttpRequestRuleResult {
+    public static final HttpRequestRuleResult PASS = new HttpRequestRuleResult(true, "모든 검증을 통과했습니다.");
+
     public final boolean isValidate;
     public final String message;
 
@@ -1,46 +1,56 @@
 package com.mommoo.http.request.rule;
 
 import com.mommoo.conf.ServerSpec;
-import com.mommoo.contents.ServerContentsFinder;
 import com.mommoo.http.request.HttpRequest;
-
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
+import com.mommoo.servlet.ServletRegistry;
 
 /**
  * 유효하지 않은 파일 확장자를 검사하는 검증 클래스입니다.
  *
+ * 확장자를 잘라내지 않고 URI 에서 바로 비교하며, 서블릿 요청인지는 유효하지 않은 확장자일 때만 확인합니다.
+ *
  * @author mommoo
  */
 class HttpResourceFileExtensionRule implements HttpRequestRule {
-    private Set<String> fileExtensionSet = new HashSet<>();
+    private final String[] fileExtensions;
 
-    HttpResourceFileExtensionRule(String... fileExtension) {
-        Collections.addAll(fileExtensionSet, fileExtension);
+    HttpResourceFileExtensionRule(String... fileExtensions) {
+        this.fileExtensions = fileExtensions.clone();
     }
 
     @Override
     public HttpRequestRuleResult isValidateRequest(ServerSpec serverSpec, HttpRequest httpRequest) {
         String URI = httpRequest.getURI();
 
-        String lastResource = URI.substring(URI.lastIndexOf("/") + 1);
+        int indexOfLastResource = URI.lastIndexOf('/') + 1;
+        int indexOfFileExtension = URI.lastIndexOf('.');
 
-        int indexOfFileExtension = lastResource.lastIndexOf(".");
+        // 파일 확장자가 없는 URI 입니다.
+        if (indexOfFileExtension < indexOfLastResource) {
+            return HttpRequestRuleResult.PASS;
+        }
 
-        if (ServerContentsFinder.isServletRequest(URI)) {
-            return new HttpRequestRuleResult(true, "서블릿 요청 URI 입니다.");
+        String invalidExtension = findInvalidExtensionOrNull(URI, indexOfFileExtension + 1);
+        if (invalidExtension == null) {
+            return HttpRequestRuleResult.PASS;
         }
 
-        if (indexOfFileExtension == -1) {
-            return new HttpRequestRuleResult(true, "파일 확장자가 없는 URI 입니다.");
+        // 서블릿 클래스 이름의 마지막 부분은 확장자로 보이므로, 서블릿 요청은 허용합니다.
+        if (ServletRegistry.getInstance().isServletRequest(URI)) {
+            return HttpRequestRuleResult.PASS;
         }
 
-        String fileExtension = lastResource.substring(indexOfFileExtension+1);
-        boolean isValidExtension = !fileExtensionSet.contains(fileExtension);
+        return new HttpRequestRuleResult(false, "유효하지 않는 확장자 입니다.(" + invalidExtension + ")");
+    }
 
-        String message = (isValidExtension ? "유효한" : "유효하지 않는") + " 확장자 입니다.(" + fileExtension +")";
+    private String findInvalidExtensionOrNull(String URI, int beginIndex) {
+        int length = URI.length() - beginIndex;
 
-        return new HttpRequestRuleResult(isValidExtension, message);
+        for (String fileExtension : fileExtensions) {
+            if (fileExtension.length() == length && URI.startsWith(fileExtension, beginIndex)) {
+                return fileExtension;
+            }
+        }
+        return null;
     }
 }
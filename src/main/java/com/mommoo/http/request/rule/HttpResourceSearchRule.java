@@ -3,47 +3,77 @@ package com.mommoo.http.request.rule;
 import com.mommoo.conf.ServerSpec;
 import com.mommoo.http.request.HttpRequest;
 
-import java.util.Collections;
-import java.util.Stack;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 유효하지 않은 파일 경로 검색을 검증 하는 클래스 입니다.
- * 스택 자료구조를 이용하여, 사용자가 요구하는 최종경로가 올바른지 검사 했습니다.
+ *
+ * documentPath 를 디렉토리 단위로 나눈 결과는 ServerSpec 마다 한번만 만들어 보관합니다.
+ * 요청 URI 는 나누지 않고 인덱스로 디렉토리를 하나씩 읽으며, 스택 대신 깊이만 계산합니다.
+ *
+ *  - depth        : documentPath 에 URI 를 이어 붙인 최종경로의 디렉토리 개수 (스택의 크기)
+ *  - matchedDepth : 최종경로의 앞부분 중, documentPath 의 디렉토리와 일치하는 개수
+ *
+ * 최종경로가 documentPath 의 모든 디렉토리로 시작해야(matchedDepth 가 documentPath 의 디렉토리 개수) 공개한 리소스 경로 입니다.
  *
  * @author mommoo
  */
 class HttpResourceSearchRule implements HttpRequestRule {
+    private final Map<ServerSpec, String[]> documentDirectoriesMap = new ConcurrentHashMap<>();
 
     @Override
     public HttpRequestRuleResult isValidateRequest(ServerSpec serverSpec, HttpRequest httpRequest) {
-        String documentPath = serverSpec.getDocumentPath();
+        String[] documentDirectories = getDocumentDirectories(serverSpec);
+        String URI = httpRequest.getURI();
 
-        String[] documentDirectories = documentPath.split("/");
-        Stack<String> directoryStack = new Stack<>();
-        Collections.addAll(directoryStack, documentDirectories);
+        int depth = documentDirectories.length;
+        int matchedDepth = depth;
+        int beginIndex = 1;
 
-        String[] directories = httpRequest
-                .getURI()
-                .substring(1)
-                .split("/");
+        while (beginIndex <= URI.length()) {
+            int endIndex = URI.indexOf('/', beginIndex);
+            if (endIndex == -1) {
+                endIndex = URI.length();
+            }
 
-        for (String directory : directories) {
-            if (directoryStack.empty()) {
+            if (depth == 0) {
                 return new HttpRequestRuleResult(false, "루트 디렉토리의 하위 디렉토리를 참조하려 시도했습니다.");
             }
 
-            if (directory.equals("..")) {
-                directoryStack.pop();
+            if (isParentDirectory(URI, beginIndex, endIndex)) {
+                depth--;
+                matchedDepth = Math.min(matchedDepth, depth);
             } else {
-                directoryStack.add(directory);
+                if (matchedDepth == depth && depth < documentDirectories.length
+                        && isSameDirectory(URI, beginIndex, endIndex, documentDirectories[depth])) {
+                    matchedDepth++;
+                }
+                depth++;
             }
+
+            beginIndex = endIndex + 1;
         }
 
-        String resultPath = String.join("/", directoryStack);
+        if (matchedDepth == documentDirectories.length) {
+            return HttpRequestRuleResult.PASS;
+        }
+        return new HttpRequestRuleResult(false, "공개하지 않은 리소스 경로 입니다.");
+    }
 
-        boolean isValidPath = resultPath.startsWith(documentPath);
-        String message = isValidPath ? "공개한 리소스 경로 입니다." : "공개하지 않은 리소스 경로 입니다.";
+    private String[] getDocumentDirectories(ServerSpec serverSpec) {
+        String[] documentDirectories = documentDirectoriesMap.get(serverSpec);
+        if (documentDirectories == null) {
+            documentDirectories = documentDirectoriesMap.computeIfAbsent(serverSpec, spec -> spec.getDocumentPath().split("/"));
+        }
+        return documentDirectories;
+    }
+
+    private static boolean isParentDirectory(String URI, int beginIndex, int endIndex) {
+        return endIndex - beginIndex == 2 && URI.charAt(beginIndex) == '.' && URI.charAt(beginIndex + 1) == '.';
+    }
 
-        return new HttpRequestRuleResult(isValidPath, message);
+    private static boolean isSameDirectory(String URI, int beginIndex, int endIndex, String directory) {
+        return endIndex - beginIndex == directory.length() && URI.startsWith(directory, beginIndex);
     }
 }
@@ -0,0 +1,56 @@
+package com.mommoo.http.response;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 같은 크기의 {@link ByteBuffer}를 재사용하기 위한 풀 입니다.
+ *
+ * 응답마다 버퍼를 새로 할당하지 않도록, 사용이 끝난 버퍼를 돌려받아 보관합니다.
+ * 풀이 비었다면 새로 할당하며, 최대 개수 이상 돌려받은 버퍼는 보관하지 않고 GC 에 맡깁니다.
+ * 돌려받지 못한 버퍼도 GC 가 회수하므로, 전송이 끝났는지 알 수 없는 버퍼는 돌려주지 않아도 됩니다.
+ *
+ * @author mommoo
+ */
+class ByteBufferPool {
+    private final int bufferSize;
+    private final int maxPoolCount;
+    private final Queue<ByteBuffer> bufferQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger poolCount = new AtomicInteger();
+
+    ByteBufferPool(int bufferSize, int maxPoolCount) {
+        this.bufferSize = bufferSize;
+        this.maxPoolCount = maxPoolCount;
+    }
+
+    int getBufferSize() {
+        return bufferSize;
+    }
+
+    /** @return 쓰기 준비가 된(비어있는) 버퍼 */
+    ByteBuffer acquire() {
+        ByteBuffer byteBuffer = bufferQueue.poll();
+        if (byteBuffer == null) {
+            return ByteBuffer.allocate(bufferSize);
+        }
+
+        poolCount.decrementAndGet();
+        byteBuffer.clear();
+        return byteBuffer;
+    }
+
+    /** 돌려받은 버퍼는 다른 스레드가 다시 사용하므로, 호출자는 더 이상 참조하면 안됩니다. */
+    void release(ByteBuffer byteBuffer) {
+        if (byteBuffer.capacity() != bufferSize) {
+            return;
+        }
+
+        if (poolCount.incrementAndGet() > maxPoolCount) {
+            poolCount.decrementAndGet();
+            return;
+        }
+        bufferQueue.offer(byteBuffer);
+    }
+}
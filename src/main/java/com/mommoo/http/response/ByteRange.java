@@ -0,0 +1,148 @@
+package com.mommoo.http.response;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Range 헤더가 요청한 파일의 바이트 구간을 정의한 클래스 입니다. (RFC 7233)
+ *
+ * 다음 세 가지 형식의 구간을 지원하며, 여러 구간은 콤마로 구분합니다. ex) Range: bytes=0-99, 200-, -50
+ *
+ *  1. 시작-끝 : 시작 부터 끝 까지. 끝이 파일 크기를 넘으면 파일의 끝 까지 입니다.
+ *  2. 시작- : 시작 부터 파일의 끝 까지.
+ *  3. -길이 : 파일의 마지막 길이 만큼.
+ *
+ * 겹치거나 맞닿은 구간은 하나로 합치며, 구간이 너무 많은 요청은 Range 헤더를 무시하고 파일 전체로 응답합니다.
+ *
+ * @author mommoo
+ */
+public class ByteRange {
+    private static final String BYTES_UNIT = "bytes=";
+    /** 한 요청에서 허용하는 최대 구간 개수 입니다. */
+    private static final int MAX_RANGE_COUNT = 16;
+
+    private final long start;
+    private final long end;
+
+    private ByteRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    /** 구간의 마지막 바이트 위치 입니다. (포함) */
+    public long getEnd() {
+        return end;
+    }
+
+    public long getLength() {
+        return end - start + 1;
+    }
+
+    /** Content-Range 헤더 값 입니다. ex) bytes 0-99/1000 */
+    public String toContentRange(long fileSize) {
+        return "bytes " + start + "-" + end + "/" + fileSize;
+    }
+
+    /** 만족할 수 있는 구간이 없을 때의 Content-Range 헤더 값 입니다. 구간 없이 파일 크기만 알립니다. */
+    public static String toUnsatisfiedContentRange(long fileSize) {
+        return "bytes */" + fileSize;
+    }
+
+    /**
+     * Range 헤더 값을 파일 크기에 맞는 구간들로 분석합니다.
+     *
+     * @return 시작 위치 순서로 정렬된 구간들, 파일 크기를 넘어 만족할 수 있는 구간이 없다면 빈 목록,
+     *         형식이 올바르지 않거나 구간이 너무 많아 Range 헤더를 무시해야 한다면 null
+     */
+    public static List<ByteRange> parseOrNull(String range, long fileSize) {
+        if (range == null || !range.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length())) {
+            return null;
+        }
+
+        String[] rangeSpecs = range.substring(BYTES_UNIT.length()).split(",");
+        if (rangeSpecs.length > MAX_RANGE_COUNT) {
+            return null;
+        }
+
+        List<ByteRange> byteRangeList = new ArrayList<>(rangeSpecs.length);
+        boolean hasRangeSpec = false;
+        for (String rangeSpec : rangeSpecs) {
+            String trimmedRangeSpec = rangeSpec.trim();
+            if (trimmedRangeSpec.isEmpty()) {
+                continue;
+            }
+
+            int dashIndex = trimmedRangeSpec.indexOf('-');
+            if (dashIndex == -1) {
+                return null;
+            }
+
+            String firstText = trimmedRangeSpec.substring(0, dashIndex);
+            String lastText = trimmedRangeSpec.substring(dashIndex + 1);
+            hasRangeSpec = true;
+
+            if (firstText.isEmpty()) {
+                // -길이 형식 입니다.
+                long suffixLength = parseNumberOrMinusOne(lastText);
+                if (suffixLength == -1) {
+                    return null;
+                }
+                if (suffixLength > 0 && fileSize > 0) {
+                    byteRangeList.add(new ByteRange(Math.max(0, fileSize - suffixLength), fileSize - 1));
+                }
+                continue;
+            }
+
+            long first = parseNumberOrMinusOne(firstText);
+            long last = lastText.isEmpty() ? Long.MAX_VALUE : parseNumberOrMinusOne(lastText);
+            if (first == -1 || last == -1 || last < first) {
+                return null;
+            }
+            if (first < fileSize) {
+                byteRangeList.add(new ByteRange(first, Math.min(last, fileSize - 1)));
+            }
+        }
+
+        return hasRangeSpec ? coalesce(byteRangeList) : null;
+    }
+
+    /** 숫자가 아니거나 비어있다면 -1 입니다. */
+    private static long parseNumberOrMinusOne(String text) {
+        if (text.isEmpty() || text.length() > 18) {
+            return -1;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isDigit(text.charAt(i))) {
+                return -1;
+            }
+        }
+        return Long.parseLong(text);
+    }
+
+    private static List<ByteRange> coalesce(List<ByteRange> byteRangeList) {
+        if (byteRangeList.size() < 2) {
+            return Collections.unmodifiableList(byteRangeList);
+        }
+
+        byteRangeList.sort(Comparator.comparingLong(ByteRange::getStart));
+        List<ByteRange> coalescedList = new ArrayList<>(byteRangeList.size());
+        ByteRange current = byteRangeList.get(0);
+        for (int i = 1; i < byteRangeList.size(); i++) {
+            ByteRange next = byteRangeList.get(i);
+            if (next.start <= current.end + 1) {
+                current = new ByteRange(current.start, Math.max(current.end, next.end));
+            } else {
+                coalescedList.add(current);
+                current = next;
+            }
+        }
+        coalescedList.add(current);
+        return Collections.unmodifiableList(coalescedList);
+    }
+}
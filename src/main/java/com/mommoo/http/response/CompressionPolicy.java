@@ -0,0 +1,139 @@
+package com.mommoo.http.response;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 응답 바디의 압축 여부를 결정하는 클래스 입니다.
+ *
+ * 다음 조건을 모두 만족하는 응답만 압축합니다.
+ *
+ *  1. 클라이언트가 Accept-Encoding 헤더로 지원하는 압축 방식({@link ContentEncoding})을 허용한 경우. {@link #negotiateOrNull(String)}
+ *  2. 응답의 MIME 타입이 압축 대상 타입인 경우. 이미지 등 이미 압축된 데이터는 다시 압축하지 않습니다.
+ *  3. 바디의 크기가 최소 크기 이상인 경우. 작은 바디는 압축해도 이득이 적습니다.
+ *
+ * 정적 파일은 원본보다 최신인 gzip 파일(.gz)이 있다면, 압축하지 않고 그 파일을 사용할 수 있습니다. {@link #findSidecarOrNull(Path)}
+ *
+ * @author mommoo
+ */
+public class CompressionPolicy {
+    /** 압축하지 않는 정책 입니다. */
+    public static final CompressionPolicy DISABLED = new CompressionPolicy(Long.MAX_VALUE, Collections.emptySet());
+
+    public static final String SIDECAR_EXTENSION = ".gz";
+
+    private final long minSize;
+    private final Set<String> mimeTypeSet = new HashSet<>();
+
+    public CompressionPolicy(long minSize, Collection<String> mimeTypes) {
+        this.minSize = minSize;
+        for (String mimeType : mimeTypes) {
+            mimeTypeSet.add(mimeType.toLowerCase());
+        }
+    }
+
+    public boolean isEnabled() {
+        return !mimeTypeSet.isEmpty();
+    }
+
+    /**
+     * Accept-Encoding 헤더 값으로 압축 방식을 협상합니다.
+     * 선호도(q)가 가장 높은 방식을 선택하며, q=0 인 방식은 허용하지 않은 것으로 처리합니다.
+     *
+     * @return 압축 방식, 압축을 사용하지 않거나 허용된 방식이 없다면 null
+     */
+    public ContentEncoding negotiateOrNull(String acceptEncoding) {
+        if (!isEnabled() || acceptEncoding == null) {
+            return null;
+        }
+
+        // 압축 방식 별 선호도 입니다. 헤더에 없는 방식은 -1 입니다.
+        float[] qualities = new float[ContentEncoding.values().length];
+        float wildcardQuality = -1;
+        Arrays.fill(qualities, -1);
+
+        for (String token : acceptEncoding.split(",")) {
+            String[] parameters = token.split(";");
+            String coding = parameters[0].trim();
+            float quality = parseQuality(parameters);
+
+            if (coding.equals("*")) {
+                wildcardQuality = quality;
+                continue;
+            }
+
+            ContentEncoding contentEncoding = ContentEncoding.of(coding);
+            if (contentEncoding != null) {
+                qualities[contentEncoding.ordinal()] = quality;
+            }
+        }
+
+        ContentEncoding selectedEncoding = null;
+        float selectedQuality = 0;
+        for (ContentEncoding contentEncoding : ContentEncoding.values()) {
+            float quality = qualities[contentEncoding.ordinal()] < 0 ? wildcardQuality : qualities[contentEncoding.ordinal()];
+            if (quality > selectedQuality) {
+                selectedEncoding = contentEncoding;
+                selectedQuality = quality;
+            }
+        }
+        return selectedEncoding;
+    }
+
+    /** 응답의 MIME 타입이 압축 대상인지 여부 입니다. 응답이 Accept-Encoding 에 따라 달라지므로, Vary 헤더가 필요합니다. */
+    public boolean isCompressibleType(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+
+        int parameterIndex = contentType.indexOf(';');
+        String mimeType = (parameterIndex == -1 ? contentType : contentType.substring(0, parameterIndex)).trim();
+        return mimeTypeSet.contains(mimeType.toLowerCase());
+    }
+
+    public boolean isCompressible(String contentType, long contentLength) {
+        return contentLength >= minSize && isCompressibleType(contentType);
+    }
+
+    /**
+     * 원본 파일 보다 최신인 gzip 파일(원본 이름 + .gz)을 찾습니다.
+     *
+     * @return gzip 파일 경로, 없거나 원본 보다 오래되었다면 null
+     */
+    public static Path findSidecarOrNull(Path filePath) {
+        Path sidecarPath = filePath.resolveSibling(filePath.getFileName().toString().concat(SIDECAR_EXTENSION));
+        try {
+            BasicFileAttributes sidecarAttributes = Files.readAttributes(sidecarPath, BasicFileAttributes.class);
+            BasicFileAttributes fileAttributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+
+            if (!sidecarAttributes.isRegularFile()
+                    || sidecarAttributes.lastModifiedTime().compareTo(fileAttributes.lastModifiedTime()) < 0) {
+                return null;
+            }
+            return sidecarPath;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static float parseQuality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Float.parseFloat(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
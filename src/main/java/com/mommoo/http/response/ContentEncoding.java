@@ -0,0 +1,56 @@
+package com.mommoo.http.response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 응답 바디의 압축 방식(Content-Encoding)을 정의한 Enum 클래스 입니다.
+ *
+ * 클라이언트가 같은 선호도로 여러 방식을 허용한다면, 선언된 순서대로 우선합니다.
+ *
+ * @author mommoo
+ */
+public enum ContentEncoding {
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    private static final ContentEncoding[] VALUES = values();
+
+    private final String text;
+
+    private ContentEncoding(String text) {
+        this.text = text;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public static ContentEncoding of(String text) {
+        for (ContentEncoding contentEncoding : VALUES) {
+            if (contentEncoding.text.equalsIgnoreCase(text)) {
+                return contentEncoding;
+            }
+        }
+        return null;
+    }
+
+    /** 데이터를 압축합니다. deflate 는 Http 스펙에 맞게 zlib 형식으로 압축합니다. */
+    public byte[] encode(byte[] bytes) {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(Math.max(64, bytes.length / 2));
+        try (OutputStream outputStream = createOutputStream(byteArrayOutputStream)) {
+            outputStream.write(bytes);
+        } catch (IOException e) {
+            // 메모리에 작성하므로 발생하지 않습니다.
+            throw new IllegalStateException(e);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    private OutputStream createOutputStream(OutputStream outputStream) throws IOException {
+        return this == GZIP ? new GZIPOutputStream(outputStream) : new DeflaterOutputStream(outputStream);
+    }
+}
@@ -0,0 +1,135 @@
+package com.mommoo.http.response;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * 파일 응답의 검증자(ETag, Last-Modified)를 정의한 클래스 입니다.
+ *
+ * 클라이언트가 조건부 요청(If-None-Match, If-Modified-Since)으로 가지고 있는 파일이 최신인지 물으면,
+ * 파일이 변경되지 않았을 때 바디 없이 304 Not Modified 로 응답할 수 있도록 합니다.
+ *
+ * ETag 는 파일 내용을 읽지 않도록 파일 크기와 수정 시각으로 구성합니다. ex) "3f2-18b2c9a1e40"
+ * 검증자는 파일 메타 데이터를 한번 읽어 구성하므로, 파일 응답과 함께 캐시에 보관하여 사용합니다.
+ * 압축한 응답은 바디가 다르므로, 압축 방식을 붙인 ETag 를 사용합니다. {@link #withEncoding(ContentEncoding)}
+ * Range 요청의 If-Range 헤더도 검증자로 검사합니다. {@link #isRangeMatched(String)}
+ *
+ * @author mommoo
+ */
+public class FileValidator {
+    private static final DateTimeFormatter HTTP_DATE_FORMATTER
+            = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US).withZone(ZoneOffset.UTC);
+
+    private final String eTag;
+    private final String lastModified;
+    /** Http 날짜는 초 단위 이므로, 수정 시각도 초 단위로 비교합니다. */
+    private final long lastModifiedSeconds;
+
+    private FileValidator(long fileSize, long lastModifiedMillis) {
+        this.eTag = "\"" + Long.toHexString(fileSize) + "-" + Long.toHexString(lastModifiedMillis) + "\"";
+        this.lastModifiedSeconds = Math.floorDiv(lastModifiedMillis, 1000);
+        this.lastModified = HTTP_DATE_FORMATTER.format(Instant.ofEpochSecond(lastModifiedSeconds));
+    }
+
+    private FileValidator(String eTag, String lastModified, long lastModifiedSeconds) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+        this.lastModifiedSeconds = lastModifiedSeconds;
+    }
+
+    public static FileValidator of(Path filePath) throws IOException {
+        return of(Files.readAttributes(filePath, BasicFileAttributes.class));
+    }
+
+    public static FileValidator of(BasicFileAttributes attributes) {
+        return of(attributes.size(), attributes.lastModifiedTime().toMillis());
+    }
+
+    /** 이미 읽어 보관한 메타 데이터로 검증자를 구성합니다. */
+    public static FileValidator of(long fileSize, long lastModifiedMillis) {
+        return new FileValidator(fileSize, lastModifiedMillis);
+    }
+
+    /** 압축한 응답의 검증자 입니다. ex) "3f2-18b2c9a1e40-gzip" */
+    public FileValidator withEncoding(ContentEncoding contentEncoding) {
+        String encodedETag = eTag.substring(0, eTag.length() - 1) + "-" + contentEncoding.getText() + "\"";
+        return new FileValidator(encodedETag, lastModified, lastModifiedSeconds);
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * 조건부 요청 헤더로 클라이언트의 파일이 최신인지 검사합니다.
+     * If-None-Match 가 있다면 If-Modified-Since 는 무시합니다. (RFC 7232)
+     *
+     * @param ifNoneMatch If-None-Match 헤더 값, 없다면 null
+     * @param ifModifiedSince If-Modified-Since 헤더 값, 없다면 null
+     * @return 파일이 변경되지 않아 304 로 응답할 수 있는지 여부
+     */
+    public boolean isNotModified(String ifNoneMatch, String ifModifiedSince) {
+        if (ifNoneMatch != null) {
+            return isETagMatched(ifNoneMatch);
+        }
+
+        if (ifModifiedSince != null) {
+            try {
+                long since = ZonedDateTime.parse(ifModifiedSince.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+                return lastModifiedSeconds <= since;
+            } catch (DateTimeParseException e) {
+                // 올바르지 않은 날짜는 헤더가 없는 것으로 처리합니다.
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-Range 헤더로 클라이언트가 가진 파일의 일부가 최신인지 검사합니다.
+     * 일부를 이어 받는 요청이므로 ETag 는 강한 비교를 사용하며, 날짜는 Last-Modified 와 같아야 합니다. (RFC 7233)
+     *
+     * @return Range 요청을 처리해도 되는지 여부, 아니라면 파일 전체로 응답해야 합니다.
+     */
+    public boolean isRangeMatched(String ifRange) {
+        String trimmedIfRange = ifRange.trim();
+        if (trimmedIfRange.startsWith("\"") || trimmedIfRange.startsWith("W/")) {
+            return trimmedIfRange.equals(eTag);
+        }
+
+        try {
+            return ZonedDateTime.parse(trimmedIfRange, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond() == lastModifiedSeconds;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /** If-None-Match 는 약한 비교를 사용하므로, W/ 접두어는 무시합니다. */
+    private boolean isETagMatched(String ifNoneMatch) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -3,6 +3,7 @@ package com.mommoo.http.response;
 import com.mommoo.http.HttpHeaderType;
 import com.mommoo.http.HttpStatus;
 
+import java.io.OutputStream;
 import java.io.Writer;
 
 public interface HttpResponse {
@@ -11,4 +12,5 @@ public interface HttpResponse {
     public void setStatus(HttpStatus status);
     public HttpStatus getStatus();
     public Writer getWriter();
+    public OutputStream getOutputStream();
 }
@@ -0,0 +1,45 @@
+package com.mommoo.http.response;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 응답 데이터를 클라이언트에게 출력하는 통로를 추상화한 인터페이스 입니다.
+ *
+ * 블로킹 소켓과 NIO 이벤트 루프가 같은 {@link HttpResponseSender}를 사용할 수 있도록 분리했습니다.
+ * 전달한 버퍼는 실제 전송이 끝날 때 까지 참조될 수 있으므로, 호출자는 전달한 버퍼를 다시 수정하면 안됩니다.
+ *
+ * @author mommoo
+ */
+public interface HttpResponseChannel {
+    public void write(ByteBuffer... byteBuffers) throws IOException;
+
+    /**
+     * 버퍼를 출력하며, 전송이 끝나거나 실패하여 더 이상 버퍼를 참조하지 않을 때 releaseCallback 을 한번 호출합니다.
+     * 메모리 매핑된 파일처럼, 전송이 끝난 뒤에 해제해야 하는 버퍼를 출력할 때 사용합니다.
+     */
+    public void write(ByteBuffer byteBuffer, Runnable releaseCallback) throws IOException;
+
+    /**
+     * 파일의 구간을 출력합니다.
+     * 파일 데이터를 힙 메모리에 복사하지 않도록, 소켓 채널로 바로 전송({@link FileChannel#transferTo}) 합니다.
+     *
+     * 전송이 늦게 끝날 수 있으므로 전달한 파일 채널은 이 인스턴스가 소유하며, 전송이 끝나거나 실패하면 닫습니다.
+     */
+    public void transferFrom(FileChannel fileChannel, long position, long count) throws IOException;
+
+    /**
+     * 소켓 버퍼가 가득 차서 보내지 못하고 보관중인 데이터가 maxPendingBytes 이하가 될 때 까지 기다립니다.
+     * 스트리밍 응답이 느린 클라이언트에게 보낼 데이터를 메모리에 무한히 쌓지 않도록 사용합니다.
+     * 출력을 마칠 때 까지 기다리는 채널이라면, 보관하는 데이터가 없으므로 바로 반환합니다.
+     *
+     * @throws IOException 기다리는 동안 연결이 닫혔거나, 제한 시간 동안 데이터를 보내지 못한 경우
+     */
+    public default void awaitPendingWrites(long maxPendingBytes) throws IOException {
+    }
+
+    /** @return 응답을 받는 클라이언트의 주소, 알 수 없다면 null */
+    public InetAddress getRemoteAddressOrNull();
+}
@@ -2,58 +2,139 @@ package com.mommoo.http.response;
 
 import com.mommoo.http.HttpHeaderType;
 import com.mommoo.http.HttpStatus;
-import com.mommoo.utils.FileUtils;
 
 import java.io.*;
-import java.nio.file.Path;
-import java.util.HashMap;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Http Response 데이터 구성을 담당하는 클래스 입니다.
- * 제공하는 {@link Writer} 객체는 스트림에 작성되는것이 아닌 메모리에 작성됩니다. {@link #bodyBuilder}
+ * 제공하는 {@link OutputStream}, {@link Writer} 객체는 스트림에 작성되는것이 아닌 메모리에 작성됩니다. {@link #bodyBufferList}
  *
- * 추후 {@link #toString()}을 통해, Http Response 데이터를 최종 구성합니다.
+ * 바디는 문자열로 모으지 않고 {@link ByteBufferPool}에서 빌린 버퍼에 바이트로 작성합니다.
+ * 따라서 Content-Length 는 다시 인코딩하지 않고 작성된 바이트 수로 구하며, 헤더도 작은 버퍼에 바로 인코딩합니다.
+ * 출력은 {@link #toByteBuffers()}가 구성한 버퍼를 그대로 사용하며, 전송이 끝나면 {@link #release()}로 버퍼를 돌려줍니다.
+ *
+ * 스트리밍을 허용({@link #enableStreaming(HttpResponseChannel)})하면, 서블릿이 flush 하거나 버퍼에 쌓인 바디가
+ * {@link #STREAMING_THRESHOLD}를 넘을 때 헤더와 쌓인 바디를 chunked 방식으로 바로 출력합니다.
+ * 그 전에 응답이 끝났다면, 스트리밍 하지 않고 Content-Length 로 응답합니다.
+ *
+ * {@link Writer}는 내부 버퍼를 가지므로, {@link Writer}로 작성한 뒤 {@link OutputStream}으로 작성하려면 먼저 flush 해야 합니다.
+ *
+ * 추후 {@link #toString()}을 통해, Http Response 데이터를 문자열로 구성할 수도 있습니다.
  *
  * @author mommoo
  */
 public class HttpResponseHandler implements HttpResponse {
+    private static final ByteBufferPool HEADER_BUFFER_POOL = new ByteBufferPool(1024, 256);
+    private static final ByteBufferPool BODY_BUFFER_POOL = new ByteBufferPool(8 * 1024, 256);
+    /** 스트리밍 중 버퍼에 보관하는 최대 바디 크기 입니다. 넘으면 chunk 로 출력합니다. */
+    private static final int STREAMING_THRESHOLD = 32 * 1024;
+    /** 스트리밍 중 연결이 보내지 못하고 보관할 수 있는 최대 크기 입니다. 넘으면 보낼 때 까지 서블릿을 기다리게 합니다. */
+    static final int MAX_PENDING_STREAMING_SIZE = 4 * STREAMING_THRESHOLD;
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
     private String schema = "HTTP/1.1";
     private HttpStatus status = HttpStatus.CODE_200;
-    private final Map<HttpHeaderType, String> headerDataMap = new HashMap<>();
-    private final StringBuilder bodyBuilder = new StringBuilder();
+    private final Map<HttpHeaderType, String> headerDataMap = new EnumMap<>(HttpHeaderType.class);
+    private final List<ByteBuffer> bodyBufferList = new ArrayList<>();
+    private final List<ByteBuffer> headerBufferList = new ArrayList<>(1);
+    private int bodyByteCount = 0;
+    private final Charset charset;
+    private final OutputStream outputStream;
     private final Writer writer;
 
+    private HttpResponseChannel streamingChannelOrNull;
+    private boolean committed = false;
+    private boolean streamingFailed = false;
+    /** 내부에서 Writer 를 flush 하는 중에는, 서블릿의 flush 로 보지 않습니다. */
+    private boolean flushingWriter = false;
+
+    /** JVM 환경과 관계없이 같은 응답을 구성하도록, 바디는 UTF-8 로 인코딩합니다. */
     public HttpResponseHandler() {
-        this.writer = new Writer() {
+        this(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param charset {@link #getWriter()}로 작성한 바디를 인코딩하며, 기본 Content-Type 에 명시하는 문자 인코딩 입니다.
+     *                서버 설정의 문자 인코딩(charset)을 전달하여, 정적 파일과 같은 문자 인코딩으로 응답하도록 합니다.
+     */
+    public HttpResponseHandler(Charset charset) {
+        this.charset = charset;
+        this.outputStream = new OutputStream() {
             private boolean isClosed = false;
 
             @Override
-            public void write(char[] cbuf, int off, int len) throws IOException {
-                if (isClosed) {
-                    throw new IOException("The writer is already closed");
-                }
-
-                bodyBuilder.append(cbuf, off, len);
+            public void write(int b) throws IOException {
+                ensureOpen();
+                currentBodyBuffer().put((byte) b);
+                bodyByteCount++;
             }
 
             @Override
-            public void flush() {
+            public void write(byte[] b, int off, int len) throws IOException {
+                ensureOpen();
+                while (len > 0) {
+                    ByteBuffer bodyBuffer = currentBodyBuffer();
+                    int writeCount = Math.min(len, bodyBuffer.remaining());
+                    bodyBuffer.put(b, off, writeCount);
+                    off += writeCount;
+                    len -= writeCount;
+                    bodyByteCount += writeCount;
+                }
+            }
 
+            @Override
+            public void flush() throws IOException {
+                if (!flushingWriter && streamingChannelOrNull != null && bodyByteCount > 0) {
+                    writeChunk();
+                }
             }
 
             @Override
             public void close() {
                 this.isClosed = true;
             }
+
+            private void ensureOpen() throws IOException {
+                if (isClosed) {
+                    throw new IOException("The output stream is already closed");
+                }
+            }
         };
 
+        this.writer = new OutputStreamWriter(outputStream, charset);
+
         fillDefaultHeaderData();
     }
 
     private void fillDefaultHeaderData() {
         setHeaderData(HttpHeaderType.SERVER, "MommooSimpleWas");
-        setHeaderData(HttpHeaderType.CONTENT_TYPE, "text/html");
+        // 바디는 charset 으로 인코딩하므로, 기본 Content-Type 에 문자 인코딩을 명시합니다.
+        setHeaderData(HttpHeaderType.CONTENT_TYPE, "text/html; charset=" + charset.name());
+    }
+
+    /**
+     * 마지막 바디 버퍼가 가득 찼다면, 풀에서 새로운 버퍼를 빌립니다.
+     * 스트리밍 중 쌓인 바디가 임계치를 넘었다면, 먼저 chunk 로 출력합니다.
+     */
+    private ByteBuffer currentBodyBuffer() throws IOException {
+        ByteBuffer bodyBuffer = bodyBufferList.isEmpty() ? null : bodyBufferList.get(bodyBufferList.size() - 1);
+        if (bodyBuffer == null || !bodyBuffer.hasRemaining()) {
+            if (streamingChannelOrNull != null && bodyByteCount >= STREAMING_THRESHOLD) {
+                writeChunk();
+            }
+            bodyBuffer = BODY_BUFFER_POOL.acquire();
+            bodyBufferList.add(bodyBuffer);
+        }
+        return bodyBuffer;
     }
 
     @Override
@@ -61,6 +142,14 @@ public class HttpResponseHandler implements HttpResponse {
         headerDataMap.put(httpHeaderType, data);
     }
 
+    public String getHeaderData(HttpHeaderType httpHeaderType) {
+        return headerDataMap.get(httpHeaderType);
+    }
+
+    public void removeHeaderData(HttpHeaderType httpHeaderType) {
+        headerDataMap.remove(httpHeaderType);
+    }
+
     @Override
     public void setSchema(String schema) {
         this.schema = schema;
@@ -76,15 +165,48 @@ public class HttpResponseHandler implements HttpResponse {
         return writer;
     }
 
+    @Override
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
     @Override
     public HttpStatus getStatus() {
-        return null;
+        return status;
     }
 
     @Override
     public String toString() {
-        setHeaderData(HttpHeaderType.CONTENT_LENGTH, Integer.toString(bodyBuilder.toString().getBytes().length));
+        setHeaderData(HttpHeaderType.CONTENT_LENGTH, Integer.toString(getBodyLength()));
+
+        return toHeaderString() + new String(getBodyBytes(), charset);
+    }
+
+    /** 바디의 바이트 수 입니다. */
+    public int getBodyLength() {
+        flushWriter();
+        return bodyByteCount;
+    }
 
+    public byte[] getBodyBytes() {
+        flushWriter();
+        byte[] bodyBytes = new byte[bodyByteCount];
+        int offset = 0;
+        for (ByteBuffer bodyBuffer : bodyBufferList) {
+            ByteBuffer readBuffer = bodyBuffer.duplicate();
+            readBuffer.flip();
+            int readCount = readBuffer.remaining();
+            readBuffer.get(bodyBytes, offset, readCount);
+            offset += readCount;
+        }
+        return bodyBytes;
+    }
+
+    /**
+     * 바디를 제외한 응답 라인과 헤더(빈 라인 포함)를 구성합니다.
+     * 바디를 따로 전송하는 경우에 사용하며, Content-Length 헤더는 호출자가 설정해야 합니다.
+     */
+    public String toHeaderString() {
         StringBuilder builder = new StringBuilder();
         String headerLine = schema + " " + status;
         builder.append(headerLine).append("\n");
@@ -93,10 +215,143 @@ public class HttpResponseHandler implements HttpResponse {
             builder.append(headerType.getText()).append(": ").append(headerDataMap.get(headerType)).append("\n");
         }
 
-        builder.append("\n")
-                .append(bodyBuilder.toString());
+        return builder.append("\n").toString();
+    }
+
+    /**
+     * 응답 라인과 헤더(빈 라인 포함)를 풀에서 빌린 버퍼에 바로 인코딩합니다. Content-Length 헤더는 호출자가 설정해야 합니다.
+     * 헤더가 버퍼보다 크다면, 풀을 사용하지 않고 인코딩합니다.
+     *
+     * @return 읽기 준비가 된 버퍼
+     */
+    public ByteBuffer encodeHeader() {
+        ByteBuffer headerBuffer = HEADER_BUFFER_POOL.acquire();
+        try {
+            putText(headerBuffer, schema);
+            headerBuffer.put((byte) ' ');
+            putText(headerBuffer, status.toString());
+            headerBuffer.put((byte) '\n');
+
+            for (Map.Entry<HttpHeaderType, String> headerEntry : headerDataMap.entrySet()) {
+                putText(headerBuffer, headerEntry.getKey().getText());
+                headerBuffer.put((byte) ':').put((byte) ' ');
+                putText(headerBuffer, headerEntry.getValue());
+                headerBuffer.put((byte) '\n');
+            }
+            headerBuffer.put((byte) '\n');
+        } catch (BufferOverflowException e) {
+            HEADER_BUFFER_POOL.release(headerBuffer);
+            return ByteBuffer.wrap(toHeaderString().getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        headerBufferList.add(headerBuffer);
+        headerBuffer.flip();
+        return headerBuffer;
+    }
+
+    /**
+     * 바디의 바이트 수로 Content-Length 헤더를 설정하고, 헤더와 바디 버퍼를 출력 순서대로 구성합니다.
+     * 반환된 버퍼는 복사본이 아니므로, 전송이 끝나기 전에 {@link #release()}하면 안됩니다.
+     *
+     * @return 읽기 준비가 된 버퍼들
+     */
+    public ByteBuffer[] toByteBuffers() {
+        setHeaderData(HttpHeaderType.CONTENT_LENGTH, Integer.toString(getBodyLength()));
+
+        ByteBuffer[] byteBuffers = new ByteBuffer[bodyBufferList.size() + 1];
+        byteBuffers[0] = encodeHeader();
+        for (int i = 0; i < bodyBufferList.size(); i++) {
+            byteBuffers[i + 1] = bodyBufferList.get(i).duplicate();
+            byteBuffers[i + 1].flip();
+        }
+        return byteBuffers;
+    }
+
+    /**
+     * 바디를 chunked 방식으로 바로 출력할 수 있도록 합니다. chunked 방식을 지원하는 HTTP/1.1 요청에만 사용해야 합니다.
+     * 헤더는 처음 출력할 때 함께 출력하므로, Connection 헤더 등은 미리 설정해야 합니다.
+     */
+    void enableStreaming(HttpResponseChannel responseChannel) {
+        this.streamingChannelOrNull = responseChannel;
+    }
+
+    /** 헤더를 이미 출력하여, 상태와 헤더를 더 이상 바꿀 수 없는지 여부 입니다. */
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    /**
+     * 남은 바디를 마지막 chunk 와 함께 출력하여 스트리밍을 끝냅니다.
+     *
+     * @throws IOException 출력에 실패했거나, 스트리밍 중에 이미 실패한 경우
+     */
+    void finishStreaming() throws IOException {
+        flushWriter();
+        if (bodyByteCount > 0) {
+            writeChunk();
+        }
+        writeStreaming(ByteBuffer.wrap(LAST_CHUNK));
+    }
+
+    /** 처음 출력한다면 헤더를 함께 출력하며, 버퍼에 쌓인 바디를 하나의 chunk 로 출력합니다. */
+    private void writeChunk() throws IOException {
+        ByteBuffer[] byteBuffers = new ByteBuffer[bodyBufferList.size() + (committed ? 2 : 3)];
+        int index = 0;
+
+        if (!committed) {
+            removeHeaderData(HttpHeaderType.CONTENT_LENGTH);
+            setHeaderData(HttpHeaderType.TRANSFER_ENCODING, "chunked");
+            byteBuffers[index++] = encodeHeader();
+            committed = true;
+        }
+
+        byteBuffers[index++] = ByteBuffer.wrap((Integer.toHexString(bodyByteCount) + "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        for (ByteBuffer bodyBuffer : bodyBufferList) {
+            byteBuffers[index] = bodyBuffer.duplicate();
+            byteBuffers[index++].flip();
+        }
+        byteBuffers[index] = ByteBuffer.wrap(CRLF);
 
-        return builder.toString();
+        writeStreaming(byteBuffers);
+    }
+
+    /** 모두 전송되었다면 버퍼를 풀에 돌려주고, 아니라면 연결이 참조하므로 돌려주지 않고 새로운 버퍼를 사용합니다. */
+    private void writeStreaming(ByteBuffer... byteBuffers) throws IOException {
+        if (streamingFailed) {
+            throw new IOException("The response stream is already failed");
+        }
+
+        try {
+            // 클라이언트가 느리다면, 이전 chunk 를 보낼 때 까지 기다려 응답 하나가 사용하는 메모리를 제한합니다.
+            streamingChannelOrNull.awaitPendingWrites(MAX_PENDING_STREAMING_SIZE);
+            streamingChannelOrNull.write(byteBuffers);
+        } catch (IOException e) {
+            streamingFailed = true;
+            throw e;
+        }
+
+        for (ByteBuffer byteBuffer : byteBuffers) {
+            if (byteBuffer.hasRemaining()) {
+                headerBufferList.clear();
+                bodyBufferList.clear();
+                bodyByteCount = 0;
+                return;
+            }
+        }
+        release();
+    }
+
+    /** 빌린 버퍼를 풀에 돌려줍니다. 돌려준 후에는 해당 인스턴스를 사용하면 안됩니다. */
+    public void release() {
+        for (ByteBuffer headerBuffer : headerBufferList) {
+            HEADER_BUFFER_POOL.release(headerBuffer);
+        }
+        for (ByteBuffer bodyBuffer : bodyBufferList) {
+            BODY_BUFFER_POOL.release(bodyBuffer);
+        }
+        headerBufferList.clear();
+        bodyBufferList.clear();
+        bodyByteCount = 0;
     }
 
     public void writeBasicHTMLPage() throws IOException {
@@ -111,7 +366,22 @@ public class HttpResponseHandler implements HttpResponse {
                 .append("<center>MommooSimpleWas-1.0</center>");
     }
 
-    public void writeFile(Path path) throws IOException {
-        FileUtils.copyFileToWriter(path, getWriter());
+    /** Writer 가 내부 버퍼에 보관한 문자를 바디 버퍼에 인코딩합니다. */
+    private void flushWriter() {
+        flushingWriter = true;
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            // 닫힌 Writer 는 닫을 때 이미 모두 인코딩 했습니다.
+        } finally {
+            flushingWriter = false;
+        }
+    }
+
+    /** Http 헤더는 ISO-8859-1 문자로 구성되므로, 문자를 바이트로 그대로 기록합니다. */
+    private static void putText(ByteBuffer byteBuffer, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            byteBuffer.put((byte) text.charAt(i));
+        }
     }
 }
@@ -1,66 +1,455 @@
 package com.mommoo.http.response;
 
+import com.mommoo.http.HttpHeaderType;
 import com.mommoo.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.net.Socket;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 소켓에 출력을 담당하는 클래스입니다.
- * {@link HttpResponseHandler}가 구성하는 Response Text 데이터를 이용하여 소켓에 출력합니다.
+ * {@link HttpResponseHandler}가 구성하는 Response Text 데이터를 이용하여 {@link HttpResponseChannel}에 출력합니다.
  *
- * 출력 기능은 다음과 같이 3가지가 존재합니다.
+ * 출력 기능은 다음과 같이 7가지가 존재합니다.
  *
- *  1. 자체 HTML 출력  {@link #sendBasicHTMLPage(HttpStatus, String)}
- *  2. 파일 출력 {@link #sendFile(HttpStatus, Path, String)}
- *  3. HttpResponse 출력 {@link #send(HttpResponse, String)}
+ *  1. 자체 HTML 출력  {@link #sendBasicHTMLPage(HttpStatus, String)}, 미리 구성한 응답 출력 {@link #send(PreparedResponse, String)}
+ *  2. 파일 출력 {@link #sendFile(HttpStatus, Path, String, FileValidator, ContentEncoding, boolean, String)}
+ *  3. HttpResponse 출력 {@link #send(HttpResponseHandler, ContentEncoding, boolean, String)}
+ *  4. 미리 인코딩한 응답 출력 {@link #send(HttpStatus, byte[], byte[], String)}
+ *  5. 바디 없는 304 응답 출력 {@link #sendNotModified(FileValidator, boolean, String)}
+ *  6. 파일 구간 출력 {@link #sendFileRanges(Path, String, String, FileValidator, boolean, String)}
+ *  7. 메모리 매핑된 파일 출력 {@link #sendMappedFile(HttpStatus, ByteBuffer, Runnable, String, FileValidator, boolean, String)}
+ *
+ *  자체 HTML 페이지는 상태 코드 마다 미리 구성해 두고, 요청마다 다시 구성하지 않습니다.
+ *  파일은 힙 메모리에 읽지 않고, 헤더를 먼저 보낸 뒤 {@link HttpResponseChannel#transferFrom}으로 전송합니다.
+ *  캐시된 작은 파일은 {@link #encodeFileHeader(HttpStatus, String, long, FileValidator, ContentEncoding, boolean, boolean)}로 미리 인코딩한 헤더와 함께 한번에 출력합니다.
+ *  파일 응답에 {@link FileValidator}가 주어지면, ETag 와 Last-Modified 헤더를 함께 출력합니다.
+ *  {@link ContentEncoding}이 주어지면 바디가 압축되었음을 알리며, 압축 대상 응답은 Vary 헤더를 함께 출력합니다.
+ *
+ *  모든 응답에는 연결 유지 여부({@link #setKeepAlive(boolean)})에 맞는 Connection 헤더가 추가됩니다.
+ *  접근 로그를 위해, 출력한 응답의 상태 코드를 보관합니다. {@link #getHttpStatusOrNull()}
  *
  *  @author mommoo
  */
 public class HttpResponseSender {
     private static Logger logger = LoggerFactory.getLogger(HttpResponseSender.class);
     private final static String SEND_ERROR_MSG = "HttpResponse를 클라이언트에게 보내지 못했습니다.";
+    private final static String RETRY_AFTER_SECONDS = "1";
+
+    /** 과부하 상황에서 바로 보낼 수 있도록 미리 구성해 둔 503 응답 데이터 입니다. */
+    private final static byte[] SERVICE_UNAVAILABLE_RESPONSE = createServiceUnavailableResponse();
+
+    /** 상태 코드 별로 미리 구성해 둔 자체 HTML 페이지 입니다. */
+    private final static Map<HttpStatus, PreparedResponse> BASIC_HTML_PAGE_MAP = createBasicHTMLPageMap();
+
+    private final HttpResponseChannel responseChannel;
+    private boolean keepAlive = false;
+    private HttpStatus httpStatus;
+
+    public HttpResponseSender(HttpResponseChannel responseChannel) {
+        this.responseChannel = responseChannel;
+    }
+
+    public void setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    /** 응답 후 연결을 유지할지 여부 입니다. 응답 전송에 실패했다면 연결을 유지하지 않습니다. */
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
 
-    private final Socket socket;
+    /** @return 출력한 응답의 상태 코드, 아직 응답을 출력하지 않았다면 null */
+    public HttpStatus getHttpStatusOrNull() {
+        return httpStatus;
+    }
 
-    public HttpResponseSender(Socket socket) {
-        this.socket = socket;
+    /** @return 응답을 받는 클라이언트의 주소, 알 수 없다면 null */
+    public InetAddress getRemoteAddressOrNull() {
+        return responseChannel.getRemoteAddressOrNull();
     }
 
     public void sendBasicHTMLPage(HttpStatus httpStatus, String logPath) {
-        HttpResponseHandler httpResponseHandler = new HttpResponseHandler();
-        httpResponseHandler.setStatus(httpStatus);
+        send(BASIC_HTML_PAGE_MAP.get(httpStatus), logPath);
+    }
+
+    /** 미리 구성한 응답을 한번에 출력합니다. */
+    public void send(PreparedResponse preparedResponse, String logPath) {
+        httpStatus = preparedResponse.getHttpStatus();
         try {
-            httpResponseHandler.writeBasicHTMLPage();
-            send(httpResponseHandler, logPath);
+            responseChannel.write(ByteBuffer.wrap(preparedResponse.getBytes(keepAlive)));
         } catch (IOException e) {
+            keepAlive = false;
             printErrorLog(logPath, e);
         }
     }
 
-    public void sendFile(HttpStatus httpStatus, Path filePath, String logPath) {
-        HttpResponseHandler httpResponseHandler = new HttpResponseHandler();
-        httpResponseHandler.setStatus(httpStatus);
+    /**
+     * 파일을 전송합니다. 압축된 파일(.gz)을 전송한다면, 파일의 압축 방식을 함께 전달해야 합니다.
+     *
+     * @param vary 응답이 Accept-Encoding 헤더에 따라 달라지는지 여부
+     */
+    public void sendFile(HttpStatus httpStatus, Path filePath, String contentType, FileValidator fileValidatorOrNull,
+                         ContentEncoding contentEncodingOrNull, boolean vary, String logPath) {
+        FileChannel fileChannel;
+        long fileSize;
+        try {
+            fileChannel = FileChannel.open(filePath, StandardOpenOption.READ);
+            fileSize = fileChannel.size();
+        } catch (IOException io) {
+            keepAlive = false;
+            printErrorLog(logPath, io);
+            return;
+        }
+
+        sendWholeFile(httpStatus, fileChannel, fileSize, contentType, fileValidatorOrNull, contentEncodingOrNull, vary, logPath);
+    }
+
+    /**
+     * 메모리에 매핑된 파일 전체를 출력합니다. 파일을 다시 열거나 힙 메모리에 복사하지 않고, 매핑된 버퍼를 소켓에 바로 출력합니다.
+     *
+     * @param mappedBuffer 파일 전체를 가리키는 매핑된 버퍼, 출력하면서 position 이 변경되므로 응답마다 복제본을 사용합니다.
+     * @param releaseCallback 전송이 끝나거나 실패하여 더 이상 버퍼를 참조하지 않을 때 한번 호출됩니다.
+     */
+    public void sendMappedFile(HttpStatus httpStatus, ByteBuffer mappedBuffer, Runnable releaseCallback, String contentType,
+                               FileValidator fileValidatorOrNull, boolean vary, String logPath) {
+        this.httpStatus = httpStatus;
+        try {
+            responseChannel.write(ByteBuffer.wrap(encodeFileHeader(httpStatus, contentType, mappedBuffer.remaining(), fileValidatorOrNull, null, vary, keepAlive)));
+        } catch (IOException io) {
+            keepAlive = false;
+            releaseCallback.run();
+            printErrorLog(logPath, io);
+            return;
+        }
+
         try {
-            httpResponseHandler.writeFile(filePath);
-            send(httpResponseHandler, logPath);
+            responseChannel.write(mappedBuffer, releaseCallback);
         } catch (IOException io) {
+            keepAlive = false;
             printErrorLog(logPath, io);
         }
     }
 
-    public void send(HttpResponse httpResponse, String logPath) {
+    private void sendWholeFile(HttpStatus httpStatus, FileChannel fileChannel, long fileSize, String contentType,
+                               FileValidator fileValidatorOrNull, ContentEncoding contentEncodingOrNull, boolean vary, String logPath) {
+        this.httpStatus = httpStatus;
         try {
-            OutputStream outputStream = socket.getOutputStream();
-            outputStream.write(httpResponse.toString().getBytes());
-            outputStream.flush();
+            responseChannel.write(ByteBuffer.wrap(encodeFileHeader(httpStatus, contentType, fileSize, fileValidatorOrNull, contentEncodingOrNull, vary, keepAlive)));
+            responseChannel.transferFrom(fileChannel, 0, fileSize);
+        } catch (IOException io) {
+            keepAlive = false;
+            closeQuietly(fileChannel);
+            printErrorLog(logPath, io);
+        }
+    }
+
+    /**
+     * Range 헤더가 요청한 파일의 구간들을 전송합니다. 구간은 압축하지 않은 파일을 기준으로 합니다.
+     *
+     *  1. 구간이 하나라면, 206 응답으로 해당 구간을 전송합니다.
+     *  2. 구간이 여러 개라면, 206 응답의 multipart/byteranges 바디로 각 구간을 전송합니다.
+     *  3. 만족할 수 있는 구간이 없다면, 416 응답을 보냅니다.
+     *  4. Range 헤더를 분석할 수 없다면, 헤더를 무시하고 파일 전체를 전송합니다.
+     *
+     * 각 구간은 힙 메모리에 읽지 않고, 파일 채널의 구간으로 전송합니다. {@link HttpResponseChannel#transferFrom}
+     *
+     * @param vary 응답이 Accept-Encoding 헤더에 따라 달라지는지 여부
+     */
+    public void sendFileRanges(Path filePath, String contentType, String range, FileValidator fileValidatorOrNull, boolean vary, String logPath) {
+        FileChannel fileChannel;
+        long fileSize;
+        try {
+            fileChannel = FileChannel.open(filePath, StandardOpenOption.READ);
+            fileSize = fileChannel.size();
+        } catch (IOException io) {
+            keepAlive = false;
+            printErrorLog(logPath, io);
+            return;
+        }
+
+        List<ByteRange> byteRangeList = ByteRange.parseOrNull(range, fileSize);
+        if (byteRangeList == null) {
+            sendWholeFile(HttpStatus.CODE_200, fileChannel, fileSize, contentType, fileValidatorOrNull, null, vary, logPath);
+            return;
+        }
+
+        if (byteRangeList.isEmpty()) {
+            closeQuietly(fileChannel);
+            sendRangeNotSatisfiable(fileSize, logPath);
+            return;
+        }
+
+        httpStatus = HttpStatus.CODE_206;
+        try {
+            if (byteRangeList.size() == 1) {
+                ByteRange byteRange = byteRangeList.get(0);
+                HttpResponseHandler httpResponseHandler = createFileHeader(HttpStatus.CODE_206, contentType, byteRange.getLength(), fileValidatorOrNull, null, vary, keepAlive);
+                httpResponseHandler.setHeaderData(HttpHeaderType.CONTENT_RANGE, byteRange.toContentRange(fileSize));
+
+                responseChannel.write(ByteBuffer.wrap(httpResponseHandler.toHeaderString().getBytes(StandardCharsets.ISO_8859_1)));
+                responseChannel.transferFrom(fileChannel, byteRange.getStart(), byteRange.getLength());
+                return;
+            }
+
+            // 전송한 파일 채널은 전송이 끝나면 닫히므로, 구간 마다 파일 채널을 엽니다.
+            closeQuietly(fileChannel);
+            sendMultipartRanges(filePath, contentType, fileSize, byteRangeList, fileValidatorOrNull, vary);
+        } catch (IOException io) {
+            keepAlive = false;
+            closeQuietly(fileChannel);
+            printErrorLog(logPath, io);
+        }
+    }
+
+    private void sendMultipartRanges(Path filePath, String contentType, long fileSize, List<ByteRange> byteRangeList,
+                                     FileValidator fileValidatorOrNull, boolean vary) throws IOException {
+        String boundary = Long.toHexString(ThreadLocalRandom.current().nextLong()) + Long.toHexString(System.nanoTime());
+
+        // 각 구간의 머리(경계와 헤더)를 먼저 구성하여, 바디의 전체 길이를 구합니다.
+        byte[][] partHeads = new byte[byteRangeList.size()][];
+        long contentLength = 0;
+        for (int i = 0; i < byteRangeList.size(); i++) {
+            ByteRange byteRange = byteRangeList.get(i);
+            partHeads[i] = ((i == 0 ? "" : "\r\n") + "--" + boundary + "\r\n"
+                    + HttpHeaderType.CONTENT_TYPE.getText() + ": " + contentType + "\r\n"
+                    + HttpHeaderType.CONTENT_RANGE.getText() + ": " + byteRange.toContentRange(fileSize) + "\r\n"
+                    + "\r\n").getBytes(StandardCharsets.ISO_8859_1);
+            contentLength += partHeads[i].length + byteRange.getLength();
+        }
+        byte[] closeDelimiter = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.ISO_8859_1);
+        contentLength += closeDelimiter.length;
+
+        HttpResponseHandler httpResponseHandler = createFileHeader(HttpStatus.CODE_206, contentType, contentLength, fileValidatorOrNull, null, vary, keepAlive);
+        httpResponseHandler.setHeaderData(HttpHeaderType.CONTENT_TYPE, "multipart/byteranges; boundary=" + boundary);
+        responseChannel.write(ByteBuffer.wrap(httpResponseHandler.toHeaderString().getBytes(StandardCharsets.ISO_8859_1)));
+
+        // 파일 채널은 구간을 전송할 때 하나씩 열며, 전송에 실패하면 남은 구간의 파일 채널은 열지 않습니다.
+        // 구간의 개수는 ByteRange 가 제한하므로, 한 요청이 동시에 여는 파일 채널의 수도 제한됩니다.
+        for (int i = 0; i < byteRangeList.size(); i++) {
+            ByteRange byteRange = byteRangeList.get(i);
+            responseChannel.write(ByteBuffer.wrap(partHeads[i]));
+
+            FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.READ);
+            try {
+                responseChannel.transferFrom(fileChannel, byteRange.getStart(), byteRange.getLength());
+            } catch (IOException io) {
+                // 채널이 소유하기 전에 실패했을 수 있으므로 닫습니다. 이미 닫혔다면 아무 작업도 하지 않습니다.
+                closeQuietly(fileChannel);
+                throw io;
+            }
+        }
+        responseChannel.write(ByteBuffer.wrap(closeDelimiter));
+    }
+
+    /** 요청한 구간이 파일 크기를 넘으므로, 파일 크기를 알려주는 416 응답을 보냅니다. */
+    private void sendRangeNotSatisfiable(long fileSize, String logPath) {
+        httpStatus = HttpStatus.CODE_416;
+        HttpResponseHandler httpResponseHandler = new HttpResponseHandler();
+        httpResponseHandler.setStatus(HttpStatus.CODE_416);
+        httpResponseHandler.setHeaderData(HttpHeaderType.CONTENT_RANGE, ByteRange.toUnsatisfiedContentRange(fileSize));
+        httpResponseHandler.setHeaderData(HttpHeaderType.CONNECTION, keepAlive ? "keep-alive" : "close");
+        try {
+            httpResponseHandler.writeBasicHTMLPage();
+        } catch (IOException e) {
+            // 메모리에 작성하므로 발생하지 않습니다.
+            throw new IllegalStateException(e);
+        }
+        writeAndRelease(httpResponseHandler, logPath, httpResponseHandler.toByteBuffers());
+    }
+
+    /**
+     * 미리 인코딩한 헤더와 바디를 한번에 출력합니다.
+     * 헤더는 현재 연결 유지 여부에 맞게 인코딩된 것이어야 합니다. {@link #isKeepAlive()}
+     *
+     * @param httpStatus 헤더에 인코딩된 상태 코드
+     */
+    public void send(HttpStatus httpStatus, byte[] header, byte[] body, String logPath) {
+        this.httpStatus = httpStatus;
+        try {
+            responseChannel.write(ByteBuffer.wrap(header), ByteBuffer.wrap(body));
+        } catch (IOException e) {
+            keepAlive = false;
+            printErrorLog(logPath, e);
+        }
+    }
+
+    /**
+     * 클라이언트의 파일이 최신이므로, 바디 없이 검증자만 담은 304 응답을 보냅니다.
+     * 304 응답도 200 응답과 같은 Vary 헤더를 가져야 중간 캐시가 압축 여부가 다른 응답을 구분합니다.
+     *
+     * @param vary 응답이 Accept-Encoding 헤더에 따라 달라지는지 여부
+     */
+    public void sendNotModified(FileValidator fileValidator, boolean vary, String logPath) {
+        httpStatus = HttpStatus.CODE_304;
+        HttpResponseHandler httpResponseHandler = new HttpResponseHandler();
+        httpResponseHandler.setStatus(HttpStatus.CODE_304);
+        httpResponseHandler.removeHeaderData(HttpHeaderType.CONTENT_TYPE);
+        setValidatorHeaderData(httpResponseHandler, fileValidator);
+        if (vary) {
+            httpResponseHandler.setHeaderData(HttpHeaderType.VARY, HttpHeaderType.ACCEPT_ENCODING.getText());
+        }
+        httpResponseHandler.setHeaderData(HttpHeaderType.CONNECTION, keepAlive ? "keep-alive" : "close");
+        writeAndRelease(httpResponseHandler, logPath, httpResponseHandler.encodeHeader());
+    }
+
+    /**
+     * 서블릿이 flush 하거나 바디가 커지면, 서블릿이 끝나기 전에 chunked 방식으로 바로 출력하도록 합니다.
+     * chunked 방식을 지원하는 HTTP/1.1 요청에만 사용해야 하며, 스트리밍한 응답은 압축하지 않습니다.
+     * 응답은 서블릿이 끝난 후 {@link #send(HttpResponseHandler, ContentEncoding, boolean, String)}로 마쳐야 합니다.
+     */
+    public void enableStreaming(HttpResponseHandler httpResponse) {
+        httpResponse.setHeaderData(HttpHeaderType.CONNECTION, keepAlive ? "keep-alive" : "close");
+        httpResponse.enableStreaming(responseChannel);
+    }
+
+    /**
+     * 서블릿이 구성한 응답을 출력합니다. 압축 방식이 주어지면 바디를 압축하여 출력합니다.
+     *
+     * @param vary 응답이 Accept-Encoding 헤더에 따라 달라지는지 여부
+     */
+    public void send(HttpResponseHandler httpResponse, ContentEncoding contentEncodingOrNull, boolean vary, String logPath) {
+        httpStatus = httpResponse.getStatus();
+
+        // 스트리밍을 시작했다면, 압축하지 않고 남은 바디를 출력하여 마칩니다.
+        if (httpResponse.isCommitted()) {
+            try {
+                httpResponse.finishStreaming();
+            } catch (IOException e) {
+                keepAlive = false;
+                printErrorLog(logPath, e);
+            }
+            return;
+        }
+
+        if (vary) {
+            httpResponse.setHeaderData(HttpHeaderType.VARY, HttpHeaderType.ACCEPT_ENCODING.getText());
+        }
+        httpResponse.setHeaderData(HttpHeaderType.CONNECTION, keepAlive ? "keep-alive" : "close");
+
+        // 압축하지 않는다면, 바디가 작성된 버퍼를 복사하지 않고 그대로 출력합니다.
+        if (contentEncodingOrNull == null) {
+            writeAndRelease(httpResponse, logPath, httpResponse.toByteBuffers());
+            return;
+        }
+
+        byte[] body = contentEncodingOrNull.encode(httpResponse.getBodyBytes());
+        httpResponse.setHeaderData(HttpHeaderType.CONTENT_ENCODING, contentEncodingOrNull.getText());
+        httpResponse.setHeaderData(HttpHeaderType.CONTENT_LENGTH, Integer.toString(body.length));
+        writeAndRelease(httpResponse, logPath, httpResponse.encodeHeader(), ByteBuffer.wrap(body));
+    }
+
+    /**
+     * 응답 데이터를 출력하고, 모두 전송되었다면 버퍼를 풀에 돌려줍니다.
+     * 소켓 버퍼가 가득 차 전송이 끝나지 않은 버퍼는 연결이 계속 참조하므로, 돌려주지 않고 GC 에 맡깁니다.
+     */
+    private void writeAndRelease(HttpResponseHandler httpResponse, String logPath, ByteBuffer... byteBuffers) {
+        try {
+            responseChannel.write(byteBuffers);
         } catch (IOException e) {
+            keepAlive = false;
             printErrorLog(logPath, e);
+            return;
+        }
+
+        for (ByteBuffer byteBuffer : byteBuffers) {
+            if (byteBuffer.hasRemaining()) {
+                return;
+            }
+        }
+        httpResponse.release();
+    }
+
+    /**
+     * 미리 구성해 둔 503 응답을 보냅니다.
+     * 서버가 포화 상태일 때 요청을 처리하지 않고 빠르게 거절하기 위해 사용하며, 응답 후 연결을 닫아야 합니다.
+     */
+    public static void sendServiceUnavailable(HttpResponseChannel responseChannel) throws IOException {
+        responseChannel.write(ByteBuffer.wrap(SERVICE_UNAVAILABLE_RESPONSE));
+    }
+
+    /** 파일 응답의 응답 라인과 헤더(빈 라인 포함)를 인코딩합니다. */
+    public static byte[] encodeFileHeader(HttpStatus httpStatus, String contentType, long contentLength, FileValidator fileValidatorOrNull,
+                                          ContentEncoding contentEncodingOrNull, boolean vary, boolean keepAlive) {
+        return createFileHeader(httpStatus, contentType, contentLength, fileValidatorOrNull, contentEncodingOrNull, vary, keepAlive)
+                .toHeaderString()
+                .getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /** 압축하지 않은 정상 파일 응답은 구간 요청을 받을 수 있음을 Accept-Ranges 헤더로 알립니다. */
+    private static HttpResponseHandler createFileHeader(HttpStatus httpStatus, String contentType, long contentLength, FileValidator fileValidatorOrNull,
+                                                        ContentEncoding contentEncodingOrNull, boolean vary, boolean keepAlive) {
+        HttpResponseHandler httpResponseHandler = new HttpResponseHandler();
+        httpResponseHandler.setStatus(httpStatus);
+        httpResponseHandler.setHeaderData(HttpHeaderType.CONTENT_TYPE, contentType);
+        if (fileValidatorOrNull != null) {
+            setValidatorHeaderData(httpResponseHandler, fileValidatorOrNull);
+        }
+        if (contentEncodingOrNull != null) {
+            httpResponseHandler.setHeaderData(HttpHeaderType.CONTENT_ENCODING, contentEncodingOrNull.getText());
+        }
+        if (vary) {
+            httpResponseHandler.setHeaderData(HttpHeaderType.VARY, HttpHeaderType.ACCEPT_ENCODING.getText());
+        }
+        if (contentEncodingOrNull == null && (httpStatus == HttpStatus.CODE_200 || httpStatus == HttpStatus.CODE_206)) {
+            httpResponseHandler.setHeaderData(HttpHeaderType.ACCEPT_RANGES, "bytes");
+        }
+        httpResponseHandler.setHeaderData(HttpHeaderType.CONTENT_LENGTH, Long.toString(contentLength));
+        httpResponseHandler.setHeaderData(HttpHeaderType.CONNECTION, keepAlive ? "keep-alive" : "close");
+        return httpResponseHandler;
+    }
+
+    private static void setValidatorHeaderData(HttpResponseHandler httpResponseHandler, FileValidator fileValidator) {
+        httpResponseHandler.setHeaderData(HttpHeaderType.LAST_MODIFIED, fileValidator.getLastModified());
+        httpResponseHandler.setHeaderData(HttpHeaderType.ETAG, fileValidator.getETag());
+    }
+
+    private static byte[] createServiceUnavailableResponse() {
+        HttpResponseHandler httpResponseHandler = new HttpResponseHandler();
+        httpResponseHandler.setStatus(HttpStatus.CODE_503);
+        httpResponseHandler.setHeaderData(HttpHeaderType.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        httpResponseHandler.setHeaderData(HttpHeaderType.CONNECTION, "close");
+        try {
+            httpResponseHandler.writeBasicHTMLPage();
+        } catch (IOException e) {
+            // 메모리에 작성하므로 발생하지 않습니다.
+            throw new IllegalStateException(e);
+        }
+
+        byte[] body = httpResponseHandler.getBodyBytes();
+        httpResponseHandler.setHeaderData(HttpHeaderType.CONTENT_LENGTH, Integer.toString(body.length));
+        byte[] header = httpResponseHandler.toHeaderString().getBytes(StandardCharsets.ISO_8859_1);
+        byte[] response = new byte[header.length + body.length];
+        System.arraycopy(header, 0, response, 0, header.length);
+        System.arraycopy(body, 0, response, header.length, body.length);
+        return response;
+    }
+
+    private static Map<HttpStatus, PreparedResponse> createBasicHTMLPageMap() {
+        Map<HttpStatus, PreparedResponse> basicHTMLPageMap = new EnumMap<>(HttpStatus.class);
+        for (HttpStatus httpStatus : HttpStatus.values()) {
+            basicHTMLPageMap.put(httpStatus, PreparedResponse.ofBasicHTMLPage(httpStatus));
+        }
+        return basicHTMLPageMap;
+    }
+
+    private static void closeQuietly(FileChannel fileChannel) {
+        try {
+            fileChannel.close();
+        } catch (IOException ignore) {
+            // 읽기 전용으로 연 채널이므로, 닫지 못해도 처리할 작업이 없습니다.
         }
     }
 
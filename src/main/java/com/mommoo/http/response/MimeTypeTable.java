@@ -0,0 +1,99 @@
+package com.mommoo.http.response;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 파일 확장자로 응답의 Content-Type 을 찾는 테이블 입니다.
+ *
+ * 기본 확장자 매핑에 server.json 의 mimeTypes 매핑을 덮어써서, 서버 구동 시 변경 불가능한 테이블로 구성합니다.
+ * 텍스트 타입은 파일의 문자 인코딩을 알 수 있도록, 설정된 charset 을 붙인 Content-Type 을 미리 구성해 둡니다. ex) text/css; charset=UTF-8
+ * 매핑에 charset 등의 파라미터가 이미 있다면, 그대로 사용합니다.
+ *
+ * 매핑이 없는 확장자는 {@link #DEFAULT_CONTENT_TYPE}으로 응답합니다.
+ *
+ * @author mommoo
+ */
+public class MimeTypeTable {
+    public static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private static final String[][] DEFAULT_MIME_TYPES = {
+            {"html", "text/html"}, {"htm", "text/html"}, {"css", "text/css"}, {"txt", "text/plain"},
+            {"csv", "text/csv"}, {"md", "text/markdown"}, {"xml", "application/xml"},
+            {"js", "text/javascript"}, {"mjs", "text/javascript"}, {"json", "application/json"}, {"map", "application/json"},
+            {"svg", "image/svg+xml"}, {"png", "image/png"}, {"jpg", "image/jpeg"}, {"jpeg", "image/jpeg"},
+            {"gif", "image/gif"}, {"webp", "image/webp"}, {"avif", "image/avif"}, {"bmp", "image/bmp"}, {"ico", "image/x-icon"},
+            {"woff", "font/woff"}, {"woff2", "font/woff2"}, {"ttf", "font/ttf"}, {"otf", "font/otf"},
+            {"mp4", "video/mp4"}, {"webm", "video/webm"}, {"mp3", "audio/mpeg"}, {"ogg", "audio/ogg"}, {"wav", "audio/wav"},
+            {"pdf", "application/pdf"}, {"zip", "application/zip"}, {"gz", "application/gzip"},
+            {"tar", "application/x-tar"}, {"wasm", "application/wasm"}
+    };
+
+    /** 기본 매핑과 UTF-8 을 사용하는 테이블 입니다. */
+    public static final MimeTypeTable DEFAULT = new MimeTypeTable(Collections.emptyMap(), StandardCharsets.UTF_8);
+
+    private final Map<String, String> contentTypeMap;
+
+    /**
+     * @param customMimeTypes 확장자(점 제외)와 MIME 타입의 매핑, 기본 매핑보다 우선합니다.
+     * @param charset 텍스트 타입에 붙일 문자 인코딩
+     */
+    public MimeTypeTable(Map<String, String> customMimeTypes, Charset charset) {
+        Map<String, String> mimeTypeMap = new HashMap<>();
+        for (String[] defaultMimeType : DEFAULT_MIME_TYPES) {
+            mimeTypeMap.put(defaultMimeType[0], defaultMimeType[1]);
+        }
+        for (Map.Entry<String, String> customMimeType : customMimeTypes.entrySet()) {
+            mimeTypeMap.put(customMimeType.getKey().toLowerCase(Locale.ROOT), customMimeType.getValue());
+        }
+
+        Map<String, String> contentTypeMap = new HashMap<>();
+        for (Map.Entry<String, String> mimeType : mimeTypeMap.entrySet()) {
+            contentTypeMap.put(mimeType.getKey(), toContentType(mimeType.getValue(), charset));
+        }
+        this.contentTypeMap = Collections.unmodifiableMap(contentTypeMap);
+    }
+
+    /** @return 파일 이름의 확장자에 맞는 Content-Type, 매핑이 없다면 {@link #DEFAULT_CONTENT_TYPE} */
+    public String getContentType(Path filePath) {
+        Path fileName = filePath.getFileName();
+        return fileName == null ? DEFAULT_CONTENT_TYPE : getContentType(fileName.toString());
+    }
+
+    public String getContentType(String fileName) {
+        int extensionIndex = fileName.lastIndexOf('.');
+        if (extensionIndex == -1) {
+            return DEFAULT_CONTENT_TYPE;
+        }
+
+        String extension = fileName.substring(extensionIndex + 1);
+        String contentType = contentTypeMap.get(extension);
+        if (contentType == null) {
+            contentType = contentTypeMap.get(extension.toLowerCase(Locale.ROOT));
+        }
+        return contentType == null ? DEFAULT_CONTENT_TYPE : contentType;
+    }
+
+    /** 문자 인코딩이 의미있는 텍스트 타입인지 여부 입니다. */
+    public static boolean isTextType(String mimeType) {
+        String lowerCaseMimeType = mimeType.toLowerCase(Locale.ROOT);
+        return lowerCaseMimeType.startsWith("text/")
+                || lowerCaseMimeType.endsWith("+xml")
+                || lowerCaseMimeType.endsWith("+json")
+                || lowerCaseMimeType.equals("application/javascript")
+                || lowerCaseMimeType.equals("application/json")
+                || lowerCaseMimeType.equals("application/xml");
+    }
+
+    private static String toContentType(String mimeType, Charset charset) {
+        if (mimeType.indexOf(';') != -1 || !isTextType(mimeType)) {
+            return mimeType;
+        }
+        return mimeType + "; charset=" + charset.name();
+    }
+}
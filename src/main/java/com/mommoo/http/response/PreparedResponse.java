@@ -0,0 +1,67 @@
+package com.mommoo.http.response;
+
+import com.mommoo.http.HttpHeaderType;
+import com.mommoo.http.HttpStatus;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 응답 라인, 헤더, 바디를 모두 미리 인코딩해 둔 변경 불가능한 응답 입니다.
+ *
+ * 에러 페이지처럼 내용이 바뀌지 않는 응답을 요청마다 다시 구성하지 않고, 한번의 출력으로 보내기 위해 사용합니다.
+ * Connection 헤더는 연결 유지 여부에 따라 다르므로, keep-alive 와 close 두 가지 응답을 보관합니다.
+ *
+ * @author mommoo
+ */
+public class PreparedResponse {
+    private final HttpStatus httpStatus;
+    private final byte[] keepAliveResponse;
+    private final byte[] closeResponse;
+
+    private PreparedResponse(HttpStatus httpStatus, byte[] body) {
+        this.httpStatus = httpStatus;
+        this.keepAliveResponse = encode(httpStatus, body, true);
+        this.closeResponse = encode(httpStatus, body, false);
+    }
+
+    /** HTML 바디로 응답을 구성합니다. */
+    public static PreparedResponse of(HttpStatus httpStatus, byte[] htmlBody) {
+        return new PreparedResponse(httpStatus, htmlBody);
+    }
+
+    /** 서버가 자체적으로 구성하는 HTML 페이지로 응답을 구성합니다. {@link HttpResponseHandler#writeBasicHTMLPage()} */
+    public static PreparedResponse ofBasicHTMLPage(HttpStatus httpStatus) {
+        HttpResponseHandler httpResponseHandler = new HttpResponseHandler();
+        httpResponseHandler.setStatus(httpStatus);
+        try {
+            httpResponseHandler.writeBasicHTMLPage();
+        } catch (IOException e) {
+            // 메모리에 작성하므로 발생하지 않습니다.
+            throw new IllegalStateException(e);
+        }
+        return new PreparedResponse(httpStatus, httpResponseHandler.getBodyBytes());
+    }
+
+    public HttpStatus getHttpStatus() {
+        return httpStatus;
+    }
+
+    /** 여러 스레드가 같이 사용하므로, 반환된 배열을 변경하면 안됩니다. */
+    public byte[] getBytes(boolean keepAlive) {
+        return keepAlive ? keepAliveResponse : closeResponse;
+    }
+
+    private static byte[] encode(HttpStatus httpStatus, byte[] body, boolean keepAlive) {
+        HttpResponseHandler httpResponseHandler = new HttpResponseHandler();
+        httpResponseHandler.setStatus(httpStatus);
+        httpResponseHandler.setHeaderData(HttpHeaderType.CONTENT_LENGTH, Integer.toString(body.length));
+        httpResponseHandler.setHeaderData(HttpHeaderType.CONNECTION, keepAlive ? "keep-alive" : "close");
+
+        byte[] header = httpResponseHandler.toHeaderString().getBytes(StandardCharsets.ISO_8859_1);
+        byte[] response = new byte[header.length + body.length];
+        System.arraycopy(header, 0, response, 0, header.length);
+        System.arraycopy(body, 0, response, header.length, body.length);
+        return response;
+    }
+}
@@ -0,0 +1,227 @@
+package com.mommoo.log;
+
+import com.mommoo.http.HttpMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 요청마다 한 줄의 접근 로그를, 요청 스레드와 분리된 스레드 하나에서 기록하는 클래스 입니다.
+ *
+ * 요청 스레드는 파일에 쓰거나 잠금을 기다리지 않고, 미리 만들어 둔 링 버퍼의 칸({@link AccessLogRecord})에 값을 채워 넣기만 합니다.
+ * 기록 스레드는 채워진 칸을 순서대로 모아, 로그 경로({@link com.mommoo.conf.ServerSpec}의 logPath) 별 파일({@link AccessLogFile})에 기록한 뒤
+ * 한번에 flush 합니다.
+ *
+ * 링 버퍼는 잠금 없이 동작합니다.
+ *  1. 요청 스레드는 CAS 로 다음 순번(sequence)을 얻어 칸을 차지하고, 값을 채운 뒤 그 칸의 순번을 게시합니다.
+ *  2. 기록 스레드는 읽을 순번이 게시된 칸까지만 읽으며, 읽은 칸 만큼 요청 스레드가 다시 사용할 수 있습니다.
+ *
+ * 기록하는 속도보다 요청이 빨라 링 버퍼가 가득 차면, 요청을 기다리게 하지 않고 로그를 버립니다. {@link #getDroppedCount()}
+ *
+ * @author mommoo
+ */
+public class AccessLog {
+    private static final Logger logger = LoggerFactory.getLogger(AccessLog.class);
+
+    /** 기록할 로그가 없을 때 기다리는 시간 입니다. 이 시간 동안 쌓인 로그를 한번에 기록합니다. */
+    private static final long IDLE_PARK_NANOS = 10_000_000;
+
+    private final String errorLogPath;
+    private final AccessLogRecord[] records;
+    /** 각 칸에 마지막으로 게시된 순번 입니다. */
+    private final AtomicLongArray publishedSequences;
+    private final int mask;
+
+    /** 요청 스레드가 차지할 다음 순번 입니다. */
+    private final AtomicLong claimSequence = new AtomicLong();
+    /** 기록 스레드가 읽을 다음 순번 입니다. 이보다 작은 순번의 칸은 다시 사용할 수 있습니다. */
+    private volatile long readSequence;
+    private final LongAdder droppedCount = new LongAdder();
+
+    /** 기록 스레드만 사용합니다. */
+    private final Map<String, AccessLogFile> accessLogFileMap = new HashMap<>();
+    private final List<AccessLogFile> writtenFileList = new ArrayList<>();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    /**
+     * @param bufferSize 링 버퍼의 칸 수, 2의 거듭제곱으로 올림합니다.
+     * @param errorLogPath 접근 로그를 기록하지 못했을 때, 에러를 기록할 로그 경로
+     */
+    public AccessLog(int bufferSize, String errorLogPath) {
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize) - 1) << 1;
+
+        this.errorLogPath = errorLogPath;
+        this.records = new AccessLogRecord[capacity];
+        this.publishedSequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+
+        for (int index = 0; index < capacity; index++) {
+            records[index] = new AccessLogRecord();
+            publishedSequences.set(index, -1);
+        }
+    }
+
+    /** 기록 스레드를 시작합니다. */
+    public synchronized void start() {
+        if (writerThread != null) {
+            return;
+        }
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "access-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * 접근 로그 하나를 링 버퍼에 넣습니다. 요청 스레드에서 호출하며, 기다리지 않고 반환합니다.
+     * 전달한 문자열은 변경되지 않는 값이어야 합니다.
+     *
+     * @param statusCode 응답한 상태 코드, 응답하지 못했다면 0
+     * @return 링 버퍼에 넣었는지 여부, 가득 찼다면 로그를 버리고 false
+     */
+    public boolean publish(String logPath, InetAddress clientAddressOrNull, HttpMethod httpMethod, String URI, String schema,
+                           int statusCode, long elapsedNanos) {
+        long sequence;
+        do {
+            sequence = claimSequence.get();
+            if (sequence - readSequence >= records.length) {
+                droppedCount.increment();
+                return false;
+            }
+        } while (!claimSequence.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) sequence & mask;
+        AccessLogRecord record = records[index];
+        record.logPath = logPath;
+        record.timeMillis = System.currentTimeMillis();
+        record.clientAddress = clientAddressOrNull;
+        record.httpMethod = httpMethod;
+        record.URI = URI;
+        record.schema = schema;
+        record.statusCode = statusCode;
+        record.elapsedNanos = elapsedNanos;
+
+        // 값을 모두 채운 뒤에 게시하여, 기록 스레드가 채워진 값을 읽도록 합니다.
+        publishedSequences.lazySet(index, sequence);
+        return true;
+    }
+
+    /** 링 버퍼가 가득 차 버린 로그의 수 입니다. */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /** 링 버퍼에 남은 로그를 모두 기록한 뒤, 기록 스레드를 종료합니다. */
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            thread = writerThread;
+            running = false;
+        }
+        if (thread == null) {
+            return;
+        }
+
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            // 종료 여부를 먼저 확인하여, 종료 전에 게시된 로그까지 기록하도록 합니다.
+            boolean stopping = !running;
+            if (drain() == 0) {
+                if (stopping) {
+                    break;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+
+        for (AccessLogFile accessLogFile : accessLogFileMap.values()) {
+            try {
+                accessLogFile.close();
+            } catch (IOException e) {
+                printErrorLog(e);
+            }
+        }
+    }
+
+    /** @return 기록한 로그의 수 */
+    private int drain() {
+        long sequence = readSequence;
+        int count = 0;
+
+        while (publishedSequences.get((int) sequence & mask) == sequence) {
+            AccessLogRecord record = records[(int) sequence & mask];
+            write(record);
+            record.clear();
+
+            sequence++;
+            count++;
+
+            // 기록하는 동안에도 요청 스레드가 칸을 다시 사용할 수 있도록, 읽은 순번을 중간에 알립니다.
+            if ((count & 0xFF) == 0) {
+                readSequence = sequence;
+            }
+        }
+        readSequence = sequence;
+
+        for (AccessLogFile accessLogFile : writtenFileList) {
+            try {
+                accessLogFile.flush();
+            } catch (IOException e) {
+                closeQuietly(accessLogFile);
+                printErrorLog(e);
+            }
+        }
+        writtenFileList.clear();
+
+        return count;
+    }
+
+    private void write(AccessLogRecord record) {
+        AccessLogFile accessLogFile = accessLogFileMap.computeIfAbsent(record.logPath, AccessLogFile::new);
+        try {
+            accessLogFile.write(record);
+            if (!writtenFileList.contains(accessLogFile)) {
+                writtenFileList.add(accessLogFile);
+            }
+        } catch (IOException e) {
+            // 파일을 다시 열어 다음 로그를 기록하도록, 파일을 닫습니다.
+            closeQuietly(accessLogFile);
+            printErrorLog(e);
+        }
+    }
+
+    private void closeQuietly(AccessLogFile accessLogFile) {
+        try {
+            accessLogFile.close();
+        } catch (IOException ignore) {
+            // 다음 로그를 기록할 때 다시 엽니다.
+        }
+    }
+
+    private void printErrorLog(IOException e) {
+        MDC.put("logPath", errorLogPath);
+        logger.error("접근 로그를 기록하지 못했습니다.", e);
+    }
+}
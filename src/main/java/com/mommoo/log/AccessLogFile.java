@@ -0,0 +1,97 @@
+package com.mommoo.log;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 로그 경로 하나의 접근 로그 파일 입니다. {@link AccessLog}의 기록 스레드만 사용합니다.
+ *
+ * 서버 로그와 같이 일자 별로 파일을 나누며, 파일 이름은 logPath/access-yyyy-MM-dd.log 입니다.
+ * 기록한 시각의 일자가 바뀌면 다음 일자의 파일로 교체합니다.
+ *
+ * 기록 형식은 다음과 같습니다.
+ *  2020-01-01 12:00:00 127.0.0.1 "GET /index.html HTTP/1.1" 200 153us
+ *
+ * @author mommoo
+ */
+class AccessLogFile {
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final ZoneId ZONE_ID = ZoneId.systemDefault();
+
+    private final Path logDirectory;
+    private Writer writer;
+    private long nextDayMillis = Long.MIN_VALUE;
+
+    /** 같은 초에 기록한 로그는 시각 문자열을 다시 만들지 않습니다. */
+    private long formattedSecond = Long.MIN_VALUE;
+    private String formattedTime;
+
+    AccessLogFile(String logPath) {
+        this.logDirectory = Paths.get(logPath);
+    }
+
+    void write(AccessLogRecord record) throws IOException {
+        if (writer == null || record.timeMillis >= nextDayMillis) {
+            open(record.timeMillis);
+        }
+
+        writer.write(formatTime(record.timeMillis));
+        writer.write(' ');
+        writer.write(record.clientAddress == null ? "-" : record.clientAddress.getHostAddress());
+        writer.write(" \"");
+        writer.write(record.httpMethod == null ? "-" : record.httpMethod.name());
+        writer.write(' ');
+        writer.write(record.URI);
+        writer.write(' ');
+        writer.write(record.schema);
+        writer.write("\" ");
+        writer.write(record.statusCode == 0 ? "-" : Integer.toString(record.statusCode));
+        writer.write(' ');
+        writer.write(Long.toString(record.elapsedNanos / 1000));
+        writer.write("us\n");
+    }
+
+    void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /** 파일을 닫습니다. 다음에 기록할 때 다시 엽니다. */
+    void close() throws IOException {
+        if (writer != null) {
+            Writer closingWriter = writer;
+            writer = null;
+            closingWriter.close();
+        }
+    }
+
+    private void open(long timeMillis) throws IOException {
+        close();
+
+        LocalDate date = Instant.ofEpochMilli(timeMillis).atZone(ZONE_ID).toLocalDate();
+        Files.createDirectories(logDirectory);
+        writer = Files.newBufferedWriter(logDirectory.resolve("access-" + date + ".log"), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        nextDayMillis = date.plusDays(1).atStartOfDay(ZONE_ID).toInstant().toEpochMilli();
+    }
+
+    private String formatTime(long timeMillis) {
+        long second = timeMillis / 1000;
+        if (second != formattedSecond) {
+            formattedSecond = second;
+            formattedTime = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), ZONE_ID).format(TIME_FORMATTER);
+        }
+        return formattedTime;
+    }
+}
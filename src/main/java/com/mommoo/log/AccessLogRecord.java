@@ -0,0 +1,33 @@
+package com.mommoo.log;
+
+import com.mommoo.http.HttpMethod;
+
+import java.net.InetAddress;
+
+/**
+ * {@link AccessLog}의 링 버퍼 한 칸 입니다. 요청 하나의 접근 로그를 고정된 필드로 보관합니다.
+ *
+ * 요청마다 객체를 만들지 않도록 링 버퍼가 미리 만들어 다시 사용하며, 요청이 이미 가진 값의 참조만 보관합니다.
+ * 문자열로 만드는 작업은 기록 스레드가 합니다.
+ *
+ * @author mommoo
+ */
+class AccessLogRecord {
+    String logPath;
+    long timeMillis;
+    InetAddress clientAddress;
+    HttpMethod httpMethod;
+    String URI;
+    String schema;
+    int statusCode;
+    long elapsedNanos;
+
+    /** 기록을 마친 칸이 요청의 값을 계속 참조하지 않도록 비웁니다. */
+    void clear() {
+        logPath = null;
+        clientAddress = null;
+        httpMethod = null;
+        URI = null;
+        schema = null;
+    }
+}
@@ -0,0 +1,131 @@
+package com.mommoo.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 걸린 시간(ns)의 분포를 잠금 없이 기록하는 히스토그램 입니다.
+ *
+ * HdrHistogram 과 같이 2의 거듭제곱 구간마다 같은 수의 하위 구간을 두어, 값의 크기와 상관없이 오차가 1/16(약 6%) 이내 입니다.
+ *  - 32ns 보다 작은 값은 1ns 단위로 기록합니다.
+ *  - [2^n, 2^(n+1)) 구간은 16개의 하위 구간으로 나누어 기록합니다.
+ *  - 약 18분(2^40 ns) 보다 긴 값은 가장 큰 구간에 기록합니다.
+ *
+ * 기록은 구간 계산과 원자적 덧셈만 하며, 객체를 만들지 않습니다.
+ * 백분위 수는 조회할 때 모든 구간을 한번 훑어 계산합니다. {@link #snapshot()}
+ *
+ * @author mommoo
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+    private static final int MAX_VALUE_BITS = 40;
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 2) * SUB_BUCKET_HALF_COUNT;
+
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long elapsedNanos) {
+        long value = Math.max(0, Math.min(elapsedNanos, MAX_VALUE));
+
+        bucketCounts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        totalNanos.add(value);
+
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /** 지금까지 기록한 분포를 복사합니다. 복사하는 동안 기록된 값은 일부만 반영될 수 있습니다. */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            counts[index] = bucketCounts.get(index);
+            count += counts[index];
+        }
+        return new Snapshot(counts, count, totalNanos.sum(), maxNanos.get());
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << (SUB_BUCKET_BITS - 1)) + (int) (value >> shift);
+    }
+
+    /** 구간에 속하는 가장 큰 값 입니다. */
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int shift = (index >> (SUB_BUCKET_BITS - 1)) - 1;
+        long subBucket = index - ((long) shift << (SUB_BUCKET_BITS - 1));
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /** 한 시점의 분포 입니다. 값의 단위는 ns 입니다. */
+    public static class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        private Snapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public long getMeanNanos() {
+            return count == 0 ? 0 : totalNanos / count;
+        }
+
+        /**
+         * @param percentile 0 ~ 100 사이의 백분위
+         * @return 기록한 값 중 percentile 만큼이 이 값 이하 입니다. 기록한 값이 없다면 0
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+
+            long targetCount = Math.max(1, (long) Math.ceil(count * percentile / 100));
+            long accumulatedCount = 0;
+            for (int index = 0; index < counts.length; index++) {
+                accumulatedCount += counts[index];
+                if (accumulatedCount >= targetCount) {
+                    return Math.min(highestValueOf(index), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+    }
+}
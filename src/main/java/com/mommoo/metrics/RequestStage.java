@@ -0,0 +1,27 @@
+package com.mommoo.metrics;
+
+/**
+ * 요청 처리 과정의 단계를 정의한 Enum 클래스 입니다. {@link ServerMetrics}가 단계 별로 걸린 시간을 기록합니다.
+ *
+ *  1. {@link #QUEUE_WAIT} 작업이 워커 스레드를 기다린 시간. (Connector)
+ *  2. {@link #PARSE} 요청 메시지를 분석한 시간, 소켓에서 데이터를 기다린 시간은 제외합니다. (Connector)
+ *  3. {@link #RULE} 요청 검증 규칙을 검사한 시간. {@link com.mommoo.http.request.rule.HttpRequestRuleInspector}
+ *  4. {@link #FIND} 요청에 맞는 컨텐츠를 찾은 시간. {@link com.mommoo.contents.ServerContentsFinder}
+ *  5. {@link #SERVICE} 서블릿이 응답을 구성한 시간. {@link com.mommoo.servlet.SimpleServlet}
+ *  6. {@link #WRITE} 응답을 출력한 시간. {@link com.mommoo.http.response.HttpResponseSender}
+ *
+ * @author mommoo
+ */
+public enum RequestStage {
+    QUEUE_WAIT("queue_wait"), PARSE("parse"), RULE("rule"), FIND("find"), SERVICE("service"), WRITE("write");
+
+    private final String text;
+
+    private RequestStage(String text) {
+        this.text = text;
+    }
+
+    public String getText() {
+        return text;
+    }
+}
@@ -0,0 +1,207 @@
+package com.mommoo.metrics;
+
+import com.mommoo.conf.ServerSpec;
+import com.mommoo.http.HttpStatus;
+import org.json.simple.JSONValue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link com.mommoo.SimpleServer} 하나(포트 하나)의 요청 처리 시간을 기록하는 클래스 입니다.
+ *
+ * 다음 두 가지를 {@link ServerSpec} 마다 {@link LatencyHistogram}으로 기록합니다.
+ *  1. 요청 처리 단계({@link RequestStage}) 별로 걸린 시간.
+ *  2. 응답한 상태 코드 별로, 요청 하나를 처리하는 데 걸린 전체 시간. 기록한 수가 상태 코드 별 요청 수 입니다.
+ *
+ * 큐 대기와 요청 분석처럼 ServerSpec 을 알기 전의 단계와, 매칭되는 ServerSpec 이 없는 요청은 server 이름 없이("") 기록합니다.
+ *
+ * 히스토그램은 서버를 구동하기 전에 ServerSpec 마다 모두 만들어 두므로, 기록할 때는 객체를 만들지 않습니다.
+ * 기록한 결과는 Prometheus 텍스트 형식({@link #toPrometheusText()})과 JSON 형식({@link #toJSON()})으로 조회합니다.
+ *
+ * @author mommoo
+ */
+public class ServerMetrics {
+    private static final String METRIC_PREFIX = "simple_was_";
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"};
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.9", "0.99", "0.999"};
+    private static final RequestStage[] STAGES = RequestStage.values();
+    private static final HttpStatus[] STATUSES = HttpStatus.values();
+
+    private final int portNumber;
+    private final SpecMetrics unmatchedMetrics = new SpecMetrics("");
+    private final Map<ServerSpec, SpecMetrics> specMetricsMap = new LinkedHashMap<>();
+
+    public ServerMetrics(int portNumber) {
+        this.portNumber = portNumber;
+    }
+
+    /** 서버를 구동하기 전, ServerSpec 을 등록합니다. */
+    public void addServerSpec(ServerSpec serverSpec) {
+        specMetricsMap.putIfAbsent(serverSpec, new SpecMetrics(serverSpec.getServerName()));
+    }
+
+    /** @param serverSpecOrNull 단계를 처리한 ServerSpec, 알 수 없다면 null */
+    public void recordStage(ServerSpec serverSpecOrNull, RequestStage stage, long elapsedNanos) {
+        getSpecMetrics(serverSpecOrNull).stageHistograms[stage.ordinal()].record(elapsedNanos);
+    }
+
+    /**
+     * @param serverSpecOrNull 요청을 처리한 ServerSpec, 매칭되는 ServerSpec 이 없었다면 null
+     * @param httpStatusOrNull 응답한 상태 코드, 응답하지 못했다면 null
+     */
+    public void recordRequest(ServerSpec serverSpecOrNull, HttpStatus httpStatusOrNull, long elapsedNanos) {
+        SpecMetrics specMetrics = getSpecMetrics(serverSpecOrNull);
+        int statusIndex = httpStatusOrNull == null ? STATUSES.length : httpStatusOrNull.ordinal();
+        specMetrics.requestHistograms[statusIndex].record(elapsedNanos);
+    }
+
+    /**
+     * Prometheus 텍스트 형식(0.0.4)으로 기록한 결과를 구성합니다. 시간의 단위는 초 입니다.
+     * 단계와 요청 처리 시간은 백분위 수를 담은 summary 로 구성하며, 기록한 값이 없는 항목은 제외합니다.
+     * 수집기가 해석하는 응답이므로, 설명(HELP)은 영어로 작성합니다.
+     */
+    public String toPrometheusText() {
+        StringBuilder builder = new StringBuilder();
+
+        String stageMetric = METRIC_PREFIX + "stage_duration_seconds";
+        builder.append("# HELP ").append(stageMetric).append(" Time spent in each request processing stage\n");
+        builder.append("# TYPE ").append(stageMetric).append(" summary\n");
+        for (SpecMetrics specMetrics : getAllSpecMetrics()) {
+            for (RequestStage stage : STAGES) {
+                String labels = "port=\"" + portNumber + "\",server=\"" + escapeLabel(specMetrics.serverName)
+                        + "\",stage=\"" + stage.getText() + "\"";
+                appendPrometheusSummary(builder, stageMetric, labels, specMetrics.stageHistograms[stage.ordinal()].snapshot());
+            }
+        }
+
+        String requestMetric = METRIC_PREFIX + "request_duration_seconds";
+        builder.append("# HELP ").append(requestMetric).append(" Time spent handling a request, by response status\n");
+        builder.append("# TYPE ").append(requestMetric).append(" summary\n");
+        for (SpecMetrics specMetrics : getAllSpecMetrics()) {
+            for (int statusIndex = 0; statusIndex <= STATUSES.length; statusIndex++) {
+                String labels = "port=\"" + portNumber + "\",server=\"" + escapeLabel(specMetrics.serverName)
+                        + "\",status=\"" + getStatusText(statusIndex) + "\"";
+                appendPrometheusSummary(builder, requestMetric, labels, specMetrics.requestHistograms[statusIndex].snapshot());
+            }
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * JSON 형식으로 기록한 결과를 구성합니다. 시간의 단위는 μs 입니다.
+     *
+     *  {"port":8080, "servers":[{"server":"mommoo.com",
+     *    "stages":{"rule":{"count":1,"mean":3,"p50":3,"p90":3,"p99":3,"p999":3,"max":3}, ...},
+     *    "statuses":{"200":{...}, ...}}, ...]}
+     */
+    public String toJSON() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"port\":").append(portNumber).append(",\"servers\":[");
+
+        boolean firstSpec = true;
+        for (SpecMetrics specMetrics : getAllSpecMetrics()) {
+            if (!firstSpec) {
+                builder.append(',');
+            }
+            firstSpec = false;
+
+            builder.append("{\"server\":\"").append(JSONValue.escape(specMetrics.serverName)).append("\",\"stages\":{");
+            boolean firstEntry = true;
+            for (RequestStage stage : STAGES) {
+                firstEntry = appendJSONEntry(builder, firstEntry, stage.getText(), specMetrics.stageHistograms[stage.ordinal()].snapshot());
+            }
+
+            builder.append("},\"statuses\":{");
+            firstEntry = true;
+            for (int statusIndex = 0; statusIndex <= STATUSES.length; statusIndex++) {
+                firstEntry = appendJSONEntry(builder, firstEntry, getStatusText(statusIndex), specMetrics.requestHistograms[statusIndex].snapshot());
+            }
+            builder.append("}}");
+        }
+
+        return builder.append("]}").toString();
+    }
+
+    private SpecMetrics getSpecMetrics(ServerSpec serverSpecOrNull) {
+        SpecMetrics specMetrics = serverSpecOrNull == null ? null : specMetricsMap.get(serverSpecOrNull);
+        return specMetrics == null ? unmatchedMetrics : specMetrics;
+    }
+
+    /** server 이름이 없는 항목을 먼저 조회합니다. */
+    private List<SpecMetrics> getAllSpecMetrics() {
+        List<SpecMetrics> specMetricsList = new ArrayList<>(specMetricsMap.values());
+        specMetricsList.add(0, unmatchedMetrics);
+        return specMetricsList;
+    }
+
+    private static void appendPrometheusSummary(StringBuilder builder, String metric, String labels, LatencyHistogram.Snapshot snapshot) {
+        if (snapshot.getCount() == 0) {
+            return;
+        }
+
+        for (int index = 0; index < PERCENTILES.length; index++) {
+            builder.append(metric).append('{').append(labels).append(",quantile=\"").append(QUANTILE_LABELS[index]).append("\"} ")
+                    .append(toSeconds(snapshot.getValueAtPercentile(PERCENTILES[index]))).append('\n');
+        }
+        builder.append(metric).append("_sum{").append(labels).append("} ").append(toSeconds(snapshot.getTotalNanos())).append('\n');
+        builder.append(metric).append("_count{").append(labels).append("} ").append(snapshot.getCount()).append('\n');
+    }
+
+    /** @return 다음 항목이 첫 항목인지 여부 */
+    private static boolean appendJSONEntry(StringBuilder builder, boolean firstEntry, String name, LatencyHistogram.Snapshot snapshot) {
+        if (snapshot.getCount() == 0) {
+            return firstEntry;
+        }
+
+        if (!firstEntry) {
+            builder.append(',');
+        }
+        builder.append('"').append(name).append("\":{\"count\":").append(snapshot.getCount())
+                .append(",\"mean\":").append(toMicros(snapshot.getMeanNanos()));
+        for (int index = 0; index < PERCENTILES.length; index++) {
+            builder.append(",\"").append(PERCENTILE_NAMES[index]).append("\":").append(toMicros(snapshot.getValueAtPercentile(PERCENTILES[index])));
+        }
+        builder.append(",\"max\":").append(toMicros(snapshot.getMaxNanos())).append('}');
+        return false;
+    }
+
+    /** 응답하지 못한 요청은 "none" 으로 나타냅니다. */
+    private static String getStatusText(int statusIndex) {
+        return statusIndex == STATUSES.length ? "none" : Integer.toString(STATUSES[statusIndex].getCodeNum());
+    }
+
+    private static String toSeconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    private static long toMicros(long nanos) {
+        return nanos / 1000;
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /** ServerSpec 하나의 히스토그램 입니다. */
+    private static class SpecMetrics {
+        private final String serverName;
+        private final LatencyHistogram[] stageHistograms = new LatencyHistogram[STAGES.length];
+        /** 상태 코드 순서이며, 마지막은 응답하지 못한 요청 입니다. */
+        private final LatencyHistogram[] requestHistograms = new LatencyHistogram[STATUSES.length + 1];
+
+        private SpecMetrics(String serverName) {
+            this.serverName = serverName;
+            for (int index = 0; index < stageHistograms.length; index++) {
+                stageHistograms[index] = new LatencyHistogram();
+            }
+            for (int index = 0; index < requestHistograms.length; index++) {
+                requestHistograms[index] = new LatencyHistogram();
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.mommoo.servlet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 요청 URI 에 매핑되는 {@link SimpleServlet} 인스턴스를 보관하는 클래스 입니다.
+ *
+ * 서블릿은 서버가 구동될 때 한번만 생성하며, 요청 처리 중에는 리플렉션이나 예외 없이 Map 으로 바로 찾습니다.
+ * 생성된 인스턴스는 모든 요청이 같이 사용하므로, 서블릿은 상태를 가지지 않아야(Thread-safe) 합니다.
+ *
+ * 서블릿은 다음 두 가지 방법으로 등록됩니다.
+ *
+ *  1. classpath 의 META-INF/services/com.mommoo.servlet.SimpleServlet 에 기술된 클래스. ({@link ServiceLoader})
+ *     마지막 리소스 이름이 클래스 이름인 URI 로 찾습니다. ex) /com.mommoo.servlet.TimeStampPage
+ *  2. server.json 의 servletMapping 에 기술된 URI 와 클래스. {@link #register(String, String)}
+ *
+ * @author mommoo
+ */
+public class ServletRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(ServletRegistry.class);
+
+    private static final ServletRegistry INSTANCE = new ServletRegistry();
+
+    /** 클래스 이름으로 찾는 서블릿 입니다. */
+    private final Map<String, SimpleServlet> servletNameMap = new ConcurrentHashMap<>();
+    /** 설정 파일에 매핑된 URI 로 찾는 서블릿 입니다. */
+    private final Map<String, SimpleServlet> servletURIMap = new ConcurrentHashMap<>();
+
+    private ServletRegistry() {
+        Iterator<SimpleServlet> servletIterator = ServiceLoader.load(SimpleServlet.class).iterator();
+        while (true) {
+            try {
+                if (!servletIterator.hasNext()) {
+                    break;
+                }
+                SimpleServlet servlet = servletIterator.next();
+                servletNameMap.put(servlet.getClass().getName(), servlet);
+            } catch (ServiceConfigurationError e) {
+                // 생성할 수 없는 서블릿은 제외하고, 나머지 서블릿은 등록합니다.
+                logger.error("서블릿을 등록하지 못했습니다.", e);
+            }
+        }
+    }
+
+    public static ServletRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * URI 에 서블릿을 매핑합니다. 요청을 처리하기 전, 서버 구동 시에 호출해야 합니다.
+     * 이미 생성된 클래스라면 같은 인스턴스를 사용합니다.
+     *
+     * @throws ReflectiveOperationException 클래스를 찾을 수 없거나 생성할 수 없는 경우
+     * @throws ClassCastException 클래스가 {@link SimpleServlet}이 아닌 경우
+     */
+    public void register(String URI, String className) throws ReflectiveOperationException {
+        SimpleServlet servlet = servletNameMap.get(className);
+
+        if (servlet == null) {
+            servlet = Class.forName(className).asSubclass(SimpleServlet.class).getDeclaredConstructor().newInstance();
+            servletNameMap.put(className, servlet);
+        }
+
+        servletURIMap.put(URI, servlet);
+    }
+
+    /** {@link #register(String, String)}로 매핑한 URI 를 제거합니다. 생성된 서블릿 인스턴스는 그대로 보관합니다. */
+    public void unregister(String URI) {
+        servletURIMap.remove(URI);
+    }
+
+    /** @return URI 에 매핑되는 서블릿, 없다면 null */
+    public SimpleServlet findServletOrNull(String URI) {
+        SimpleServlet servlet = servletURIMap.get(URI);
+        if (servlet != null) {
+            return servlet;
+        }
+
+        String lastResourceName = URI.substring(URI.lastIndexOf("/") + 1);
+        return servletNameMap.get(lastResourceName);
+    }
+
+    public boolean isServletRequest(String URI) {
+        return findServletOrNull(URI) != null;
+    }
+}
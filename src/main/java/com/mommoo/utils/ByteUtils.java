@@ -0,0 +1,46 @@
+package com.mommoo.utils;
+
+/**
+ * 바이트 배열을 문자열로 만들지 않고 다루기 위한 유틸 클래스 입니다.
+ *
+ * HTTP 메시지의 메서드, 헤더 이름 등은 ASCII 이므로, 바이트 단위로 비교합니다.
+ *
+ * @author mommoo
+ */
+public class ByteUtils {
+    private ByteUtils() {
+
+    }
+
+    /**
+     * 바이트 배열의 구간이, 소문자로 구성된 ASCII 바이트 배열과 대소문자 구분없이 같은지 비교합니다.
+     *
+     * @param lowerCaseBytes 비교 대상, 반드시 소문자로 구성되어야 합니다.
+     */
+    public static boolean equalsIgnoreCase(byte[] lowerCaseBytes, byte[] bytes, int offset, int length) {
+        if (lowerCaseBytes.length != length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (toLowerCase(bytes[offset + i]) != lowerCaseBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static byte toLowerCase(byte b) {
+        return 'A' <= b && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    /** 구간 안에서 value 가 처음 나오는 인덱스를 찾습니다. 없다면 -1을 반환합니다. */
+    public static int indexOf(byte[] bytes, byte value, int fromIndex, int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
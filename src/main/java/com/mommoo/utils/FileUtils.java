@@ -4,13 +4,9 @@ import com.mommoo.conf.ServerSpec;
 
 import java.io.*;
 import java.net.URL;
-import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
-import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 
 public class FileUtils {
     private FileUtils(){
@@ -29,27 +25,6 @@ public class FileUtils {
         return file.getAbsolutePath();
     }
 
-    public static void copyFileToStream(Path path, OutputStream outputStream) throws IOException {
-        copyFileToWriter(path, new OutputStreamWriter(outputStream));
-    }
-
-    public static void copyFileToWriter(Path path, Writer writer) throws IOException {
-        int size = 2048;
-        BufferedWriter bufferedWriter = new BufferedWriter(writer, size);
-        ByteBuffer byteBuffer = ByteBuffer.allocate(size);
-        FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ);
-        Charset charset = Charset.forName("UTF-8");
-
-        while (fileChannel.read(byteBuffer) != -1) {
-            byteBuffer.flip();
-            bufferedWriter.write(charset.decode(byteBuffer).toString());
-            byteBuffer.clear();
-        }
-
-        bufferedWriter.flush();
-        fileChannel.close();
-    }
-
     public static Path getPathIfExist(String basicPath, String URI) {
         if (basicPath == null || URI == null) {
             return null;
@@ -1,10 +1,14 @@
 package com.mommoo.conf;
 
+import com.mommoo.connector.ConnectorType;
+import com.mommoo.connector.ExecutorType;
 import com.mommoo.utils.FileUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Map;
 
 /**
@@ -38,6 +42,27 @@ public class ServerConfigurationTest {
         // server.json 파일에 적힌 값을 하드 코딩으로 확인합니다.
         Assertions.assertEquals(serverConfiguration.getThreadCount(), 20);
         Assertions.assertEquals(serverConfiguration.getMainLogPath(), "log");
+        Assertions.assertEquals(serverConfiguration.getConnectorType(), ConnectorType.NIO);
+        Assertions.assertEquals(serverConfiguration.getExecutorType(), ExecutorType.VIRTUAL);
+        Assertions.assertEquals(serverConfiguration.getKeepAliveTimeout(), 3000);
+        Assertions.assertEquals(serverConfiguration.getMaxKeepAliveRequests(), 50);
+        Assertions.assertEquals(serverConfiguration.getReadTimeout(), 10000);
+        Assertions.assertEquals(serverConfiguration.getMaxQueueSize(), 64);
+        Assertions.assertEquals(serverConfiguration.getMaxQueueWait(), 2000);
+        Assertions.assertEquals(serverConfiguration.getMaxBodyMemorySize(), 1024);
+        Assertions.assertEquals(serverConfiguration.getContentCacheSize(), 1048576);
+        Assertions.assertEquals(serverConfiguration.getContentCacheMaxFileSize(), 16384);
+        Assertions.assertEquals(serverConfiguration.getMappedCacheSize(), 67108864);
+        Assertions.assertEquals(serverConfiguration.getMetadataCacheSize(), 512);
+        Assertions.assertEquals(serverConfiguration.getMetadataCacheTTL(), 1000);
+        Assertions.assertTrue(serverConfiguration.isDocumentIndexEnabled());
+        Assertions.assertEquals(serverConfiguration.getAccessLogBufferSize(), 1024);
+        Assertions.assertEquals(serverConfiguration.getMetricsURIOrNull(), "/server-metrics");
+        Assertions.assertEquals(serverConfiguration.getCompressionMinSize(), 256);
+        Assertions.assertEquals(serverConfiguration.getCompressionMimeTypes(), Arrays.asList("text/html", "text/css"));
+        Assertions.assertEquals(serverConfiguration.getCharset(), StandardCharsets.UTF_8);
+        Assertions.assertEquals(serverConfiguration.getMimeTypes().get("dat"), "application/x-simple-data");
+        Assertions.assertEquals(serverConfiguration.getServletMapping().get("/time"), "com.mommoo.servlet.TimeStampPage");
 
         for (ServerSpec serverSpec : serverConfiguration.getServerSpecs(1111)) {
             doServerSpecAssertEquals(serverSpec, 1);
@@ -0,0 +1,69 @@
+package com.mommoo.conf;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Host 로 알맞은 ServerSpec 을 찾는지 검증하는 테스트 클래스 입니다. {@link VirtualHostTable}
+ *
+ *  1. 호스트 이름을, 대소문자 및 포트번호 유무와 상관없이 찾으며, 다른 포트번호는 찾지 않는지 여부 테스트.
+ *  2. 하위 도메인 와일드카드 중 가장 길게 일치하는 ServerSpec 을 찾으며, 찾지 못하면 모든 경우를 매칭하는 ServerSpec 을 찾는지 여부 테스트.
+ */
+public class VirtualHostTableTest {
+    private static final int PORT_NUMBER = 6766;
+
+    @Test
+    @DisplayName("호스트 이름 검색 테스트")
+    public void testFindHost() {
+        ServerSpec mommoo = createServerSpec("mommoo.com");
+        ServerSpec duplicated = createServerSpec("Mommoo.com");
+
+        VirtualHostTable virtualHostTable = new VirtualHostTable(PORT_NUMBER);
+        virtualHostTable.add(mommoo);
+        virtualHostTable.add(duplicated);
+
+        Assertions.assertSame(virtualHostTable.findOrNull("mommoo.com"), mommoo);
+        Assertions.assertSame(virtualHostTable.findOrNull("MOMMOO.com:" + PORT_NUMBER), mommoo);
+
+        Assertions.assertNull(virtualHostTable.findOrNull("mommoo.com:8080"));
+        Assertions.assertNull(virtualHostTable.findOrNull("www.mommoo.com"));
+        Assertions.assertNull(virtualHostTable.findOrNull(null));
+    }
+
+    @Test
+    @DisplayName("와일드카드 및 모든 경우 매칭 검색 테스트")
+    public void testFindWildcard() {
+        ServerSpec mommoo = createServerSpec("mommoo.com");
+        ServerSpec anySubdomain = createServerSpec("*.mommoo.com");
+        ServerSpec anyBlogSubdomain = createServerSpec("*.blog.mommoo.com");
+        ServerSpec anyMatch = createServerSpec("*");
+
+        VirtualHostTable virtualHostTable = new VirtualHostTable(PORT_NUMBER);
+        virtualHostTable.add(mommoo);
+        virtualHostTable.add(anySubdomain);
+        virtualHostTable.add(anyBlogSubdomain);
+        virtualHostTable.add(anyMatch);
+
+        Assertions.assertSame(virtualHostTable.findOrNull("mommoo.com"), mommoo);
+        Assertions.assertSame(virtualHostTable.findOrNull("www.mommoo.com"), anySubdomain);
+        Assertions.assertSame(virtualHostTable.findOrNull("a.b.Mommoo.com:" + PORT_NUMBER), anySubdomain);
+        Assertions.assertSame(virtualHostTable.findOrNull("blog.mommoo.com"), anySubdomain);
+        Assertions.assertSame(virtualHostTable.findOrNull("dev.blog.mommoo.com"), anyBlogSubdomain);
+
+        // 와일드카드는 하위 도메인이 없는 이름이나, 다른 포트번호는 찾지 않습니다.
+        Assertions.assertSame(virtualHostTable.findOrNull("xmommoo.com"), anyMatch);
+        Assertions.assertSame(virtualHostTable.findOrNull("www.mommoo.com:8080"), anyMatch);
+        Assertions.assertSame(virtualHostTable.findOrNull("[::1]"), anyMatch);
+        Assertions.assertSame(virtualHostTable.findOrNull(null), anyMatch);
+    }
+
+    private static ServerSpec createServerSpec(String serverName) {
+        return new ServerSpecBuilder().setDocumentPath("/var/www")
+                .setLogPath("log")
+                .setIndexPage("index.html")
+                .setPortNumber(PORT_NUMBER)
+                .setServerName(serverName)
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.mommoo.connector;
+
+import com.mommoo.http.HttpStatus;
+import com.mommoo.http.response.HttpResponseSender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 블로킹 연결의 응답 채널이 전달한 버퍼를 모두 출력하는지 검증하는 테스트 클래스 입니다. {@link BlockingResponseChannel}
+ * 루프백 소켓으로 연결하여, 클라이언트가 실제로 받은 데이터를 비교합니다.
+ *
+ *  1. 바디가 0 byte 인 응답도 헤더를 출력하는지 여부 테스트. {@link #testEmptyBody()}
+ *  2. 비어있는 버퍼가 중간에 있어도 나머지 버퍼를 모두 출력하는지 여부 테스트. {@link #testEmptyBufferInTheMiddle()}
+ */
+public class BlockingResponseChannelTest {
+    private static final int READ_TIMEOUT_MILLIS = 3000;
+    private static final String HEADER = "HTTP/1.1 200 OK\r\nContent-Length: 0\r\nConnection: keep-alive\r\n\r\n";
+
+    private ServerSocketChannel serverSocketChannel;
+    private SocketChannel serverSideChannel;
+    private Socket client;
+
+    @BeforeEach
+    public void connect() throws IOException {
+        serverSocketChannel = ServerSocketChannel.open();
+        serverSocketChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+        client = new Socket();
+        client.setSoTimeout(READ_TIMEOUT_MILLIS);
+        client.connect(serverSocketChannel.getLocalAddress());
+        serverSideChannel = serverSocketChannel.accept();
+    }
+
+    @AfterEach
+    public void close() throws IOException {
+        client.close();
+        serverSideChannel.close();
+        serverSocketChannel.close();
+    }
+
+    @Test
+    @DisplayName("0 byte 바디 응답 출력 테스트")
+    public void testEmptyBody() throws IOException {
+        HttpResponseSender httpResponseSender = new HttpResponseSender(new BlockingResponseChannel(serverSideChannel));
+        httpResponseSender.send(HttpStatus.CODE_200, HEADER.getBytes(StandardCharsets.ISO_8859_1), new byte[0], "log");
+
+        Assertions.assertEquals(read(HEADER.length()), HEADER);
+    }
+
+    @Test
+    @DisplayName("중간에 비어있는 버퍼 출력 테스트")
+    public void testEmptyBufferInTheMiddle() throws IOException {
+        new BlockingResponseChannel(serverSideChannel).write(
+                ByteBuffer.wrap("head".getBytes(StandardCharsets.ISO_8859_1)),
+                ByteBuffer.allocate(0),
+                ByteBuffer.wrap("body".getBytes(StandardCharsets.ISO_8859_1)),
+                ByteBuffer.allocate(0));
+
+        Assertions.assertEquals(read(8), "headbody");
+    }
+
+    /** 출력되지 않았다면 응답 대기 시간이 지나 예외가 발생합니다. */
+    private String read(int length) throws IOException {
+        InputStream inputStream = client.getInputStream();
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            int readCount = inputStream.read(bytes, offset, length - offset);
+            if (readCount == -1) {
+                break;
+            }
+            offset += readCount;
+        }
+        return new String(bytes, 0, offset, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,127 @@
+package com.mommoo.contents;
+
+import com.mommoo.http.response.FileValidator;
+import com.mommoo.http.response.MimeTypeTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * documentPath 색인이 올바르게 구성되고 교체되는지 검증하는 테스트 클래스 입니다. {@link DocumentIndex}, {@link DocumentIndexer}
+ *
+ *  1. URI 경로로 색인한 파일을 찾으며, 디렉토리와 상위 경로(..)는 찾지 않는지 여부 테스트.
+ *  2. 색인한 파일의 Content-Type, 검증자, gzip 파일(.gz)을 올바르게 구성하는지 여부 테스트.
+ *  3. 파일이 변경되면, 새로운 색인으로 교체하며 이전 색인은 변경되지 않는지 여부 테스트.
+ */
+public class DocumentIndexTest {
+    private static final long WATCH_TIMEOUT = 10_000;
+
+    private Path documentPath;
+
+    @BeforeEach
+    public void createDocumentPath() throws IOException {
+        documentPath = Files.createTempDirectory("simple-was-index-");
+    }
+
+    @Test
+    @DisplayName("URI 경로 검색 테스트")
+    public void testFind() throws IOException {
+        Path index = createFile("index.html", 10);
+        Path style = createFile("css/style.css", 20);
+        createFile("css/deep/app.js", 30);
+
+        DocumentIndex documentIndex = DocumentIndex.build(documentPath, MimeTypeTable.DEFAULT);
+        Assertions.assertEquals(documentIndex.getFileCount(), 3);
+
+        Assertions.assertEquals(documentIndex.findOrNull("/index.html").getPath(), index);
+        Assertions.assertEquals(documentIndex.findOrNull("/css/style.css").getPath(), style);
+        Assertions.assertEquals(documentIndex.findOrNull("//css/./style.css").getPath(), style);
+        Assertions.assertEquals(documentIndex.findOrNull("/css/deep/app.js").getSize(), 30);
+
+        Assertions.assertNull(documentIndex.findOrNull("/"));
+        Assertions.assertNull(documentIndex.findOrNull("/css"));
+        Assertions.assertNull(documentIndex.findOrNull("/css/"));
+        Assertions.assertNull(documentIndex.findOrNull("/missing.html"));
+        Assertions.assertNull(documentIndex.findOrNull("/index.html/more"));
+        Assertions.assertNull(documentIndex.findOrNull("/css/../index.html"));
+    }
+
+    @Test
+    @DisplayName("색인 파일 정보 검증 테스트")
+    public void testIndexedFile() throws IOException {
+        Path style = createFile("style.css", 20);
+        Path sidecar = createFile("style.css.gz", 5);
+        Path script = createFile("app.js", 20);
+        Path staleSidecar = createFile("app.js.gz", 5);
+
+        Files.setLastModifiedTime(sidecar, FileTime.fromMillis(Files.getLastModifiedTime(style).toMillis() + 1000));
+        Files.setLastModifiedTime(staleSidecar, FileTime.fromMillis(Files.getLastModifiedTime(script).toMillis() - 1000));
+
+        DocumentIndex documentIndex = DocumentIndex.build(documentPath, MimeTypeTable.DEFAULT);
+        IndexedFile indexedStyle = documentIndex.findOrNull("/style.css");
+
+        Assertions.assertEquals(indexedStyle.getContentType(), "text/css; charset=UTF-8");
+        Assertions.assertEquals(indexedStyle.getValidator().getETag(), FileValidator.of(style).getETag());
+        Assertions.assertEquals(indexedStyle.getSidecarPathOrNull(), sidecar);
+
+        // 원본보다 오래된 gzip 파일은 사용하지 않습니다.
+        Assertions.assertNull(documentIndex.findOrNull("/app.js").getSidecarPathOrNull());
+    }
+
+    @Test
+    @DisplayName("파일 변경 시 색인 교체 테스트")
+    public void testReindexOnChange() throws Exception {
+        createFile("index.html", 10);
+
+        DocumentIndexer documentIndexer = new DocumentIndexer(documentPath, "log", MimeTypeTable.DEFAULT);
+        DocumentWatcher documentWatcher = new DocumentWatcher(documentPath, "log");
+        documentWatcher.addListener(documentIndexer);
+        Assertions.assertTrue(documentWatcher.start());
+        documentIndexer.reindex();
+
+        try {
+            DocumentIndex oldIndex = documentIndexer.getIndex();
+            Assertions.assertNull(oldIndex.findOrNull("/new.html"));
+
+            createFile("new.html", 10);
+            long deadline = System.currentTimeMillis() + WATCH_TIMEOUT;
+            while (documentIndexer.getIndex().findOrNull("/new.html") == null) {
+                Assertions.assertTrue(System.currentTimeMillis() < deadline, "파일 변경 이벤트를 받지 못했습니다.");
+                Thread.sleep(50);
+            }
+
+            // 교체된 색인을 사용하는 동안에도, 이전 색인은 변경되지 않습니다.
+            Assertions.assertNotSame(documentIndexer.getIndex(), oldIndex);
+            Assertions.assertNull(oldIndex.findOrNull("/new.html"));
+            Assertions.assertEquals(documentIndexer.getIndex().getFileCount(), 2);
+        } finally {
+            documentWatcher.close();
+            documentIndexer.close();
+        }
+    }
+
+    private Path createFile(String fileName, int size) throws IOException {
+        Path filePath = documentPath.resolve(fileName);
+        Files.createDirectories(filePath.getParent());
+        return Files.write(filePath, new byte[size]);
+    }
+
+    /** 테스트를 위해 생성한 모든 파일을 삭제합니다. */
+    @AfterEach
+    public void removeTestFiles() throws IOException {
+        try (Stream<Path> paths = Files.walk(documentPath)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.mommoo.contents;
+
+import com.mommoo.conf.ServerSpec;
+import com.mommoo.conf.ServerSpecBuilder;
+import com.mommoo.http.HttpStatus;
+import com.mommoo.http.response.PreparedResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 에러 페이지를 미리 응답 데이터로 구성하는지 검증하는 테스트 클래스 입니다. {@link ErrorPageTable}
+ *
+ *  1. 기술된 에러 페이지를 응답 라인, 헤더와 함께 구성하고, 없는 파일이나 정의되지 않은 코드는 제외하는지 여부 테스트.
+ *  2. 구성 후 파일이 변경되어도, 미리 구성한 응답을 그대로 사용하는지 여부 테스트.
+ */
+public class ErrorPageTableTest {
+    private static final String ERROR_PAGE_BODY = "<html><body>not found</body></html>";
+
+    private static ServerSpec createMockServerSpec(Path documentPath) {
+        return new ServerSpecBuilder()
+                .setDocumentPath(documentPath.toString())
+                .setLogPath("log")
+                .setIndexPage("index.html")
+                .setPortNumber(6766)
+                .setServerName("mommoo.com")
+                .addErrorPage(404, "error404.html")
+                .addErrorPage(500, "error500.html")
+                .addErrorPage(999, "error999.html")
+                .build();
+    }
+
+    @Test
+    @DisplayName("에러 페이지 응답 구성 테스트")
+    public void testPreparedErrorPage() throws IOException {
+        Path documentPath = Files.createTempDirectory("simple-was-error-");
+        Files.write(documentPath.resolve("error404.html"), ERROR_PAGE_BODY.getBytes(StandardCharsets.UTF_8));
+        Files.write(documentPath.resolve("error999.html"), ERROR_PAGE_BODY.getBytes(StandardCharsets.UTF_8));
+
+        ErrorPageTable errorPageTable = new ErrorPageTable(createMockServerSpec(documentPath));
+
+        PreparedResponse errorPage = errorPageTable.getErrorPageOrNull(HttpStatus.CODE_404);
+        Assertions.assertNotNull(errorPage);
+        Assertions.assertSame(errorPage.getHttpStatus(), HttpStatus.CODE_404);
+
+        String keepAliveResponse = new String(errorPage.getBytes(true), StandardCharsets.UTF_8);
+        String closeResponse = new String(errorPage.getBytes(false), StandardCharsets.UTF_8);
+        Assertions.assertTrue(keepAliveResponse.startsWith("HTTP/1.1 " + HttpStatus.CODE_404));
+        Assertions.assertTrue(keepAliveResponse.contains("Content-Length: " + ERROR_PAGE_BODY.length() + "\n"));
+        Assertions.assertTrue(keepAliveResponse.contains("Connection: keep-alive\n"));
+        Assertions.assertTrue(closeResponse.contains("Connection: close\n"));
+        Assertions.assertTrue(keepAliveResponse.endsWith("\n\n" + ERROR_PAGE_BODY));
+
+        // 파일이 없는 500 과, 정의되지 않은 999 코드는 구성하지 않습니다.
+        Assertions.assertNull(errorPageTable.getErrorPageOrNull(HttpStatus.CODE_500));
+        Assertions.assertNull(errorPageTable.getErrorPageOrNull(HttpStatus.CODE_403));
+    }
+
+    @Test
+    @DisplayName("미리 구성한 응답 재사용 테스트")
+    public void testPreparedOnce() throws IOException {
+        Path documentPath = Files.createTempDirectory("simple-was-error-");
+        Path errorPagePath = documentPath.resolve("error404.html");
+        Files.write(errorPagePath, ERROR_PAGE_BODY.getBytes(StandardCharsets.UTF_8));
+
+        ErrorPageTable errorPageTable = new ErrorPageTable(createMockServerSpec(documentPath));
+        byte[] response = errorPageTable.getErrorPageOrNull(HttpStatus.CODE_404).getBytes(true);
+
+        // 에러 응답마다 디스크를 읽지 않으므로, 파일을 삭제해도 같은 응답을 사용합니다.
+        Files.delete(errorPagePath);
+        Assertions.assertSame(errorPageTable.getErrorPageOrNull(HttpStatus.CODE_404).getBytes(true), response);
+    }
+}
@@ -0,0 +1,131 @@
+package com.mommoo.contents;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 경로 조회 결과 캐시가 올바르게 보관하고 제거하는지 검증하는 테스트 클래스 입니다. {@link FileMetadataCache}
+ *
+ *  1. 없는 경로의 결과를 보관하며, ttl 이 지나면 디스크에서 다시 읽는지 여부 테스트.
+ *  2. 경로가 변경되면, 해당 경로와 하위 경로를 캐시에서 제거하는지 여부 테스트.
+ *  3. 최대 경로 수를 넘으면, 가장 오래 사용하지 않은 경로부터 제거하는지 여부 테스트.
+ *  4. {@link DocumentWatcher}의 파일 생성 이벤트로, 없는 경로의 결과를 제거하는지 여부 테스트.
+ */
+public class FileMetadataCacheTest {
+    private static final long TTL = 1000;
+    private static final long WATCH_TIMEOUT = 10_000;
+
+    private final AtomicLong nanoClock = new AtomicLong();
+    private Path documentPath;
+
+    @BeforeEach
+    public void createDocumentPath() throws IOException {
+        documentPath = Files.createTempDirectory("simple-was-metadata-");
+    }
+
+    @Test
+    @DisplayName("없는 경로 보관 및 ttl 검증 테스트")
+    public void testNegativeEntry() throws IOException {
+        FileMetadataCache metadataCache = new FileMetadataCache(100, TTL, nanoClock::get);
+        Path file = documentPath.resolve("robots.txt");
+
+        Assertions.assertSame(metadataCache.get(file), FileMetadata.NOT_FOUND);
+
+        // 파일이 생겼더라도, ttl 이 지나기 전까지는 보관한 결과를 사용합니다.
+        Files.write(file, new byte[10]);
+        nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(TTL - 1));
+        Assertions.assertSame(metadataCache.get(file), FileMetadata.NOT_FOUND);
+
+        nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        FileMetadata fileMetadata = metadataCache.get(file);
+        Assertions.assertTrue(fileMetadata.isFile());
+        Assertions.assertEquals(fileMetadata.getSize(), 10);
+        Assertions.assertEquals(fileMetadata.getLastModifiedMillis(), Files.getLastModifiedTime(file).toMillis());
+
+        // 디렉토리는 존재하지만, 응답할 수 있는 파일은 아닙니다.
+        FileMetadata directoryMetadata = metadataCache.get(documentPath);
+        Assertions.assertTrue(directoryMetadata.exists());
+        Assertions.assertFalse(directoryMetadata.isFile());
+    }
+
+    @Test
+    @DisplayName("경로 변경 시 캐시 제거 검증 테스트")
+    public void testInvalidate() throws IOException {
+        FileMetadataCache metadataCache = new FileMetadataCache(100, TTL, nanoClock::get);
+        Path subDirectory = documentPath.resolve("sub");
+        Path subFile = subDirectory.resolve("index.html");
+        Path file = documentPath.resolve("index.html");
+
+        Assertions.assertFalse(metadataCache.get(subFile).exists());
+        Assertions.assertFalse(metadataCache.get(file).exists());
+
+        Files.createDirectories(subDirectory);
+        Files.write(subFile, new byte[10]);
+        Files.write(file, new byte[10]);
+
+        // 디렉토리의 변경은 하위 경로의 결과도 제거합니다.
+        metadataCache.invalidate(subDirectory);
+        Assertions.assertTrue(metadataCache.get(subFile).isFile());
+        Assertions.assertFalse(metadataCache.get(file).exists());
+
+        metadataCache.clear();
+        Assertions.assertTrue(metadataCache.get(file).isFile());
+    }
+
+    @Test
+    @DisplayName("LRU 제거 검증 테스트")
+    public void testLeastRecentlyUsedEviction() {
+        FileMetadataCache metadataCache = new FileMetadataCache(2, TTL, nanoClock::get);
+
+        metadataCache.get(documentPath.resolve("a"));
+        metadataCache.get(documentPath.resolve("b"));
+        metadataCache.get(documentPath.resolve("a"));
+        metadataCache.get(documentPath.resolve("c"));
+
+        Assertions.assertEquals(metadataCache.size(), 2);
+    }
+
+    @Test
+    @DisplayName("파일 생성 이벤트 검증 테스트")
+    public void testWatchEvent() throws Exception {
+        FileMetadataCache metadataCache = new FileMetadataCache(100, Long.MAX_VALUE / 1_000_000);
+        DocumentWatcher documentWatcher = new DocumentWatcher(documentPath, "log");
+        documentWatcher.addListener(metadataCache);
+        Assertions.assertTrue(documentWatcher.start());
+
+        try {
+            Path file = documentPath.resolve("favicon.ico");
+            Assertions.assertFalse(metadataCache.get(file).exists());
+
+            Files.write(file, new byte[10]);
+            long deadline = System.currentTimeMillis() + WATCH_TIMEOUT;
+            while (!metadataCache.get(file).isFile()) {
+                Assertions.assertTrue(System.currentTimeMillis() < deadline, "파일 변경 이벤트를 받지 못했습니다.");
+                Thread.sleep(50);
+            }
+        } finally {
+            documentWatcher.close();
+        }
+    }
+
+    /** 테스트를 위해 생성한 모든 파일을 삭제합니다. */
+    @AfterEach
+    public void removeTestFiles() throws IOException {
+        try (Stream<Path> paths = Files.walk(documentPath)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.mommoo.contents;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * 메모리 매핑 캐시가 올바르게 보관하고 해제하는지 검증하는 테스트 클래스 입니다. {@link MappedFileCache}
+ *
+ *  1. 매핑한 파일을 다시 사용하며, 매핑 대상이 아닌 크기의 파일은 매핑하지 않는지 여부 테스트.
+ *  2. 최대 크기를 넘어 제거한 매핑은, 전송중인 응답이 참조를 반환할 때 까지 해제하지 않는지 여부 테스트.
+ *  3. 감시를 시작하지 않았다면, 캐시를 사용하지 않는지 여부 테스트.
+ */
+public class MappedFileCacheTest {
+    private static final int FILE_SIZE = 1000;
+
+    private Path documentPath;
+    private DocumentWatcher documentWatcher;
+
+    @BeforeEach
+    public void createDocumentPath() throws IOException {
+        documentPath = Files.createTempDirectory("simple-was-mapped-");
+        documentWatcher = new DocumentWatcher(documentPath, "log");
+    }
+
+    @Test
+    @DisplayName("매핑 재사용 검증 테스트")
+    public void testAcquire() throws IOException {
+        Path file = createFile("bundle.zip", 'a', FILE_SIZE);
+        Path smallFile = createFile("small.txt", 's', 10);
+        Path largeFile = createFile("large.iso", 'l', FILE_SIZE * 3);
+
+        MappedFileCache mappedCache = new MappedFileCache(FILE_SIZE * 2, 100, "log");
+        mappedCache.startWatching(documentWatcher);
+
+        MappedFile mappedFile = mappedCache.acquireOrNull(file);
+        ByteBuffer mappedBuffer = mappedFile.duplicate();
+        byte[] bytes = new byte[mappedBuffer.remaining()];
+        mappedBuffer.get(bytes);
+        Assertions.assertArrayEquals(bytes, Files.readAllBytes(file));
+
+        // 캐시와 응답이 각각 참조를 가집니다.
+        Assertions.assertSame(mappedCache.acquireOrNull(file), mappedFile);
+        Assertions.assertEquals(mappedFile.getReferenceCount(), 3);
+        mappedFile.release();
+        mappedFile.release();
+        Assertions.assertEquals(mappedCache.getMappedSize(), FILE_SIZE);
+
+        Assertions.assertNull(mappedCache.acquireOrNull(smallFile));
+        Assertions.assertNull(mappedCache.acquireOrNull(largeFile));
+        Assertions.assertNull(mappedCache.acquireOrNull(documentPath.resolve("missing.zip")));
+
+        mappedCache.close();
+        Assertions.assertEquals(mappedFile.getReferenceCount(), 0);
+    }
+
+    @Test
+    @DisplayName("참조 수에 따른 매핑 해제 검증 테스트")
+    public void testEvictionWhileSending() throws IOException {
+        Path a = createFile("a.zip", 'a', FILE_SIZE);
+        Path b = createFile("b.zip", 'b', FILE_SIZE);
+
+        MappedFileCache mappedCache = new MappedFileCache(FILE_SIZE, 100, "log");
+        mappedCache.startWatching(documentWatcher);
+
+        // a 를 전송하는 도중, b 를 매핑하여 a 가 캐시에서 제거됩니다.
+        MappedFile sendingFile = mappedCache.acquireOrNull(a);
+        MappedFile otherFile = mappedCache.acquireOrNull(b);
+        Assertions.assertEquals(mappedCache.getMappedSize(), FILE_SIZE);
+
+        // 응답이 참조를 가지고 있으므로, 매핑은 유지됩니다.
+        Assertions.assertEquals(sendingFile.getReferenceCount(), 1);
+        Assertions.assertEquals(sendingFile.duplicate().get(FILE_SIZE - 1), 'a');
+        sendingFile.release();
+        Assertions.assertEquals(sendingFile.getReferenceCount(), 0);
+
+        // 해제된 매핑은 다시 참조할 수 없으므로, 새로 매핑합니다.
+        MappedFile remappedFile = mappedCache.acquireOrNull(a);
+        Assertions.assertNotSame(remappedFile, sendingFile);
+        remappedFile.release();
+        otherFile.release();
+        mappedCache.close();
+    }
+
+    @Test
+    @DisplayName("감시 전 캐시 미사용 검증 테스트")
+    public void testDisabledWithoutWatching() throws IOException {
+        Path file = createFile("bundle.zip", 'a', FILE_SIZE);
+
+        MappedFileCache mappedCache = new MappedFileCache(FILE_SIZE * 2, 100, "log");
+        Assertions.assertNull(mappedCache.acquireOrNull(file));
+    }
+
+    private Path createFile(String fileName, char contents, int size) throws IOException {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) contents);
+        return Files.write(documentPath.resolve(fileName), bytes);
+    }
+
+    /** 테스트를 위해 생성한 모든 파일을 삭제합니다. */
+    @AfterEach
+    public void removeTestFiles() throws IOException {
+        documentWatcher.close();
+        try (Stream<Path> paths = Files.walk(documentPath)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
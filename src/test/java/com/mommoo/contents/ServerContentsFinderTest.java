@@ -3,6 +3,7 @@ package com.mommoo.contents;
 import com.mommoo.conf.ServerSpec;
 import com.mommoo.conf.ServerSpecBuilder;
 import com.mommoo.http.HttpStatus;
+import com.mommoo.servlet.ServletRegistry;
 import com.mommoo.servlet.TimeStampPage;
 import org.junit.jupiter.api.*;
 
@@ -11,15 +12,17 @@ import java.nio.file.*;
 
 /**
  * 클라이언트가 요청한 URI에 맞는 컨텐츠를 찾는 로직을 검증하는 테스트 클래스 입니다.
- * 검증 클래스 대상은 {@link ServerContentsFinder} 이며, 테스트 케이스는 크게 3가지로 구성했습니다.
+ * 검증 클래스 대상은 {@link ServerContentsFinder} 이며, 테스트 케이스는 크게 4가지로 구성했습니다.
  *
  *  1. 올바른 URI를 받았을 때, 요구하는 컨텐츠가 존재하는지 여부 테스트. {@link #findProperContentsIfValidURI()}
  *  2. 올바르지 않은 URI를 받아 에러 상태이며, 에러 페이지를 매핑할 수 있는지 여부 테스트. {@link #findProperContentsIfErrorStatus()}
  *  3. 서블릿 URI를 받았을 때, 요구한 서블릿을 찾을 수 있는지 여부 테스트. {@link #findProperContentsIfRequestServlet()}
+ *  4. 설정 파일로 매핑한 URI를 받았을 때, 등록된 서블릿 인스턴스를 재사용하는지 여부 테스트. {@link #findMappedServlet()}
  *
  *  서블릿 테스트는 {@link com.mommoo.servlet.TimeStampPage} 로 테스트 합니다.
  */
 public class ServerContentsFinderTest {
+    private static final String MAPPED_SERVLET_URI = "/time";
 
     private static ServerSpec createMockServerSpec() {
         return new ServerSpecBuilder()
@@ -140,6 +143,30 @@ public class ServerContentsFinderTest {
         Assertions.assertTrue(isTimeStampPageInstance);
     }
 
+    @Test
+    @DisplayName("매핑된 서블릿 URI 컨텐츠 검색 테스트")
+    public void findMappedServlet() throws ReflectiveOperationException {
+        ServerSpec mockServerSpec = createMockServerSpec();
+
+        // 클래스 이름으로 찾은 서블릿과 같은 인스턴스가 매핑되어야 합니다.
+        Object servlet = new ServerContentsFinder(mockServerSpec, "/com.mommoo.servlet.TimeStampPage", HttpStatus.CODE_200).getContents().get();
+        ServletRegistry.getInstance().register(MAPPED_SERVLET_URI, TimeStampPage.class.getName());
+
+        ServerContents serverContents = new ServerContentsFinder(mockServerSpec, MAPPED_SERVLET_URI, HttpStatus.CODE_200).getContents();
+        Assertions.assertSame(serverContents.getType(), ServerContentsType.SERVLET);
+        Assertions.assertSame(serverContents.get(), servlet);
+
+        // 에러 상태라면 서블릿을 처리하지 않습니다.
+        serverContents = new ServerContentsFinder(mockServerSpec, MAPPED_SERVLET_URI, HttpStatus.CODE_403).getContents();
+        Assertions.assertSame(serverContents.getType(), ServerContentsType.NONE);
+    }
+
+    /** 서블릿 매핑은 프로세스 전체가 공유하므로, 다른 테스트에 영향을 주지 않도록 제거합니다. */
+    @AfterEach
+    public void unregisterServlet() {
+        ServletRegistry.getInstance().unregister(MAPPED_SERVLET_URI);
+    }
+
     /** 테스트를 위해 생성한 모든 파일을 삭제합니다.*/
     @AfterEach
     private void removeTestFiles() throws IOException{
@@ -0,0 +1,195 @@
+package com.mommoo.contents;
+
+import com.mommoo.conf.ServerSpec;
+import com.mommoo.conf.ServerSpecBuilder;
+import com.mommoo.http.HttpStatus;
+import com.mommoo.http.response.CompressionPolicy;
+import com.mommoo.http.response.ContentEncoding;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * 정적 파일 캐시가 올바르게 보관하고 제거하는지 검증하는 테스트 클래스 입니다. {@link StaticContentCache}
+ *
+ *  1. 최대 크기를 넘으면, 가장 오래 사용하지 않은 파일부터 제거하는지 여부 테스트.
+ *  2. 최대 파일 크기보다 큰 파일은 보관하지 않는지 여부 테스트.
+ *  3. 파일이 변경되면, 캐시에서 제거하고 새로운 내용을 읽는지 여부 테스트.
+ *  4. 압축 대상 파일의 압축한 응답을 보관하고, 최신인 .gz 파일을 사용하는지 여부 테스트.
+ */
+public class StaticContentCacheTest {
+    private static final int FILE_SIZE = 1000;
+    private static final long WATCH_TIMEOUT = 10_000;
+
+    private Path documentPath;
+    private ServerSpec mockServerSpec;
+
+    @BeforeEach
+    public void createDocumentPath() throws IOException {
+        documentPath = Files.createTempDirectory("simple-was-cache-");
+        mockServerSpec = new ServerSpecBuilder()
+                .setDocumentPath(documentPath.toString())
+                .setLogPath("log")
+                .setIndexPage("index.html")
+                .setPortNumber(6766)
+                .setServerName("mommoo.com")
+                .build();
+    }
+
+    @Test
+    @DisplayName("LRU 제거 검증 테스트")
+    public void testLeastRecentlyUsedEviction() throws IOException {
+        // 파일 생성 이벤트가 캐시를 비우지 않도록, 감시를 시작하기 전에 파일을 생성합니다.
+        Path a = createFile("a.html", 'a', FILE_SIZE);
+        Path b = createFile("b.html", 'b', FILE_SIZE);
+        Path c = createFile("c.html", 'c', FILE_SIZE);
+
+        // 헤더를 포함하여, 파일 두 개만 보관할 수 있는 크기로 구성합니다.
+        StaticContentCache contentCache = new StaticContentCache(mockServerSpec, FILE_SIZE * 3, FILE_SIZE);
+        contentCache.startWatching();
+
+        try {
+            contentCache.getOrLoadOrNull(a, HttpStatus.CODE_200);
+            contentCache.getOrLoadOrNull(b, HttpStatus.CODE_200);
+
+            // a 를 다시 사용하였으므로, 가장 오래 사용하지 않은 파일은 b 입니다.
+            contentCache.getOrLoadOrNull(a, HttpStatus.CODE_200);
+            CachedContent cachedContent = contentCache.getOrLoadOrNull(c, HttpStatus.CODE_200);
+
+            Assertions.assertTrue(contentCache.contains(a));
+            Assertions.assertFalse(contentCache.contains(b));
+            Assertions.assertTrue(contentCache.contains(c));
+            Assertions.assertTrue(contentCache.getTotalSize() <= FILE_SIZE * 3);
+
+            // 미리 인코딩한 헤더와 바디를 확인합니다.
+            String header = new String(cachedContent.getHeader(true), StandardCharsets.UTF_8);
+            Assertions.assertTrue(header.startsWith("HTTP/1.1 " + HttpStatus.CODE_200));
+            Assertions.assertTrue(header.contains("Content-Length: " + FILE_SIZE + "\n"));
+            Assertions.assertTrue(header.contains("Connection: keep-alive\n"));
+            Assertions.assertTrue(new String(cachedContent.getHeader(false), StandardCharsets.UTF_8).contains("Connection: close\n"));
+            Assertions.assertEquals(cachedContent.getBody()[0], 'c');
+        } finally {
+            contentCache.close();
+        }
+    }
+
+    @Test
+    @DisplayName("큰 파일 보관 제외 검증 테스트")
+    public void testLargeFileNotCached() throws IOException {
+        StaticContentCache contentCache = new StaticContentCache(mockServerSpec, FILE_SIZE * 10, FILE_SIZE);
+        contentCache.startWatching();
+
+        Path large = createFile("large.html", 'l', FILE_SIZE + 1);
+        try {
+            Assertions.assertNull(contentCache.getOrLoadOrNull(large, HttpStatus.CODE_200));
+            Assertions.assertFalse(contentCache.contains(large));
+            Assertions.assertEquals(contentCache.getTotalSize(), 0);
+        } finally {
+            contentCache.close();
+        }
+    }
+
+    @Test
+    @DisplayName("파일 변경 시 캐시 제거 검증 테스트")
+    public void testInvalidateOnChange() throws Exception {
+        StaticContentCache contentCache = new StaticContentCache(mockServerSpec, FILE_SIZE * 10, FILE_SIZE);
+        contentCache.startWatching();
+
+        // 감시 시작 이후 생긴 디렉토리의 파일도 감시해야 합니다.
+        Files.createDirectories(documentPath.resolve("sub"));
+        Path file = createFile("sub/index.html", 'a', 10);
+
+        try {
+            waitUntil(() -> {
+                contentCache.getOrLoadOrNull(file, HttpStatus.CODE_200);
+                return contentCache.contains(file);
+            });
+
+            // 파일을 변경하면, 감시 스레드가 캐시에서 제거합니다.
+            createFile("sub/index.html", 'b', 20);
+            waitUntil(() -> !contentCache.contains(file));
+
+            CachedContent cachedContent = contentCache.getOrLoadOrNull(file, HttpStatus.CODE_200);
+            Assertions.assertEquals(cachedContent.getBody().length, 20);
+            Assertions.assertEquals(cachedContent.getBody()[0], 'b');
+        } finally {
+            contentCache.close();
+        }
+    }
+
+    @Test
+    @DisplayName("압축한 응답 보관 검증 테스트")
+    public void testEncodedContent() throws IOException {
+        Path html = createFile("index.html", 'a', FILE_SIZE);
+        Path css = createFile("style.css", 'c', FILE_SIZE);
+        Path png = createFile("image.png", 'p', FILE_SIZE);
+
+        // 원본보다 최신인 .gz 파일은 압축하지 않고 그대로 사용합니다.
+        Path sidecar = createFile("style.css.gz", 'z', 10);
+        Files.setLastModifiedTime(sidecar, FileTime.fromMillis(Files.getLastModifiedTime(css).toMillis() + 1000));
+
+        CompressionPolicy compressionPolicy = new CompressionPolicy(100, Arrays.asList("text/html", "text/css"));
+        StaticContentCache contentCache = new StaticContentCache(mockServerSpec, FILE_SIZE * 10, FILE_SIZE, compressionPolicy);
+        contentCache.startWatching();
+
+        try {
+            CachedContent identityContent = contentCache.getOrLoadOrNull(html, HttpStatus.CODE_200);
+            CachedContent gzipContent = contentCache.getOrLoadOrNull(html, HttpStatus.CODE_200, ContentEncoding.GZIP);
+            Assertions.assertEquals(identityContent.getBody().length, FILE_SIZE);
+            Assertions.assertTrue(gzipContent.getBody().length < FILE_SIZE);
+            Assertions.assertTrue(new String(gzipContent.getHeader(true), StandardCharsets.UTF_8).contains("Content-Encoding: gzip\n"));
+            Assertions.assertTrue(new String(identityContent.getHeader(true), StandardCharsets.UTF_8).contains("Vary: Accept-Encoding\n"));
+            Assertions.assertTrue(identityContent.isVary() && gzipContent.isVary());
+            Assertions.assertNotEquals(gzipContent.getValidatorOrNull().getETag(), identityContent.getValidatorOrNull().getETag());
+
+            Assertions.assertEquals(contentCache.getOrLoadOrNull(css, HttpStatus.CODE_200, ContentEncoding.GZIP).getBody()[0], 'z');
+            Assertions.assertEquals(contentCache.getOrLoadOrNull(css, HttpStatus.CODE_200, ContentEncoding.DEFLATE).getBody().length,
+                    ContentEncoding.DEFLATE.encode(Files.readAllBytes(css)).length);
+
+            // 압축 대상이 아닌 파일은 원본 응답을 사용합니다.
+            Assertions.assertEquals(contentCache.getOrLoadOrNull(png, HttpStatus.CODE_200, ContentEncoding.GZIP).getBody().length, FILE_SIZE);
+            Assertions.assertFalse(contentCache.getOrLoadOrNull(png, HttpStatus.CODE_200).isVary());
+        } finally {
+            contentCache.close();
+        }
+    }
+
+    private Path createFile(String fileName, char contents, int size) throws IOException {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) contents);
+        return Files.write(documentPath.resolve(fileName), bytes);
+    }
+
+    private static void waitUntil(Condition condition) throws Exception {
+        long deadline = System.currentTimeMillis() + WATCH_TIMEOUT;
+        while (!condition.isSatisfied()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "파일 변경 이벤트를 받지 못했습니다.");
+            Thread.sleep(50);
+        }
+    }
+
+    private interface Condition {
+        boolean isSatisfied();
+    }
+
+    /** 테스트를 위해 생성한 모든 파일을 삭제합니다. */
+    @AfterEach
+    public void removeTestFiles() throws IOException {
+        try (Stream<Path> paths = Files.walk(documentPath)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
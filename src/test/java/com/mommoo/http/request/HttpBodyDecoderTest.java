@@ -0,0 +1,142 @@
+package com.mommoo.http.request;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 해당 테스트 클래스는 요청 바디를 전송 방식에 맞게 읽는지를 테스트 합니다. {@link HttpBodyDecoder}
+ *
+ *  1. Content-Length 만큼만 바디로 읽고, 이후의 데이터는 남겨두는지 여부 테스트.
+ *  2. 1 바이트씩 나누어 도착한 chunked 바디를 올바르게 디코딩하는지 여부 테스트.
+ *  3. 크기가 올바르지 않은 chunk 를 거절하는지 여부 테스트.
+ *  4. 블로킹 연결에서 바디를 읽지 않아도 다음 요청을 읽는지 여부 테스트. {@link HttpRequestBuilder}
+ *  5. 메모리 제한을 넘는 바디를 임시 파일에 보관하는지 여부 테스트. {@link HttpRequestBodyBuffer}
+ */
+public class HttpBodyDecoderTest {
+    private static final String CHUNKED_BODY =
+            "5;name=value\r\n" +
+            "Hello\r\n" +
+            "7\r\n" +
+            ", World\r\n" +
+            "0\r\n" +
+            "Trailer-Header: ignored\r\n" +
+            "\r\n";
+
+    @Test()
+    @DisplayName("Content-Length 바디 디코딩 검증 테스트")
+    public void testContentLengthBody() throws IOException {
+        ByteBuffer src = ByteBuffer.wrap("Hello, WorldGET".getBytes(StandardCharsets.UTF_8));
+        HttpBodyDecoder bodyDecoder = HttpBodyDecoder.ofContentLength(12);
+
+        byte[] dst = new byte[64];
+        int decodedLength = bodyDecoder.decode(src, dst, 0, dst.length);
+
+        Assertions.assertTrue(bodyDecoder.isCompleted());
+        Assertions.assertEquals(new String(dst, 0, decodedLength, StandardCharsets.UTF_8), "Hello, World");
+        Assertions.assertEquals(src.remaining(), 3);
+    }
+
+    @Test()
+    @DisplayName("나누어 도착한 chunked 바디 디코딩 검증 테스트")
+    public void testSplitChunkedBody() throws IOException {
+        byte[] chunkedBytes = CHUNKED_BODY.concat("GET").getBytes(StandardCharsets.UTF_8);
+        HttpBodyDecoder bodyDecoder = HttpBodyDecoder.ofChunked();
+
+        ByteArrayOutputStream decodedBody = new ByteArrayOutputStream();
+        byte[] dst = new byte[2];
+        int position = 0;
+
+        while (!bodyDecoder.isCompleted()) {
+            ByteBuffer src = ByteBuffer.wrap(chunkedBytes, position, 1);
+            int decodedLength = bodyDecoder.decode(src, dst, 0, dst.length);
+            decodedBody.write(dst, 0, decodedLength);
+            position = src.position();
+        }
+
+        Assertions.assertEquals(new String(decodedBody.toByteArray(), StandardCharsets.UTF_8), "Hello, World");
+        Assertions.assertEquals(new String(chunkedBytes, position, chunkedBytes.length - position, StandardCharsets.UTF_8), "GET");
+    }
+
+    @Test()
+    @DisplayName("올바르지 않은 chunk 거절 검증 테스트")
+    public void testInvalidChunk() {
+        String[] invalidChunks = {"x\r\n", "\r\n", "3\r\nabcd\r\n", "fffffffffffffffff\r\n"};
+
+        for (String invalidChunk : invalidChunks) {
+            ByteBuffer src = ByteBuffer.wrap(invalidChunk.getBytes(StandardCharsets.UTF_8));
+            Assertions.assertThrows(HttpRequestParseException.class,
+                    () -> HttpBodyDecoder.ofChunked().decode(src, new byte[64], 0, 64));
+        }
+    }
+
+    @Test()
+    @DisplayName("블로킹 연결의 바디 스트림 검증 테스트")
+    public void testBuilderBody() throws IOException {
+        String requests =
+                "POST /upload HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                "Content-Type: application/octet-stream\r\n" +
+                "Transfer-Encoding: chunked\r\n" +
+                "\r\n" +
+                CHUNKED_BODY +
+                "POST /ignored HTTP/1.1\r\n" +
+                "Content-Length: 5\r\n" +
+                "\r\n" +
+                "12345" +
+                "GET /last HTTP/1.1\r\n" +
+                "\r\n";
+        HttpRequestBuilder requestBuilder = new HttpRequestBuilder("log", new ByteArrayInputStream(requests.getBytes(StandardCharsets.UTF_8)));
+
+        HttpRequest request = requestBuilder.build();
+        Assertions.assertEquals(request.getURI(), "/upload");
+        Assertions.assertEquals(readAll(request.getBody()), "Hello, World");
+
+        // 바디를 읽지 않은 요청이 있어도, 다음 요청을 올바르게 읽습니다.
+        Assertions.assertEquals(requestBuilder.build().getURI(), "/ignored");
+
+        request = requestBuilder.build();
+        Assertions.assertEquals(request.getURI(), "/last");
+        Assertions.assertEquals(request.getBody().read(), -1);
+
+        Assertions.assertNull(requestBuilder.build());
+    }
+
+    @Test()
+    @DisplayName("메모리 제한을 넘는 바디 보관 검증 테스트")
+    public void testSpilledBody() throws IOException {
+        StringBuilder body = new StringBuilder();
+        while (body.length() < 10000) {
+            body.append("SimpleWas");
+        }
+        byte[] bodyBytes = body.toString().getBytes(StandardCharsets.UTF_8);
+
+        HttpRequestBodyBuffer bodyBuffer = new HttpRequestBodyBuffer(100);
+        HttpBodyDecoder bodyDecoder = HttpBodyDecoder.ofContentLength(bodyBytes.length);
+
+        for (int offset = 0; offset < bodyBytes.length; offset += 1000) {
+            bodyBuffer.append(ByteBuffer.wrap(bodyBytes, offset, Math.min(1000, bodyBytes.length - offset)), bodyDecoder);
+        }
+
+        Assertions.assertTrue(bodyDecoder.isCompleted());
+        Assertions.assertEquals(readAll(bodyBuffer.toInputStream()), body.toString());
+        bodyBuffer.discard();
+    }
+
+    private static String readAll(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[16];
+        int readCount;
+        while ((readCount = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, readCount);
+        }
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
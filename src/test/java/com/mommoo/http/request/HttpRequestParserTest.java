@@ -6,8 +6,11 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.StringTokenizer;
 
 /**
@@ -25,6 +28,12 @@ import java.util.StringTokenizer;
  *  1. GET  요청시, 올바른 {@link HttpRequest}를 생성하는지 여부 테스트.
  *  2. POST 요청시, 올바른 {@link HttpRequest}를 생성하는지 여부 테스트.
  *
+ * 추가로, 바이트 단위 분석 동작을 테스트 합니다. {@link HttpRequestParser#parse(ByteBuffer)}
+ *
+ *  3. 요청 데이터가 1 바이트씩 나누어 도착해도, 올바른 {@link HttpRequest}를 생성하는지 여부 테스트.
+ *  4. CRLF 줄바꿈 요청을 분석한 뒤, 헤더 이후의 데이터(바디, 다음 요청)를 버퍼에 남겨두는지 여부 테스트.
+ *  5. Http 프로토콜 스펙에 맞지 않는 요청을 거절하는지 여부 테스트.
+ *
  */
 public class HttpRequestParserTest {
     private static final String MOCK_HTTP_REQUEST_PATTERN =
@@ -72,6 +81,91 @@ public class HttpRequestParserTest {
         assertMockHttpRequest(request, method, URI, true);
     }
 
+    @Test()
+    @DisplayName("1 바이트씩 나누어 도착한 Http 요청 파싱 검증 테스트")
+    public void testSplitRequest() throws IOException {
+        String method = "GET";
+        String URI = "/mommoo/nhn/good/test.html";
+        byte[] requestBytes = String.format(MOCK_HTTP_REQUEST_PATTERN, method, URI.concat("?").concat(queryString), "\n")
+                .getBytes(StandardCharsets.UTF_8);
+
+        HttpRequestParser httpRequestParser = new HttpRequestParser("log");
+        for (int i = 0; i < requestBytes.length - 1; i++) {
+            Assertions.assertFalse(httpRequestParser.parse(ByteBuffer.wrap(requestBytes, i, 1)));
+        }
+        Assertions.assertTrue(httpRequestParser.parse(ByteBuffer.wrap(requestBytes, requestBytes.length - 1, 1)));
+
+        assertMockHttpRequest(httpRequestParser.toHttpRequest(), method, URI, true);
+    }
+
+    @Test()
+    @DisplayName("CRLF Http 요청 파싱 후 남은 데이터 검증 테스트")
+    public void testCRLFRequestWithRemaining() throws IOException {
+        String requests =
+                "POST /form HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                "X-Unknown-Header: ignored\r\n" +
+                "Content-Length: 18\r\n" +
+                "\r\n" +
+                queryString +
+                "GET /next HTTP/1.0\r\n\r\n";
+        ByteBuffer requestBuffer = ByteBuffer.wrap(requests.getBytes(StandardCharsets.UTF_8));
+
+        HttpRequestParser httpRequestParser = new HttpRequestParser("log");
+        Assertions.assertTrue(httpRequestParser.parse(requestBuffer));
+        Assertions.assertEquals(httpRequestParser.getContentLength(), queryString.length());
+
+        // 바디는 분석하지 않고 버퍼에 남겨둡니다.
+        byte[] body = new byte[(int) httpRequestParser.getContentLength()];
+        requestBuffer.get(body);
+        httpRequestParser.setBody(new ByteArrayInputStream(body));
+
+        HttpRequest request = httpRequestParser.toHttpRequest();
+        Assertions.assertEquals(request.getMethod(), HttpMethod.POST);
+        Assertions.assertEquals(request.getURI(), "/form");
+        Assertions.assertEquals(request.getHeader(HttpHeaderType.HOST), "localhost");
+        Assertions.assertEquals(request.getHeaders().size(), 2);
+        Assertions.assertEquals(request.getParameter("name"), "mommoo");
+
+        // 재사용한 파서로 다음 요청을 분석해도, 이전 요청의 데이터는 변하지 않습니다.
+        httpRequestParser.reset();
+        Assertions.assertTrue(httpRequestParser.parse(requestBuffer));
+        Assertions.assertFalse(requestBuffer.hasRemaining());
+
+        HttpRequest nextRequest = httpRequestParser.toHttpRequest();
+        Assertions.assertEquals(nextRequest.getURI(), "/next");
+        Assertions.assertEquals(nextRequest.getVersion(), "1.0");
+        Assertions.assertEquals(request.getURI(), "/form");
+    }
+
+    @Test()
+    @DisplayName("Http 스펙에 맞지 않는 요청 거절 검증 테스트")
+    public void testInvalidRequest() {
+        String[] invalidRequests = {
+                "PUT / HTTP/1.1\n\n",
+                "GET  / HTTP/1.1\n\n",
+                "GET / FTP/1.1\n\n",
+                "GET / HTTP/1/1\n\n",
+                "GET / HTTP/1.1\nContent-Length: -1\n\n"
+        };
+
+        for (String invalidRequest : invalidRequests) {
+            HttpRequestParser httpRequestParser = new HttpRequestParser("log");
+            Assertions.assertThrows(HttpRequestParseException.class, () -> {
+                httpRequestParser.parse(ByteBuffer.wrap(invalidRequest.getBytes(StandardCharsets.UTF_8)));
+                httpRequestParser.getContentLength();
+            });
+        }
+
+        // 헤더 크기 제한을 넘는 요청은 거절합니다.
+        StringBuilder largeRequest = new StringBuilder("GET / HTTP/1.1\n");
+        while (largeRequest.length() <= HttpRequestParser.MAX_HEAD_SIZE) {
+            largeRequest.append("Accept: */*\n");
+        }
+        Assertions.assertThrows(HttpRequestParseException.class,
+                () -> new HttpRequestParser("log").parse(ByteBuffer.wrap(largeRequest.toString().getBytes(StandardCharsets.UTF_8))));
+    }
+
     /** 데이터를 한줄 씩 읽어, Parser에게 전달 합니다. */
     public static HttpRequest createMockHttpRequest(String mockHttpRequestString) {
         String requestLine = mockHttpRequestString.substring(0, mockHttpRequestString.indexOf("\n"));
@@ -22,6 +22,10 @@ import java.util.function.Consumer;
  * {@link #httpResourceFileExtensionRuleTest()}
  * {@link #httpResourceSearchRuleTest()}
  *
+ * 모든 Rule 을 모은 {@link HttpRequestRuleInspector}가, 통과한 요청에는 같은 결과 인스턴스를 반환하고
+ * 실패한 요청에만 실패한 Rule 의 메시지를 만드는지 검증합니다.
+ * {@link #httpRequestRuleInspectorTest()}
+ *
  * 각 테스트 메서드는 공통 코드 하나로 합칠 수 있지만, 가독성을 위해 어느정도 풀어 작성했습니다.
  */
 public class HttpRequestRuleTest {
@@ -112,6 +116,39 @@ public class HttpRequestRuleTest {
         });
     }
 
+    @Test
+    @DisplayName("HttpRequestRuleInspector 검증 결과 테스트")
+    public void httpRequestRuleInspectorTest() {
+        ServerSpec mockServerSpec = createMockServerSpec();
+
+        HttpRequestRuleInspector httpRequestRuleInspector = new HttpRequestRuleInspector(
+                new HttpResourceFileExtensionRule("exe"), new HttpResourceSearchRule());
+
+        // 통과한 요청은 메시지를 만들지 않고, 같은 결과 인스턴스를 반환합니다.
+        String[] validateURIs = {
+                "/",
+                "/index.html",
+                "/home/../hello.html"
+        };
+
+        httpRequestForEachByURICase(validateURIs, httpRequest ->
+                Assertions.assertSame(httpRequestRuleInspector.isValidateRequest(mockServerSpec, httpRequest), HttpRequestRuleResult.PASS));
+
+        // 실패한 요청은, 실패한 Rule 이름을 메시지에 포함합니다.
+        httpRequestForEachByURICase(new String[]{"/game.exe"}, httpRequest -> {
+            HttpRequestRuleResult result = httpRequestRuleInspector.isValidateRequest(mockServerSpec, httpRequest);
+            Assertions.assertFalse(result.isValidate);
+            Assertions.assertTrue(result.message.contains(HttpResourceFileExtensionRule.class.getSimpleName()));
+        });
+
+        // documentPath 와 이름만 같이 시작하는 디렉토리(/var/www2)는 공개한 경로가 아닙니다.
+        httpRequestForEachByURICase(new String[]{"/../www2/index.html"}, httpRequest -> {
+            HttpRequestRuleResult result = httpRequestRuleInspector.isValidateRequest(mockServerSpec, httpRequest);
+            Assertions.assertFalse(result.isValidate);
+            Assertions.assertTrue(result.message.contains(HttpResourceSearchRule.class.getSimpleName()));
+        });
+    }
+
     private static String createMockHttpRequestByURI(String URI) {
         return String.format(MOCK_HTTP_REQUEST_PATTEN, URI);
     }
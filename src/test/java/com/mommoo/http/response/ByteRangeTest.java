@@ -0,0 +1,77 @@
+package com.mommoo.http.response;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * 해당 테스트 클래스는 {@link ByteRange}가 Range 헤더를 올바르게 분석하는지 테스트 합니다.
+ *
+ *  1. 시작-끝, 시작-, -길이 형식의 구간을 파일 크기에 맞게 분석하는지 여부 테스트.
+ *  2. 여러 구간을 정렬하고, 겹치는 구간을 합치는지 여부 테스트.
+ *  3. 만족할 수 없는 구간과 올바르지 않은 헤더를 구분하는지 여부 테스트.
+ */
+public class ByteRangeTest {
+    private static final long FILE_SIZE = 1000;
+
+    @Test
+    @DisplayName("단일 구간 분석 테스트")
+    public void testSingleRange() {
+        assertRange(ByteRange.parseOrNull("bytes=0-99", FILE_SIZE), 0, 99);
+        assertRange(ByteRange.parseOrNull("bytes=900-", FILE_SIZE), 900, 999);
+        assertRange(ByteRange.parseOrNull("bytes=-100", FILE_SIZE), 900, 999);
+        assertRange(ByteRange.parseOrNull("bytes=-5000", FILE_SIZE), 0, 999);
+        assertRange(ByteRange.parseOrNull("bytes=500-5000", FILE_SIZE), 500, 999);
+
+        ByteRange byteRange = ByteRange.parseOrNull("Bytes=10-19", FILE_SIZE).get(0);
+        Assertions.assertEquals(byteRange.getLength(), 10);
+        Assertions.assertEquals(byteRange.toContentRange(FILE_SIZE), "bytes 10-19/1000");
+    }
+
+    @Test
+    @DisplayName("다중 구간 분석 테스트")
+    public void testMultipleRanges() {
+        List<ByteRange> byteRangeList = ByteRange.parseOrNull("bytes=500-599, 0-99, -100", FILE_SIZE);
+        Assertions.assertEquals(byteRangeList.size(), 3);
+        Assertions.assertEquals(byteRangeList.get(0).getStart(), 0);
+        Assertions.assertEquals(byteRangeList.get(1).getStart(), 500);
+        Assertions.assertEquals(byteRangeList.get(2).getStart(), 900);
+
+        // 겹치거나 맞닿은 구간은 합칩니다.
+        assertRange(ByteRange.parseOrNull("bytes=0-99,50-149,150-199", FILE_SIZE), 0, 199);
+
+        // 만족할 수 없는 구간은 제외합니다.
+        assertRange(ByteRange.parseOrNull("bytes=2000-3000, 0-9", FILE_SIZE), 0, 9);
+    }
+
+    @Test
+    @DisplayName("올바르지 않은 구간 분석 테스트")
+    public void testInvalidRange() {
+        // 만족할 수 있는 구간이 없다면, 빈 목록 입니다.
+        Assertions.assertTrue(ByteRange.parseOrNull("bytes=1000-", FILE_SIZE).isEmpty());
+        Assertions.assertTrue(ByteRange.parseOrNull("bytes=-0", FILE_SIZE).isEmpty());
+        Assertions.assertTrue(ByteRange.parseOrNull("bytes=0-", 0).isEmpty());
+
+        // 올바르지 않은 헤더는 무시해야 하므로 null 입니다.
+        Assertions.assertNull(ByteRange.parseOrNull("items=0-99", FILE_SIZE));
+        Assertions.assertNull(ByteRange.parseOrNull("bytes=99-0", FILE_SIZE));
+        Assertions.assertNull(ByteRange.parseOrNull("bytes=a-b", FILE_SIZE));
+        Assertions.assertNull(ByteRange.parseOrNull("bytes=100", FILE_SIZE));
+        Assertions.assertNull(ByteRange.parseOrNull("bytes=", FILE_SIZE));
+        Assertions.assertNull(ByteRange.parseOrNull("bytes=0-99999999999999999999", FILE_SIZE));
+
+        StringBuilder tooManyRanges = new StringBuilder("bytes=0-0");
+        for (int i = 1; i <= 16; i++) {
+            tooManyRanges.append(",").append(i * 10).append("-").append(i * 10);
+        }
+        Assertions.assertNull(ByteRange.parseOrNull(tooManyRanges.toString(), FILE_SIZE));
+    }
+
+    private static void assertRange(List<ByteRange> byteRangeList, long start, long end) {
+        Assertions.assertEquals(byteRangeList.size(), 1);
+        Assertions.assertEquals(byteRangeList.get(0).getStart(), start);
+        Assertions.assertEquals(byteRangeList.get(0).getEnd(), end);
+    }
+}
@@ -0,0 +1,80 @@
+package com.mommoo.http.response;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 해당 테스트 클래스는 {@link CompressionPolicy}가 응답 압축 여부를 올바르게 결정하는지 테스트 합니다.
+ *
+ *  1. Accept-Encoding 헤더의 선호도로 압축 방식을 협상하는지 여부 테스트.
+ *  2. MIME 타입과 최소 크기로 압축 대상을 구분하는지 여부 테스트.
+ *  3. 압축한 데이터를 다시 풀었을 때 원본과 같은지 여부 테스트. {@link ContentEncoding}
+ */
+public class CompressionPolicyTest {
+    private static final CompressionPolicy COMPRESSION_POLICY = new CompressionPolicy(100, Arrays.asList("text/html", "text/css"));
+
+    @Test
+    @DisplayName("Accept-Encoding 협상 검증 테스트")
+    public void testNegotiation() {
+        Assertions.assertSame(COMPRESSION_POLICY.negotiateOrNull("gzip, deflate"), ContentEncoding.GZIP);
+        Assertions.assertSame(COMPRESSION_POLICY.negotiateOrNull("deflate"), ContentEncoding.DEFLATE);
+        Assertions.assertSame(COMPRESSION_POLICY.negotiateOrNull("gzip;q=0.5, deflate;q=0.8"), ContentEncoding.DEFLATE);
+        Assertions.assertSame(COMPRESSION_POLICY.negotiateOrNull("br, *;q=0.1"), ContentEncoding.GZIP);
+        Assertions.assertSame(COMPRESSION_POLICY.negotiateOrNull("*, gzip;q=0"), ContentEncoding.DEFLATE);
+
+        Assertions.assertNull(COMPRESSION_POLICY.negotiateOrNull("gzip;q=0, deflate;q=0"));
+        Assertions.assertNull(COMPRESSION_POLICY.negotiateOrNull("identity"));
+        Assertions.assertNull(COMPRESSION_POLICY.negotiateOrNull(null));
+
+        // 압축하지 않는 정책은 협상하지 않습니다.
+        Assertions.assertNull(CompressionPolicy.DISABLED.negotiateOrNull("gzip"));
+    }
+
+    @Test
+    @DisplayName("압축 대상 검증 테스트")
+    public void testCompressible() {
+        Assertions.assertTrue(COMPRESSION_POLICY.isCompressible("text/html", 100));
+        Assertions.assertTrue(COMPRESSION_POLICY.isCompressible("Text/CSS; charset=utf-8", 1000));
+
+        Assertions.assertFalse(COMPRESSION_POLICY.isCompressible("text/html", 99));
+        Assertions.assertFalse(COMPRESSION_POLICY.isCompressible("image/png", 1000));
+        Assertions.assertFalse(COMPRESSION_POLICY.isCompressible(null, 1000));
+    }
+
+    @Test
+    @DisplayName("압축 데이터 검증 테스트")
+    public void testEncode() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        while (builder.length() < 10000) {
+            builder.append("<p>SimpleWas</p>");
+        }
+        byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+
+        byte[] gzipBytes = ContentEncoding.GZIP.encode(bytes);
+        byte[] deflateBytes = ContentEncoding.DEFLATE.encode(bytes);
+
+        Assertions.assertTrue(gzipBytes.length < bytes.length);
+        Assertions.assertArrayEquals(readAll(new GZIPInputStream(new ByteArrayInputStream(gzipBytes))), bytes);
+        Assertions.assertArrayEquals(readAll(new InflaterInputStream(new ByteArrayInputStream(deflateBytes))), bytes);
+    }
+
+    private static byte[] readAll(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int readCount;
+        while ((readCount = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, readCount);
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,81 @@
+package com.mommoo.http.response;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * 해당 테스트 클래스는 {@link FileValidator}가 조건부 요청을 올바르게 검사하는지 테스트 합니다.
+ *
+ *  1. If-None-Match 헤더의 ETag 비교 여부 테스트.
+ *  2. If-Modified-Since 헤더의 날짜 비교 여부 테스트.
+ *  3. If-Range 헤더의 강한 ETag 비교와 날짜 비교 여부 테스트.
+ */
+public class FileValidatorTest {
+    /** 2019-01-01 00:00:00.500 GMT */
+    private static final long LAST_MODIFIED_MILLIS = 1546300800500L;
+
+    @Test
+    @DisplayName("If-None-Match 검증 테스트")
+    public void testIfNoneMatch() throws IOException {
+        FileValidator fileValidator = createFileValidator("hello");
+        String eTag = fileValidator.getETag();
+
+        Assertions.assertTrue(fileValidator.isNotModified(eTag, null));
+        Assertions.assertTrue(fileValidator.isNotModified("\"other\", W/" + eTag, null));
+        Assertions.assertTrue(fileValidator.isNotModified("*", null));
+        Assertions.assertFalse(fileValidator.isNotModified("\"other\"", null));
+
+        // If-None-Match 가 있다면, If-Modified-Since 는 무시합니다.
+        Assertions.assertFalse(fileValidator.isNotModified("\"other\"", fileValidator.getLastModified()));
+
+        // 파일이 변경되면 ETag 도 변경됩니다.
+        Assertions.assertNotEquals(createFileValidator("hello, world").getETag(), eTag);
+    }
+
+    @Test
+    @DisplayName("If-Modified-Since 검증 테스트")
+    public void testIfModifiedSince() throws IOException {
+        FileValidator fileValidator = createFileValidator("hello");
+
+        Assertions.assertEquals(fileValidator.getLastModified(), "Tue, 01 Jan 2019 00:00:00 GMT");
+
+        // 밀리초는 비교하지 않으므로, 같은 초라면 변경되지 않은 파일 입니다.
+        Assertions.assertTrue(fileValidator.isNotModified(null, "Tue, 01 Jan 2019 00:00:00 GMT"));
+        Assertions.assertTrue(fileValidator.isNotModified(null, "Wed, 02 Jan 2019 00:00:00 GMT"));
+        Assertions.assertFalse(fileValidator.isNotModified(null, "Mon, 31 Dec 2018 23:59:59 GMT"));
+        Assertions.assertFalse(fileValidator.isNotModified(null, "invalid date"));
+        Assertions.assertFalse(fileValidator.isNotModified(null, null));
+    }
+
+    @Test
+    @DisplayName("If-Range 검증 테스트")
+    public void testIfRange() throws IOException {
+        FileValidator fileValidator = createFileValidator("hello");
+
+        Assertions.assertTrue(fileValidator.isRangeMatched(fileValidator.getETag()));
+        Assertions.assertTrue(fileValidator.isRangeMatched("Tue, 01 Jan 2019 00:00:00 GMT"));
+
+        // 약한 ETag 와 다른 날짜는 일치하지 않습니다.
+        Assertions.assertFalse(fileValidator.isRangeMatched("W/" + fileValidator.getETag()));
+        Assertions.assertFalse(fileValidator.isRangeMatched("\"other\""));
+        Assertions.assertFalse(fileValidator.isRangeMatched("Wed, 02 Jan 2019 00:00:00 GMT"));
+        Assertions.assertFalse(fileValidator.isRangeMatched("invalid date"));
+    }
+
+    private static FileValidator createFileValidator(String contents) throws IOException {
+        Path filePath = Files.createTempFile("simple-was-validator-", ".html");
+        try {
+            Files.write(filePath, contents.getBytes());
+            Files.setLastModifiedTime(filePath, FileTime.fromMillis(LAST_MODIFIED_MILLIS));
+            return FileValidator.of(filePath);
+        } finally {
+            Files.delete(filePath);
+        }
+    }
+}
@@ -6,11 +6,24 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 
 /**
  *  해당 테스트 클래스는 {@link HttpResponseHandler} 가 올바르게 HttpResponse 데이터를 구성하는지 테스트 합니다.
  *  {@link HttpResponseHandler}가 구성하는 순서대로, 하드 코딩한 데이터 값을 비교했습니다.
+ *
+ *  1. Writer 로 작성한 응답을 문자열로 구성하는지 여부 테스트. {@link #testHttpResponseHandler()}
+ *  2. 버퍼 크기를 넘는 바디를 Writer 와 OutputStream 으로 작성했을 때, 출력 버퍼를 올바르게 구성하는지 여부 테스트. {@link #testByteBuffers()}
+ *  3. 스트리밍을 허용했을 때, flush 나 임계치를 넘는 바디를 chunked 방식으로 출력하는지 여부 테스트. {@link #testStreaming()}
+ *  4. 전달한 문자 인코딩으로 바디를 인코딩하고, 기본 Content-Type 에 명시하는지 여부 테스트. {@link #testCharset()}
+ *  5. 클라이언트가 받지 않아 보내지 못한 데이터가 쌓이면, 더 작성하지 않고 기다리는지 여부 테스트. {@link #testStreamingBackpressure()}
  */
 public class HttpResponseHandlerTest {
     private static String SCHEMA = "HTTP/1.1";
@@ -42,4 +55,199 @@ public class HttpResponseHandlerTest {
         boolean isValidHttpResponse = MOCK_HTTP_RESPONSE.equals(httpResponseHandler.toString());
         Assertions.assertTrue(isValidHttpResponse);
     }
+
+    @Test
+    @DisplayName("바디 버퍼 구성 테스트")
+    public void testByteBuffers() throws IOException {
+        HttpResponseHandler httpResponseHandler = new HttpResponseHandler();
+        StringBuilder expectedBody = new StringBuilder();
+
+        Writer writer = httpResponseHandler.getWriter();
+        while (expectedBody.length() < 20000) {
+            writer.append(BODY_DATA);
+            expectedBody.append(BODY_DATA);
+        }
+        // Writer 의 내부 버퍼를 비운 뒤, OutputStream 으로 이어서 작성합니다.
+        writer.flush();
+
+        OutputStream outputStream = httpResponseHandler.getOutputStream();
+        outputStream.write(BODY_DATA.getBytes());
+        outputStream.write('!');
+        expectedBody.append(BODY_DATA).append('!');
+
+        byte[] expectedBodyBytes = expectedBody.toString().getBytes();
+        Assertions.assertEquals(httpResponseHandler.getBodyLength(), expectedBodyBytes.length);
+        Assertions.assertArrayEquals(httpResponseHandler.getBodyBytes(), expectedBodyBytes);
+
+        // 출력 버퍼를 이어 붙이면, 문자열로 구성한 응답과 같아야 합니다.
+        ByteBuffer[] byteBuffers = httpResponseHandler.toByteBuffers();
+        Assertions.assertTrue(byteBuffers.length > 2);
+
+        ByteBuffer response = ByteBuffer.allocate(expectedBodyBytes.length + 1024);
+        for (ByteBuffer byteBuffer : byteBuffers) {
+            response.put(byteBuffer);
+        }
+        response.flip();
+        byte[] responseBytes = new byte[response.remaining()];
+        response.get(responseBytes);
+
+        Assertions.assertArrayEquals(responseBytes, httpResponseHandler.toString().getBytes());
+        Assertions.assertTrue(httpResponseHandler.getHeaderData(HttpHeaderType.CONTENT_LENGTH).equals(Integer.toString(expectedBodyBytes.length)));
+
+        httpResponseHandler.release();
+    }
+
+    @Test
+    @DisplayName("문자 인코딩 테스트")
+    public void testCharset() throws IOException {
+        // JVM 의 기본 문자 인코딩과 관계없이, 전달한 문자 인코딩을 사용합니다.
+        HttpResponseHandler httpResponseHandler = new HttpResponseHandler(StandardCharsets.UTF_16BE);
+        httpResponseHandler.getWriter().append("AB");
+        Assertions.assertEquals(httpResponseHandler.getHeaderData(HttpHeaderType.CONTENT_TYPE), "text/html; charset=UTF-16BE");
+        Assertions.assertArrayEquals(httpResponseHandler.getBodyBytes(), new byte[]{0, 'A', 0, 'B'});
+
+        HttpResponseHandler defaultResponseHandler = new HttpResponseHandler();
+        defaultResponseHandler.getWriter().append("\u00e9");
+        Assertions.assertEquals(defaultResponseHandler.getHeaderData(HttpHeaderType.CONTENT_TYPE), "text/html; charset=UTF-8");
+        Assertions.assertArrayEquals(defaultResponseHandler.getBodyBytes(), new byte[]{(byte) 0xC3, (byte) 0xA9});
+    }
+
+    @Test
+    @DisplayName("chunked 스트리밍 테스트")
+    public void testStreaming() throws IOException {
+        // flush 하지 않은 작은 응답은 스트리밍 하지 않습니다.
+        MockResponseChannel responseChannel = new MockResponseChannel();
+        HttpResponseHandler httpResponseHandler = new HttpResponseHandler();
+        httpResponseHandler.enableStreaming(responseChannel);
+        httpResponseHandler.getWriter().append(BODY_DATA);
+        Assertions.assertFalse(httpResponseHandler.isCommitted());
+        Assertions.assertEquals(responseChannel.toString(), "");
+
+        // 서블릿이 flush 하면, 헤더와 작성한 바디를 바로 출력합니다.
+        httpResponseHandler.getWriter().flush();
+        Assertions.assertTrue(httpResponseHandler.isCommitted());
+        Assertions.assertTrue(responseChannel.toString().contains("Transfer-Encoding: chunked\n"));
+        Assertions.assertFalse(responseChannel.toString().contains("Content-Length"));
+
+        // 임계치를 넘는 바디는 flush 하지 않아도 출력합니다.
+        StringBuilder expectedBody = new StringBuilder(BODY_DATA);
+        Writer writer = httpResponseHandler.getWriter();
+        while (expectedBody.length() < 100000) {
+            writer.append(BODY_DATA);
+            expectedBody.append(BODY_DATA);
+        }
+        int streamedSize = responseChannel.toString().length();
+        Assertions.assertTrue(streamedSize > 50000);
+
+        httpResponseHandler.finishStreaming();
+        String response = responseChannel.toString();
+        Assertions.assertTrue(response.endsWith("\r\n0\r\n\r\n"));
+
+        String chunkedBody = response.substring(response.indexOf("\n\n") + 2);
+        Assertions.assertEquals(decodeChunked(chunkedBody), expectedBody.toString());
+    }
+
+    @Test
+    @DisplayName("스트리밍 메모리 제한 테스트")
+    public void testStreamingBackpressure() {
+        NonDrainingResponseChannel responseChannel = new NonDrainingResponseChannel();
+        HttpResponseHandler httpResponseHandler = new HttpResponseHandler();
+        httpResponseHandler.enableStreaming(responseChannel);
+
+        // 받지 않는 클라이언트에게 4MB 를 작성하면, 보관한 데이터가 제한을 넘은 시점에 기다리다 연결이 닫혀 실패합니다.
+        byte[] bytes = new byte[1024];
+        Assertions.assertThrows(IOException.class, () -> {
+            OutputStream outputStream = httpResponseHandler.getOutputStream();
+            for (int i = 0; i < 4 * 1024; i++) {
+                outputStream.write(bytes);
+            }
+        });
+
+        // 보관한 데이터는 제한과 chunk 하나를 넘지 않습니다.
+        Assertions.assertTrue(responseChannel.pendingBytes > HttpResponseHandler.MAX_PENDING_STREAMING_SIZE);
+        Assertions.assertTrue(responseChannel.pendingBytes <= 2 * HttpResponseHandler.MAX_PENDING_STREAMING_SIZE);
+    }
+
+    private static String decodeChunked(String chunkedBody) {
+        StringBuilder body = new StringBuilder();
+        int index = 0;
+        while (true) {
+            int lineEnd = chunkedBody.indexOf("\r\n", index);
+            int chunkSize = Integer.parseInt(chunkedBody.substring(index, lineEnd), 16);
+            if (chunkSize == 0) {
+                return body.toString();
+            }
+            body.append(chunkedBody, lineEnd + 2, lineEnd + 2 + chunkSize);
+            index = lineEnd + 2 + chunkSize + 2;
+        }
+    }
+
+    /** 소켓 버퍼가 가득 찬 것처럼, 전달받은 버퍼를 하나도 보내지 않고 보관하는 채널 입니다. */
+    private static class NonDrainingResponseChannel implements HttpResponseChannel {
+        private long pendingBytes = 0;
+
+        @Override
+        public void write(ByteBuffer... byteBuffers) {
+            for (ByteBuffer byteBuffer : byteBuffers) {
+                pendingBytes += byteBuffer.remaining();
+            }
+        }
+
+        @Override
+        public void write(ByteBuffer byteBuffer, Runnable releaseCallback) {
+            pendingBytes += byteBuffer.remaining();
+        }
+
+        /** 보낸 데이터가 없으므로, 제한을 넘었다면 기다린 끝에 연결이 닫힌 것으로 처리합니다. */
+        @Override
+        public void awaitPendingWrites(long maxPendingBytes) throws IOException {
+            if (pendingBytes > maxPendingBytes) {
+                throw new IOException("closed");
+            }
+        }
+
+        @Override
+        public void transferFrom(FileChannel fileChannel, long position, long count) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public InetAddress getRemoteAddressOrNull() {
+            return null;
+        }
+    }
+
+    private static class MockResponseChannel implements HttpResponseChannel {
+        private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        @Override
+        public void write(ByteBuffer... byteBuffers) {
+            for (ByteBuffer byteBuffer : byteBuffers) {
+                byte[] bytes = new byte[byteBuffer.remaining()];
+                byteBuffer.get(bytes);
+                outputStream.write(bytes, 0, bytes.length);
+            }
+        }
+
+        @Override
+        public void write(ByteBuffer byteBuffer, Runnable releaseCallback) {
+            write(byteBuffer);
+            releaseCallback.run();
+        }
+
+        @Override
+        public void transferFrom(FileChannel fileChannel, long position, long count) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public InetAddress getRemoteAddressOrNull() {
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return new String(outputStream.toByteArray(), StandardCharsets.ISO_8859_1);
+        }
+    }
 }
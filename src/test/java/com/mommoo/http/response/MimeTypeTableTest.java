@@ -0,0 +1,55 @@
+package com.mommoo.http.response;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 해당 테스트 클래스는 {@link MimeTypeTable}이 파일 확장자로 올바른 Content-Type 을 찾는지 테스트 합니다.
+ *
+ *  1. 기본 매핑과 텍스트 타입의 charset 을 올바르게 구성하는지 여부 테스트.
+ *  2. 설정한 매핑이 기본 매핑보다 우선하는지 여부 테스트.
+ */
+public class MimeTypeTableTest {
+    @Test
+    @DisplayName("기본 매핑 검증 테스트")
+    public void testDefaultMimeTypes() {
+        MimeTypeTable mimeTypeTable = MimeTypeTable.DEFAULT;
+
+        Assertions.assertEquals(mimeTypeTable.getContentType(Paths.get("www", "index.html")), "text/html; charset=UTF-8");
+        Assertions.assertEquals(mimeTypeTable.getContentType("style.CSS"), "text/css; charset=UTF-8");
+        Assertions.assertEquals(mimeTypeTable.getContentType("app.min.js"), "text/javascript; charset=UTF-8");
+        Assertions.assertEquals(mimeTypeTable.getContentType("data.json"), "application/json; charset=UTF-8");
+        Assertions.assertEquals(mimeTypeTable.getContentType("icon.svg"), "image/svg+xml; charset=UTF-8");
+
+        // 바이너리 타입은 charset 을 붙이지 않습니다.
+        Assertions.assertEquals(mimeTypeTable.getContentType("photo.jpeg"), "image/jpeg");
+        Assertions.assertEquals(mimeTypeTable.getContentType("font.woff2"), "font/woff2");
+
+        // 매핑이 없는 파일은 기본 타입으로 응답합니다.
+        Assertions.assertEquals(mimeTypeTable.getContentType("video.bin"), MimeTypeTable.DEFAULT_CONTENT_TYPE);
+        Assertions.assertEquals(mimeTypeTable.getContentType("README"), MimeTypeTable.DEFAULT_CONTENT_TYPE);
+        Assertions.assertEquals(mimeTypeTable.getContentType("archive."), MimeTypeTable.DEFAULT_CONTENT_TYPE);
+    }
+
+    @Test
+    @DisplayName("설정 매핑 검증 테스트")
+    public void testCustomMimeTypes() {
+        Map<String, String> customMimeTypes = new HashMap<>();
+        customMimeTypes.put("DAT", "application/x-simple-data");
+        customMimeTypes.put("html", "application/xhtml+xml");
+        customMimeTypes.put("txt", "text/plain; charset=US-ASCII");
+
+        MimeTypeTable mimeTypeTable = new MimeTypeTable(customMimeTypes, StandardCharsets.ISO_8859_1);
+
+        Assertions.assertEquals(mimeTypeTable.getContentType("record.dat"), "application/x-simple-data");
+        Assertions.assertEquals(mimeTypeTable.getContentType("index.html"), "application/xhtml+xml; charset=ISO-8859-1");
+        Assertions.assertEquals(mimeTypeTable.getContentType("notes.txt"), "text/plain; charset=US-ASCII");
+        Assertions.assertEquals(mimeTypeTable.getContentType("style.css"), "text/css; charset=ISO-8859-1");
+    }
+}
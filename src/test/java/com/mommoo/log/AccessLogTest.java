@@ -0,0 +1,106 @@
+package com.mommoo.log;
+
+import com.mommoo.http.HttpMethod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 접근 로그가 요청을 기다리게 하지 않고, 로그 경로 별 파일에 기록되는지 검증하는 테스트 클래스 입니다. {@link AccessLog}
+ *
+ *  1. 여러 스레드가 넣은 접근 로그를, 로그 경로 별 일자 파일에 빠짐없이 기록하는지 여부 테스트.
+ *  2. 링 버퍼가 가득 차면 로그를 버리며, 종료할 때 남은 로그를 모두 기록하는지 여부 테스트.
+ */
+public class AccessLogTest {
+    private static final int THREAD_COUNT = 4;
+    private static final int RECORD_COUNT_PER_THREAD = 5000;
+
+    private Path logPath;
+
+    @BeforeEach
+    public void createLogPath() throws IOException {
+        logPath = Files.createTempDirectory("simple-was-access-log-");
+    }
+
+    @Test
+    @DisplayName("로그 경로 별 접근 로그 기록 테스트")
+    public void testPublish() throws Exception {
+        String firstLogPath = logPath.resolve("first").toString();
+        String secondLogPath = logPath.resolve("second").toString();
+
+        AccessLog accessLog = new AccessLog(64, "log");
+        accessLog.start();
+
+        Thread[] threads = new Thread[THREAD_COUNT];
+        for (int threadIndex = 0; threadIndex < THREAD_COUNT; threadIndex++) {
+            String recordLogPath = threadIndex % 2 == 0 ? firstLogPath : secondLogPath;
+            threads[threadIndex] = new Thread(() -> {
+                for (int count = 0; count < RECORD_COUNT_PER_THREAD; count++) {
+                    // 기록 스레드보다 빠르게 넣어 버려지는 로그는, 다시 넣습니다.
+                    while (!accessLog.publish(recordLogPath, InetAddress.getLoopbackAddress(), HttpMethod.GET, "/index.html", "HTTP/1.1", 200, 153_000)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads[threadIndex].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        accessLog.close();
+
+        List<String> firstLines = readAccessLog(firstLogPath);
+        Assertions.assertEquals(firstLines.size(), RECORD_COUNT_PER_THREAD * THREAD_COUNT / 2);
+        Assertions.assertEquals(readAccessLog(secondLogPath).size(), RECORD_COUNT_PER_THREAD * THREAD_COUNT / 2);
+        Assertions.assertTrue(firstLines.get(0).endsWith(" 127.0.0.1 \"GET /index.html HTTP/1.1\" 200 153us"), firstLines.get(0));
+    }
+
+    @Test
+    @DisplayName("링 버퍼 포화 및 종료 시 기록 테스트")
+    public void testDropWhenFull() throws IOException {
+        String recordLogPath = logPath.toString();
+
+        // 기록 스레드를 시작하지 않았으므로, 링 버퍼의 칸 수 만큼만 넣을 수 있습니다.
+        AccessLog accessLog = new AccessLog(3, "log");
+        for (int count = 0; count < 4; count++) {
+            Assertions.assertTrue(accessLog.publish(recordLogPath, null, HttpMethod.POST, "/time", "HTTP/1.0", 0, 0));
+        }
+        Assertions.assertFalse(accessLog.publish(recordLogPath, null, HttpMethod.GET, "/dropped", "HTTP/1.1", 200, 0));
+        Assertions.assertEquals(accessLog.getDroppedCount(), 1);
+
+        accessLog.start();
+        accessLog.close();
+
+        List<String> lines = readAccessLog(recordLogPath);
+        Assertions.assertEquals(lines.size(), 4);
+        Assertions.assertTrue(lines.get(0).endsWith(" - \"POST /time HTTP/1.0\" - 0us"), lines.get(0));
+    }
+
+    private static List<String> readAccessLog(String recordLogPath) throws IOException {
+        Path accessLogFile = Paths.get(recordLogPath, "access-" + LocalDate.now() + ".log");
+        return Files.readAllLines(accessLogFile, StandardCharsets.UTF_8);
+    }
+
+    /** 테스트를 위해 생성한 모든 파일을 삭제합니다. */
+    @AfterEach
+    public void removeTestFiles() throws IOException {
+        try (Stream<Path> paths = Files.walk(logPath)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.mommoo.metrics;
+
+import com.mommoo.conf.ServerSpec;
+import com.mommoo.conf.ServerSpecBuilder;
+import com.mommoo.http.HttpStatus;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 처리 시간을 올바르게 기록하고 조회하는지 검증하는 테스트 클래스 입니다. {@link LatencyHistogram}, {@link ServerMetrics}
+ *
+ *  1. 히스토그램의 구간이 빈틈없이 이어지며, 백분위 수의 오차가 1/16 이내인지 여부 테스트.
+ *  2. ServerSpec, 단계, 상태 코드 별로 기록한 결과를 Prometheus 텍스트 형식과 JSON 형식으로 조회하는지 여부 테스트.
+ */
+public class ServerMetricsTest {
+    private static final int PORT_NUMBER = 6767;
+
+    @Test
+    @DisplayName("히스토그램 구간 및 백분위 수 정확도 테스트")
+    public void testLatencyHistogram() {
+        // 각 구간은 이전 구간의 가장 큰 값 다음부터 시작합니다.
+        for (int index = 1; index < LatencyHistogram.indexOf(Long.MAX_VALUE >> 23); index++) {
+            long lowestValue = LatencyHistogram.highestValueOf(index - 1) + 1;
+            Assertions.assertEquals(LatencyHistogram.indexOf(lowestValue), index);
+            Assertions.assertEquals(LatencyHistogram.indexOf(LatencyHistogram.highestValueOf(index)), index);
+        }
+
+        // 1μs ~ 10ms 를 고르게 기록합니다.
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1000);
+        }
+        histogram.record(-1);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assertions.assertEquals(snapshot.getCount(), 10_001);
+        Assertions.assertEquals(snapshot.getMaxNanos(), 10_000_000);
+        assertNear(snapshot.getValueAtPercentile(50), 5_000_000);
+        assertNear(snapshot.getValueAtPercentile(99), 9_900_000);
+        Assertions.assertEquals(snapshot.getValueAtPercentile(100), 10_000_000);
+        Assertions.assertEquals(new LatencyHistogram().snapshot().getValueAtPercentile(99), 0);
+    }
+
+    @Test
+    @DisplayName("지표 조회 형식 테스트")
+    public void testServerMetrics() throws ParseException {
+        ServerSpec mommoo = new ServerSpecBuilder().setDocumentPath("/var/www")
+                .setLogPath("log")
+                .setIndexPage("index.html")
+                .setPortNumber(PORT_NUMBER)
+                .setServerName("mommoo.com")
+                .build();
+
+        ServerMetrics serverMetrics = new ServerMetrics(PORT_NUMBER);
+        serverMetrics.addServerSpec(mommoo);
+
+        serverMetrics.recordStage(null, RequestStage.PARSE, 2_000);
+        serverMetrics.recordStage(mommoo, RequestStage.RULE, 3_000);
+        serverMetrics.recordRequest(mommoo, HttpStatus.CODE_200, 1_000_000);
+        serverMetrics.recordRequest(mommoo, HttpStatus.CODE_200, 1_000_000);
+        serverMetrics.recordRequest(null, HttpStatus.CODE_412, 5_000);
+
+        String prometheusText = serverMetrics.toPrometheusText();
+        Assertions.assertTrue(prometheusText.contains("# TYPE simple_was_stage_duration_seconds summary\n"));
+        Assertions.assertTrue(prometheusText.contains(
+                "simple_was_stage_duration_seconds{port=\"6767\",server=\"\",stage=\"parse\",quantile=\"0.5\"} 2.0E-6\n"));
+        Assertions.assertTrue(prometheusText.contains(
+                "simple_was_request_duration_seconds_count{port=\"6767\",server=\"mommoo.com\",status=\"200\"} 2\n"));
+        Assertions.assertTrue(prometheusText.contains(
+                "simple_was_request_duration_seconds_sum{port=\"6767\",server=\"mommoo.com\",status=\"200\"} 0.002\n"));
+        Assertions.assertFalse(prometheusText.contains("stage=\"service\""));
+
+        JSONObject json = (JSONObject) new JSONParser().parse(serverMetrics.toJSON());
+        JSONArray servers = (JSONArray) json.get("servers");
+        Assertions.assertEquals(json.get("port"), (long) PORT_NUMBER);
+        Assertions.assertEquals(servers.size(), 2);
+
+        JSONObject unmatched = (JSONObject) servers.get(0);
+        Assertions.assertEquals(unmatched.get("server"), "");
+        Assertions.assertEquals(((JSONObject) ((JSONObject) unmatched.get("statuses")).get("412")).get("count"), 1L);
+
+        JSONObject mommooJSON = (JSONObject) servers.get(1);
+        JSONObject rule = (JSONObject) ((JSONObject) mommooJSON.get("stages")).get("rule");
+        Assertions.assertEquals(mommooJSON.get("server"), "mommoo.com");
+        Assertions.assertEquals(rule.get("count"), 1L);
+        Assertions.assertEquals(rule.get("max"), 3L);
+        Assertions.assertEquals(((JSONObject) ((JSONObject) mommooJSON.get("statuses")).get("200")).get("mean"), 1000L);
+    }
+
+    private static void assertNear(long actual, long expected) {
+        Assertions.assertTrue(Math.abs(actual - expected) <= expected / 16, actual + " , " + expected);
+    }
+}